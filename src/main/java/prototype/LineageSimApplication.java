@@ -7,6 +7,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import prototype.integration.config.GridDemoProperties;
 import prototype.lineageruntime.checkpoint.CheckpointProperties;
 import prototype.lineageruntime.recovery.RecoveryProperties;
+import prototype.simulationcore.evolution.EvolutionProperties;
 import prototype.simulationcore.safety.SafetyProperties;
 import prototype.simulationcore.world.config.WorldConfig;
 
@@ -16,7 +17,8 @@ import prototype.simulationcore.world.config.WorldConfig;
         RecoveryProperties.class,
         WorldConfig.class,
         GridDemoProperties.class,
-        SafetyProperties.class
+        SafetyProperties.class,
+        EvolutionProperties.class
 })
 @SpringBootApplication
 public class LineageSimApplication {
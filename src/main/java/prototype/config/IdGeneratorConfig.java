@@ -0,0 +1,39 @@
+package prototype.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import prototype.simulationcore.events.EventIds;
+import prototype.simulationcore.events.IdGenerator;
+import prototype.simulationcore.events.TimeOrderedIdGenerator;
+
+/**
+ * Installs the application's {@link IdGenerator} into {@link EventIds}. Set {@code simulation.ids.node-id} to
+ * give each instance a stable node id; define another {@link IdGenerator} bean to replace the scheme. Leaving it
+ * unset draws a random node id, which is fine for a single instance but logs a warning.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IdGenerator idGenerator(@Value("${simulation.ids.node-id:-1}") int nodeId) {
+        if (nodeId >= 0) {
+            return new TimeOrderedIdGenerator(nodeId);
+        }
+        log.warn("simulation.ids.node-id is not set; drawing a random node id. Give every instance that shares a "
+                + "database or topic a distinct node id in [0, {}].", TimeOrderedIdGenerator.MAX_NODE_ID);
+        return TimeOrderedIdGenerator.withRandomNode();
+    }
+
+    @Bean
+    public SmartInitializingSingleton eventIdsInstaller(IdGenerator idGenerator) {
+        return () -> EventIds.install(idGenerator);
+    }
+}
@@ -0,0 +1,46 @@
+package prototype.lineageruntime.checkpoint;
+
+import java.util.Base64;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import prototype.simulationcore.evolution.dto.EvolutionStatus;
+import prototype.simulationcore.evolution.service.EvolutionLoopService;
+
+/**
+ * Checkpoints resident evolution runs. The binary run image is Base64-encoded to fit the text snapshot column.
+ */
+@Component
+public class EvolutionStateAdapter implements ServiceStateAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(EvolutionStateAdapter.class);
+
+    private final EvolutionLoopService evolutionLoopService;
+
+    public EvolutionStateAdapter(EvolutionLoopService evolutionLoopService) {
+        this.evolutionLoopService = evolutionLoopService;
+    }
+
+    @Override
+    public String serviceId() {
+        return RuntimeServiceIds.EVOLUTION;
+    }
+
+    @Override
+    public String captureSnapshot() {
+        return Base64.getEncoder().encodeToString(evolutionLoopService.captureCheckpoint());
+    }
+
+    @Override
+    public void restoreFromSnapshot(String snapshot) {
+        byte[] checkpoint;
+        try {
+            checkpoint = Base64.getDecoder().decode(snapshot);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unable to decode evolution snapshot", e);
+        }
+        List<EvolutionStatus> restored = evolutionLoopService.restoreCheckpoint(checkpoint);
+        log.info("Restored {} evolution runs", restored.size());
+    }
+}
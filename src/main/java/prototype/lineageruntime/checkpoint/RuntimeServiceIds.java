@@ -3,6 +3,7 @@ package prototype.lineageruntime.checkpoint;
 public final class RuntimeServiceIds {
 
     public static final String SIMULATION_CORE = "simulation-core";
+    public static final String EVOLUTION = "evolution";
 
     private RuntimeServiceIds() {
     }
@@ -1,14 +1,19 @@
 package prototype.lineageruntime.checkpoint;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.persistence.AgentStateCodec;
 import prototype.simulationcore.repository.AgentRepository;
 import prototype.simulationcore.service.SimulationService;
 
+/**
+ * Checkpoints the active agent's state in {@link AgentStateCodec} form, Base64-encoded to fit the text snapshot
+ * column. Snapshots taken as JSON by earlier versions are still restored.
+ */
 @Component
 public class SimulationStateAdapter implements ServiceStateAdapter {
 
@@ -16,14 +21,10 @@ public class SimulationStateAdapter implements ServiceStateAdapter {
 
     private final SimulationService simulationService;
     private final AgentRepository agentRepository;
-    private final ObjectMapper objectMapper;
 
-    public SimulationStateAdapter(SimulationService simulationService,
-                                  AgentRepository agentRepository,
-                                  ObjectMapper objectMapper) {
+    public SimulationStateAdapter(SimulationService simulationService, AgentRepository agentRepository) {
         this.simulationService = simulationService;
         this.agentRepository = agentRepository;
-        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -33,24 +34,29 @@ public class SimulationStateAdapter implements ServiceStateAdapter {
 
     @Override
     public String captureSnapshot() {
-        try {
-            return objectMapper.writeValueAsString(simulationService.currentAgent().snapshotState());
-        } catch (JsonProcessingException e) {
-            throw new IllegalStateException("Unable to serialize simulation state", e);
-        }
+        AgentState state = simulationService.currentAgent().snapshotState();
+        return Base64.getEncoder().encodeToString(AgentStateCodec.encode(state));
     }
 
     @Override
     public void restoreFromSnapshot(String snapshot) {
+        AgentState state;
         try {
-            AgentState state = objectMapper.readValue(snapshot, AgentState.class);
-            var agent = simulationService.currentAgent();
-            agent.replaceState(state);
-            agentRepository.save(agent);
-            log.info("Simulation state restored to {}", state);
-        } catch (JsonProcessingException e) {
+            state = AgentStateCodec.decode(decodeSnapshot(snapshot));
+        } catch (IllegalArgumentException | IllegalStateException e) {
             throw new IllegalArgumentException("Unable to deserialize simulation snapshot", e);
         }
+        var agent = simulationService.currentAgent();
+        agent.replaceState(state);
+        agentRepository.save(agent);
+        log.info("Simulation state restored to {}", state);
     }
-}
 
+    private static byte[] decodeSnapshot(String snapshot) {
+        String trimmed = snapshot == null ? "" : snapshot.strip();
+        if (trimmed.startsWith("{")) {
+            return trimmed.getBytes(StandardCharsets.UTF_8);
+        }
+        return Base64.getDecoder().decode(trimmed);
+    }
+}
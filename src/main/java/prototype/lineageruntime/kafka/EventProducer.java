@@ -1,6 +1,8 @@
 package prototype.lineageruntime.kafka;
 
+import java.util.concurrent.CompletableFuture;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 import prototype.simulationcore.domain.LineageEvent;
 
@@ -15,8 +17,8 @@ public class EventProducer {
         this.kafkaTemplate = kafkaTemplate;
     }
 
-    public void send(LineageEvent event) {
-        kafkaTemplate.send(TOPIC, event.getAgentId(), event);
+    public CompletableFuture<SendResult<String, LineageEvent>> send(LineageEvent event) {
+        return kafkaTemplate.send(TOPIC, event.getAgentId(), event);
     }
 }
 
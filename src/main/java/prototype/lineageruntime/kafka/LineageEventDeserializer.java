@@ -0,0 +1,76 @@
+package prototype.lineageruntime.kafka;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.LineageEvent;
+import prototype.simulationcore.persistence.AgentStateCodec;
+
+/**
+ * Counterpart of {@link LineageEventSerializer}: binary lineage frames are decoded directly, anything else
+ * (including lineage events produced as JSON before the binary frame existed) goes through JSON.
+ */
+public class LineageEventDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<Object> fallback = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallback.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return isFrame(data) ? decode(data) : fallback.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        return isFrame(data) ? decode(data) : fallback.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+
+    static LineageEvent decode(byte[] data) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            buffer.get();
+            byte version = buffer.get();
+            if (version != LineageEventSerializer.FORMAT_VERSION) {
+                throw new SerializationException("Unsupported lineage event format " + version);
+            }
+            String eventId = readString(buffer);
+            String agentId = readString(buffer);
+            Instant timestamp = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            AgentState previous = AgentStateCodec.read(buffer);
+            AgentState resulting = AgentStateCodec.read(buffer);
+            return LineageEvent.restore(eventId, agentId, previous, resulting, timestamp);
+        } catch (BufferUnderflowException | IllegalStateException ex) {
+            throw new SerializationException("Unable to decode lineage event", ex);
+        }
+    }
+
+    private static boolean isFrame(byte[] data) {
+        return data != null && data.length > 0 && data[0] == LineageEventSerializer.MAGIC;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = AgentStateCodec.readVarint(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,66 @@
+package prototype.lineageruntime.kafka;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import prototype.simulationcore.domain.LineageEvent;
+import prototype.simulationcore.persistence.AgentStateCodec;
+
+/**
+ * Value serializer that writes {@link LineageEvent}s as a compact binary frame (magic, version, varint-length
+ * ids, timestamp and both states in {@link AgentStateCodec} form) and every other payload as JSON, so the
+ * shared producer keeps working for health and integration events.
+ */
+public class LineageEventSerializer implements Serializer<Object> {
+
+    static final byte MAGIC = (byte) 0xA6;
+    static final byte FORMAT_VERSION = 1;
+
+    private final JsonSerializer<Object> fallback = new JsonSerializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallback.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return data instanceof LineageEvent event ? encode(event) : fallback.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        return data instanceof LineageEvent event ? encode(event) : fallback.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+
+    static byte[] encode(LineageEvent event) {
+        byte[] eventId = event.getEventId().getBytes(StandardCharsets.UTF_8);
+        byte[] agentId = event.getAgentId().getBytes(StandardCharsets.UTF_8);
+        int size = 2
+                + AgentStateCodec.varintSize(eventId.length) + eventId.length
+                + AgentStateCodec.varintSize(agentId.length) + agentId.length
+                + Long.BYTES + Integer.BYTES
+                + AgentStateCodec.encodedSize(event.getPreviousState())
+                + AgentStateCodec.encodedSize(event.getResultingState());
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(MAGIC);
+        buffer.put(FORMAT_VERSION);
+        AgentStateCodec.writeVarint(buffer, eventId.length);
+        buffer.put(eventId);
+        AgentStateCodec.writeVarint(buffer, agentId.length);
+        buffer.put(agentId);
+        buffer.putLong(event.getTimestamp().getEpochSecond());
+        buffer.putInt(event.getTimestamp().getNano());
+        AgentStateCodec.write(buffer, event.getPreviousState());
+        AgentStateCodec.write(buffer, event.getResultingState());
+        return buffer.array();
+    }
+}
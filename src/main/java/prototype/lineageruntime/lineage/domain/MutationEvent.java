@@ -6,6 +6,7 @@ import java.io.Serializable;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.UUID;
+import prototype.simulationcore.events.EventIds;
 
 @Embeddable
 public class MutationEvent implements Serializable {
@@ -64,7 +65,7 @@ public class MutationEvent implements Serializable {
                                    boolean violationLinked) {
         Objects.requireNonNull(type, "type");
         return new MutationEvent(
-                UUID.randomUUID(),
+                EventIds.next(),
                 type,
                 description,
                 performanceDelta,
@@ -4,13 +4,13 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import prototype.simulationcore.domain.Agent;
 import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.events.EventIds;
 import prototype.simulationcore.service.RollbackService;
 import prototype.simulationcore.service.SimulationService;
 
@@ -46,7 +46,7 @@ public class RecoveryWorkflowOrchestrator {
     }
 
     public RecoveryExecutionReport recover(String serviceId) {
-        String workflowId = UUID.randomUUID().toString();
+        String workflowId = EventIds.nextString();
         Instant startedAt = Instant.now();
         List<WorkflowStepResult> steps = new ArrayList<>();
 
@@ -1,12 +1,12 @@
 package prototype.lineageruntime.recovery;
 
 import java.time.Duration;
-import java.util.UUID;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import prototype.lineageruntime.health.HealthMonitorService;
+import prototype.simulationcore.events.EventIds;
 
 @Service
 public class ServiceReconstructor {
@@ -105,7 +105,7 @@ public class ServiceReconstructor {
     }
 
     private String newInstanceId(String serviceId) {
-        return serviceId + "-" + UUID.randomUUID();
+        return serviceId + "-" + EventIds.next();
     }
 }
 
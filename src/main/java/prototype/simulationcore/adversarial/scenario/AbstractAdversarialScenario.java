@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.Objects;
 import prototype.simulationcore.adversarial.AdversarialScenario;
 import prototype.simulationcore.domain.Position;
+import prototype.simulationcore.domain.SensorVector;
 import prototype.simulationcore.environment.DefaultEnvironment;
 import prototype.simulationcore.environment.Environment;
 
@@ -36,6 +37,17 @@ public abstract class AbstractAdversarialScenario implements AdversarialScenario
     }
 
     protected Environment rebuild(Environment original, Map<String, Double> sensors) {
+        return rebuild(original, SensorVector.of(sensors));
+    }
+
+    /**
+     * Id-keyed copy of the environment's sensors that the scenario may modify before {@link #rebuild}.
+     */
+    protected SensorVector copySensorVector(Environment environment) {
+        return environment == null ? new SensorVector() : environment.sensorVector().copy();
+    }
+
+    protected Environment rebuild(Environment original, SensorVector sensors) {
         Position target = original == null ? Position.origin() : original.getTargetPosition();
         return new DefaultEnvironment(target, sensors);
     }
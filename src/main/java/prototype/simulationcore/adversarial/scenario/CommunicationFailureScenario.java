@@ -1,7 +1,10 @@
 package prototype.simulationcore.adversarial.scenario;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import prototype.simulationcore.domain.SensorVector;
+import prototype.simulationcore.domain.StateKeys;
 import prototype.simulationcore.environment.Environment;
 
 /**
@@ -11,6 +14,8 @@ public class CommunicationFailureScenario extends AbstractAdversarialScenario {
 
     public static final String TYPE = "communication_failure";
 
+    private static final int COMMUNICATION_BLOCKED = StateKeys.intern("communication_blocked");
+
     private final double dropProbability;
 
     public CommunicationFailureScenario(double severity) {
@@ -24,21 +29,36 @@ public class CommunicationFailureScenario extends AbstractAdversarialScenario {
 
     @Override
     public Environment apply(Environment environment) {
-        Map<String, Double> sensors = copySensors(environment);
+        SensorVector sensors = copySensorVector(environment);
         ThreadLocalRandom random = ThreadLocalRandom.current();
-        sensors.replaceAll((key, value) -> {
-            double original = value == null ? 0.0 : value;
-            if (!key.toLowerCase().contains("comm") && !key.toLowerCase().contains("signal")) {
-                return original;
+        for (int key = sensors.nextKey(0); key >= 0; key = sensors.nextKey(key + 1)) {
+            String name = StateKeys.name(key);
+            if (!containsIgnoreCase(name, "comm") && !containsIgnoreCase(name, "signal")) {
+                continue;
             }
-            if (random.nextDouble() > dropProbability * getSeverity()) {
-                return original * 0.5;
+            double original = sensors.get(key);
+            sensors.put(key, random.nextDouble() > dropProbability * getSeverity() ? original * 0.5 : 0.0);
+        }
+        for (Map.Entry<String, Double> reading : List.copyOf(sensors.spilled().entrySet())) {
+            String name = reading.getKey();
+            if (!containsIgnoreCase(name, "comm") && !containsIgnoreCase(name, "signal")) {
+                continue;
             }
-            return 0.0;
-        });
-        sensors.put("communication_blocked", getSeverity());
+            double original = reading.getValue();
+            sensors.put(name, random.nextDouble() > dropProbability * getSeverity() ? original * 0.5 : 0.0);
+        }
+        sensors.put(COMMUNICATION_BLOCKED, getSeverity());
         return rebuild(environment, sensors);
     }
+
+    private static boolean containsIgnoreCase(String name, String fragment) {
+        for (int offset = 0; offset + fragment.length() <= name.length(); offset++) {
+            if (name.regionMatches(true, offset, fragment, 0, fragment.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
 
 
@@ -1,8 +1,10 @@
 package prototype.simulationcore.adversarial.scenario;
 
-import java.util.HashMap;
 import java.util.Map;
 import prototype.simulationcore.domain.Position;
+import prototype.simulationcore.domain.SensorVector;
+import prototype.simulationcore.domain.StateKeys;
+import prototype.simulationcore.environment.DefaultEnvironment;
 import prototype.simulationcore.environment.Environment;
 
 /**
@@ -13,7 +15,8 @@ public class EnvironmentShiftScenario extends AbstractAdversarialScenario {
     public static final String TYPE = "environment_shift";
 
     private final Position targetOffset;
-    private final Map<String, Double> parameterDrift;
+    private final int[] driftKeys;
+    private final double[] driftAmounts;
 
     public EnvironmentShiftScenario(double severity) {
         this(severity, new Position(1.0, 0.5, 0.0), Map.of("temperature", 5.0, "radiation", 2.0));
@@ -22,16 +25,22 @@ public class EnvironmentShiftScenario extends AbstractAdversarialScenario {
     public EnvironmentShiftScenario(double severity, Position targetOffset, Map<String, Double> parameterDrift) {
         super(TYPE, severity);
         this.targetOffset = targetOffset == null ? Position.origin() : targetOffset;
-        this.parameterDrift = parameterDrift == null ? Map.of() : Map.copyOf(parameterDrift);
+        Map<String, Double> drift = parameterDrift == null ? Map.of() : Map.copyOf(parameterDrift);
+        this.driftKeys = new int[drift.size()];
+        this.driftAmounts = new double[drift.size()];
+        int index = 0;
+        for (Map.Entry<String, Double> entry : drift.entrySet()) {
+            driftKeys[index] = StateKeys.intern(entry.getKey());
+            driftAmounts[index++] = entry.getValue();
+        }
     }
 
     @Override
     public Environment apply(Environment environment) {
-        Map<String, Double> sensors = new HashMap<>(copySensors(environment));
-        parameterDrift.forEach((key, value) -> {
-            double original = sensors.getOrDefault(key, 0.0);
-            sensors.put(key, original + (value * getSeverity()));
-        });
+        SensorVector sensors = copySensorVector(environment);
+        for (int i = 0; i < driftKeys.length; i++) {
+            sensors.put(driftKeys[i], sensors.get(driftKeys[i]) + (driftAmounts[i] * getSeverity()));
+        }
         Position shiftedTarget = environment == null
                 ? Position.origin()
                 : environment.getTargetPosition().offset(
@@ -39,7 +48,7 @@ public class EnvironmentShiftScenario extends AbstractAdversarialScenario {
                         targetOffset.y() * getSeverity(),
                         targetOffset.z() * getSeverity()
         );
-        return new prototype.simulationcore.environment.DefaultEnvironment(shiftedTarget, sensors);
+        return new DefaultEnvironment(shiftedTarget, sensors);
     }
 }
 
@@ -1,7 +1,8 @@
 package prototype.simulationcore.adversarial.scenario;
 
-import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import prototype.simulationcore.domain.SensorVector;
+import prototype.simulationcore.domain.StateKeys;
 import prototype.simulationcore.environment.Environment;
 
 /**
@@ -11,6 +12,11 @@ public class MaliciousAgentScenario extends AbstractAdversarialScenario {
 
     public static final String TYPE = "malicious_agent";
 
+    private static final int THREAT = StateKeys.intern("threat");
+    private static final int ALLY_TRUST = StateKeys.intern("ally_trust");
+    private static final int PEER_INTERFERENCE = StateKeys.intern("peer_interference");
+    private static final int SPOOFED_SIGNAL = StateKeys.intern("spoofed_signal");
+
     private final double aggressionBias;
 
     public MaliciousAgentScenario(double severity) {
@@ -24,14 +30,13 @@ public class MaliciousAgentScenario extends AbstractAdversarialScenario {
 
     @Override
     public Environment apply(Environment environment) {
-        Map<String, Double> sensors = copySensors(environment);
+        SensorVector sensors = copySensorVector(environment);
         ThreadLocalRandom random = ThreadLocalRandom.current();
         double threatBoost = aggressionBias * getSeverity() * 100.0;
-        sensors.put("threat", sensors.getOrDefault("threat", 0.0) + threatBoost);
-        sensors.put("ally_trust", Math.max(0.0,
-                sensors.getOrDefault("ally_trust", 1.0) - (getSeverity() * 0.5)));
-        sensors.put("peer_interference", random.nextDouble(0.25, 1.0) * getSeverity());
-        sensors.put("spoofed_signal", random.nextDouble(-1.0, 1.0) * 50.0 * getSeverity());
+        sensors.put(THREAT, sensors.get(THREAT) + threatBoost);
+        sensors.put(ALLY_TRUST, Math.max(0.0, sensors.get(ALLY_TRUST, 1.0) - (getSeverity() * 0.5)));
+        sensors.put(PEER_INTERFERENCE, random.nextDouble(0.25, 1.0) * getSeverity());
+        sensors.put(SPOOFED_SIGNAL, random.nextDouble(-1.0, 1.0) * 50.0 * getSeverity());
         return rebuild(environment, sensors);
     }
 }
@@ -1,8 +1,8 @@
 package prototype.simulationcore.adversarial.scenario;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import prototype.simulationcore.domain.SensorVector;
+import prototype.simulationcore.domain.StateKeys;
 import prototype.simulationcore.environment.Environment;
 
 /**
@@ -12,6 +12,11 @@ public class ObstacleInjectionScenario extends AbstractAdversarialScenario {
 
     public static final String TYPE = "obstacle_injection";
 
+    private static final int OBSTACLE_DENSITY = StateKeys.intern("obstacle_density");
+    private static final int NAVIGATION_RISK = StateKeys.intern("navigation_risk");
+    private static final int UNEXPECTED_OBSTACLES = StateKeys.intern("unexpected_obstacles");
+    private static final int OBSTACLE_VARIABILITY = StateKeys.intern("obstacle_variability");
+
     private final int maxObstacles;
 
     public ObstacleInjectionScenario(double severity) {
@@ -25,15 +30,14 @@ public class ObstacleInjectionScenario extends AbstractAdversarialScenario {
 
     @Override
     public Environment apply(Environment environment) {
-        Map<String, Double> sensors = new HashMap<>(copySensors(environment));
+        SensorVector sensors = copySensorVector(environment);
         int injected = (int) Math.max(1, Math.round(maxObstacles * getSeverity()));
         ThreadLocalRandom random = ThreadLocalRandom.current();
         double densityDelta = injected * getSeverity();
-        sensors.put("obstacle_density", sensors.getOrDefault("obstacle_density", 0.0) + densityDelta);
-        sensors.put("navigation_risk", Math.min(1.0,
-                sensors.getOrDefault("navigation_risk", 0.0) + 0.2 * getSeverity()));
-        sensors.put("unexpected_obstacles", (double) injected);
-        sensors.put("obstacle_variability", random.nextDouble(0.0, 1.0) * getSeverity());
+        sensors.put(OBSTACLE_DENSITY, sensors.get(OBSTACLE_DENSITY) + densityDelta);
+        sensors.put(NAVIGATION_RISK, Math.min(1.0, sensors.get(NAVIGATION_RISK) + 0.2 * getSeverity()));
+        sensors.put(UNEXPECTED_OBSTACLES, injected);
+        sensors.put(OBSTACLE_VARIABILITY, random.nextDouble(0.0, 1.0) * getSeverity());
         return rebuild(environment, sensors);
     }
 }
@@ -1,6 +1,7 @@
 package prototype.simulationcore.adversarial.scenario;
 
-import java.util.Map;
+import prototype.simulationcore.domain.SensorVector;
+import prototype.simulationcore.domain.StateKeys;
 import prototype.simulationcore.environment.Environment;
 
 /**
@@ -10,6 +11,10 @@ public class ResourceScarcityScenario extends AbstractAdversarialScenario {
 
     public static final String TYPE = "resource_scarcity";
 
+    private static final int RESOURCES = StateKeys.intern("resources");
+    private static final int SUPPLY_DENSITY = StateKeys.intern("supply_density");
+    private static final int RESOURCE_ALERT = StateKeys.intern("resource_alert");
+
     private final double depletionRatio;
 
     public ResourceScarcityScenario(double severity) {
@@ -23,14 +28,20 @@ public class ResourceScarcityScenario extends AbstractAdversarialScenario {
 
     @Override
     public Environment apply(Environment environment) {
-        Map<String, Double> sensors = copySensors(environment);
+        SensorVector sensors = copySensorVector(environment);
         double factor = 1.0 - (depletionRatio * getSeverity());
         double clampFactor = Math.max(0.0, factor);
-        sensors.computeIfPresent("resources", (k, v) -> Math.max(0.0, v * clampFactor));
-        sensors.computeIfPresent("supply_density", (k, v) -> Math.max(0.0, v * clampFactor));
-        sensors.put("resource_alert", getSeverity());
+        deplete(sensors, RESOURCES, clampFactor);
+        deplete(sensors, SUPPLY_DENSITY, clampFactor);
+        sensors.put(RESOURCE_ALERT, getSeverity());
         return rebuild(environment, sensors);
     }
+
+    private static void deplete(SensorVector sensors, int key, double factor) {
+        if (sensors.contains(key)) {
+            sensors.put(key, Math.max(0.0, sensors.get(key) * factor));
+        }
+    }
 }
 
 
@@ -1,7 +1,9 @@
 package prototype.simulationcore.adversarial.scenario;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import prototype.simulationcore.domain.SensorVector;
 import prototype.simulationcore.environment.Environment;
 
 /**
@@ -26,16 +28,22 @@ public class SensorNoiseScenario extends AbstractAdversarialScenario {
 
     @Override
     public Environment apply(Environment environment) {
-        Map<String, Double> sensors = copySensors(environment);
+        SensorVector sensors = copySensorVector(environment);
         ThreadLocalRandom random = ThreadLocalRandom.current();
-        sensors.replaceAll((key, value) -> {
-            double original = value == null ? 0.0 : value;
+        for (int key = sensors.nextKey(0); key >= 0; key = sensors.nextKey(key + 1)) {
             if (random.nextDouble() > corruptionProbability * getSeverity()) {
-                return original;
+                continue;
             }
             double noise = (random.nextDouble(-1.0, 1.0)) * maxAmplitude * Math.max(0.1, getSeverity());
-            return original + noise;
-        });
+            sensors.put(key, sensors.get(key) + noise);
+        }
+        for (Map.Entry<String, Double> reading : List.copyOf(sensors.spilled().entrySet())) {
+            if (random.nextDouble() > corruptionProbability * getSeverity()) {
+                continue;
+            }
+            double noise = (random.nextDouble(-1.0, 1.0)) * maxAmplitude * Math.max(0.1, getSeverity());
+            sensors.put(reading.getKey(), reading.getValue() + noise);
+        }
         return rebuild(environment, sensors);
     }
 }
@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -15,6 +16,9 @@ import prototype.simulationcore.adversarial.AdversarialScenario;
 import prototype.simulationcore.adversarial.model.EnvironmentPerturbationRecord;
 import prototype.simulationcore.adversarial.model.PerformanceImpact;
 import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.SensorVector;
+import prototype.simulationcore.domain.StateKeys;
+import prototype.simulationcore.events.EventIds;
 
 /**
  * In-memory recorder to correlate perturbations with performance changes.
@@ -30,8 +34,17 @@ public class EnvironmentPerturbationRecorder {
                                    long tick,
                                    Map<String, Double> baselineSensors,
                                    Map<String, Double> perturbedSensors) {
-        UUID recordId = UUID.randomUUID();
-        Map<String, Double> delta = computeDelta(baselineSensors, perturbedSensors);
+        return recordPerturbation(simulationId, scenario, tick,
+                SensorVector.of(baselineSensors), SensorVector.of(perturbedSensors));
+    }
+
+    public UUID recordPerturbation(String simulationId,
+                                   AdversarialScenario scenario,
+                                   long tick,
+                                   SensorVector baseline,
+                                   SensorVector perturbed) {
+        UUID recordId = EventIds.next();
+        Map<String, Double> delta = computeDelta(baseline, perturbed);
         EnvironmentPerturbationRecord record = new EnvironmentPerturbationRecord(
                 recordId,
                 simulationId,
@@ -39,8 +52,8 @@ public class EnvironmentPerturbationRecorder {
                 scenario == null ? 0.0 : scenario.getSeverity(),
                 tick,
                 Instant.now(),
-                baselineSensors,
-                perturbedSensors,
+                baseline.toMap(),
+                perturbed.toMap(),
                 delta,
                 null
         );
@@ -77,25 +90,38 @@ public class EnvironmentPerturbationRecorder {
                 .toList();
     }
 
-    private Map<String, Double> computeDelta(Map<String, Double> baseline, Map<String, Double> perturbed) {
+    private Map<String, Double> computeDelta(SensorVector baseline, SensorVector perturbed) {
         Map<String, Double> delta = new HashMap<>();
-        HashSet<String> keys = new HashSet<>();
-        if (baseline != null) {
-            keys.addAll(baseline.keySet());
-        }
-        if (perturbed != null) {
-            keys.addAll(perturbed.keySet());
-        }
-        for (String key : keys) {
-            double before = baseline == null ? 0.0 : baseline.getOrDefault(key, 0.0);
-            double after = perturbed == null ? 0.0 : perturbed.getOrDefault(key, 0.0);
-            double diff = after - before;
+        for (int key = nextKey(baseline, perturbed, 0); key >= 0; key = nextKey(baseline, perturbed, key + 1)) {
+            double diff = perturbed.get(key) - baseline.get(key);
             if (Math.abs(diff) > 1e-9) {
-                delta.put(key, diff);
+                delta.put(StateKeys.name(key), diff);
+            }
+        }
+        if (!baseline.spilled().isEmpty() || !perturbed.spilled().isEmpty()) {
+            Set<String> names = new HashSet<>(baseline.spilled().keySet());
+            names.addAll(perturbed.spilled().keySet());
+            for (String name : names) {
+                double diff = perturbed.get(name, 0.0) - baseline.get(name, 0.0);
+                if (Math.abs(diff) > 1e-9) {
+                    delta.put(name, diff);
+                }
             }
         }
         return delta;
     }
+
+    /**
+     * Next key present in either vector, walking their presence bitmaps in id order.
+     */
+    private static int nextKey(SensorVector first, SensorVector second, int from) {
+        int a = first.nextKey(from);
+        int b = second.nextKey(from);
+        if (a < 0) {
+            return b;
+        }
+        return b < 0 ? a : Math.min(a, b);
+    }
 }
 
 
@@ -15,6 +15,7 @@ import org.springframework.stereotype.Service;
 import prototype.simulationcore.adversarial.AdversarialScenario;
 import prototype.simulationcore.adversarial.ScenarioApplicationResult;
 import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.SensorVector;
 import prototype.simulationcore.environment.Environment;
 
 /**
@@ -103,9 +104,9 @@ public class ScenarioInjector {
         List<UUID> recordIds = new ArrayList<>();
 
         for (ActiveScenario activeScenario : context.activeScenarios.values()) {
-            Map<String, Double> baseline = Map.copyOf(environment.snapshotSensors());
+            SensorVector baseline = environment.sensorVector();
             environment = activeScenario.scenario().apply(environment);
-            Map<String, Double> perturbed = Map.copyOf(environment.snapshotSensors());
+            SensorVector perturbed = environment.sensorVector();
             UUID recordId = recorder.recordPerturbation(resolveId(simulationId), activeScenario.scenario(), tick, baseline, perturbed);
             recordIds.add(recordId);
         }
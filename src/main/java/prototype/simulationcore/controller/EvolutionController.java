@@ -1,43 +1,77 @@
 package prototype.simulationcore.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import prototype.simulationcore.evolution.dto.EvolutionStartRequest;
 import prototype.simulationcore.evolution.dto.EvolutionStatus;
 import prototype.simulationcore.evolution.dto.GenerationReport;
 import prototype.simulationcore.evolution.dto.LeaderboardEntry;
 import prototype.simulationcore.evolution.selection.SelectionSettings;
 import prototype.simulationcore.evolution.service.EvolutionLoopService;
+import prototype.simulationcore.evolution.service.EvolutionRunner;
 
 @RestController
 @RequestMapping("/evolution")
 public class EvolutionController {
 
     private final EvolutionLoopService evolutionLoopService;
+    private final EvolutionRunner evolutionRunner;
+    private final ObjectMapper objectMapper;
 
-    public EvolutionController(EvolutionLoopService evolutionLoopService) {
+    public EvolutionController(EvolutionLoopService evolutionLoopService,
+                               EvolutionRunner evolutionRunner,
+                               ObjectMapper objectMapper) {
         this.evolutionLoopService = evolutionLoopService;
+        this.evolutionRunner = evolutionRunner;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/start")
     public EvolutionStatus start(@RequestBody(required = false) EvolutionStartRequest request) {
         EvolutionStartRequest normalized = request == null
-                ? new EvolutionStartRequest(null, null, null, null, null, null, null, null)
+                ? EvolutionStartRequest.empty()
                 : request;
         int populationSize = normalized.resolvePopulationSize();
         SelectionSettings settings = normalized.toSelectionSettings(populationSize);
         double mutationRate = normalized.resolveMutationRate();
-        return evolutionLoopService.initializePopulation(populationSize, normalized.basePolicyId(), settings, mutationRate);
+        return evolutionLoopService.initializePopulation(
+                populationSize,
+                normalized.basePolicyId(),
+                settings,
+                mutationRate,
+                normalized.resolveSeed(),
+                normalized.toIslandSettings(populationSize));
     }
 
     @PostMapping("/pause")
     public EvolutionStatus pause() {
-        return evolutionLoopService.pause();
+        evolutionRunner.stop();
+        evolutionLoopService.pause();
+        return evolutionRunner.status();
+    }
+
+    @PostMapping("/run")
+    public EvolutionStatus run(@RequestParam(name = "generationsPerSecond", required = false) Double generationsPerSecond) {
+        return evolutionRunner.start(generationsPerSecond);
+    }
+
+    @PostMapping("/run/stop")
+    public EvolutionStatus stopRun() {
+        return evolutionRunner.stop();
     }
 
     @PostMapping("/step")
@@ -47,18 +81,85 @@ public class EvolutionController {
 
     @GetMapping("/status")
     public EvolutionStatus status() {
-        return evolutionLoopService.status();
+        return evolutionRunner.status();
     }
 
     @GetMapping("/leaderboard")
-    public List<LeaderboardEntry> leaderboard() {
-        return evolutionLoopService.leaderboard();
+    public List<LeaderboardEntry> leaderboard(@RequestParam(name = "offset", defaultValue = "0") int offset,
+                                              @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return evolutionLoopService.leaderboard(offset, limit);
+    }
+
+    @GetMapping("/leaderboard/agents/{agentId}")
+    public LeaderboardEntry leaderboardStanding(@PathVariable("agentId") UUID agentId) {
+        return evolutionLoopService.leaderboardStanding(agentId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Agent is not on the leaderboard: " + agentId));
     }
 
     @GetMapping("/report/{generation}")
     public GenerationReport report(@PathVariable("generation") int generation) {
         return evolutionLoopService.getGenerationReport(generation);
     }
-}
 
+    @GetMapping("/runs")
+    public List<EvolutionStatus> runs() {
+        return evolutionLoopService.runs().stream()
+                .map(status -> evolutionRunner.status(status.runId()))
+                .toList();
+    }
+
+    @GetMapping("/runs/{runId}/status")
+    public EvolutionStatus runStatus(@PathVariable("runId") UUID runId) {
+        return evolutionRunner.status(runId);
+    }
+
+    @PostMapping("/runs/{runId}/step")
+    public GenerationReport stepRun(@PathVariable("runId") UUID runId) {
+        return evolutionLoopService.runGeneration(runId);
+    }
+
+    @PostMapping("/runs/{runId}/run")
+    public EvolutionStatus runInBackground(@PathVariable("runId") UUID runId,
+                                           @RequestParam(name = "generationsPerSecond", required = false)
+                                           Double generationsPerSecond) {
+        return evolutionRunner.start(runId, generationsPerSecond);
+    }
 
+    @PostMapping("/runs/{runId}/run/stop")
+    public EvolutionStatus stopRun(@PathVariable("runId") UUID runId) {
+        return evolutionRunner.stop(runId);
+    }
+
+    @PostMapping("/runs/{runId}/pause")
+    public EvolutionStatus pauseRun(@PathVariable("runId") UUID runId) {
+        evolutionRunner.stop(runId);
+        evolutionLoopService.pause(runId);
+        return evolutionRunner.status(runId);
+    }
+
+    @GetMapping("/runs/{runId}/report/{generation}")
+    public GenerationReport runReport(@PathVariable("runId") UUID runId,
+                                      @PathVariable("generation") int generation) {
+        return evolutionLoopService.getGenerationReport(runId, generation);
+    }
+
+    /**
+     * Streams the reports of generations {@code from} through {@code to} as newline-delimited JSON, read from
+     * the run's report log as the response is written.
+     */
+    @GetMapping(path = "/runs/{runId}/reports", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody runReports(@PathVariable("runId") UUID runId,
+                                            @RequestParam(name = "from", defaultValue = "0") int from,
+                                            @RequestParam(name = "to", required = false) Integer to) {
+        int last = to == null ? Integer.MAX_VALUE : to;
+        return output -> evolutionLoopService.streamGenerationReports(runId, from, last, report -> {
+            try {
+                output.write(objectMapper.writeValueAsBytes(report));
+                output.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import prototype.simulationcore.dto.AgentRegistrationRequest;
 import prototype.simulationcore.dto.RunUntilRequest;
 import prototype.simulationcore.dto.ScenarioLoadRequest;
 import prototype.simulationcore.dto.SimulationConfigRequest;
@@ -69,9 +70,18 @@ public class SimulationLifecycleController {
     @PostMapping("/{id}/run-until")
     public SimulationWorldView runUntil(@PathVariable("id") UUID simulationId,
                                         @RequestBody RunUntilRequest request) {
+        if (request.turbo()) {
+            return SimulationWorldView.from(orchestrator.runUntil(simulationId, request.targetTick(), request.toTurboOptions()));
+        }
         return SimulationWorldView.from(orchestrator.runUntil(simulationId, request.targetTick()));
     }
 
+    @PostMapping("/{id}/agents")
+    public SimulationWorldView registerAgents(@PathVariable("id") UUID simulationId,
+                                              @RequestBody AgentRegistrationRequest request) {
+        return SimulationWorldView.from(orchestrator.registerAgents(simulationId, request.agentIds(), request.spawn()));
+    }
+
     @PostMapping("/{id}/scenario/load")
     public SimulationWorldView loadScenario(@PathVariable("id") UUID simulationId,
                                             @RequestBody ScenarioLoadRequest request) {
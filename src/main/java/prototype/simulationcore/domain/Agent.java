@@ -13,6 +13,8 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import java.time.Instant;
 import java.util.UUID;
+import java.util.random.RandomGenerator;
+import org.hibernate.Length;
 import prototype.simulationcore.environment.DefaultEnvironment;
 import prototype.simulationcore.environment.Environment;
 import prototype.simulationcore.persistence.AgentStateAttributeConverter;
@@ -39,7 +41,7 @@ public class Agent {
     private AbstractAgentPolicy policy;
 
     @Lob
-    @Column(name = "state_payload", nullable = false)
+    @Column(name = "state_payload", nullable = false, length = Length.LONG32)
     @Convert(converter = AgentStateAttributeConverter.class)
     private AgentState state = AgentState.initial();
 
@@ -60,6 +62,17 @@ public class Agent {
         return agent;
     }
 
+    /**
+     * Detached copy of an agent that is already persisted, e.g. rebuilt from a checkpoint. Saving it merges into
+     * the existing row.
+     */
+    public static Agent restore(UUID agentId, Instant createdAt, AbstractAgentPolicy policy) {
+        Agent agent = bootstrap(policy);
+        agent.agentId = agentId;
+        agent.createdAt = createdAt;
+        return agent;
+    }
+
     public UUID getAgentId() {
         return agentId;
     }
@@ -113,6 +126,10 @@ public class Agent {
         return safetyViolations;
     }
 
+    public void setSafetyViolations(int safetyViolations) {
+        this.safetyViolations = Math.max(0, safetyViolations);
+    }
+
     public void recordSafetyViolation() {
         safetyViolations++;
     }
@@ -133,6 +150,14 @@ public class Agent {
         return policy.decide(state, resolved);
     }
 
+    public Action decide(Environment environment, RandomGenerator random) {
+        Environment resolved = environment == null ? new DefaultEnvironment(state) : environment;
+        if (policy == null) {
+            return Action.WAIT;
+        }
+        return policy.decide(state, resolved, random);
+    }
+
     public void adjustFitness(double delta) {
         fitness += delta;
     }
@@ -31,10 +31,10 @@ public record AgentState(
     }
 
     /**
-     * @return deep copy of the current state for lineage captures.
+     * @return the state for lineage captures; the record and its maps are immutable, so no copy is needed.
      */
     public AgentState snapshot() {
-        return new AgentState(position, energy, resources, sensorReadings, internalState);
+        return this;
     }
 
     public AgentState withPosition(Position newPosition) {
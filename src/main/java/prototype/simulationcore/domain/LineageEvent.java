@@ -2,7 +2,7 @@ package prototype.simulationcore.domain;
 
 import java.time.Instant;
 import java.util.Objects;
-import java.util.UUID;
+import prototype.simulationcore.events.EventIds;
 
 /**
  * Represents a single lineage entry emitted when the agent transitions between states.
@@ -29,14 +29,25 @@ public class LineageEvent {
 
     public static LineageEvent capture(String agentId, AgentState previousState, AgentState resultingState) {
         return new LineageEvent(
-                UUID.randomUUID().toString(),
+                EventIds.nextString(),
                 agentId,
-                previousState.snapshot(),
-                resultingState.snapshot(),
+                previousState,
+                resultingState,
                 Instant.now()
         );
     }
 
+    /**
+     * Rebuilds an event that was captured elsewhere, e.g. when decoding it from the wire.
+     */
+    public static LineageEvent restore(String eventId,
+                                       String agentId,
+                                       AgentState previousState,
+                                       AgentState resultingState,
+                                       Instant timestamp) {
+        return new LineageEvent(eventId, agentId, previousState, resultingState, timestamp);
+    }
+
     public String getEventId() {
         return eventId;
     }
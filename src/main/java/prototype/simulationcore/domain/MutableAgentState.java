@@ -0,0 +1,158 @@
+package prototype.simulationcore.domain;
+
+import java.util.Map;
+
+/**
+ * Mutable, primitive-backed counterpart of {@link AgentState} for hot simulation paths. Position, energy and
+ * resources are plain fields; sensor and internal values sit in {@link SensorVector}s, so updates allocate nothing
+ * once the vectors have grown to fit. {@link #toState()} materializes an immutable record for the edges (REST,
+ * lineage events, persistence) and caches it until the next change. Not thread-safe.
+ */
+public final class MutableAgentState {
+
+    private double x;
+    private double y;
+    private double z;
+    private double energy;
+    private double resources;
+    private final SensorVector sensors = new SensorVector();
+    private final SensorVector internal = new SensorVector();
+    private AgentState materialized;
+
+    public static MutableAgentState from(AgentState state) {
+        return new MutableAgentState().load(state);
+    }
+
+    /**
+     * Overwrites this state with {@code state}, which also becomes the cached materialization.
+     */
+    public MutableAgentState load(AgentState state) {
+        AgentState resolved = state == null ? AgentState.initial() : state;
+        x = resolved.position().x();
+        y = resolved.position().y();
+        z = resolved.position().z();
+        energy = resolved.energy();
+        resources = resolved.resources();
+        sensors.load(resolved.sensorReadings());
+        internal.load(resolved.internalState());
+        materialized = resolved;
+        return this;
+    }
+
+    public MutableAgentState copyFrom(MutableAgentState other) {
+        x = other.x;
+        y = other.y;
+        z = other.z;
+        energy = other.energy;
+        resources = other.resources;
+        sensors.copyFrom(other.sensors);
+        internal.copyFrom(other.internal);
+        materialized = other.materialized;
+        return this;
+    }
+
+    public double x() {
+        return x;
+    }
+
+    public double y() {
+        return y;
+    }
+
+    public double z() {
+        return z;
+    }
+
+    public double energy() {
+        return energy;
+    }
+
+    public double resources() {
+        return resources;
+    }
+
+    public void moveBy(double dx, double dy, double dz) {
+        x += dx;
+        y += dy;
+        z += dz;
+        materialized = null;
+    }
+
+    /**
+     * Energy never drops below zero, as with {@link AgentState#adjustEnergy}.
+     */
+    public void adjustEnergy(double delta) {
+        energy = Math.max(0.0, energy + delta);
+        materialized = null;
+    }
+
+    public void adjustResources(double delta) {
+        resources = Math.max(0.0, resources + delta);
+        materialized = null;
+    }
+
+    public boolean hasSensor(int key) {
+        return sensors.contains(key);
+    }
+
+    public double sensor(int key, double fallback) {
+        return sensors.get(key, fallback);
+    }
+
+    public void setSensor(int key, double value) {
+        sensors.put(key, value);
+        materialized = null;
+    }
+
+    /**
+     * @return the smallest present sensor key that is at least {@code from}, or {@code -1} when there is none
+     */
+    public int nextSensor(int from) {
+        return sensors.nextKey(from);
+    }
+
+    public int sensorCount() {
+        return sensors.size();
+    }
+
+    public double internal(int key, double fallback) {
+        return internal.get(key, fallback);
+    }
+
+    public void setInternal(int key, double value) {
+        internal.put(key, value);
+        materialized = null;
+    }
+
+    /**
+     * @return the smallest present internal key that is at least {@code from}, or {@code -1} when there is none
+     */
+    public int nextInternal(int from) {
+        return internal.nextKey(from);
+    }
+
+    public int internalCount() {
+        return internal.size();
+    }
+
+    /**
+     * @return whether any sensor or internal value is kept by name because its key could not be interned
+     */
+    public boolean hasSpilledKeys() {
+        return !sensors.spilled().isEmpty() || !internal.spilled().isEmpty();
+    }
+
+    /**
+     * Immutable view of the sensor readings; rebuilt only after a sensor changed.
+     */
+    public Map<String, Double> sensorReadings() {
+        return sensors.toMap();
+    }
+
+    public AgentState toState() {
+        if (materialized == null) {
+            materialized = new AgentState(new Position(x, y, z), energy, resources, sensors.toMap(), internal.toMap());
+        }
+        return materialized;
+    }
+}
@@ -0,0 +1,231 @@
+package prototype.simulationcore.domain;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sensor or internal readings keyed by {@link StateKeys} id: a dense {@code double[]} plus a presence bitmap, so
+ * reads and writes are array accesses and allocate nothing once the arrays have grown to fit. Names that could not
+ * be interned because the key table is full are kept by name in a small {@link #spilled()} map instead. The
+ * string-keyed {@link #toMap()} view is built on demand and cached until the next change. Not thread-safe.
+ *
+ * <p>Ids are only meaningful within one process, so the vector serializes as a name-keyed map.
+ */
+public final class SensorVector implements Serializable {
+
+    private static final double[] NO_VALUES = new double[0];
+    private static final long[] NO_BITS = new long[0];
+
+    private double[] values = NO_VALUES;
+    private long[] present = NO_BITS;
+    private int count;
+    private Map<String, Double> spilled;
+    private transient Map<String, Double> view = Map.of();
+
+    public static SensorVector of(Map<String, Double> readings) {
+        SensorVector vector = new SensorVector();
+        if (readings != null) {
+            vector.load(readings);
+        }
+        return vector;
+    }
+
+    public SensorVector copy() {
+        return new SensorVector().copyFrom(this);
+    }
+
+    public int size() {
+        return spilled == null ? count : count + spilled.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean contains(int key) {
+        return key >= 0 && key < values.length && (present[key >>> 6] & (1L << key)) != 0;
+    }
+
+    public double get(int key) {
+        return get(key, 0.0);
+    }
+
+    public double get(int key, double fallback) {
+        return contains(key) ? values[key] : fallback;
+    }
+
+    /**
+     * Reads by name, including names kept in the {@link #spilled()} map.
+     */
+    public double get(String name, double fallback) {
+        int key = StateKeys.idOf(name);
+        if (contains(key)) {
+            return values[key];
+        }
+        Double value = spilled == null ? null : spilled.get(name);
+        return value == null ? fallback : value;
+    }
+
+    /**
+     * Writes by name, interning it if the key table has room and spilling it to the name-keyed map otherwise.
+     */
+    public void put(String name, double value) {
+        int key = StateKeys.internIfRoom(name);
+        if (key >= 0) {
+            if (spilled != null && spilled.remove(name) != null) {
+                view = null;
+            }
+            put(key, value);
+            return;
+        }
+        if (spilled == null) {
+            spilled = new HashMap<>(4);
+        }
+        Double previous = spilled.put(name, value);
+        if (previous == null || Double.compare(previous, value) != 0) {
+            view = null;
+        }
+    }
+
+    /**
+     * Read-only view of the readings whose names have no {@link StateKeys} id; empty in the common case. Not
+     * visited by {@link #nextKey}.
+     */
+    public Map<String, Double> spilled() {
+        return spilled == null ? Map.of() : Collections.unmodifiableMap(spilled);
+    }
+
+    public void put(int key, double value) {
+        if (key >= values.length) {
+            grow(key + 1);
+        }
+        long bit = 1L << key;
+        if ((present[key >>> 6] & bit) == 0) {
+            present[key >>> 6] |= bit;
+            count++;
+        } else if (Double.compare(values[key], value) == 0) {
+            return;
+        }
+        values[key] = value;
+        view = null;
+    }
+
+    public void remove(int key) {
+        if (contains(key)) {
+            present[key >>> 6] &= ~(1L << key);
+            count--;
+            view = null;
+        }
+    }
+
+    /**
+     * @return the smallest present key that is at least {@code from}, or {@code -1} when there is none
+     */
+    public int nextKey(int from) {
+        int start = Math.max(0, from);
+        int word = start >>> 6;
+        if (word >= present.length) {
+            return -1;
+        }
+        long bits = present[word] & (-1L << start);
+        while (bits == 0) {
+            if (++word == present.length) {
+                return -1;
+            }
+            bits = present[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Replaces the contents with {@code readings}, interning new names while the key table has room. The map becomes the cached view.
+     */
+    public SensorVector load(Map<String, Double> readings) {
+        clear();
+        readings.forEach((key, value) -> put(key, value.doubleValue()));
+        view = Map.copyOf(readings);
+        return this;
+    }
+
+    public SensorVector copyFrom(SensorVector other) {
+        if (values.length < other.values.length) {
+            grow(other.values.length);
+        }
+        System.arraycopy(other.values, 0, values, 0, other.values.length);
+        System.arraycopy(other.present, 0, present, 0, other.present.length);
+        Arrays.fill(present, other.present.length, present.length, 0L);
+        count = other.count;
+        spilled = other.spilled == null ? null : new HashMap<>(other.spilled);
+        view = other.view;
+        return this;
+    }
+
+    public void clear() {
+        Arrays.fill(present, 0L);
+        count = 0;
+        spilled = null;
+        view = Map.of();
+    }
+
+    /**
+     * Immutable name-keyed view; rebuilt only after a change.
+     */
+    public Map<String, Double> toMap() {
+        if (view == null) {
+            Map<String, Double> map = spilled == null ? new HashMap<>(count * 2) : new HashMap<>(spilled);
+            for (int key = nextKey(0); key >= 0; key = nextKey(key + 1)) {
+                map.put(StateKeys.name(key), values[key]);
+            }
+            view = Map.copyOf(map);
+        }
+        return view;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SensorVector vector && toMap().equals(vector.toMap());
+    }
+
+    @Override
+    public int hashCode() {
+        return toMap().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    private void grow(int required) {
+        int capacity = Math.max(required, Math.max(8, values.length * 2));
+        values = Arrays.copyOf(values, capacity);
+        present = Arrays.copyOf(present, (capacity + 63) >>> 6);
+    }
+
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(new HashMap<>(toMap()));
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("SensorVector is serialized through its name-keyed form");
+    }
+
+    private record SerializedForm(HashMap<String, Double> readings) implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 3412877940216458601L;
+
+        @Serial
+        private Object readResolve() {
+            return SensorVector.of(readings);
+        }
+    }
+}
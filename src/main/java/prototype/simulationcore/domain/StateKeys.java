@@ -0,0 +1,74 @@
+package prototype.simulationcore.domain;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide table interning sensor and internal-state names to dense ints, so hot paths can address values by
+ * slot instead of hashing strings. Ids are assigned in first-seen order and never reused; the table only grows.
+ * Names fixed by code, configuration or definitions are {@link #intern interned} unconditionally. Names that merely
+ * arrive in readings go through {@link #internIfRoom}, which stops handing out ids once the table holds
+ * {@value #READING_KEY_LIMIT} names, so arbitrary keys cannot grow the table or every vector without bound.
+ */
+public final class StateKeys {
+
+    public static final int READING_KEY_LIMIT = 256;
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[0];
+
+    private StateKeys() {
+    }
+
+    public static int intern(String key) {
+        Integer id = IDS.get(key);
+        if (id != null) {
+            return id;
+        }
+        synchronized (StateKeys.class) {
+            id = IDS.get(key);
+            if (id == null) {
+                String[] current = names;
+                id = current.length;
+                String[] grown = Arrays.copyOf(current, id + 1);
+                grown[id] = key;
+                names = grown;
+                IDS.put(key, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Interns a name seen in readings, unless it is new and the table already holds {@value #READING_KEY_LIMIT}
+     * names.
+     *
+     * @return the key's id, or {@code -1} when the table is full and the key was never interned
+     */
+    public static int internIfRoom(String key) {
+        Integer id = IDS.get(key);
+        if (id != null) {
+            return id;
+        }
+        synchronized (StateKeys.class) {
+            return IDS.containsKey(key) || names.length < READING_KEY_LIMIT ? intern(key) : -1;
+        }
+    }
+
+    /**
+     * @return the key's id, or {@code -1} when it has never been interned
+     */
+    public static int idOf(String key) {
+        Integer id = key == null ? null : IDS.get(key);
+        return id == null ? -1 : id;
+    }
+
+    public static String name(int id) {
+        return names[id];
+    }
+
+    public static int count() {
+        return names.length;
+    }
+}
@@ -0,0 +1,15 @@
+package prototype.simulationcore.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Existing agents to add to a world, plus {@code spawn} freshly bootstrapped ones.
+ */
+public record AgentRegistrationRequest(List<UUID> agentIds, int spawn) {
+
+    public AgentRegistrationRequest {
+        agentIds = agentIds == null ? List.of() : List.copyOf(agentIds);
+        spawn = Math.max(0, spawn);
+    }
+}
@@ -1,5 +1,14 @@
 package prototype.simulationcore.dto;
 
-public record RunUntilRequest(long targetTick) {
-}
+import prototype.simulationcore.orchestrator.TurboRunOptions;
+
+/**
+ * With {@code turbo} set the run is a headless fast-forward; the intervals are then optional and fall back to
+ * the {@link TurboRunOptions} defaults.
+ */
+public record RunUntilRequest(long targetTick, boolean turbo, long summaryInterval, long checkpointInterval) {
 
+    public TurboRunOptions toTurboOptions() {
+        return new TurboRunOptions(summaryInterval, checkpointInterval);
+    }
+}
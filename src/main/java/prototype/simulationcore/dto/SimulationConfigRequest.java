@@ -3,13 +3,17 @@ package prototype.simulationcore.dto;
 import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
+import prototype.simulationcore.orchestrator.CatchUpPolicy;
 import prototype.simulationcore.orchestrator.SimulationConfig;
+import prototype.simulationcore.orchestrator.TickPacing;
 
 public record SimulationConfigRequest(
         String name,
         String scenarioFile,
         Long maxTicks,
         Long tickIntervalMillis,
+        TickPacing pacing,
+        CatchUpPolicy catchUpPolicy,
         Map<String, Object> parameters
 ) {
 
@@ -20,7 +24,8 @@ public record SimulationConfigRequest(
         long resolvedMaxTicks = maxTicks == null ? 0 : maxTicks;
         Duration interval = Duration.ofMillis(tickIntervalMillis == null ? 500 : tickIntervalMillis);
         Map<String, Object> safeParameters = parameters == null ? Map.of() : Map.copyOf(parameters);
-        return new SimulationConfig(resolvedName, scenarioFile, resolvedMaxTicks, interval, safeParameters);
+        return new SimulationConfig(resolvedName, scenarioFile, resolvedMaxTicks, interval,
+                pacing, catchUpPolicy, safeParameters);
     }
 }
 
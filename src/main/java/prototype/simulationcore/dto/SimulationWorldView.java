@@ -20,7 +20,12 @@ public record SimulationWorldView(
         Instant updatedAt,
         Map<String, Object> environment,
         List<SimulationEvent> recentEvents,
-        int constraintViolations
+        int constraintViolations,
+        double tickLagMillis,
+        double maxTickLagMillis,
+        double achievedTicksPerSecond,
+        long deadlineMisses,
+        int agents
 ) {
 
     public static SimulationWorldView from(SimulationWorld world) {
@@ -35,7 +40,12 @@ public record SimulationWorldView(
                 world.getUpdatedAt(),
                 world.snapshotEnvironment(),
                 world.getRecentEvents(),
-                world.getConstraintViolationCount()
+                world.getConstraintViolationCount(),
+                world.getTickLag().toNanos() / 1e6,
+                world.getMaxTickLag().toNanos() / 1e6,
+                world.getAchievedTicksPerSecond(),
+                world.getDeadlineMisses(),
+                world.getAgentCount()
         );
     }
 }
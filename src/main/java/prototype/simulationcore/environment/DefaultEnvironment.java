@@ -3,6 +3,7 @@ package prototype.simulationcore.environment;
 import java.util.Map;
 import prototype.simulationcore.domain.AgentState;
 import prototype.simulationcore.domain.Position;
+import prototype.simulationcore.domain.SensorVector;
 
 /**
  * Lightweight immutable environment snapshot derived from an agent's sensors.
@@ -10,15 +11,22 @@ import prototype.simulationcore.domain.Position;
 public class DefaultEnvironment implements Environment {
 
     private final Position targetPosition;
-    private final Map<String, Double> sensors;
+    private final SensorVector sensors;
 
     public DefaultEnvironment(AgentState state) {
         this(Position.origin(), state == null ? Map.of() : state.sensorReadings());
     }
 
     public DefaultEnvironment(Position targetPosition, Map<String, Double> sensors) {
+        this(targetPosition, SensorVector.of(sensors));
+    }
+
+    /**
+     * Takes ownership of {@code sensors}; the caller must not modify the vector afterwards.
+     */
+    public DefaultEnvironment(Position targetPosition, SensorVector sensors) {
         this.targetPosition = targetPosition == null ? Position.origin() : targetPosition;
-        this.sensors = sensors == null ? Map.of() : Map.copyOf(sensors);
+        this.sensors = sensors == null ? new SensorVector() : sensors;
     }
 
     @Override
@@ -28,13 +36,21 @@ public class DefaultEnvironment implements Environment {
 
     @Override
     public double readSignal(String key) {
-        return sensors.getOrDefault(key, 0.0);
+        return sensors.get(key, 0.0);
+    }
+
+    @Override
+    public double readSignal(int key) {
+        return sensors.get(key);
     }
 
     @Override
     public Map<String, Double> snapshotSensors() {
+        return sensors.toMap();
+    }
+
+    @Override
+    public SensorVector sensorVector() {
         return sensors;
     }
 }
-
-
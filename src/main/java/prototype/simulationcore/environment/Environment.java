@@ -2,6 +2,8 @@ package prototype.simulationcore.environment;
 
 import java.util.Map;
 import prototype.simulationcore.domain.Position;
+import prototype.simulationcore.domain.SensorVector;
+import prototype.simulationcore.domain.StateKeys;
 
 /**
  * Describes the observable portion of the world used by policies for decision making.
@@ -12,7 +14,20 @@ public interface Environment {
 
     double readSignal(String key);
 
-    Map<String, Double> snapshotSensors();
-}
+    /**
+     * Reads a signal by {@link StateKeys} id, for callers that resolved their keys up front.
+     */
+    default double readSignal(int key) {
+        return key < 0 ? 0.0 : readSignal(StateKeys.name(key));
+    }
 
+    Map<String, Double> snapshotSensors();
 
+    /**
+     * Sensors as an id-keyed vector. Callers must treat it as read-only and {@link SensorVector#copy()} it before
+     * making changes.
+     */
+    default SensorVector sensorVector() {
+        return SensorVector.of(snapshotSensors());
+    }
+}
@@ -9,21 +9,26 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import prototype.simulationcore.domain.Position;
+import prototype.simulationcore.domain.SensorVector;
+import prototype.simulationcore.domain.StateKeys;
 import prototype.simulationcore.world.EnvironmentState;
 import prototype.simulationcore.world.config.WorldConfig;
 
 /**
  * Mutable environment implementation that tracks resources, obstacles, and environmental factors for
- * each world tick.
+ * each world tick. Factors live in a {@link SensorVector} guarded by its own monitor.
  */
 public class SimulationEnvironment implements Environment, Serializable {
 
     @Serial
     private static final long serialVersionUID = 5783573537370204375L;
 
+    private static final int WEATHER_SEVERITY = StateKeys.intern("weatherSeverity");
+    private static final int TEMPERATURE = StateKeys.intern("temperature");
+
     private final Map<Position, Resource> resources = new ConcurrentHashMap<>();
     private final Set<Position> obstacles = ConcurrentHashMap.newKeySet();
-    private final Map<String, Double> environmentalFactors = new ConcurrentHashMap<>();
+    private final SensorVector environmentalFactors = new SensorVector();
     private final WorldConfig.Physics physics;
     private final AtomicInteger tickCounter = new AtomicInteger();
     private volatile Position targetPosition = Position.origin();
@@ -40,7 +45,7 @@ public class SimulationEnvironment implements Environment, Serializable {
             obstacles.addAll(initialObstacles);
         }
         if (initialFactors != null) {
-            environmentalFactors.putAll(initialFactors);
+            initialFactors.forEach(this::setEnvironmentalFactor);
         }
     }
 
@@ -64,7 +69,9 @@ public class SimulationEnvironment implements Environment, Serializable {
 
     public void setEnvironmentalFactor(String key, Double value) {
         if (key != null && !key.isBlank() && value != null) {
-            environmentalFactors.put(key, value);
+            synchronized (environmentalFactors) {
+                environmentalFactors.put(key, value.doubleValue());
+            }
         }
     }
 
@@ -74,16 +81,15 @@ public class SimulationEnvironment implements Environment, Serializable {
     public void tick() {
         resources.replaceAll((position, resource) -> resource == null ? null : resource.regenerate());
         double energyDecay = Math.max(physics.getEnergyDecay(), 0.0001);
-        environmentalFactors.compute("weatherSeverity", (key, current) -> {
-            double base = current == null ? 0.5 : current;
-            double delta = ThreadLocalRandom.current().nextDouble(-energyDecay, energyDecay);
-            return clamp(base + delta, 0.0, 1.0);
-        });
-        environmentalFactors.compute("temperature", (key, current) -> {
-            double base = current == null ? 20.0 : current;
-            double delta = ThreadLocalRandom.current().nextDouble(-1.5, 1.5) - physics.getFriction();
-            return clamp(base + delta, -50.0, 70.0);
-        });
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        synchronized (environmentalFactors) {
+            double weather = environmentalFactors.get(WEATHER_SEVERITY, 0.5)
+                    + random.nextDouble(-energyDecay, energyDecay);
+            environmentalFactors.put(WEATHER_SEVERITY, clamp(weather, 0.0, 1.0));
+            double temperature = environmentalFactors.get(TEMPERATURE, 20.0)
+                    + random.nextDouble(-1.5, 1.5) - physics.getFriction();
+            environmentalFactors.put(TEMPERATURE, clamp(temperature, -50.0, 70.0));
+        }
         tickCounter.incrementAndGet();
     }
 
@@ -91,7 +97,7 @@ public class SimulationEnvironment implements Environment, Serializable {
         return new EnvironmentState(
                 tickCounter.get(),
                 encodeResources(),
-                Map.copyOf(environmentalFactors),
+                snapshotSensors(),
                 Set.copyOf(obstacles)
         );
     }
@@ -103,12 +109,30 @@ public class SimulationEnvironment implements Environment, Serializable {
 
     @Override
     public double readSignal(String key) {
-        return environmentalFactors.getOrDefault(key, 0.0);
+        synchronized (environmentalFactors) {
+            return environmentalFactors.get(key, 0.0);
+        }
+    }
+
+    @Override
+    public double readSignal(int key) {
+        synchronized (environmentalFactors) {
+            return environmentalFactors.get(key);
+        }
     }
 
     @Override
     public Map<String, Double> snapshotSensors() {
-        return Map.copyOf(environmentalFactors);
+        synchronized (environmentalFactors) {
+            return environmentalFactors.toMap();
+        }
+    }
+
+    @Override
+    public SensorVector sensorVector() {
+        synchronized (environmentalFactors) {
+            return environmentalFactors.copy();
+        }
     }
 
     private Map<String, Resource> encodeResources() {
@@ -0,0 +1,29 @@
+package prototype.simulationcore.events;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Process-wide {@link IdGenerator} used by event factories and services that mint ids outside of the database.
+ * Defaults to a {@link TimeOrderedIdGenerator} with a random node id until the application installs the
+ * configured one.
+ */
+public final class EventIds {
+
+    private static volatile IdGenerator generator = TimeOrderedIdGenerator.withRandomNode();
+
+    private EventIds() {
+    }
+
+    public static UUID next() {
+        return generator.nextId();
+    }
+
+    public static String nextString() {
+        return generator.nextId().toString();
+    }
+
+    public static void install(IdGenerator idGenerator) {
+        generator = Objects.requireNonNull(idGenerator, "idGenerator");
+    }
+}
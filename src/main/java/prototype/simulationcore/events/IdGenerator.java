@@ -0,0 +1,12 @@
+package prototype.simulationcore.events;
+
+import java.util.UUID;
+
+/**
+ * Source of identifiers for events and short-lived entities. Implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    UUID nextId();
+}
@@ -37,7 +37,7 @@ public final class SimulationEvent {
                                      long tick,
                                      Map<String, Object> metadata) {
         return new SimulationEvent(
-                UUID.randomUUID().toString(),
+                EventIds.nextString(),
                 type,
                 simulationId,
                 tick,
@@ -10,6 +10,7 @@ public enum SimulationEventType {
     NODE_RECOVERED,
     CONSTRAINT_VIOLATED,
     TICK_COMPLETED,
+    TICKS_SUMMARIZED,
     SCENARIO_EVENT
 }
 
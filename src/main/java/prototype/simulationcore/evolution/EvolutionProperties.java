@@ -0,0 +1,253 @@
+package prototype.simulationcore.evolution;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "simulation.evolution")
+public class EvolutionProperties {
+
+    private Persistence persistence = new Persistence();
+    private Rewards rewards = new Rewards();
+    private Genomes genomes = new Genomes();
+    private Runner runner = new Runner();
+    private Evaluation evaluation = new Evaluation();
+    private History history = new History();
+
+    public Persistence getPersistence() {
+        return persistence;
+    }
+
+    public void setPersistence(Persistence persistence) {
+        this.persistence = persistence == null ? new Persistence() : persistence;
+    }
+
+    public Rewards getRewards() {
+        return rewards;
+    }
+
+    public void setRewards(Rewards rewards) {
+        this.rewards = rewards == null ? new Rewards() : rewards;
+    }
+
+    public Genomes getGenomes() {
+        return genomes;
+    }
+
+    public void setGenomes(Genomes genomes) {
+        this.genomes = genomes == null ? new Genomes() : genomes;
+    }
+
+    public Runner getRunner() {
+        return runner;
+    }
+
+    public void setRunner(Runner runner) {
+        this.runner = runner == null ? new Runner() : runner;
+    }
+
+    public Evaluation getEvaluation() {
+        return evaluation;
+    }
+
+    public void setEvaluation(Evaluation evaluation) {
+        this.evaluation = evaluation == null ? new Evaluation() : evaluation;
+    }
+
+    public History getHistory() {
+        return history;
+    }
+
+    public void setHistory(History history) {
+        this.history = history == null ? new History() : history;
+    }
+
+    public static class Persistence {
+
+        /**
+         * Number of generations the resident population may run ahead of the database before its
+         * state is written back. Values below one flush after every generation.
+         */
+        private int flushInterval = 10;
+
+        public int getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(int flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    }
+
+    public static class Rewards {
+
+        /**
+         * Raw reward points kept per agent before the oldest are rolled into downsampled buckets.
+         */
+        private int ringCapacity = 64;
+
+        /**
+         * Points folded into each downsampled bucket when the ring overflows.
+         */
+        private int bucketSize = 16;
+
+        /**
+         * Agents kept on the in-memory leaderboard; the lowest-ranked drop off beyond this.
+         */
+        private int leaderboardCapacity = 10_000;
+
+        /**
+         * Top entries republished after every flush and served without taking the tracker lock.
+         */
+        private int leaderboardSnapshotSize = 100;
+
+        public int getRingCapacity() {
+            return ringCapacity;
+        }
+
+        public void setRingCapacity(int ringCapacity) {
+            this.ringCapacity = ringCapacity;
+        }
+
+        public int getBucketSize() {
+            return bucketSize;
+        }
+
+        public void setBucketSize(int bucketSize) {
+            this.bucketSize = bucketSize;
+        }
+
+        public int getLeaderboardCapacity() {
+            return leaderboardCapacity;
+        }
+
+        public void setLeaderboardCapacity(int leaderboardCapacity) {
+            this.leaderboardCapacity = leaderboardCapacity;
+        }
+
+        public int getLeaderboardSnapshotSize() {
+            return leaderboardSnapshotSize;
+        }
+
+        public void setLeaderboardSnapshotSize(int leaderboardSnapshotSize) {
+            this.leaderboardSnapshotSize = leaderboardSnapshotSize;
+        }
+    }
+
+    public static class Genomes {
+
+        /**
+         * Persisted genomes remembered in memory for de-duplication; least recently used entries are evicted.
+         */
+        private int cacheSize = 100_000;
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+    }
+
+    public static class Runner {
+
+        /**
+         * Generations per second the background runner aims for when a start request names no rate.
+         */
+        private double defaultRate = 10.0;
+
+        /**
+         * Generations that may be awaiting population persistence or Kafka acknowledgement before the runner
+         * stops advancing and lets them drain.
+         */
+        private int maxUnflushedGenerations = 32;
+
+        /**
+         * Scheduler threads shared by all background runs.
+         */
+        private int threads = 4;
+
+        /**
+         * Runs kept resident at once. Starting another writes back and drops the least recently updated run.
+         */
+        private int maxRuns = 8;
+
+        public double getDefaultRate() {
+            return defaultRate;
+        }
+
+        public void setDefaultRate(double defaultRate) {
+            this.defaultRate = defaultRate;
+        }
+
+        public int getMaxUnflushedGenerations() {
+            return maxUnflushedGenerations;
+        }
+
+        public void setMaxUnflushedGenerations(int maxUnflushedGenerations) {
+            this.maxUnflushedGenerations = maxUnflushedGenerations;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getMaxRuns() {
+            return maxRuns;
+        }
+
+        public void setMaxRuns(int maxRuns) {
+            this.maxRuns = maxRuns;
+        }
+    }
+
+    public static class Evaluation {
+
+        /**
+         * Deterministic decisions remembered per (genome, state); least recently used entries are evicted. Zero
+         * disables the cache.
+         */
+        private int cacheSize = 100_000;
+
+        /**
+         * Resolution state values are rounded to before keying the cache. Zero keys on exact values, so cached
+         * runs evolve exactly like uncached ones.
+         */
+        private double quantum = 0.0;
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+
+        public double getQuantum() {
+            return quantum;
+        }
+
+        public void setQuantum(double quantum) {
+            this.quantum = quantum;
+        }
+    }
+
+    public static class History {
+
+        /**
+         * Directory holding each run's generation report log and its index.
+         */
+        private String directory = "data/evolution-history";
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package prototype.simulationcore.evolution.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Downsampled summary of a run of reward points that has aged out of a trajectory's recent ring.
+ */
+@Embeddable
+public class RewardBucket {
+
+    @Column(name = "first_tick")
+    private long firstTick;
+
+    @Column(name = "last_tick")
+    private long lastTick;
+
+    @Column(name = "point_count")
+    private int pointCount;
+
+    @Column(name = "mean_reward")
+    private double meanReward;
+
+    @Column(name = "min_reward")
+    private double minReward;
+
+    @Column(name = "max_reward")
+    private double maxReward;
+
+    public RewardBucket() {
+    }
+
+    public RewardBucket(long firstTick, long lastTick, int pointCount,
+                        double meanReward, double minReward, double maxReward) {
+        this.firstTick = firstTick;
+        this.lastTick = lastTick;
+        this.pointCount = pointCount;
+        this.meanReward = meanReward;
+        this.minReward = minReward;
+        this.maxReward = maxReward;
+    }
+
+    public long getFirstTick() {
+        return firstTick;
+    }
+
+    public long getLastTick() {
+        return lastTick;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    public double getMeanReward() {
+        return meanReward;
+    }
+
+    public double getMinReward() {
+        return minReward;
+    }
+
+    public double getMaxReward() {
+        return maxReward;
+    }
+}
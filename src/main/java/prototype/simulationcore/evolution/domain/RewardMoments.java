@@ -0,0 +1,92 @@
+package prototype.simulationcore.evolution.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Running sufficient statistics over (tick, reward) samples. Updates use Welford's method so mean, variance and
+ * the least-squares reward trend stay numerically stable even when ticks are epoch milliseconds; every query is
+ * constant time regardless of how many samples were recorded.
+ */
+@Embeddable
+public class RewardMoments {
+
+    @Column(name = "point_count", nullable = false)
+    private long count;
+
+    @Column(name = "mean_tick", nullable = false)
+    private double meanTick;
+
+    @Column(name = "mean_reward", nullable = false)
+    private double meanReward;
+
+    @Column(name = "tick_m2", nullable = false)
+    private double tickM2;
+
+    @Column(name = "reward_m2", nullable = false)
+    private double rewardM2;
+
+    @Column(name = "tick_reward_comoment", nullable = false)
+    private double coMoment;
+
+    public RewardMoments() {
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMeanTick() {
+        return meanTick;
+    }
+
+    public double getMeanReward() {
+        return meanReward;
+    }
+
+    public double getTickM2() {
+        return tickM2;
+    }
+
+    public double getRewardM2() {
+        return rewardM2;
+    }
+
+    public double getCoMoment() {
+        return coMoment;
+    }
+
+    public void add(long tick, double reward) {
+        count++;
+        double tickDelta = tick - meanTick;
+        double rewardDelta = reward - meanReward;
+        meanTick += tickDelta / count;
+        meanReward += rewardDelta / count;
+        tickM2 += tickDelta * (tick - meanTick);
+        rewardM2 += rewardDelta * (reward - meanReward);
+        coMoment += tickDelta * (reward - meanReward);
+    }
+
+    public RewardMoments copy() {
+        RewardMoments copy = new RewardMoments();
+        copy.count = count;
+        copy.meanTick = meanTick;
+        copy.meanReward = meanReward;
+        copy.tickM2 = tickM2;
+        copy.rewardM2 = rewardM2;
+        copy.coMoment = coMoment;
+        return copy;
+    }
+
+    /**
+     * Population mean and variance of rewards plus the slope of reward over tick.
+     */
+    public RewardStats toStats() {
+        if (count == 0) {
+            return RewardStats.empty();
+        }
+        double variance = rewardM2 / count;
+        double trend = count < 2 || tickM2 == 0.0 ? 0.0 : coMoment / tickM2;
+        return new RewardStats(meanReward, variance, trend);
+    }
+}
@@ -0,0 +1,164 @@
+package prototype.simulationcore.evolution.domain;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-capacity ring of the most recent reward points, held as parallel primitive columns. When the ring is
+ * full, the oldest points are rolled out into a {@link RewardBucket} so a trajectory's raw storage stays bounded.
+ */
+public final class RewardRing {
+
+    public static final int DEFAULT_CAPACITY = 64;
+    public static final int DEFAULT_BUCKET_SIZE = 16;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final long[] ticks;
+    private final double[] rewards;
+    private final long[] recordedAt;
+    private int head;
+    private int size;
+
+    public RewardRing(int capacity) {
+        int bounded = Math.max(1, capacity);
+        this.ticks = new long[bounded];
+        this.rewards = new double[bounded];
+        this.recordedAt = new long[bounded];
+    }
+
+    public int capacity() {
+        return ticks.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a point. If the ring is full, the oldest {@code bucketSize} points are removed first and returned
+     * as a downsampled bucket; otherwise {@code null} is returned.
+     */
+    public RewardBucket append(long tick, double reward, Instant recorded, int bucketSize) {
+        RewardBucket rolled = null;
+        if (size == capacity()) {
+            rolled = rollOldest(Math.max(1, Math.min(bucketSize, size)));
+        }
+        int slot = (head + size) % capacity();
+        ticks[slot] = tick;
+        rewards[slot] = reward;
+        recordedAt[slot] = (recorded == null ? Instant.now() : recorded).toEpochMilli();
+        size++;
+        return rolled;
+    }
+
+    public List<RewardPoint> points() {
+        List<RewardPoint> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int slot = (head + i) % capacity();
+            points.add(new RewardPoint(ticks[slot], rewards[slot], Instant.ofEpochMilli(recordedAt[slot])));
+        }
+        return points;
+    }
+
+    public RewardRing copy() {
+        RewardRing copy = new RewardRing(capacity());
+        System.arraycopy(ticks, 0, copy.ticks, 0, capacity());
+        System.arraycopy(rewards, 0, copy.rewards, 0, capacity());
+        System.arraycopy(recordedAt, 0, copy.recordedAt, 0, capacity());
+        copy.head = head;
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Column-major encoding: header, then all ticks, all rewards and all record times, oldest first.
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Integer.BYTES + size * (2 * Long.BYTES + Double.BYTES));
+        buffer.putInt(FORMAT_VERSION).putInt(capacity()).putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(ticks[(head + i) % capacity()]);
+        }
+        for (int i = 0; i < size; i++) {
+            buffer.putDouble(rewards[(head + i) % capacity()]);
+        }
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(recordedAt[(head + i) % capacity()]);
+        }
+        return buffer.array();
+    }
+
+    public static RewardRing fromBytes(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported reward ring format " + version);
+        }
+        RewardRing ring = new RewardRing(buffer.getInt());
+        int size = Math.min(buffer.getInt(), ring.capacity());
+        for (int i = 0; i < size; i++) {
+            ring.ticks[i] = buffer.getLong();
+        }
+        for (int i = 0; i < size; i++) {
+            ring.rewards[i] = buffer.getDouble();
+        }
+        for (int i = 0; i < size; i++) {
+            ring.recordedAt[i] = buffer.getLong();
+        }
+        ring.size = size;
+        return ring;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof RewardRing ring) || ring.capacity() != capacity() || ring.size != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            int slot = (head + i) % capacity();
+            int otherSlot = (ring.head + i) % ring.capacity();
+            if (ticks[slot] != ring.ticks[otherSlot]
+                    || Double.compare(rewards[slot], ring.rewards[otherSlot]) != 0
+                    || recordedAt[slot] != ring.recordedAt[otherSlot]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * capacity() + size;
+        for (int i = 0; i < size; i++) {
+            int slot = (head + i) % capacity();
+            hash = 31 * hash + Long.hashCode(ticks[slot]);
+            hash = 31 * hash + Double.hashCode(rewards[slot]);
+        }
+        return hash;
+    }
+
+    private RewardBucket rollOldest(int count) {
+        long firstTick = ticks[head];
+        long lastTick = firstTick;
+        double sum = 0.0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            int slot = (head + i) % capacity();
+            double reward = rewards[slot];
+            lastTick = ticks[slot];
+            sum += reward;
+            min = Math.min(min, reward);
+            max = Math.max(max, reward);
+        }
+        head = (head + count) % capacity();
+        size -= count;
+        return new RewardBucket(firstTick, lastTick, count, sum / count, min, max);
+    }
+}
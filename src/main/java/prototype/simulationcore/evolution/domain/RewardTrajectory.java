@@ -2,19 +2,28 @@ package prototype.simulationcore.evolution.domain;
 
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
 import jakarta.persistence.OrderColumn;
 import jakarta.persistence.Table;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import org.hibernate.Length;
+import prototype.simulationcore.persistence.RewardRingAttributeConverter;
 
+/**
+ * Reward history of one agent. Only the most recent points are kept raw (in a bounded ring); older points are
+ * rolled into downsampled buckets, and aggregate statistics come from running moments.
+ */
 @Entity
 @Table(name = "reward_trajectories")
 public class RewardTrajectory {
@@ -27,10 +36,21 @@ public class RewardTrajectory {
     @Column(name = "agent_id", nullable = false, unique = true)
     private UUID agentId;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "reward_points", joinColumns = @JoinColumn(name = "trajectory_id"))
-    @OrderColumn(name = "point_index")
-    private List<RewardPoint> rewards = new ArrayList<>();
+    @Lob
+    @Convert(converter = RewardRingAttributeConverter.class)
+    @Column(name = "recent_points", length = Length.LONG32)
+    private RewardRing recent = new RewardRing(RewardRing.DEFAULT_CAPACITY);
+
+    @Embedded
+    private RewardMoments moments = new RewardMoments();
+
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "reward_buckets", joinColumns = @JoinColumn(name = "trajectory_id"))
+    @OrderColumn(name = "bucket_index")
+    private List<RewardBucket> buckets = new ArrayList<>();
+
+    @Column(name = "bucket_count", nullable = false)
+    private int bucketCount;
 
     @Column(name = "cumulative_reward", nullable = false)
     private double cumulativeReward;
@@ -57,8 +77,30 @@ public class RewardTrajectory {
         return agentId;
     }
 
-    public List<RewardPoint> getRewards() {
-        return List.copyOf(rewards);
+    /**
+     * Raw points still held in the recent ring, oldest first.
+     */
+    public List<RewardPoint> getRecentRewards() {
+        return recent == null ? List.of() : recent.points();
+    }
+
+    public RewardRing getRecent() {
+        return recent;
+    }
+
+    public RewardMoments getMoments() {
+        return moments == null ? new RewardMoments() : moments;
+    }
+
+    /**
+     * Downsampled history of points that aged out of the ring. Lazily loaded.
+     */
+    public List<RewardBucket> getBuckets() {
+        return List.copyOf(buckets);
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
     }
 
     public double getCumulativeReward() {
@@ -73,11 +115,23 @@ public class RewardTrajectory {
         return updatedAt;
     }
 
+    public RewardStats stats() {
+        return getMoments().toStats();
+    }
+
     public void record(double reward, long tick) {
-        if (rewards == null) {
-            rewards = new ArrayList<>();
+        if (recent == null) {
+            recent = new RewardRing(RewardRing.DEFAULT_CAPACITY);
         }
-        rewards.add(new RewardPoint(tick, reward, Instant.now()));
+        if (moments == null) {
+            moments = new RewardMoments();
+        }
+        RewardBucket rolled = recent.append(tick, reward, Instant.now(), RewardRing.DEFAULT_BUCKET_SIZE);
+        if (rolled != null) {
+            buckets.add(rolled);
+            bucketCount++;
+        }
+        moments.add(tick, reward);
         cumulativeReward += reward;
         updatedAt = Instant.now();
     }
@@ -87,5 +141,3 @@ public class RewardTrajectory {
         updatedAt = Instant.now();
     }
 }
-
-
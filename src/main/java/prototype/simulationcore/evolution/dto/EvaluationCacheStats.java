@@ -0,0 +1,17 @@
+package prototype.simulationcore.evolution.dto;
+
+public record EvaluationCacheStats(
+        int hits,
+        int misses,
+        double hitRate
+) {
+
+    public static EvaluationCacheStats of(int hits, int misses) {
+        int total = hits + misses;
+        return new EvaluationCacheStats(hits, misses, total == 0 ? 0.0 : (double) hits / total);
+    }
+
+    public static EvaluationCacheStats empty() {
+        return new EvaluationCacheStats(0, 0, 0.0);
+    }
+}
@@ -1,6 +1,11 @@
 package prototype.simulationcore.evolution.dto;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import prototype.simulationcore.evolution.selection.EvaluationMode;
+import prototype.simulationcore.evolution.selection.IslandSettings;
+import prototype.simulationcore.evolution.selection.MigrationTopology;
 import prototype.simulationcore.evolution.selection.SelectionSettings;
 import prototype.simulationcore.evolution.selection.SelectionStrategyType;
 
@@ -12,9 +17,21 @@ public record EvolutionStartRequest(
         Integer tournamentSize,
         Integer elitismCount,
         Double safetyPenalty,
-        Double mutationRate
+        Double mutationRate,
+        EvaluationMode evaluationMode,
+        Long seed,
+        Integer islands,
+        Integer migrationInterval,
+        Integer migrantCount,
+        MigrationTopology migrationTopology,
+        List<SelectionStrategyType> islandStrategies
 ) {
 
+    public static EvolutionStartRequest empty() {
+        return new EvolutionStartRequest(null, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null);
+    }
+
     public int resolvePopulationSize() {
         return populationSize == null || populationSize <= 0 ? 16 : populationSize;
     }
@@ -33,13 +50,28 @@ public record EvolutionStartRequest(
                 ? Math.max(1, survivors / 2)
                 : Math.max(1, elitismCount);
         double penalty = safetyPenalty == null ? 5.0 : Math.max(0.0, safetyPenalty);
-        return new SelectionSettings(type, survivors, tournament, elitism, penalty);
+        return new SelectionSettings(type, survivors, tournament, elitism, penalty, evaluationMode);
     }
 
     public double resolveMutationRate() {
         double rate = mutationRate == null ? 0.1 : mutationRate;
         return Math.max(0.0, Math.min(1.0, rate));
     }
-}
 
+    public long resolveSeed() {
+        return seed == null ? ThreadLocalRandom.current().nextLong() : seed;
+    }
 
+    public IslandSettings toIslandSettings(int actualPopulationSize) {
+        if (islands == null || islands <= 1) {
+            return IslandSettings.single();
+        }
+        return new IslandSettings(
+                islands,
+                migrationInterval == null ? 5 : migrationInterval,
+                migrantCount == null ? 1 : migrantCount,
+                migrationTopology,
+                islandStrategies
+        ).fitTo(actualPopulationSize);
+    }
+}
@@ -12,13 +12,35 @@ public record EvolutionStatus(
         SelectionStrategyType selectionStrategy,
         double mutationRate,
         Instant startedAt,
-        Instant lastUpdated
+        Instant lastUpdated,
+        int islandCount,
+        EvolutionThroughput throughput
 ) {
 
+    public EvolutionStatus {
+        throughput = throughput == null ? EvolutionThroughput.idle() : throughput;
+    }
+
+    public EvolutionStatus(UUID runId,
+                           boolean running,
+                           int generation,
+                           int populationSize,
+                           SelectionStrategyType selectionStrategy,
+                           double mutationRate,
+                           Instant startedAt,
+                           Instant lastUpdated,
+                           int islandCount) {
+        this(runId, running, generation, populationSize, selectionStrategy, mutationRate, startedAt, lastUpdated,
+                islandCount, EvolutionThroughput.idle());
+    }
+
     public static EvolutionStatus idle() {
         Instant now = Instant.now();
-        return new EvolutionStatus(null, false, 0, 0, SelectionStrategyType.TOURNAMENT, 0.0, now, now);
+        return new EvolutionStatus(null, false, 0, 0, SelectionStrategyType.TOURNAMENT, 0.0, now, now, 0);
     }
-}
-
 
+    public EvolutionStatus withThroughput(EvolutionThroughput pace) {
+        return new EvolutionStatus(runId, running, generation, populationSize, selectionStrategy, mutationRate,
+                startedAt, lastUpdated, islandCount, pace);
+    }
+}
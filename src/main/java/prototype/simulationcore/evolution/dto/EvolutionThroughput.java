@@ -0,0 +1,26 @@
+package prototype.simulationcore.evolution.dto;
+
+/**
+ * Pace of an evolution run. {@code lagGenerations} is how far the background runner is behind its target
+ * schedule; {@code unflushedGenerations} counts generations still awaiting persistence or Kafka acknowledgement.
+ */
+public record EvolutionThroughput(
+        boolean autoRunning,
+        double targetGenerationsPerSecond,
+        double achievedGenerationsPerSecond,
+        long lagGenerations,
+        int unflushedGenerations,
+        int maxUnflushedGenerations,
+        boolean backpressured,
+        long throttledTicks
+) {
+
+    public static EvolutionThroughput manual(int unflushedGenerations, int maxUnflushedGenerations) {
+        return new EvolutionThroughput(false, 0.0, 0.0, 0L, unflushedGenerations, maxUnflushedGenerations,
+                unflushedGenerations >= maxUnflushedGenerations, 0L);
+    }
+
+    public static EvolutionThroughput idle() {
+        return manual(0, 0);
+    }
+}
@@ -9,18 +9,46 @@ public record GenerationReport(
         int generation,
         GenerationStats stats,
         List<AgentSummary> bestAgents,
-        List<UUID> safetyViolations
+        List<UUID> safetyViolations,
+        List<IslandReport> islands,
+        EvaluationCacheStats evaluationCache
 ) {
 
     public GenerationReport {
         stats = stats == null ? GenerationStats.empty() : stats;
         bestAgents = bestAgents == null ? List.of() : List.copyOf(bestAgents);
         safetyViolations = safetyViolations == null ? List.of() : List.copyOf(safetyViolations);
+        islands = islands == null ? List.of() : List.copyOf(islands);
+        evaluationCache = evaluationCache == null ? EvaluationCacheStats.empty() : evaluationCache;
+    }
+
+    public GenerationReport(UUID runId,
+                            int generation,
+                            GenerationStats stats,
+                            List<AgentSummary> bestAgents,
+                            List<UUID> safetyViolations,
+                            List<IslandReport> islands) {
+        this(runId, generation, stats, bestAgents, safetyViolations, islands, EvaluationCacheStats.empty());
+    }
+
+    public GenerationReport(UUID runId,
+                            int generation,
+                            GenerationStats stats,
+                            List<AgentSummary> bestAgents,
+                            List<UUID> safetyViolations) {
+        this(runId, generation, stats, bestAgents, safetyViolations, List.of());
     }
 
     public static GenerationReport empty() {
         return new GenerationReport(null, 0, GenerationStats.empty(), Collections.emptyList(), Collections.emptyList());
     }
-}
 
+    public GenerationReport withIslands(List<IslandReport> islandReports) {
+        return new GenerationReport(runId, generation, stats, bestAgents, safetyViolations, islandReports,
+                evaluationCache);
+    }
 
+    public GenerationReport withEvaluationCache(EvaluationCacheStats cacheStats) {
+        return new GenerationReport(runId, generation, stats, bestAgents, safetyViolations, islands, cacheStats);
+    }
+}
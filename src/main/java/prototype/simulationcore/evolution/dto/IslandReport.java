@@ -0,0 +1,12 @@
+package prototype.simulationcore.evolution.dto;
+
+import prototype.simulationcore.evolution.selection.SelectionStrategyType;
+
+public record IslandReport(
+        int island,
+        SelectionStrategyType selectionStrategy,
+        int populationSize,
+        int immigrants,
+        GenerationReport report
+) {
+}
@@ -3,6 +3,7 @@ package prototype.simulationcore.evolution.dto;
 import java.util.UUID;
 
 public record LeaderboardEntry(
+        int rank,
         UUID agentId,
         double cumulativeReward,
         double meanReward,
@@ -0,0 +1,63 @@
+package prototype.simulationcore.evolution.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import prototype.simulationcore.evolution.domain.RewardBucket;
+import prototype.simulationcore.evolution.domain.RewardMoments;
+import prototype.simulationcore.evolution.domain.RewardPoint;
+import prototype.simulationcore.evolution.domain.RewardRing;
+import prototype.simulationcore.evolution.domain.RewardTrajectory;
+
+/**
+ * Set-based writes for reward trajectories. Each call issues one statement per chunk of rows instead of
+ * loading and saving every {@code RewardTrajectory} entity individually.
+ */
+public interface RewardTrajectoryBatchRepository {
+
+    /**
+     * Loads the trajectories of the given agents, one query per chunk. Downsampled buckets are not fetched.
+     */
+    List<RewardTrajectory> findAllByAgentIds(Collection<UUID> agentIds);
+
+    /**
+     * Up to {@code limit} trajectories written before the recent ring existed, i.e. with no ring yet but with rows
+     * in the legacy {@code reward_points} table. Empty once that table is gone.
+     */
+    List<RewardTrajectory> findLegacyTrajectories(int limit);
+
+    /**
+     * Legacy {@code reward_points} rows of the given trajectories, keyed by trajectory id and oldest first. Empty
+     * once that table is gone.
+     */
+    Map<UUID, List<RewardPoint>> findLegacyPoints(Collection<UUID> trajectoryIds);
+
+    /**
+     * Inserts trajectory rows for agents that have no trajectory yet.
+     */
+    void insertTrajectories(List<TrajectoryRow> trajectories, Instant updatedAt);
+
+    /**
+     * Rewrites ring, moments, cumulative reward and, where present, generation rank of existing trajectories.
+     */
+    void updateTrajectories(List<TrajectoryRow> trajectories, Instant updatedAt);
+
+    /**
+     * Appends downsampled buckets using multi-row inserts into {@code reward_buckets}.
+     */
+    void insertBuckets(List<BucketRow> buckets);
+
+    record TrajectoryRow(UUID trajectoryId,
+                         UUID agentId,
+                         double cumulativeReward,
+                         Integer generationRank,
+                         RewardMoments moments,
+                         RewardRing recent,
+                         int bucketCount) {
+    }
+
+    record BucketRow(UUID trajectoryId, int bucketIndex, RewardBucket bucket) {
+    }
+}
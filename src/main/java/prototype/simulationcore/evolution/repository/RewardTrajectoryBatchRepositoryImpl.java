@@ -0,0 +1,230 @@
+package prototype.simulationcore.evolution.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.TypedParameterValue;
+import org.hibernate.type.StandardBasicTypes;
+import prototype.simulationcore.evolution.domain.RewardPoint;
+import prototype.simulationcore.evolution.domain.RewardTrajectory;
+
+class RewardTrajectoryBatchRepositoryImpl implements RewardTrajectoryBatchRepository {
+
+    /**
+     * Rows per statement. Keeps the widest statement (one CASE pair per state column) well below driver
+     * placeholder limits.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * Trajectory columns rewritten on every flush, in insert order after the key columns.
+     */
+    private static final List<Column> STATE_COLUMNS = List.of(
+            new Column("cumulative_reward", TrajectoryRow::cumulativeReward),
+            new Column("point_count", row -> row.moments().getCount()),
+            new Column("mean_tick", row -> row.moments().getMeanTick()),
+            new Column("mean_reward", row -> row.moments().getMeanReward()),
+            new Column("tick_m2", row -> row.moments().getTickM2()),
+            new Column("reward_m2", row -> row.moments().getRewardM2()),
+            new Column("tick_reward_comoment", row -> row.moments().getCoMoment()),
+            new Column("recent_points", row -> row.recent().toBytes()),
+            new Column("bucket_count", TrajectoryRow::bucketCount)
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RewardTrajectory> findAllByAgentIds(Collection<UUID> agentIds) {
+        if (agentIds == null || agentIds.isEmpty()) {
+            return List.of();
+        }
+        List<RewardTrajectory> trajectories = new ArrayList<>(agentIds.size());
+        for (List<UUID> chunk : chunks(List.copyOf(agentIds))) {
+            trajectories.addAll(entityManager.createQuery(
+                            "select t from RewardTrajectory t where t.agentId in :agentIds", RewardTrajectory.class)
+                    .setParameter("agentIds", chunk)
+                    .getResultList());
+        }
+        return trajectories;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<RewardTrajectory> findLegacyTrajectories(int limit) {
+        if (!hasLegacyPoints()) {
+            return List.of();
+        }
+        return entityManager.createNativeQuery("select t.* from reward_trajectories t where t.recent_points is null "
+                        + "and exists (select 1 from reward_points p where p.trajectory_id = t.trajectory_id) limit ?",
+                        RewardTrajectory.class)
+                .setParameter(1, limit)
+                .getResultList();
+    }
+
+    @Override
+    public Map<UUID, List<RewardPoint>> findLegacyPoints(Collection<UUID> trajectoryIds) {
+        if (trajectoryIds == null || trajectoryIds.isEmpty() || !hasLegacyPoints()) {
+            return Map.of();
+        }
+        Map<UUID, List<RewardPoint>> points = new HashMap<>();
+        for (List<UUID> chunk : chunks(List.copyOf(trajectoryIds))) {
+            StringBuilder sql = new StringBuilder("select trajectory_id, tick_mark, reward_value, recorded_at "
+                    + "from reward_points where trajectory_id in (");
+            appendPlaceholders(sql, chunk.size());
+            sql.append(") order by trajectory_id, point_index");
+            NativeQuery<?> query = entityManager.createNativeQuery(sql.toString())
+                    .unwrap(NativeQuery.class)
+                    .addScalar("trajectory_id", StandardBasicTypes.UUID)
+                    .addScalar("tick_mark", StandardBasicTypes.LONG)
+                    .addScalar("reward_value", StandardBasicTypes.DOUBLE)
+                    .addScalar("recorded_at", StandardBasicTypes.INSTANT);
+            for (int i = 0; i < chunk.size(); i++) {
+                query.setParameter(i + 1, chunk.get(i));
+            }
+            for (Object result : query.getResultList()) {
+                Object[] row = (Object[]) result;
+                points.computeIfAbsent((UUID) row[0], ignored -> new ArrayList<>())
+                        .add(new RewardPoint((Long) row[1], (Double) row[2], (Instant) row[3]));
+            }
+        }
+        return points;
+    }
+
+    @Override
+    public void insertTrajectories(List<TrajectoryRow> trajectories, Instant updatedAt) {
+        int columns = 4 + STATE_COLUMNS.size();
+        for (List<TrajectoryRow> chunk : chunks(trajectories)) {
+            StringBuilder sql = new StringBuilder("insert into reward_trajectories "
+                    + "(trajectory_id, agent_id, generation_rank, updated_at");
+            STATE_COLUMNS.forEach(column -> sql.append(", ").append(column.name()));
+            sql.append(") values ");
+            appendTuples(sql, chunk.size(), columns);
+            Query query = entityManager.createNativeQuery(sql.toString());
+            int position = 1;
+            for (TrajectoryRow row : chunk) {
+                query.setParameter(position++, row.trajectoryId());
+                query.setParameter(position++, row.agentId());
+                query.setParameter(position++, new TypedParameterValue<>(StandardBasicTypes.INTEGER,
+                        row.generationRank()));
+                query.setParameter(position++, updatedAt);
+                for (Column column : STATE_COLUMNS) {
+                    query.setParameter(position++, column.value().apply(row));
+                }
+            }
+            query.executeUpdate();
+        }
+    }
+
+    @Override
+    public void updateTrajectories(List<TrajectoryRow> trajectories, Instant updatedAt) {
+        for (List<TrajectoryRow> chunk : chunks(trajectories)) {
+            List<TrajectoryRow> ranked = chunk.stream()
+                    .filter(row -> row.generationRank() != null)
+                    .toList();
+            StringBuilder sql = new StringBuilder("update reward_trajectories set updated_at = ?");
+            for (Column column : STATE_COLUMNS) {
+                appendCase(sql, column.name(), chunk.size());
+            }
+            if (!ranked.isEmpty()) {
+                appendCase(sql, "generation_rank", ranked.size());
+            }
+            sql.append(" where trajectory_id in (");
+            appendPlaceholders(sql, chunk.size());
+            sql.append(')');
+
+            Query query = entityManager.createNativeQuery(sql.toString());
+            int position = 1;
+            query.setParameter(position++, updatedAt);
+            for (Column column : STATE_COLUMNS) {
+                for (TrajectoryRow row : chunk) {
+                    query.setParameter(position++, row.trajectoryId());
+                    query.setParameter(position++, column.value().apply(row));
+                }
+            }
+            for (TrajectoryRow row : ranked) {
+                query.setParameter(position++, row.trajectoryId());
+                query.setParameter(position++, row.generationRank());
+            }
+            for (TrajectoryRow row : chunk) {
+                query.setParameter(position++, row.trajectoryId());
+            }
+            query.executeUpdate();
+        }
+    }
+
+    @Override
+    public void insertBuckets(List<BucketRow> buckets) {
+        for (List<BucketRow> chunk : chunks(buckets)) {
+            StringBuilder sql = new StringBuilder("insert into reward_buckets (trajectory_id, bucket_index, "
+                    + "first_tick, last_tick, point_count, mean_reward, min_reward, max_reward) values ");
+            appendTuples(sql, chunk.size(), 8);
+            Query query = entityManager.createNativeQuery(sql.toString());
+            int position = 1;
+            for (BucketRow row : chunk) {
+                query.setParameter(position++, row.trajectoryId());
+                query.setParameter(position++, row.bucketIndex());
+                query.setParameter(position++, row.bucket().getFirstTick());
+                query.setParameter(position++, row.bucket().getLastTick());
+                query.setParameter(position++, row.bucket().getPointCount());
+                query.setParameter(position++, row.bucket().getMeanReward());
+                query.setParameter(position++, row.bucket().getMinReward());
+                query.setParameter(position++, row.bucket().getMaxReward());
+            }
+            query.executeUpdate();
+        }
+    }
+
+    private boolean hasLegacyPoints() {
+        Number tables = (Number) entityManager.createNativeQuery("select count(*) from information_schema.tables "
+                        + "where table_schema = schema() and table_name = 'reward_points'")
+                .getSingleResult();
+        return tables.intValue() > 0;
+    }
+
+    private static void appendCase(StringBuilder sql, String column, int rows) {
+        sql.append(", ").append(column).append(" = case trajectory_id");
+        sql.append(" when ? then ?".repeat(rows));
+        sql.append(" else ").append(column).append(" end");
+    }
+
+    private static void appendTuples(StringBuilder sql, int rows, int columns) {
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append('(');
+            appendPlaceholders(sql, columns);
+            sql.append(')');
+        }
+    }
+
+    private static void appendPlaceholders(StringBuilder sql, int count) {
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+    }
+
+    private static <T> List<List<T>> chunks(List<T> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return List.of();
+        }
+        List<List<T>> chunks = new ArrayList<>((rows.size() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+            chunks.add(rows.subList(from, Math.min(rows.size(), from + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    private record Column(String name, Function<TrajectoryRow, Object> value) {
+    }
+}
@@ -0,0 +1,9 @@
+package prototype.simulationcore.evolution.selection;
+
+/**
+ * Controls how a generation's population is evaluated before selection runs.
+ */
+public enum EvaluationMode {
+    SEQUENTIAL,
+    PARALLEL
+}
@@ -0,0 +1,67 @@
+package prototype.simulationcore.evolution.selection;
+
+import java.util.List;
+
+/**
+ * Island-model layout of an evolution run. A single island is the classic panmictic run; with more islands the
+ * population is split into sub-populations that evolve independently and exchange their best individuals every
+ * {@code migrationInterval} generations.
+ */
+public record IslandSettings(
+        int islandCount,
+        int migrationInterval,
+        int migrantCount,
+        MigrationTopology topology,
+        List<SelectionStrategyType> strategies
+) {
+
+    public IslandSettings {
+        islandCount = Math.max(1, islandCount);
+        migrationInterval = Math.max(1, migrationInterval);
+        migrantCount = Math.max(0, migrantCount);
+        topology = topology == null ? MigrationTopology.RING : topology;
+        strategies = strategies == null ? List.of() : List.copyOf(strategies);
+    }
+
+    public static IslandSettings single() {
+        return new IslandSettings(1, 1, 0, MigrationTopology.RING, List.of());
+    }
+
+    /**
+     * Caps the island count so every island holds at least two agents.
+     */
+    public IslandSettings fitTo(int populationSize) {
+        int bounded = Math.max(1, Math.min(islandCount, populationSize / 2));
+        return new IslandSettings(bounded, migrationInterval, migrantCount, topology, strategies);
+    }
+
+    public boolean migrates() {
+        return islandCount > 1 && migrantCount > 0;
+    }
+
+    /**
+     * Strategy for the given island, cycling through {@link #strategies()}; falls back to the run-wide strategy.
+     */
+    public SelectionStrategyType strategyFor(int island, SelectionStrategyType fallback) {
+        return strategies.isEmpty() ? fallback : strategies.get(island % strategies.size());
+    }
+
+    /**
+     * Islands that receive migrants from {@code source}.
+     */
+    public int[] destinations(int source) {
+        if (islandCount < 2) {
+            return new int[0];
+        }
+        if (topology == MigrationTopology.RING) {
+            return new int[] {(source + 1) % islandCount};
+        }
+        int[] destinations = new int[islandCount - 1];
+        for (int island = 0, index = 0; island < islandCount; island++) {
+            if (island != source) {
+                destinations[index++] = island;
+            }
+        }
+        return destinations;
+    }
+}
@@ -0,0 +1,15 @@
+package prototype.simulationcore.evolution.selection;
+
+/**
+ * How migrants move between islands when an island-model run exchanges individuals.
+ */
+public enum MigrationTopology {
+    /**
+     * Island {@code i} sends its migrants to island {@code i + 1}, wrapping around.
+     */
+    RING,
+    /**
+     * Every island sends its migrants to every other island.
+     */
+    ALL_TO_ALL
+}
@@ -7,11 +7,21 @@ public record SelectionSettings(
         int survivorCount,
         int tournamentSize,
         int elitismCount,
-        double safetyPenalty
+        double safetyPenalty,
+        EvaluationMode evaluationMode
 ) {
 
     public SelectionSettings {
         Objects.requireNonNull(strategyType, "strategyType");
+        evaluationMode = evaluationMode == null ? EvaluationMode.SEQUENTIAL : evaluationMode;
+    }
+
+    public SelectionSettings(SelectionStrategyType strategyType,
+                             int survivorCount,
+                             int tournamentSize,
+                             int elitismCount,
+                             double safetyPenalty) {
+        this(strategyType, survivorCount, tournamentSize, elitismCount, safetyPenalty, EvaluationMode.SEQUENTIAL);
     }
 
     public static SelectionSettings defaults(int populationSize) {
@@ -21,9 +31,8 @@ public record SelectionSettings(
                 survivors,
                 Math.min(5, Math.max(2, populationSize / 4)),
                 Math.max(1, survivors / 2),
-                5.0
+                5.0,
+                EvaluationMode.SEQUENTIAL
         );
     }
 }
-
-
@@ -1,12 +1,19 @@
 package prototype.simulationcore.evolution.selection;
 
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import prototype.simulationcore.domain.Agent;
 
 @FunctionalInterface
 public interface SelectionStrategy {
 
-    List<Agent> select(List<Agent> population, int survivorCount);
-}
-
+    /**
+     * Selects survivors, drawing any randomness from {@code random} so a seeded caller gets repeatable results.
+     */
+    List<Agent> select(List<Agent> population, int survivorCount, RandomGenerator random);
 
+    default List<Agent> select(List<Agent> population, int survivorCount) {
+        return select(population, survivorCount, ThreadLocalRandom.current());
+    }
+}
@@ -1,9 +1,8 @@
 package prototype.simulationcore.evolution.selection;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import org.springframework.stereotype.Component;
 import prototype.simulationcore.domain.Agent;
 
@@ -13,24 +12,24 @@ public class SelectionStrategyFactory {
     public SelectionStrategy create(SelectionSettings settings) {
         SelectionStrategyType type = settings.strategyType();
         return switch (type) {
-            case TOURNAMENT -> (population, survivorCount) ->
-                    tournament(population, survivorCount, settings.tournamentSize());
-            case ROULETTE -> (population, survivorCount) ->
-                    roulette(population, survivorCount);
-            case ELITISM -> (population, survivorCount) ->
+            case TOURNAMENT -> (population, survivorCount, random) ->
+                    tournament(population, survivorCount, settings.tournamentSize(), random);
+            case ROULETTE -> (population, survivorCount, random) ->
+                    roulette(population, survivorCount, random);
+            case ELITISM -> (population, survivorCount, random) ->
                     elitism(population, Math.min(survivorCount, settings.elitismCount()));
-            case SAFETY_AWARE -> (population, survivorCount) ->
+            case SAFETY_AWARE -> (population, survivorCount, random) ->
                     safetyAware(population, survivorCount, settings.safetyPenalty());
         };
     }
 
-    private List<Agent> tournament(List<Agent> population, int survivorCount, int tournamentSize) {
+    private List<Agent> tournament(List<Agent> population, int survivorCount, int tournamentSize,
+                                   RandomGenerator random) {
         List<Agent> survivors = new ArrayList<>();
         if (population.isEmpty()) {
             return survivors;
         }
         int size = Math.max(2, tournamentSize);
-        ThreadLocalRandom random = ThreadLocalRandom.current();
         for (int i = 0; i < survivorCount; i++) {
             Agent winner = null;
             for (int j = 0; j < size; j++) {
@@ -44,58 +43,155 @@ public class SelectionStrategyFactory {
         return survivors;
     }
 
-    private List<Agent> roulette(List<Agent> population, int survivorCount) {
+    private List<Agent> roulette(List<Agent> population, int survivorCount, RandomGenerator random) {
         List<Agent> survivors = new ArrayList<>();
         if (population.isEmpty()) {
             return survivors;
         }
-        double minFitness = population.stream()
-                .mapToDouble(Agent::getFitness)
-                .min()
-                .orElse(0.0);
+        double[] fitness = fitness(population);
+        double minFitness = Double.POSITIVE_INFINITY;
+        for (double value : fitness) {
+            minFitness = Math.min(minFitness, value);
+        }
         double offset = minFitness < 0 ? -minFitness : 0.0;
-        double totalFitness = population.stream()
-                .mapToDouble(agent -> agent.getFitness() + offset + 1e-6)
-                .sum();
+        // cumulative[i] is the wheel position where agent i's slice ends; each spin is a binary search.
+        double[] cumulative = new double[fitness.length];
+        double totalFitness = 0.0;
+        for (int i = 0; i < fitness.length; i++) {
+            totalFitness += fitness[i] + offset + 1e-6;
+            cumulative[i] = totalFitness;
+        }
         if (totalFitness <= 0) {
-            return randomSelection(population, survivorCount);
+            return randomSelection(population, survivorCount, random);
         }
-        ThreadLocalRandom random = ThreadLocalRandom.current();
         for (int i = 0; i < survivorCount; i++) {
-            double slice = random.nextDouble(totalFitness);
-            double cumulative = 0.0;
-            for (Agent agent : population) {
-                cumulative += agent.getFitness() + offset + 1e-6;
-                if (cumulative >= slice) {
-                    survivors.add(agent);
-                    break;
-                }
-            }
+            survivors.add(population.get(firstAtLeast(cumulative, random.nextDouble(totalFitness))));
         }
         return survivors;
     }
 
     private List<Agent> elitism(List<Agent> population, int survivorCount) {
-        return population.stream()
-                .sorted(Comparator.comparingDouble(Agent::getFitness).reversed())
-                .limit(survivorCount)
-                .toList();
+        return pick(population, topK(fitness(population), survivorCount));
     }
 
     private List<Agent> safetyAware(List<Agent> population, int survivorCount, double penalty) {
-        return population.stream()
-                .sorted((a, b) -> Double.compare(score(b, penalty), score(a, penalty)))
-                .limit(survivorCount)
-                .toList();
+        double[] scores = new double[population.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = score(population.get(i), penalty);
+        }
+        return pick(population, topK(scores, survivorCount));
     }
 
     private double score(Agent agent, double penalty) {
         return agent.getFitness() - (penalty * agent.getSafetyViolations());
     }
 
-    private List<Agent> randomSelection(List<Agent> population, int survivorCount) {
+    /**
+     * Indices of the {@code k} highest scores, best first, with ties kept in population order (the same result a
+     * stable descending sort would give). Uses a bounded min-heap, so the cost is O(n log k) rather than O(n log n).
+     */
+    static int[] topK(double[] scores, int k) {
+        int limit = Math.max(0, Math.min(k, scores.length));
+        if (limit == 0) {
+            return new int[0];
+        }
+        int[] heap = new int[limit];
+        int size = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (size < limit) {
+                heap[size] = i;
+                siftUp(heap, size++, scores);
+            } else if (ranksAbove(i, heap[0], scores)) {
+                heap[0] = i;
+                siftDown(heap, size, scores);
+            }
+        }
+        // Drain the heap worst-first into the tail of the result.
+        int[] ranked = new int[limit];
+        for (int slot = limit - 1; slot >= 0; slot--) {
+            ranked[slot] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores);
+        }
+        return ranked;
+    }
+
+    /**
+     * Smallest index whose cumulative weight reaches {@code target}.
+     */
+    static int firstAtLeast(double[] cumulative, double target) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] >= target) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static boolean ranksAbove(int candidate, int other, double[] scores) {
+        int comparison = Double.compare(scores[candidate], scores[other]);
+        return comparison > 0 || (comparison == 0 && candidate < other);
+    }
+
+    private static void siftUp(int[] heap, int index, double[] scores) {
+        int item = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksAbove(heap[parent], item, scores)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, double[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int index = 0;
+        int item = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksAbove(heap[child], heap[child + 1], scores)) {
+                child++;
+            }
+            if (!ranksAbove(item, heap[child], scores)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = item;
+    }
+
+    private static double[] fitness(List<Agent> population) {
+        double[] fitness = new double[population.size()];
+        for (int i = 0; i < fitness.length; i++) {
+            fitness[i] = population.get(i).getFitness();
+        }
+        return fitness;
+    }
+
+    private static List<Agent> pick(List<Agent> population, int[] indices) {
+        List<Agent> picked = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            picked.add(population.get(index));
+        }
+        return picked;
+    }
+
+    private List<Agent> randomSelection(List<Agent> population, int survivorCount, RandomGenerator random) {
         List<Agent> survivors = new ArrayList<>();
-        ThreadLocalRandom random = ThreadLocalRandom.current();
         for (int i = 0; i < survivorCount; i++) {
             survivors.add(population.get(random.nextInt(population.size())));
         }
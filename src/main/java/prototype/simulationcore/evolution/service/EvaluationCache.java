@@ -0,0 +1,134 @@
+package prototype.simulationcore.evolution.service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import prototype.simulationcore.domain.MutableAgentState;
+import prototype.simulationcore.policy.AbstractAgentPolicy;
+import prototype.simulationcore.policy.AgentPolicy;
+
+/**
+ * Bounded LRU memo of deterministic decisions, keyed by policy genome, agent state and environment. A genome
+ * always decides the same way for the same inputs unless it draws from its random stream, so only decisions made
+ * without touching the stream are stored. With a positive {@code quantum}, state values are rounded to multiples
+ * of it before keying, which trades exactness for more hits; zero keys on exact values. Keys are built straight
+ * from the primitive state, with sensor and internal values as (key id, value) pairs, so nothing is materialized.
+ */
+final class EvaluationCache {
+
+    private final int capacity;
+    private final double quantum;
+    private final Map<Key, Decision> entries;
+
+    EvaluationCache(int capacity, double quantum) {
+        this.capacity = Math.max(0, capacity);
+        this.quantum = Math.max(0.0, quantum);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Decision> eldest) {
+                return size() > EvaluationCache.this.capacity;
+            }
+        };
+    }
+
+    boolean enabled() {
+        return capacity > 0;
+    }
+
+    /**
+     * Key for one agent's state, or {@code null} when the policy has no genome to key on or the state holds
+     * values under names without a key id.
+     */
+    Key keyFor(AgentPolicy policy, MutableAgentState state, long environment) {
+        if (!(policy instanceof AbstractAgentPolicy persistent) || state.hasSpilledKeys()) {
+            return null;
+        }
+        long[] words = new long[7 + 2 * (state.sensorCount() + state.internalCount())];
+        int word = 0;
+        words[word++] = quantize(state.energy());
+        words[word++] = quantize(state.resources());
+        words[word++] = quantize(state.x());
+        words[word++] = quantize(state.y());
+        words[word++] = quantize(state.z());
+        words[word++] = state.sensorCount();
+        for (int key = state.nextSensor(0); key >= 0; key = state.nextSensor(key + 1)) {
+            words[word++] = key;
+            words[word++] = quantize(state.sensor(key, 0.0));
+        }
+        words[word++] = state.internalCount();
+        for (int key = state.nextInternal(0); key >= 0; key = state.nextInternal(key + 1)) {
+            words[word++] = key;
+            words[word++] = quantize(state.internal(key, 0.0));
+        }
+        return new Key(persistent.getGenomeHash(), environment, words);
+    }
+
+    /**
+     * Looks up all keys under one lock acquisition; {@code null} keys and misses leave their slot {@code null}.
+     */
+    void lookup(Key[] keys, Decision[] found) {
+        synchronized (entries) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    found[i] = entries.get(keys[i]);
+                }
+            }
+        }
+    }
+
+    void store(Key[] keys, Decision[] decisions) {
+        synchronized (entries) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null && decisions[i] != null) {
+                    entries.put(keys[i], decisions[i]);
+                }
+            }
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private long quantize(double value) {
+        return quantum == 0.0 ? Double.doubleToLongBits(value) : Math.round(value / quantum);
+    }
+
+    /**
+     * Genome, environment and the quantized state words: energy, resources, position, then the sensor and the
+     * internal values, each as a count followed by (key id, value) pairs in key order.
+     */
+    static final class Key {
+
+        private final String genomeHash;
+        private final long environment;
+        private final long[] state;
+        private final int hash;
+
+        private Key(String genomeHash, long environment, long[] state) {
+            this.genomeHash = genomeHash;
+            this.environment = environment;
+            this.state = state;
+            this.hash = 31 * (31 * genomeHash.hashCode() + Long.hashCode(environment)) + Arrays.hashCode(state);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && hash == key.hash
+                    && environment == key.environment
+                    && genomeHash.equals(key.genomeHash)
+                    && Arrays.equals(state, key.state);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    record Decision(int action, double reward) {
+    }
+}
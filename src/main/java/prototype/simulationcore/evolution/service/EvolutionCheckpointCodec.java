@@ -0,0 +1,411 @@
+package prototype.simulationcore.evolution.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.Position;
+import prototype.simulationcore.evolution.dto.AgentSummary;
+import prototype.simulationcore.evolution.dto.EvaluationCacheStats;
+import prototype.simulationcore.evolution.dto.GenerationReport;
+import prototype.simulationcore.evolution.dto.GenerationStats;
+import prototype.simulationcore.evolution.dto.IslandReport;
+import prototype.simulationcore.evolution.selection.EvaluationMode;
+import prototype.simulationcore.evolution.selection.IslandSettings;
+import prototype.simulationcore.evolution.selection.MigrationTopology;
+import prototype.simulationcore.evolution.selection.SelectionSettings;
+import prototype.simulationcore.evolution.selection.SelectionStrategyType;
+
+/**
+ * Deflated binary form of resident evolution runs. Policy ids and state map keys are written once into tables
+ * and referenced by index, so each agent costs a fixed number of bytes plus its readings. Per-agent random
+ * streams are derived from the run seed, generation and agent id, so the seed and counters are all that is
+ * needed to resume them.
+ */
+final class EvolutionCheckpointCodec {
+
+    private static final int MAGIC = 0x45564350;
+    private static final int FORMAT_VERSION = 2;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private EvolutionCheckpointCodec() {
+    }
+
+    static byte[] encode(Checkpoint checkpoint) {
+        Map<UUID, Integer> policies = new LinkedHashMap<>();
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        for (RunImage run : checkpoint.runs()) {
+            for (IslandImage island : run.islands()) {
+                for (AgentImage agent : island.agents()) {
+                    policies.putIfAbsent(agent.policyId(), policies.size());
+                    agent.state().sensorReadings().keySet().forEach(key -> keys.putIfAbsent(key, keys.size()));
+                    agent.state().internalState().keySet().forEach(key -> keys.putIfAbsent(key, keys.size()));
+                }
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new DeflaterOutputStream(bytes, deflater, BUFFER_SIZE), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeNullableUuid(out, checkpoint.defaultRunId());
+            out.writeInt(policies.size());
+            for (UUID policyId : policies.keySet()) {
+                writeUuid(out, policyId);
+            }
+            out.writeInt(keys.size());
+            for (String key : keys.keySet()) {
+                out.writeUTF(key);
+            }
+            out.writeInt(checkpoint.runs().size());
+            for (RunImage run : checkpoint.runs()) {
+                writeRun(out, run, policies, keys);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to write evolution checkpoint", ex);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    static Checkpoint decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(data)), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Not an evolution checkpoint");
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported evolution checkpoint format " + version);
+            }
+            UUID defaultRunId = readNullableUuid(in);
+            UUID[] policies = new UUID[in.readInt()];
+            for (int i = 0; i < policies.length; i++) {
+                policies[i] = readUuid(in);
+            }
+            String[] keys = new String[in.readInt()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = in.readUTF();
+            }
+            int runCount = in.readInt();
+            List<RunImage> runs = new ArrayList<>(runCount);
+            for (int i = 0; i < runCount; i++) {
+                runs.add(readRun(in, policies, keys));
+            }
+            return new Checkpoint(defaultRunId, List.copyOf(runs));
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Unable to read evolution checkpoint", ex);
+        }
+    }
+
+    private static void writeRun(DataOutputStream out,
+                                 RunImage run,
+                                 Map<UUID, Integer> policies,
+                                 Map<String, Integer> keys) throws IOException {
+        writeUuid(out, run.runId());
+        out.writeLong(run.seed());
+        out.writeInt(run.generation());
+        out.writeInt(run.generationsSinceFlush());
+        out.writeLong(run.tickCounter());
+        out.writeDouble(run.mutationRate());
+        out.writeBoolean(run.running());
+        writeInstant(out, run.startedAt());
+        writeInstant(out, run.lastUpdated());
+        out.writeInt(run.populationSize());
+        writeSelectionSettings(out, run.selectionSettings());
+        writeIslandSettings(out, run.islandSettings());
+        out.writeInt(run.islands().size());
+        for (IslandImage island : run.islands()) {
+            out.writeInt(island.targetSize());
+            out.writeInt(island.immigrants());
+            out.writeInt(island.agents().size());
+            for (AgentImage agent : island.agents()) {
+                writeAgent(out, agent, policies, keys);
+            }
+        }
+        out.writeInt(run.history().size());
+        for (GenerationReport report : run.history()) {
+            writeReport(out, report);
+        }
+    }
+
+    private static RunImage readRun(DataInputStream in, UUID[] policies, String[] keys) throws IOException {
+        UUID runId = readUuid(in);
+        long seed = in.readLong();
+        int generation = in.readInt();
+        int generationsSinceFlush = in.readInt();
+        long tickCounter = in.readLong();
+        double mutationRate = in.readDouble();
+        boolean running = in.readBoolean();
+        Instant startedAt = readInstant(in);
+        Instant lastUpdated = readInstant(in);
+        int populationSize = in.readInt();
+        SelectionSettings selectionSettings = readSelectionSettings(in);
+        IslandSettings islandSettings = readIslandSettings(in);
+        int islandCount = in.readInt();
+        List<IslandImage> islands = new ArrayList<>(islandCount);
+        for (int i = 0; i < islandCount; i++) {
+            int targetSize = in.readInt();
+            int immigrants = in.readInt();
+            int agentCount = in.readInt();
+            List<AgentImage> agents = new ArrayList<>(agentCount);
+            for (int a = 0; a < agentCount; a++) {
+                agents.add(readAgent(in, policies, keys));
+            }
+            islands.add(new IslandImage(targetSize, immigrants, agents));
+        }
+        int historySize = in.readInt();
+        List<GenerationReport> history = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            history.add(readReport(in));
+        }
+        return new RunImage(runId, seed, generation, generationsSinceFlush, tickCounter, mutationRate, running,
+                startedAt, lastUpdated, populationSize, selectionSettings, islandSettings, islands, history);
+    }
+
+    private static void writeAgent(DataOutputStream out,
+                                   AgentImage agent,
+                                   Map<UUID, Integer> policies,
+                                   Map<String, Integer> keys) throws IOException {
+        writeUuid(out, agent.agentId());
+        writeNullableUuid(out, agent.parentId());
+        out.writeInt(policies.get(agent.policyId()));
+        writeNullableInstant(out, agent.createdAt());
+        out.writeInt(agent.generation());
+        out.writeDouble(agent.fitness());
+        out.writeInt(agent.violations());
+        AgentState state = agent.state();
+        out.writeDouble(state.position().x());
+        out.writeDouble(state.position().y());
+        out.writeDouble(state.position().z());
+        out.writeDouble(state.energy());
+        out.writeDouble(state.resources());
+        writeReadings(out, state.sensorReadings(), keys);
+        writeReadings(out, state.internalState(), keys);
+    }
+
+    private static AgentImage readAgent(DataInputStream in, UUID[] policies, String[] keys) throws IOException {
+        UUID agentId = readUuid(in);
+        UUID parentId = readNullableUuid(in);
+        UUID policyId = policies[in.readInt()];
+        Instant createdAt = readNullableInstant(in);
+        int generation = in.readInt();
+        double fitness = in.readDouble();
+        int violations = in.readInt();
+        Position position = new Position(in.readDouble(), in.readDouble(), in.readDouble());
+        double energy = in.readDouble();
+        double resources = in.readDouble();
+        Map<String, Double> sensorReadings = readReadings(in, keys);
+        Map<String, Double> internalState = readReadings(in, keys);
+        return new AgentImage(agentId, parentId, policyId,
+                createdAt, generation, fitness, violations,
+                new AgentState(position, energy, resources, sensorReadings, internalState));
+    }
+
+    private static void writeReadings(DataOutputStream out,
+                                      Map<String, Double> readings,
+                                      Map<String, Integer> keys) throws IOException {
+        out.writeShort(readings.size());
+        for (Map.Entry<String, Double> reading : readings.entrySet()) {
+            out.writeInt(keys.get(reading.getKey()));
+            out.writeDouble(reading.getValue());
+        }
+    }
+
+    private static Map<String, Double> readReadings(DataInputStream in, String[] keys) throws IOException {
+        int size = in.readUnsignedShort();
+        if (size == 0) {
+            return Map.of();
+        }
+        Map<String, Double> readings = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            readings.put(keys[in.readInt()], in.readDouble());
+        }
+        return readings;
+    }
+
+    private static void writeSelectionSettings(DataOutputStream out, SelectionSettings settings) throws IOException {
+        out.writeUTF(settings.strategyType().name());
+        out.writeInt(settings.survivorCount());
+        out.writeInt(settings.tournamentSize());
+        out.writeInt(settings.elitismCount());
+        out.writeDouble(settings.safetyPenalty());
+        out.writeUTF(settings.evaluationMode().name());
+    }
+
+    private static SelectionSettings readSelectionSettings(DataInputStream in) throws IOException {
+        return new SelectionSettings(
+                SelectionStrategyType.valueOf(in.readUTF()),
+                in.readInt(),
+                in.readInt(),
+                in.readInt(),
+                in.readDouble(),
+                EvaluationMode.valueOf(in.readUTF())
+        );
+    }
+
+    private static void writeIslandSettings(DataOutputStream out, IslandSettings settings) throws IOException {
+        out.writeInt(settings.islandCount());
+        out.writeInt(settings.migrationInterval());
+        out.writeInt(settings.migrantCount());
+        out.writeUTF(settings.topology().name());
+        out.writeInt(settings.strategies().size());
+        for (SelectionStrategyType strategy : settings.strategies()) {
+            out.writeUTF(strategy.name());
+        }
+    }
+
+    private static IslandSettings readIslandSettings(DataInputStream in) throws IOException {
+        int islandCount = in.readInt();
+        int migrationInterval = in.readInt();
+        int migrantCount = in.readInt();
+        MigrationTopology topology = MigrationTopology.valueOf(in.readUTF());
+        List<SelectionStrategyType> strategies = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            strategies.add(SelectionStrategyType.valueOf(in.readUTF()));
+        }
+        return new IslandSettings(islandCount, migrationInterval, migrantCount, topology, strategies);
+    }
+
+    static void writeReport(DataOutputStream out, GenerationReport report) throws IOException {
+        writeNullableUuid(out, report.runId());
+        out.writeInt(report.generation());
+        GenerationStats stats = report.stats();
+        out.writeDouble(stats.averageFitness());
+        out.writeDouble(stats.maxFitness());
+        out.writeDouble(stats.rewardMean());
+        out.writeDouble(stats.rewardVariance());
+        out.writeDouble(stats.rewardTrend());
+        out.writeInt(report.bestAgents().size());
+        for (AgentSummary summary : report.bestAgents()) {
+            writeUuid(out, summary.agentId());
+            out.writeDouble(summary.fitness());
+            out.writeInt(summary.safetyViolations());
+            out.writeDouble(summary.cumulativeReward());
+        }
+        out.writeInt(report.safetyViolations().size());
+        for (UUID violator : report.safetyViolations()) {
+            writeUuid(out, violator);
+        }
+        out.writeInt(report.islands().size());
+        for (IslandReport island : report.islands()) {
+            out.writeInt(island.island());
+            out.writeUTF(island.selectionStrategy().name());
+            out.writeInt(island.populationSize());
+            out.writeInt(island.immigrants());
+            writeReport(out, island.report());
+        }
+        out.writeInt(report.evaluationCache().hits());
+        out.writeInt(report.evaluationCache().misses());
+    }
+
+    static GenerationReport readReport(DataInputStream in) throws IOException {
+        UUID runId = readNullableUuid(in);
+        int generation = in.readInt();
+        GenerationStats stats = new GenerationStats(in.readDouble(), in.readDouble(), in.readDouble(),
+                in.readDouble(), in.readDouble());
+        List<AgentSummary> bestAgents = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            bestAgents.add(new AgentSummary(readUuid(in), in.readDouble(), in.readInt(), in.readDouble()));
+        }
+        List<UUID> violators = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            violators.add(readUuid(in));
+        }
+        List<IslandReport> islands = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            islands.add(new IslandReport(in.readInt(), SelectionStrategyType.valueOf(in.readUTF()), in.readInt(),
+                    in.readInt(), readReport(in)));
+        }
+        EvaluationCacheStats evaluationCache = EvaluationCacheStats.of(in.readInt(), in.readInt());
+        return new GenerationReport(runId, generation, stats, bestAgents, violators, islands, evaluationCache);
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeLong(instant.getEpochSecond());
+        out.writeInt(instant.getNano());
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+
+    private static void writeNullableInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeBoolean(instant != null);
+        if (instant != null) {
+            writeInstant(out, instant);
+        }
+    }
+
+    private static Instant readNullableInstant(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readInstant(in) : null;
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeNullableUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeBoolean(id != null);
+        if (id != null) {
+            writeUuid(out, id);
+        }
+    }
+
+    private static UUID readNullableUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readUuid(in) : null;
+    }
+
+    record Checkpoint(UUID defaultRunId, List<RunImage> runs) {
+    }
+
+    record RunImage(UUID runId,
+                    long seed,
+                    int generation,
+                    int generationsSinceFlush,
+                    long tickCounter,
+                    double mutationRate,
+                    boolean running,
+                    Instant startedAt,
+                    Instant lastUpdated,
+                    int populationSize,
+                    SelectionSettings selectionSettings,
+                    IslandSettings islandSettings,
+                    List<IslandImage> islands,
+                    List<GenerationReport> history) {
+    }
+
+    record IslandImage(int targetSize, int immigrants, List<AgentImage> agents) {
+    }
+
+    record AgentImage(UUID agentId,
+                      UUID parentId,
+                      UUID policyId,
+                      Instant createdAt,
+                      int generation,
+                      double fitness,
+                      int violations,
+                      AgentState state) {
+    }
+}
@@ -1,18 +1,31 @@
 package prototype.simulationcore.evolution.service;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.transaction.Transactional;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.SplittableRandom;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import prototype.lineageruntime.checkpoint.RuntimeServiceIds;
@@ -20,21 +33,26 @@ import prototype.lineageruntime.checkpoint.ServiceOperationEvent;
 import prototype.lineageruntime.kafka.EventProducer;
 import prototype.simulationcore.domain.Action;
 import prototype.simulationcore.domain.Agent;
-import prototype.simulationcore.domain.AgentState;
-import prototype.simulationcore.domain.LineageEvent;
+import prototype.simulationcore.evolution.EvolutionProperties;
 import prototype.simulationcore.evolution.dto.AgentSummary;
+import prototype.simulationcore.evolution.dto.EvaluationCacheStats;
 import prototype.simulationcore.evolution.dto.EvolutionStatus;
+import prototype.simulationcore.evolution.dto.EvolutionThroughput;
 import prototype.simulationcore.evolution.dto.GenerationReport;
 import prototype.simulationcore.evolution.dto.GenerationStats;
+import prototype.simulationcore.evolution.dto.IslandReport;
 import prototype.simulationcore.evolution.dto.LeaderboardEntry;
+import prototype.simulationcore.evolution.service.EvolutionCheckpointCodec.AgentImage;
+import prototype.simulationcore.evolution.service.EvolutionCheckpointCodec.Checkpoint;
+import prototype.simulationcore.evolution.service.EvolutionCheckpointCodec.IslandImage;
+import prototype.simulationcore.evolution.service.EvolutionCheckpointCodec.RunImage;
+import prototype.simulationcore.evolution.selection.IslandSettings;
 import prototype.simulationcore.evolution.selection.SelectionSettings;
 import prototype.simulationcore.evolution.selection.SelectionStrategy;
 import prototype.simulationcore.evolution.selection.SelectionStrategyFactory;
+import prototype.simulationcore.evolution.service.GenerationEvaluator.AgentEvaluation;
 import prototype.simulationcore.repository.AgentPolicyRepository;
 import prototype.simulationcore.repository.AgentRepository;
-import prototype.simulationcore.service.AgentDynamics;
-import prototype.simulationcore.environment.DefaultEnvironment;
-import prototype.simulationcore.environment.Environment;
 import prototype.simulationcore.policy.AbstractAgentPolicy;
 import prototype.simulationcore.policy.RuleBasedPolicy;
 import prototype.simulationcore.policy.RuleBasedPolicy.DecisionRule;
@@ -43,36 +61,54 @@ import prototype.simulationcore.policy.WeightedPolicy;
 @Service
 public class EvolutionLoopService {
 
+    private static final Logger log = LoggerFactory.getLogger(EvolutionLoopService.class);
+
     private static final int HISTORY_LIMIT = 25;
+    private static final int POLICY_LOAD_CHUNK = 1000;
+    private static final long SEEDING_STREAM = 0x6A09E667F3BCC908L;
+    private static final long BREEDING_STREAM = 0xBB67AE8584CAA73BL;
+    private static final long SELECTION_STREAM = 0x3C6EF372FE94F82BL;
+    private static final long ISLAND_STREAM_STRIDE = 0x9E3779B97F4A7C15L;
 
     private final AgentRepository agentRepository;
     private final AgentPolicyRepository policyRepository;
     private final RewardTracker rewardTracker;
     private final SelectionStrategyFactory selectionStrategyFactory;
     private final PolicyMutationService policyMutationService;
-    private final AgentDynamics agentDynamics;
+    private final PolicyGenomeStore genomeStore;
+    private final GenerationEvaluator generationEvaluator;
+    private final IslandExecutor islandExecutor;
     private final EventProducer eventProducer;
     private final ApplicationEventPublisher eventPublisher;
+    private final EvolutionProperties properties;
+    private final Path historyDirectory;
 
-    private final Object monitor = new Object();
-    private EvolutionRunContext activeRun;
+    private final ConcurrentMap<UUID, EvolutionRunContext> runs = new ConcurrentHashMap<>();
+    private volatile UUID defaultRunId;
 
     public EvolutionLoopService(AgentRepository agentRepository,
                                 AgentPolicyRepository policyRepository,
                                 RewardTracker rewardTracker,
                                 SelectionStrategyFactory selectionStrategyFactory,
                                 PolicyMutationService policyMutationService,
-                                AgentDynamics agentDynamics,
+                                PolicyGenomeStore genomeStore,
+                                GenerationEvaluator generationEvaluator,
+                                IslandExecutor islandExecutor,
                                 EventProducer eventProducer,
-                                ApplicationEventPublisher eventPublisher) {
+                                ApplicationEventPublisher eventPublisher,
+                                EvolutionProperties properties) {
         this.agentRepository = agentRepository;
         this.policyRepository = policyRepository;
         this.rewardTracker = rewardTracker;
         this.selectionStrategyFactory = selectionStrategyFactory;
         this.policyMutationService = policyMutationService;
-        this.agentDynamics = agentDynamics;
+        this.genomeStore = genomeStore;
+        this.generationEvaluator = generationEvaluator;
+        this.islandExecutor = islandExecutor;
         this.eventProducer = eventProducer;
         this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.historyDirectory = Path.of(properties.getHistory().getDirectory());
     }
 
     @Transactional
@@ -80,143 +116,584 @@ public class EvolutionLoopService {
                                                 UUID basePolicyId,
                                                 SelectionSettings requestedSettings,
                                                 double mutationRate) {
+        return initializePopulation(populationSize, basePolicyId, requestedSettings, mutationRate,
+                ThreadLocalRandom.current().nextLong());
+    }
+
+    @Transactional
+    public EvolutionStatus initializePopulation(int populationSize,
+                                                UUID basePolicyId,
+                                                SelectionSettings requestedSettings,
+                                                double mutationRate,
+                                                long seed) {
+        return initializePopulation(populationSize, basePolicyId, requestedSettings, mutationRate, seed,
+                IslandSettings.single());
+    }
+
+    @Transactional
+    public EvolutionStatus initializePopulation(int populationSize,
+                                                UUID basePolicyId,
+                                                SelectionSettings requestedSettings,
+                                                double mutationRate,
+                                                long seed,
+                                                IslandSettings islandSettings) {
         if (populationSize <= 0) {
             throw new IllegalArgumentException("Population size must be positive");
         }
         SelectionSettings settings = requestedSettings == null
                 ? SelectionSettings.defaults(populationSize)
                 : requestedSettings;
+        IslandSettings islands = (islandSettings == null ? IslandSettings.single() : islandSettings)
+                .fitTo(populationSize);
         double boundedMutationRate = Math.max(0.0, Math.min(1.0, mutationRate));
 
-        synchronized (monitor) {
-            AbstractAgentPolicy basePolicy = resolveBasePolicy(basePolicyId);
-            List<Agent> seeds = new ArrayList<>(populationSize);
-            ThreadLocalRandom random = ThreadLocalRandom.current();
-            for (int i = 0; i < populationSize; i++) {
-                double noise = boundedMutationRate * random.nextDouble();
-                AbstractAgentPolicy policy = noise > 0
-                        ? policyMutationService.mutate(basePolicy, noise)
-                        : basePolicy;
-                Agent agent = Agent.bootstrap(policy);
-                agent.setGeneration(0);
-                seeds.add(agent);
-            }
-            List<Agent> persisted = agentRepository.saveAll(seeds);
-            persisted.forEach(agent -> rewardTracker.recordReward(agent.getAgentId(), 0.0, 0L));
+        AbstractAgentPolicy basePolicy = resolveBasePolicy(basePolicyId);
+        List<Agent> seeds = new ArrayList<>(populationSize);
+        SplittableRandom random = runStream(seed, SEEDING_STREAM, 0);
+        for (int i = 0; i < populationSize; i++) {
+            double noise = boundedMutationRate * random.nextDouble();
+            AbstractAgentPolicy policy = noise > 0
+                    ? policyMutationService.mutate(basePolicy, noise, random)
+                    : basePolicy;
+            Agent agent = Agent.bootstrap(policy);
+            agent.setGeneration(0);
+            seeds.add(agent);
+        }
+        List<Agent> persisted = persistAgents(seeds);
+        persisted.forEach(agent -> rewardTracker.recordReward(agent.getAgentId(), 0.0, 0L));
+        rewardTracker.flush();
 
-            activeRun = new EvolutionRunContext(persisted, settings, boundedMutationRate);
-            return activeRun.status();
+        UUID runId = UUID.randomUUID();
+        EvolutionRunContext context = new EvolutionRunContext(runId, Instant.now(), persisted, settings,
+                islands, boundedMutationRate, seed, selectionStrategyFactory,
+                new GenerationBacklog(properties.getRunner().getMaxUnflushedGenerations()),
+                GenerationHistory.open(historyDirectory, runId));
+        synchronized (context.lock) {
+            context.publish();
         }
+        register(context);
+        return status(context.runId);
     }
 
+    /**
+     * Runs one generation. Evaluation and selection run for every island in parallel; rewards, events,
+     * offspring persistence and migration are then applied on the calling thread in island order, so the
+     * outcome does not depend on scheduling.
+     */
     @Transactional
     public GenerationReport runGeneration() {
-        synchronized (monitor) {
-            EvolutionRunContext context = ensureActiveRun();
-            List<Agent> population = agentRepository.findAllById(context.populationAgentIds);
-            if (population.isEmpty()) {
+        return runGeneration(ensureDefaultRun());
+    }
+
+    /**
+     * Runs one generation of the given run. Only that run's lock is held, so other runs evolve concurrently
+     * and readers keep seeing the previously published snapshot until this generation completes.
+     */
+    @Transactional
+    public GenerationReport runGeneration(UUID runId) {
+        EvolutionRunContext context = requireRun(runId);
+        synchronized (context.lock) {
+            ensureResident(context);
+            if (context.populationCount() == 0) {
                 return GenerationReport.empty();
             }
 
-            SelectionStrategy strategy = selectionStrategyFactory.create(context.selectionSettings);
-            List<Double> rewardSamples = new ArrayList<>(population.size());
+            List<IslandStep> steps = islandExecutor.invokeAll(context.islands.stream()
+                    .map(island -> (Callable<IslandStep>) () -> evolveIsland(context, island))
+                    .toList());
+
+            List<Agent> population = new ArrayList<>(context.populationSize);
+            List<Double> rewardSamples = new ArrayList<>(context.populationSize);
             List<UUID> violators = new ArrayList<>();
+            List<Agent> offspring = new ArrayList<>(context.populationSize);
+            int[] offspringCounts = new int[steps.size()];
+            List<CompletableFuture<?>> published = new ArrayList<>(context.populationSize);
+            SplittableRandom breeding = runStream(context.seed, BREEDING_STREAM, context.generation);
+            for (IslandStep step : steps) {
+                // Merge in population order so tick numbering and event order do not depend on scheduling.
+                for (AgentEvaluation evaluation : step.evaluations()) {
+                    UUID agentId = evaluation.agentId();
+                    step.rewardSamples().add(evaluation.reward());
+                    rewardTracker.recordReward(agentId, evaluation.reward(), context.nextTick());
+                    if (evaluation.violated()) {
+                        step.violators().add(agentId);
+                    }
+                    CompletableFuture<?> sent = eventProducer.send(evaluation.lineageEvent());
+                    if (sent != null) {
+                        published.add(sent);
+                    }
+                }
+                population.addAll(step.population());
+                rewardSamples.addAll(step.rewardSamples());
+                violators.addAll(step.violators());
 
-            for (Agent agent : population) {
-                AgentState previous = agent.snapshotState();
-                Environment environment = new DefaultEnvironment(previous);
-                Action action = agent.decide(environment);
-                AgentState updated = agentDynamics.apply(action, previous);
-                agent.setState(updated);
-                double reward = agentDynamics.score(action);
-                rewardSamples.add(reward);
-                rewardTracker.recordReward(agent.getAgentId(), reward, context.nextTick());
-                agent.adjustFitness(reward);
-                agent.incrementGeneration();
-                agentDynamics.evaluateSafety(updated).ifPresent(reason -> {
-                    agent.recordSafetyViolation();
-                    violators.add(agent.getAgentId());
-                });
-                LineageEvent event = LineageEvent.capture(agent.getAgentId().toString(), previous, updated);
-                eventProducer.send(event);
+                context.rankSurvivors(step.survivors(), rewardTracker);
+                List<Agent> islandOffspring = generateOffspring(context, step.island(), step.survivors(), breeding);
+                offspringCounts[step.island().index] = islandOffspring.size();
+                offspring.addAll(islandOffspring);
             }
-
-            agentRepository.saveAll(population);
-
-            int survivorTarget = Math.max(1, Math.min(context.selectionSettings.survivorCount(), population.size()));
-            List<Agent> survivors = new ArrayList<>(strategy.select(population, survivorTarget));
-            if (survivors.isEmpty()) {
-                survivors.add(population.stream()
-                        .max(Comparator.comparingDouble(Agent::getFitness))
-                        .orElse(population.get(0)));
+            // New genomes and all offspring are written once per generation, then handed back per island.
+            List<Agent> persistedOffspring = persistAgents(offspring);
+            int offset = 0;
+            for (IslandStep step : steps) {
+                int count = offspringCounts[step.island().index];
+                step.island().population.replace(step.survivors(), persistedOffspring.subList(offset, offset + count));
+                offset += count;
+            }
+            context.advanceGeneration();
+            if (context.islandSettings.migrates()
+                    && context.generation % context.islandSettings.migrationInterval() == 0) {
+                migrate(context);
             }
-            List<Agent> distinctSurvivors = survivors.stream()
-                    .collect(Collectors.collectingAndThen(
-                            Collectors.toCollection(LinkedHashSet::new), ArrayList::new));
-
-            context.rankSurvivors(distinctSurvivors, rewardTracker);
-            List<Agent> offspring = generateOffspring(context, distinctSurvivors);
-            List<Agent> persistedOffspring = offspring.isEmpty() ? List.of() : agentRepository.saveAll(offspring);
-
-            context.refreshPopulation(distinctSurvivors, persistedOffspring);
 
-            GenerationReport report = context.buildReport(population, rewardSamples, violators, rewardTracker);
+            GenerationReport report = context.buildReport(population, rewardSamples, violators, rewardTracker)
+                    .withEvaluationCache(cacheStats(steps.stream()
+                            .flatMap(step -> step.evaluations().stream())
+                            .toList()));
+            if (context.islands.size() > 1) {
+                report = report.withIslands(steps.stream()
+                        .map(step -> new IslandReport(
+                                step.island().index,
+                                step.island().settings.strategyType(),
+                                step.island().population.size(),
+                                step.island().immigrants,
+                                context.buildReport(step.population(), step.rewardSamples(), step.violators(),
+                                        rewardTracker).withEvaluationCache(cacheStats(step.evaluations()))))
+                        .toList());
+            }
             context.recordReport(report);
+            rewardTracker.flush();
+            context.backlog.record(context.generation,
+                    CompletableFuture.allOf(published.toArray(CompletableFuture[]::new)));
+            if (context.generationsSinceFlush >= Math.max(1, properties.getPersistence().getFlushInterval())) {
+                flushPopulation(context);
+            }
+            context.publish();
             eventPublisher.publishEvent(new ServiceOperationEvent(RuntimeServiceIds.SIMULATION_CORE));
             return report;
         }
     }
 
     public GenerationReport getGenerationReport(int generation) {
-        synchronized (monitor) {
-            if (activeRun == null) {
-                return GenerationReport.empty();
-            }
-            GenerationReport latest = activeRun.history.peekLast();
-            return activeRun.history.stream()
-                    .filter(report -> report.generation() == generation)
+        UUID runId = defaultRunId;
+        return runId == null ? GenerationReport.empty() : getGenerationReport(runId, generation);
+    }
+
+    /**
+     * Recent generations are served from the run's published snapshot, older ones from its report log; neither
+     * waits for a generation in progress. Runs that are no longer resident are read from their log on disk.
+     * Generations that were never recorded yield an empty report.
+     */
+    public GenerationReport getGenerationReport(UUID runId, int generation) {
+        EvolutionRunContext context = runs.get(runId);
+        GenerationReport report;
+        if (context != null) {
+            report = context.snapshot.history().stream()
+                    .filter(candidate -> candidate.generation() == generation)
                     .findFirst()
-                    .orElse(latest == null ? GenerationReport.empty() : latest);
+                    .orElseGet(() -> context.reports.read(generation));
+        } else if (runId != null && GenerationHistory.exists(historyDirectory, runId)) {
+            try (GenerationHistory reports = GenerationHistory.open(historyDirectory, runId)) {
+                report = reports.read(generation);
+            }
+        } else {
+            report = null;
+        }
+        return report == null ? GenerationReport.empty() : report;
+    }
+
+    /**
+     * Hands every recorded report of a run with a generation in {@code [from, to]} to {@code sink}, oldest first,
+     * reading the run's log in batches.
+     */
+    public void streamGenerationReports(UUID runId, int from, int to, Consumer<GenerationReport> sink) {
+        EvolutionRunContext context = runs.get(runId);
+        if (context != null) {
+            context.reports.scan(from, to, sink);
+        } else if (runId != null && GenerationHistory.exists(historyDirectory, runId)) {
+            try (GenerationHistory reports = GenerationHistory.open(historyDirectory, runId)) {
+                reports.scan(from, to, sink);
+            }
+        } else {
+            throw new IllegalStateException("Unknown evolution run: " + runId);
         }
     }
 
     public EvolutionStatus pause() {
-        synchronized (monitor) {
-            if (activeRun == null) {
-                return EvolutionStatus.idle();
+        UUID runId = defaultRunId;
+        return runId == null ? EvolutionStatus.idle() : pause(runId);
+    }
+
+    public EvolutionStatus pause(UUID runId) {
+        EvolutionRunContext context = requireRun(runId);
+        synchronized (context.lock) {
+            context.running = false;
+            context.lastUpdated = Instant.now();
+            if (!context.evicted) {
+                flushPopulation(context);
             }
-            activeRun.running = false;
-            activeRun.lastUpdated = Instant.now();
-            return activeRun.status();
+            context.publish();
         }
+        return status(runId);
     }
 
+    /**
+     * Status of the most recently started run, or idle when there is none.
+     */
     public EvolutionStatus status() {
-        synchronized (monitor) {
-            return activeRun == null ? EvolutionStatus.idle() : activeRun.status();
+        UUID runId = defaultRunId;
+        return runId == null ? EvolutionStatus.idle() : status(runId);
+    }
+
+    /**
+     * Served from the run's published snapshot; never waits for a generation in progress.
+     */
+    public EvolutionStatus status(UUID runId) {
+        EvolutionRunContext context = runs.get(runId);
+        if (context == null) {
+            return EvolutionStatus.idle();
         }
+        return context.snapshot.status().withThroughput(
+                EvolutionThroughput.manual(context.backlog.size(), context.backlog.capacity()));
     }
 
-    public List<LeaderboardEntry> leaderboard() {
-        return rewardTracker.leaderboard(10);
+    /**
+     * Statuses of all resident runs, oldest first.
+     */
+    public List<EvolutionStatus> runs() {
+        return runs.values().stream()
+                .map(context -> status(context.runId))
+                .sorted(Comparator.comparing(EvolutionStatus::startedAt))
+                .toList();
+    }
+
+    /**
+     * True while too many of the run's generations are waiting on persistence or Kafka; see
+     * {@link GenerationBacklog}.
+     */
+    public boolean isBackpressured(UUID runId) {
+        EvolutionRunContext context = runs.get(runId);
+        return context != null && context.backlog.isFull();
+    }
+
+    public int unflushedGenerations(UUID runId) {
+        EvolutionRunContext context = runs.get(runId);
+        return context == null ? 0 : context.backlog.size();
+    }
+
+    public int maxUnflushedGenerations() {
+        return Math.max(1, properties.getRunner().getMaxUnflushedGenerations());
+    }
+
+    /**
+     * Writes the run's resident population back ahead of the regular flush interval.
+     */
+    @Transactional
+    public void flush(UUID runId) {
+        EvolutionRunContext context = runs.get(runId);
+        if (context == null) {
+            return;
+        }
+        synchronized (context.lock) {
+            if (!context.evicted) {
+                flushPopulation(context);
+            }
+        }
+    }
+
+    /**
+     * Served by the reward tracker's in-memory board; the head is republished by the flush ending each generation.
+     */
+    public List<LeaderboardEntry> leaderboard(int offset, int limit) {
+        return rewardTracker.leaderboard(offset, limit);
+    }
+
+    public Optional<LeaderboardEntry> leaderboardStanding(UUID agentId) {
+        return rewardTracker.standing(agentId);
+    }
+
+    /**
+     * Compact binary image of every resident run: counters, settings, island layout, each agent's slot columns
+     * and the report history. Runs are captured one at a time under their own lock, so a generation in progress
+     * delays only its own run.
+     */
+    public byte[] captureCheckpoint() {
+        List<RunImage> images = new ArrayList<>(runs.size());
+        for (EvolutionRunContext context : runs.values()) {
+            synchronized (context.lock) {
+                if (!context.evicted) {
+                    images.add(context.image());
+                }
+            }
+        }
+        images.sort(Comparator.comparing(RunImage::startedAt));
+        return EvolutionCheckpointCodec.encode(new Checkpoint(defaultRunId, List.copyOf(images)));
+    }
+
+    /**
+     * Makes the runs in a checkpoint resident again, replacing any resident run with the same id. Agents are
+     * rebuilt from the checkpoint itself; only their distinct policies are loaded, in batches, so the run
+     * continues from exactly the generation, tick and random streams it was captured at.
+     */
+    @Transactional
+    public List<EvolutionStatus> restoreCheckpoint(byte[] checkpoint) {
+        Checkpoint decoded = EvolutionCheckpointCodec.decode(checkpoint);
+        Map<UUID, AbstractAgentPolicy> policies = loadPolicies(decoded.runs().stream()
+                .flatMap(run -> run.islands().stream())
+                .flatMap(island -> island.agents().stream())
+                .map(AgentImage::policyId)
+                .collect(Collectors.toSet()));
+        List<EvolutionStatus> restored = new ArrayList<>(decoded.runs().size());
+        for (RunImage image : decoded.runs()) {
+            List<List<Agent>> populations = new ArrayList<>(image.islands().size());
+            for (IslandImage island : image.islands()) {
+                List<Agent> agents = new ArrayList<>(island.agents().size());
+                island.agents().forEach(agent -> agents.add(restoreAgent(agent, policies)));
+                populations.add(agents);
+            }
+            EvolutionRunContext resident = runs.get(image.runId());
+            if (resident != null) {
+                retire(resident, false);
+            }
+            EvolutionRunContext context = new EvolutionRunContext(image, populations, selectionStrategyFactory,
+                    new GenerationBacklog(properties.getRunner().getMaxUnflushedGenerations()),
+                    restoreHistory(image));
+            synchronized (context.lock) {
+                context.publish();
+            }
+            register(context);
+            restored.add(status(context.runId));
+        }
+        UUID restoredDefault = decoded.defaultRunId();
+        if (restoredDefault != null && runs.containsKey(restoredDefault)) {
+            defaultRunId = restoredDefault;
+        }
+        return List.copyOf(restored);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        runs.values().forEach(context -> retire(context, true));
+        rewardTracker.flush();
+    }
+
+    /**
+     * Adds a run to the registry and makes it the default. Beyond the configured limit, the least recently
+     * updated runs are written back and dropped.
+     */
+    private void register(EvolutionRunContext context) {
+        EvolutionRunContext replaced = runs.put(context.runId, context);
+        if (replaced != null) {
+            // Superseded by a restored image of the same run; its resident state must not be written back.
+            retire(replaced, false);
+        }
+        defaultRunId = context.runId;
+        int limit = Math.max(1, properties.getRunner().getMaxRuns());
+        while (runs.size() > limit) {
+            EvolutionRunContext stalest = runs.values().stream()
+                    .filter(candidate -> candidate != context)
+                    .min(Comparator.comparing(candidate -> candidate.snapshot.status().lastUpdated()))
+                    .orElse(null);
+            if (stalest == null) {
+                break;
+            }
+            retire(stalest, true);
+            runs.remove(stalest.runId, stalest);
+        }
+    }
+
+    /**
+     * Stops a run from being advanced or written back and closes its report log; {@code flush} writes its
+     * population back first.
+     */
+    private void retire(EvolutionRunContext context, boolean flush) {
+        synchronized (context.lock) {
+            if (context.evicted) {
+                return;
+            }
+            if (flush) {
+                flushPopulation(context);
+            }
+            context.evicted = true;
+            context.reports.close();
+        }
     }
 
-    private List<Agent> generateOffspring(EvolutionRunContext context, List<Agent> survivors) {
+    /**
+     * Reopens a restored run's report log, dropping generations past the checkpoint and filling in the
+     * checkpoint's own history where the log lacks it (e.g. when restored on another machine).
+     */
+    private GenerationHistory restoreHistory(RunImage image) {
+        GenerationHistory reports = GenerationHistory.open(historyDirectory, image.runId());
+        reports.retainBefore(image.generation() + 1);
+        List<GenerationReport> history = image.history();
+        for (int i = history.size() - 1; i >= 0; i--) {
+            if (history.get(i).generation() >= reports.size()) {
+                reports.append(history.get(i));
+            }
+        }
+        return reports;
+    }
+
+    private Map<UUID, AbstractAgentPolicy> loadPolicies(Collection<UUID> policyIds) {
+        List<UUID> ids = List.copyOf(policyIds);
+        Map<UUID, AbstractAgentPolicy> loaded = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += POLICY_LOAD_CHUNK) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + POLICY_LOAD_CHUNK));
+            policyRepository.findAllById(chunk).forEach(policy -> loaded.put(policy.getPolicyId(), policy));
+        }
+        if (loaded.size() < ids.size()) {
+            throw new IllegalStateException("Checkpoint references " + (ids.size() - loaded.size())
+                    + " policies that no longer exist");
+        }
+        return loaded;
+    }
+
+    private Agent restoreAgent(AgentImage image, Map<UUID, AbstractAgentPolicy> policies) {
+        Agent agent = Agent.restore(image.agentId(), image.createdAt(), policies.get(image.policyId()));
+        agent.setParentId(image.parentId());
+        agent.setGeneration(image.generation());
+        agent.setFitness(image.fitness());
+        agent.setSafetyViolations(image.violations());
+        agent.setState(image.state());
+        return agent;
+    }
+
+    private EvolutionRunContext requireRun(UUID runId) {
+        EvolutionRunContext context = runId == null ? null : runs.get(runId);
+        if (context == null) {
+            throw new IllegalStateException("Unknown evolution run: " + runId);
+        }
+        return context;
+    }
+
+    private void ensureResident(EvolutionRunContext context) {
+        if (context.evicted) {
+            throw new IllegalStateException("Evolution run was evicted: " + context.runId);
+        }
+    }
+
+    /**
+     * Writes the resident population (and agents culled since the last flush) back to the database.
+     */
+    private void flushPopulation(EvolutionRunContext context) {
+        List<Agent> dirty = new ArrayList<>();
+        context.islands.forEach(island -> dirty.addAll(island.population.drainForFlush()));
+        if (!dirty.isEmpty()) {
+            agentRepository.saveAll(dirty);
+        }
+        context.generationsSinceFlush = 0;
+        context.backlog.persistedThrough(context.generation);
+    }
+
+    /**
+     * Flushes pending policy genomes, points each agent at its canonical policy and saves the agents in one batch.
+     */
+    private List<Agent> persistAgents(List<Agent> agents) {
+        if (agents.isEmpty()) {
+            return List.of();
+        }
+        genomeStore.flush();
+        for (Agent agent : agents) {
+            agent.setPolicy(genomeStore.canonical(toAbstractPolicy(agent.getPolicy())));
+        }
+        return agentRepository.saveAll(agents);
+    }
+
+    /**
+     * Evaluation and selection for one island. Touches only the island's own store and performs no
+     * persistence, so islands can run concurrently.
+     */
+    private IslandStep evolveIsland(EvolutionRunContext context, Island island) {
+        List<AgentEvaluation> evaluations = generationEvaluator.evaluate(
+                island.population,
+                island.settings.evaluationMode(),
+                context.seed,
+                context.generation
+        );
+        List<Agent> population = island.population.residentAgents();
+        int survivorTarget = Math.max(1, Math.min(island.settings.survivorCount(), population.size()));
+        SplittableRandom random = runStream(context.seed, SELECTION_STREAM + island.index * ISLAND_STREAM_STRIDE,
+                context.generation);
+        List<Agent> survivors = new ArrayList<>(island.strategy.select(population, survivorTarget, random));
+        if (survivors.isEmpty()) {
+            survivors.add(population.stream()
+                    .max(Comparator.comparingDouble(Agent::getFitness))
+                    .orElse(population.get(0)));
+        }
+        List<Agent> distinctSurvivors = survivors.stream()
+                .collect(Collectors.collectingAndThen(
+                        Collectors.toCollection(LinkedHashSet::new), ArrayList::new));
+        return new IslandStep(island, evaluations, population, distinctSurvivors,
+                new ArrayList<>(evaluations.size()), new ArrayList<>());
+    }
+
+    /**
+     * Copies the fittest agents of every island to its destination islands, where they replace the weakest
+     * residents. Migrants are cloned (same policy genome, fitness and state carried over) so each island keeps
+     * its own copy and lineage points back at the original.
+     */
+    private void migrate(EvolutionRunContext context) {
+        List<List<Agent>> incoming = new ArrayList<>(context.islands.size());
+        context.islands.forEach(island -> incoming.add(new ArrayList<>()));
+        for (Island source : context.islands) {
+            List<Agent> emigrants = source.population.residentAgents().stream()
+                    .sorted(Comparator.comparingDouble(Agent::getFitness).reversed())
+                    .limit(context.islandSettings.migrantCount())
+                    .toList();
+            for (int destination : context.islandSettings.destinations(source.index)) {
+                for (Agent emigrant : emigrants) {
+                    incoming.get(destination).add(immigrantOf(source, emigrant));
+                }
+            }
+        }
+        for (Island island : context.islands) {
+            List<Agent> immigrants = incoming.get(island.index);
+            if (immigrants.isEmpty()) {
+                continue;
+            }
+            List<Agent> residents = island.population.residentAgents();
+            int admitted = Math.min(immigrants.size(), residents.size() - 1);
+            if (admitted <= 0) {
+                continue;
+            }
+            List<Agent> keep = residents.stream()
+                    .sorted(Comparator.comparingDouble(Agent::getFitness).reversed())
+                    .limit(residents.size() - admitted)
+                    .toList();
+            List<Agent> persisted = persistAgents(immigrants.subList(0, admitted));
+            island.population.replace(keep, persisted);
+            island.immigrants = admitted;
+        }
+    }
+
+    private Agent immigrantOf(Island source, Agent emigrant) {
+        Agent immigrant = Agent.bootstrap(policyMutationService.replicate(toAbstractPolicy(emigrant.getPolicy())));
+        immigrant.setParentId(emigrant.getAgentId());
+        immigrant.setGeneration(emigrant.getGeneration());
+        immigrant.setFitness(emigrant.getFitness());
+        immigrant.setState(source.population.state(source.population.slotOf(emigrant.getAgentId())));
+        return immigrant;
+    }
+
+    private List<Agent> generateOffspring(EvolutionRunContext context,
+                                          Island island,
+                                          List<Agent> survivors,
+                                          SplittableRandom random) {
         if (survivors.isEmpty()) {
             return List.of();
         }
-        int target = context.populationSize - survivors.size();
+        int target = island.targetSize - survivors.size();
         if (target <= 0) {
             return List.of();
         }
         List<Agent> offspring = new ArrayList<>(target);
-        ThreadLocalRandom random = ThreadLocalRandom.current();
         for (int i = 0; i < target; i++) {
             Agent parent = survivors.get(i % survivors.size());
             double noise = context.mutationRate * random.nextDouble();
             AbstractAgentPolicy template = toAbstractPolicy(parent.getPolicy());
             AbstractAgentPolicy policy = noise > 0
-                    ? policyMutationService.mutate(template, noise)
+                    ? policyMutationService.mutate(template, noise, random)
                     : policyMutationService.replicate(template);
             Agent child = Agent.bootstrap(policy);
             child.setParentId(parent.getAgentId());
@@ -259,11 +736,12 @@ public class EvolutionLoopService {
         return policyRepository.save(ruleBasedPolicy);
     }
 
-    private EvolutionRunContext ensureActiveRun() {
-        if (activeRun == null) {
+    private UUID ensureDefaultRun() {
+        UUID runId = defaultRunId;
+        if (runId == null) {
             throw new IllegalStateException("No evolution run is active");
         }
-        return activeRun;
+        return runId;
     }
 
     private AbstractAgentPolicy toAbstractPolicy(prototype.simulationcore.policy.AgentPolicy policy) {
@@ -273,6 +751,24 @@ public class EvolutionLoopService {
         throw new IllegalStateException("Agent policy is not persistent: " + policy);
     }
 
+    /**
+     * Seeding, selection and breeding noise come from streams derived from the run seed and generation rather than
+     * from a shared generator, so a run resumed from a checkpoint draws exactly what it would have drawn.
+     */
+    private static SplittableRandom runStream(long seed, long stream, int generation) {
+        return GenerationEvaluator.randomStream(seed ^ stream, generation, null);
+    }
+
+    private static EvaluationCacheStats cacheStats(List<AgentEvaluation> evaluations) {
+        int hits = 0;
+        for (AgentEvaluation evaluation : evaluations) {
+            if (evaluation.cached()) {
+                hits++;
+            }
+        }
+        return EvaluationCacheStats.of(hits, evaluations.size() - hits);
+    }
+
     private static double computeTrend(List<Double> samples) {
         if (samples.size() < 2) {
             return 0.0;
@@ -289,54 +785,184 @@ public class EvolutionLoopService {
         return denominator == 0.0 ? 0.0 : numerator / denominator;
     }
 
+    /**
+     * Mutable state of one run. Everything except {@link #snapshot} is guarded by {@link #lock}; readers only
+     * touch the snapshot, which is replaced wholesale after each change.
+     */
     private static class EvolutionRunContext {
 
-        private final UUID runId = UUID.randomUUID();
+        private final Object lock = new Object();
+        private final UUID runId;
         private final int populationSize;
         private final SelectionSettings selectionSettings;
+        private final IslandSettings islandSettings;
+        private final List<Island> islands;
         private final Deque<GenerationReport> history = new ArrayDeque<>();
-        private final Instant startedAt = Instant.now();
+        private final Instant startedAt;
+        private final long seed;
+        private final GenerationBacklog backlog;
+        private final GenerationHistory reports;
 
-        private List<UUID> populationAgentIds;
         private int generation;
+        private int generationsSinceFlush;
         private long tickCounter;
         private boolean running = true;
         private double mutationRate;
-        private Instant lastUpdated = startedAt;
+        private Instant lastUpdated;
+        private boolean evicted;
+        private volatile RunSnapshot snapshot;
 
-        private EvolutionRunContext(List<Agent> population,
+        private EvolutionRunContext(UUID runId,
+                                    Instant startedAt,
+                                    List<Agent> population,
                                     SelectionSettings settings,
-                                    double mutationRate) {
+                                    IslandSettings islandSettings,
+                                    double mutationRate,
+                                    long seed,
+                                    SelectionStrategyFactory strategyFactory,
+                                    GenerationBacklog backlog,
+                                    GenerationHistory reports) {
+            this.runId = runId;
+            this.startedAt = startedAt;
+            this.lastUpdated = startedAt;
             this.populationSize = population.size();
             this.selectionSettings = Objects.requireNonNull(settings, "selectionSettings");
-            this.populationAgentIds = population.stream()
-                    .map(Agent::getAgentId)
-                    .toList();
+            this.islandSettings = Objects.requireNonNull(islandSettings, "islandSettings");
+            this.islands = partition(population, strategyFactory);
             this.mutationRate = mutationRate;
+            this.seed = seed;
+            this.backlog = backlog;
+            this.reports = reports;
+        }
+
+        /**
+         * Rebuilds a run from a checkpoint image; {@code populations} holds each island's agents in slot order.
+         */
+        private EvolutionRunContext(RunImage image,
+                                    List<List<Agent>> populations,
+                                    SelectionStrategyFactory strategyFactory,
+                                    GenerationBacklog backlog,
+                                    GenerationHistory reports) {
+            this.runId = image.runId();
+            this.startedAt = image.startedAt();
+            this.lastUpdated = image.lastUpdated();
+            this.populationSize = image.populationSize();
+            this.selectionSettings = image.selectionSettings();
+            this.islandSettings = image.islandSettings();
+            this.mutationRate = image.mutationRate();
+            this.seed = image.seed();
+            this.backlog = backlog;
+            this.reports = reports;
+            this.generation = image.generation();
+            this.generationsSinceFlush = image.generationsSinceFlush();
+            this.tickCounter = image.tickCounter();
+            this.running = image.running();
+            this.history.addAll(image.history());
+            List<Island> restored = new ArrayList<>(image.islands().size());
+            for (int index = 0; index < image.islands().size(); index++) {
+                IslandImage island = image.islands().get(index);
+                SelectionSettings settings = islandSelection(index, island.targetSize());
+                Island rebuilt = new Island(index, settings, strategyFactory.create(settings), island.targetSize(),
+                        PopulationStore.of(populations.get(index)));
+                rebuilt.immigrants = island.immigrants();
+                restored.add(rebuilt);
+            }
+            this.islands = List.copyOf(restored);
+        }
+
+        private void publish() {
+            snapshot = new RunSnapshot(status(), List.copyOf(history));
+        }
+
+        /**
+         * Splits the population into contiguous, near-equal islands. Survivor and elite counts are scaled to
+         * each island's share of the population.
+         */
+        private List<Island> partition(List<Agent> population, SelectionStrategyFactory strategyFactory) {
+            int count = islandSettings.islandCount();
+            List<Island> partitioned = new ArrayList<>(count);
+            int from = 0;
+            for (int index = 0; index < count; index++) {
+                int to = from + (population.size() - from) / (count - index);
+                int size = to - from;
+                SelectionSettings settings = islandSelection(index, size);
+                partitioned.add(new Island(index, settings, strategyFactory.create(settings), size,
+                        PopulationStore.of(population.subList(from, to))));
+                from = to;
+            }
+            return List.copyOf(partitioned);
+        }
+
+        private SelectionSettings islandSelection(int index, int size) {
+            if (islandSettings.islandCount() == 1) {
+                return selectionSettings;
+            }
+            return new SelectionSettings(
+                    islandSettings.strategyFor(index, selectionSettings.strategyType()),
+                    scale(selectionSettings.survivorCount(), size),
+                    Math.max(2, Math.min(selectionSettings.tournamentSize(), size)),
+                    scale(selectionSettings.elitismCount(), size),
+                    selectionSettings.safetyPenalty(),
+                    selectionSettings.evaluationMode()
+            );
+        }
+
+        /**
+         * Everything needed to resume the run. Must be called with {@link #lock} held.
+         */
+        private RunImage image() {
+            List<IslandImage> islandImages = new ArrayList<>(islands.size());
+            for (Island island : islands) {
+                PopulationStore store = island.population;
+                List<AgentImage> agents = new ArrayList<>(store.size());
+                for (int slot = 0; slot < store.size(); slot++) {
+                    Agent agent = store.agent(slot);
+                    agents.add(new AgentImage(
+                            agent.getAgentId(),
+                            agent.getParentId(),
+                            ((AbstractAgentPolicy) agent.getPolicy()).getPolicyId(),
+                            agent.getCreatedAt(),
+                            store.generation(slot),
+                            store.fitness(slot),
+                            store.violations(slot),
+                            store.state(slot)
+                    ));
+                }
+                islandImages.add(new IslandImage(island.targetSize, island.immigrants, agents));
+            }
+            return new RunImage(runId, seed, generation, generationsSinceFlush, tickCounter, mutationRate, running,
+                    startedAt, lastUpdated, populationSize, selectionSettings, islandSettings,
+                    List.copyOf(islandImages), List.copyOf(history));
+        }
+
+        private int scale(int count, int islandSize) {
+            return Math.max(1, Math.min(islandSize, (int) Math.round((double) count * islandSize / populationSize)));
+        }
+
+        private int populationCount() {
+            return islands.stream().mapToInt(island -> island.population.size()).sum();
         }
 
         private long nextTick() {
             return tickCounter++;
         }
 
-        private void refreshPopulation(List<Agent> survivors, List<Agent> offspring) {
-            List<UUID> survivorIds = survivors.stream()
-                    .map(Agent::getAgentId)
-                    .toList();
-            List<UUID> offspringIds = offspring.stream()
-                    .map(Agent::getAgentId)
-                    .toList();
-            this.populationAgentIds = new ArrayList<>(populationSize);
-            this.populationAgentIds.addAll(survivorIds);
-            this.populationAgentIds.addAll(offspringIds);
+        private void advanceGeneration() {
+            islands.forEach(island -> island.immigrants = 0);
             this.lastUpdated = Instant.now();
             this.generation++;
+            this.generationsSinceFlush++;
         }
 
         private void recordReport(GenerationReport report) {
             if (report == null) {
                 return;
             }
+            try {
+                reports.append(report);
+            } catch (IllegalStateException ex) {
+                log.warn("Generation {} of run {} was not written to its report log", report.generation(), runId, ex);
+            }
             history.addFirst(report);
             while (history.size() > HISTORY_LIMIT) {
                 history.removeLast();
@@ -405,14 +1031,54 @@ public class EvolutionLoopService {
                     runId,
                     running,
                     generation,
-                    populationSize,
+                    populationCount(),
                     selectionSettings.strategyType(),
                     mutationRate,
                     startedAt,
-                    lastUpdated
+                    lastUpdated,
+                    islands.size()
             );
         }
     }
+
+    /**
+     * Immutable view of a run for readers: its status and recent reports, newest first.
+     */
+    private record RunSnapshot(EvolutionStatus status, List<GenerationReport> history) {
+    }
+
+    /**
+     * One sub-population of a run. A classic run has exactly one island holding the whole population.
+     */
+    private static final class Island {
+
+        private final int index;
+        private final SelectionSettings settings;
+        private final SelectionStrategy strategy;
+        private final int targetSize;
+        private final PopulationStore population;
+        private int immigrants;
+
+        private Island(int index,
+                       SelectionSettings settings,
+                       SelectionStrategy strategy,
+                       int targetSize,
+                       PopulationStore population) {
+            this.index = index;
+            this.settings = settings;
+            this.strategy = strategy;
+            this.targetSize = targetSize;
+            this.population = population;
+        }
+    }
+
+    private record IslandStep(Island island,
+                              List<AgentEvaluation> evaluations,
+                              List<Agent> population,
+                              List<Agent> survivors,
+                              List<Double> rewardSamples,
+                              List<UUID> violators) {
+    }
 }
 
 
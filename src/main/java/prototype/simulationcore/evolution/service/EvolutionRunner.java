@@ -0,0 +1,204 @@
+package prototype.simulationcore.evolution.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import prototype.simulationcore.evolution.EvolutionProperties;
+import prototype.simulationcore.evolution.dto.EvolutionStatus;
+import prototype.simulationcore.evolution.dto.EvolutionThroughput;
+import prototype.simulationcore.metrics.RateWindow;
+
+/**
+ * Advances evolution runs in the background, each at its own target generation rate. All runs share one bounded
+ * scheduler pool; each run is ticked by at most one thread at a time. While
+ * {@link EvolutionLoopService#isBackpressured(UUID)} reports that a run's persistence or Kafka publishing is
+ * behind, its ticks write the population back instead of evolving, so the backlog drains before the run moves on.
+ */
+@Service
+public class EvolutionRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(EvolutionRunner.class);
+
+    private final EvolutionLoopService evolutionLoopService;
+    private final EvolutionProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<UUID, RunTask> tasks = new ConcurrentHashMap<>();
+
+    public EvolutionRunner(EvolutionLoopService evolutionLoopService, EvolutionProperties properties) {
+        this.evolutionLoopService = evolutionLoopService;
+        this.properties = properties;
+        this.scheduler = Executors.newScheduledThreadPool(Math.max(1, properties.getRunner().getThreads()),
+                new CustomizableThreadFactory("evolution-runner-"));
+    }
+
+    /**
+     * Starts (or re-paces) the runner for the most recently started run.
+     */
+    public EvolutionStatus start(Double generationsPerSecond) {
+        return start(defaultRunId(), generationsPerSecond);
+    }
+
+    /**
+     * Starts (or re-paces) the runner for a run. A missing or non-positive rate falls back to the configured
+     * default.
+     */
+    public EvolutionStatus start(UUID runId, Double generationsPerSecond) {
+        EvolutionStatus current = evolutionLoopService.status(runId);
+        if (current.runId() == null) {
+            throw new IllegalStateException("No evolution run is active");
+        }
+        if (!current.running()) {
+            throw new IllegalStateException("Evolution run is paused");
+        }
+        double rate = generationsPerSecond == null || generationsPerSecond <= 0
+                ? properties.getRunner().getDefaultRate()
+                : generationsPerSecond;
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("Target generation rate must be positive");
+        }
+        RunTask task = new RunTask(runId, rate);
+        RunTask previous = tasks.put(runId, task);
+        if (previous != null) {
+            previous.cancel();
+        }
+        task.schedule();
+        return status(runId);
+    }
+
+    public EvolutionStatus stop() {
+        UUID runId = evolutionLoopService.status().runId();
+        return runId == null ? evolutionLoopService.status() : stop(runId);
+    }
+
+    public EvolutionStatus stop(UUID runId) {
+        RunTask task = tasks.remove(runId);
+        if (task != null) {
+            task.cancel();
+        }
+        return status(runId);
+    }
+
+    public boolean isRunning(UUID runId) {
+        return tasks.containsKey(runId);
+    }
+
+    /**
+     * Status of the most recently started run with the runner's pace filled in.
+     */
+    public EvolutionStatus status() {
+        UUID runId = evolutionLoopService.status().runId();
+        return runId == null ? evolutionLoopService.status() : status(runId);
+    }
+
+    public EvolutionStatus status(UUID runId) {
+        return evolutionLoopService.status(runId).withThroughput(throughput(runId));
+    }
+
+    public EvolutionThroughput throughput(UUID runId) {
+        int unflushed = evolutionLoopService.unflushedGenerations(runId);
+        int maxUnflushed = evolutionLoopService.maxUnflushedGenerations();
+        RunTask task = tasks.get(runId);
+        return task == null
+                ? EvolutionThroughput.manual(unflushed, maxUnflushed)
+                : task.throughput(unflushed, maxUnflushed);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private UUID defaultRunId() {
+        UUID runId = evolutionLoopService.status().runId();
+        if (runId == null) {
+            throw new IllegalStateException("No evolution run is active");
+        }
+        return runId;
+    }
+
+    /**
+     * Schedule and pace accounting for one run.
+     */
+    private final class RunTask {
+
+        private final UUID runId;
+        private final double targetRate;
+        private final long startedAtNanos = System.nanoTime();
+        private final RateWindow rate = new RateWindow(startedAtNanos);
+        private ScheduledFuture<?> future;
+        private long throttled;
+
+        private RunTask(UUID runId, double targetRate) {
+            this.runId = runId;
+            this.targetRate = targetRate;
+        }
+
+        private synchronized void schedule() {
+            long periodNanos = Math.max(1L, Math.round(TimeUnit.SECONDS.toNanos(1) / targetRate));
+            future = scheduler.scheduleAtFixedRate(this::tick, 0L, periodNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized void cancel() {
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        /**
+         * One scheduled step. Any failure stops the run's task; a scheduled task that throws would be silently
+         * suppressed by the executor.
+         */
+        private void tick() {
+            try {
+                if (!evolutionLoopService.status(runId).running()) {
+                    retire();
+                    return;
+                }
+                if (evolutionLoopService.isBackpressured(runId)) {
+                    evolutionLoopService.flush(runId);
+                    synchronized (this) {
+                        throttled++;
+                    }
+                    return;
+                }
+                evolutionLoopService.runGeneration(runId);
+                synchronized (this) {
+                    rate.record(System.nanoTime());
+                }
+            } catch (RuntimeException ex) {
+                log.error("Background evolution of run {} stopped", runId, ex);
+                retire();
+            }
+        }
+
+        private void retire() {
+            tasks.remove(runId, this);
+            cancel();
+        }
+
+        private synchronized EvolutionThroughput throughput(int unflushed, int maxUnflushed) {
+            long now = System.nanoTime();
+            long expected = (long) Math.floor((now - startedAtNanos) / 1e9 * targetRate);
+            long completed = rate.completed();
+            return new EvolutionThroughput(
+                    true,
+                    targetRate,
+                    rate.perSecond(now),
+                    Math.max(0L, expected - completed),
+                    unflushed,
+                    maxUnflushed,
+                    unflushed >= maxUnflushed,
+                    throttled
+            );
+        }
+    }
+}
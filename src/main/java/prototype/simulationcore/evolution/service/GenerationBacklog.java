@@ -0,0 +1,47 @@
+package prototype.simulationcore.evolution.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded record of generations whose effects have not fully left the process: a generation drains once the
+ * resident population has been written back at or after it and all of its lineage events were acknowledged by
+ * Kafka. A full backlog means persistence or publishing is falling behind the evolution loop.
+ */
+final class GenerationBacklog {
+
+    private final int capacity;
+    private final Deque<PendingGeneration> pending = new ArrayDeque<>();
+    private int persistedThrough = -1;
+
+    GenerationBacklog(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    synchronized void record(int generation, CompletableFuture<?> published) {
+        pending.addLast(new PendingGeneration(generation, published == null
+                ? CompletableFuture.completedFuture(null)
+                : published));
+    }
+
+    synchronized void persistedThrough(int generation) {
+        persistedThrough = Math.max(persistedThrough, generation);
+    }
+
+    synchronized int size() {
+        pending.removeIf(entry -> entry.generation() <= persistedThrough && entry.published().isDone());
+        return pending.size();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    boolean isFull() {
+        return size() >= capacity;
+    }
+
+    private record PendingGeneration(int generation, CompletableFuture<?> published) {
+    }
+}
@@ -0,0 +1,238 @@
+package prototype.simulationcore.evolution.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator;
+import org.springframework.stereotype.Component;
+import prototype.simulationcore.domain.Action;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.LineageEvent;
+import prototype.simulationcore.domain.MutableAgentState;
+import prototype.simulationcore.domain.Position;
+import prototype.simulationcore.environment.DefaultEnvironment;
+import prototype.simulationcore.environment.Environment;
+import prototype.simulationcore.evolution.EvolutionProperties;
+import prototype.simulationcore.evolution.selection.EvaluationMode;
+import prototype.simulationcore.evolution.service.EvaluationCache.Decision;
+import prototype.simulationcore.evolution.service.EvaluationCache.Key;
+import prototype.simulationcore.policy.AgentPolicy;
+import prototype.simulationcore.policy.StateColumns;
+import prototype.simulationcore.service.AgentDynamics;
+import prototype.simulationcore.service.AgentRandomStreams;
+import prototype.simulationcore.service.SlotRanges;
+
+/**
+ * Runs the decide/apply/score step for every agent of a generation, either inline or split across a
+ * fork-join pool. Within each chunk, agents sharing a policy instance (and thus a genome) are decided together
+ * through {@link AgentPolicy#decideBatch}. Each agent draws from its own random stream derived from the run
+ * seed, the generation and the agent id, so both modes produce identical outcomes regardless of scheduling; the
+ * one wall-clock input, the interaction timestamp, comes from the {@link AgentDynamics} clock.
+ * Decisions that did not draw from that stream are memoised in an {@link EvaluationCache}, so replicas of a genome
+ * in a state already seen skip {@code decide} entirely.
+ */
+@Component
+public class GenerationEvaluator {
+
+    private static final Action[] ACTIONS = Action.values();
+
+    /**
+     * Evaluation has no world around the agents: signals come from each agent's own sensors, so the shared
+     * environment contributes nothing beyond them.
+     */
+    private static final Environment SHARED_ENVIRONMENT = new DefaultEnvironment(Position.origin(), Map.of());
+    private static final long SHARED_ENVIRONMENT_SIGNATURE = signature(SHARED_ENVIRONMENT);
+
+    private final AgentDynamics agentDynamics;
+    private final EvaluationCache cache;
+    private final ForkJoinPool pool;
+
+    public GenerationEvaluator(AgentDynamics agentDynamics, EvolutionProperties properties) {
+        this.agentDynamics = agentDynamics;
+        EvolutionProperties.Evaluation settings = properties.getEvaluation();
+        this.cache = new EvaluationCache(settings.getCacheSize(), settings.getQuantum());
+        this.pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Evaluates the population and returns one result per slot in slot order. Each task only writes its
+     * own slots, so the store needs no locking; shared side effects (reward tracking, Kafka publishing)
+     * are left to the caller so they can be merged sequentially.
+     */
+    public List<AgentEvaluation> evaluate(PopulationStore population, EvaluationMode mode, long runSeed, int generation) {
+        AgentEvaluation[] results = new AgentEvaluation[population.size()];
+        PopulationColumns columns = new PopulationColumns(population, runSeed, generation);
+        int[] actions = new int[population.size()];
+        SlotRanges.run(pool, results.length, mode == EvaluationMode.PARALLEL,
+                (from, to) -> evaluateRange(columns, actions, results, from, to));
+        return Arrays.asList(results);
+    }
+
+    static SplittableRandom randomStream(long runSeed, int generation, UUID agentId) {
+        return AgentRandomStreams.stream(AgentRandomStreams.mix(runSeed ^ generation), agentId);
+    }
+
+    /**
+     * Decides for every slot in {@code [from, to)}, one {@link AgentPolicy#decideBatch} call per distinct policy,
+     * then applies and scores the chosen actions slot by slot. Slots whose decision is cached are left out of the
+     * batches; fresh deterministic decisions are cached afterwards.
+     */
+    private void evaluateRange(PopulationColumns columns, int[] actions, AgentEvaluation[] results, int from, int to) {
+        PopulationStore population = columns.population;
+        int count = to - from;
+        Key[] keys = new Key[count];
+        Decision[] decisions = new Decision[count];
+        if (cache.enabled()) {
+            for (int slot = from; slot < to; slot++) {
+                AgentPolicy policy = population.policy(slot);
+                if (policy != null) {
+                    keys[slot - from] = cache.keyFor(policy, population.mutableState(slot),
+                            SHARED_ENVIRONMENT_SIGNATURE);
+                }
+            }
+            cache.lookup(keys, decisions);
+        }
+        Map<AgentPolicy, Integer> groups = new IdentityHashMap<>();
+        List<AgentPolicy> policies = new ArrayList<>();
+        int[] groupOf = new int[count];
+        int[] groupSizes = new int[count + 1];
+        for (int slot = from; slot < to; slot++) {
+            AgentPolicy policy = population.policy(slot);
+            if (policy == null) {
+                actions[slot] = Action.WAIT.ordinal();
+                groupOf[slot - from] = -1;
+                continue;
+            }
+            if (decisions[slot - from] != null) {
+                actions[slot] = decisions[slot - from].action();
+                groupOf[slot - from] = -1;
+                continue;
+            }
+            Integer group = groups.get(policy);
+            if (group == null) {
+                group = policies.size();
+                groups.put(policy, group);
+                policies.add(policy);
+            }
+            groupOf[slot - from] = group;
+            groupSizes[group + 1]++;
+        }
+        // Counting sort of slots by group, so each policy sees one contiguous run of rows.
+        for (int group = 0; group < policies.size(); group++) {
+            groupSizes[group + 1] += groupSizes[group];
+        }
+        int[] rows = new int[count];
+        int[] cursor = Arrays.copyOf(groupSizes, policies.size());
+        for (int i = 0; i < count; i++) {
+            if (groupOf[i] >= 0) {
+                rows[cursor[groupOf[i]]++] = from + i;
+            }
+        }
+        for (int group = 0; group < policies.size(); group++) {
+            policies.get(group).decideBatch(columns, rows, groupSizes[group], groupSizes[group + 1],
+                    SHARED_ENVIRONMENT, actions);
+        }
+        Decision[] fresh = new Decision[count];
+        for (int slot = from; slot < to; slot++) {
+            int index = slot - from;
+            Action action = ACTIONS[actions[slot]];
+            boolean cached = decisions[index] != null;
+            double reward = cached ? decisions[index].reward() : agentDynamics.score(action);
+            if (!cached && keys[index] != null && !columns.stochastic[slot]) {
+                fresh[index] = new Decision(actions[slot], reward);
+            }
+            results[slot] = apply(population, slot, action, reward, cached);
+        }
+        if (cache.enabled()) {
+            cache.store(keys, fresh);
+        }
+    }
+
+    private AgentEvaluation apply(PopulationStore population, int slot, Action action, double reward, boolean cached) {
+        UUID agentId = population.agentId(slot);
+        MutableAgentState state = population.mutableState(slot);
+        // Usually the record materialized for the previous generation's event, so this is free.
+        AgentState previous = state.toState();
+        agentDynamics.apply(action, state);
+        population.addFitness(slot, reward);
+        population.incrementGeneration(slot);
+        boolean violated = agentDynamics.evaluateSafety(state).isPresent();
+        if (violated) {
+            population.recordViolation(slot);
+        }
+        LineageEvent event = LineageEvent.capture(agentId.toString(), previous, state.toState());
+        return new AgentEvaluation(slot, agentId, action, reward, violated, event, cached);
+    }
+
+    private static long signature(Environment environment) {
+        return Objects.hash(environment.getTargetPosition(), environment.snapshotSensors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public record AgentEvaluation(
+            int slot,
+            UUID agentId,
+            Action action,
+            double reward,
+            boolean violated,
+            LineageEvent lineageEvent,
+            boolean cached
+    ) {
+    }
+
+    /**
+     * {@link StateColumns} over a resident population; random streams are only derived for rows whose policy
+     * asks for one, and such rows are flagged as stochastic so their decisions are not cached.
+     */
+    private static final class PopulationColumns implements StateColumns {
+
+        private final PopulationStore population;
+        private final long runSeed;
+        private final int generation;
+        private final boolean[] stochastic;
+
+        private PopulationColumns(PopulationStore population, long runSeed, int generation) {
+            this.population = population;
+            this.runSeed = runSeed;
+            this.generation = generation;
+            this.stochastic = new boolean[population.size()];
+        }
+
+        @Override
+        public double energy(int row) {
+            return population.energy(row);
+        }
+
+        @Override
+        public double resources(int row) {
+            return population.resources(row);
+        }
+
+        @Override
+        public Map<String, Double> sensorReadings(int row) {
+            return population.sensorReadings(row);
+        }
+
+        @Override
+        public AgentState state(int row) {
+            return population.state(row);
+        }
+
+        @Override
+        public RandomGenerator random(int row) {
+            stochastic[row] = true;
+            return randomStream(runSeed, generation, population.agentId(row));
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package prototype.simulationcore.evolution.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import prototype.simulationcore.evolution.dto.GenerationReport;
+
+/**
+ * Append-only log of one run's generation reports. Each report is deflated into {@code <runId>.reports}; the
+ * fixed-width {@code <runId>.index} holds one offset per generation number, so a lookup is two positional reads
+ * and a range is read front to back. Only the open channels are held in memory, however long the run.
+ */
+final class GenerationHistory implements Closeable {
+
+    private static final String REPORTS_SUFFIX = ".reports";
+    private static final String INDEX_SUFFIX = ".index";
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES * 3;
+    private static final long MISSING = -1L;
+    private static final int SCAN_BATCH = 256;
+
+    private final UUID runId;
+    private final FileChannel reports;
+    private final FileChannel index;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private long reportsSize;
+    private int slots;
+
+    private GenerationHistory(UUID runId, FileChannel reports, FileChannel index) throws IOException {
+        this.runId = runId;
+        this.reports = reports;
+        this.index = index;
+        recover();
+    }
+
+    static GenerationHistory open(Path directory, UUID runId) {
+        try {
+            Files.createDirectories(directory);
+            FileChannel reports = FileChannel.open(directory.resolve(runId + REPORTS_SUFFIX),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileChannel index;
+            try {
+                index = FileChannel.open(directory.resolve(runId + INDEX_SUFFIX),
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (IOException ex) {
+                reports.close();
+                throw ex;
+            }
+            return new GenerationHistory(runId, reports, index);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to open generation history for run " + runId, ex);
+        }
+    }
+
+    static boolean exists(Path directory, UUID runId) {
+        return Files.exists(directory.resolve(runId + INDEX_SUFFIX));
+    }
+
+    /**
+     * Appends a report. A generation at or below the last recorded one means the run was rewound (e.g. restored
+     * from an older checkpoint), so everything from that generation on is discarded first.
+     */
+    synchronized void append(GenerationReport report) {
+        int generation = report.generation();
+        if (generation < 0) {
+            throw new IllegalArgumentException("Generation must not be negative: " + generation);
+        }
+        try {
+            if (generation < slots) {
+                truncate(generation);
+            }
+            byte[] raw = encode(report);
+            byte[] compressed = deflate(raw);
+            ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + compressed.length)
+                    .putInt(generation)
+                    .putInt(compressed.length)
+                    .putInt(raw.length)
+                    .put(compressed)
+                    .flip();
+            long offset = reportsSize;
+            writeFully(reports, record, offset);
+            reportsSize += record.capacity();
+
+            ByteBuffer entries = ByteBuffer.allocate((generation - slots + 1) * Long.BYTES);
+            while (entries.remaining() > Long.BYTES) {
+                entries.putLong(MISSING);
+            }
+            entries.putLong(offset).flip();
+            writeFully(index, entries, (long) slots * Long.BYTES);
+            slots = generation + 1;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to append generation " + generation + " of run " + runId, ex);
+        }
+    }
+
+    /**
+     * Drops every report from {@code generation} on.
+     */
+    synchronized void retainBefore(int generation) {
+        if (generation >= slots) {
+            return;
+        }
+        try {
+            truncate(Math.max(0, generation));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to truncate generation history of run " + runId, ex);
+        }
+    }
+
+    /**
+     * One past the highest recorded generation.
+     */
+    synchronized int size() {
+        return slots;
+    }
+
+    /**
+     * The report for a generation, or {@code null} when none was recorded.
+     */
+    synchronized GenerationReport read(int generation) {
+        if (generation < 0 || generation >= slots) {
+            return null;
+        }
+        try {
+            long offset = slot(generation);
+            return offset == MISSING ? null : readRecord(offset).report();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to read generation " + generation + " of run " + runId, ex);
+        }
+    }
+
+    /**
+     * Hands every recorded report with a generation in {@code [from, to]} to {@code sink}, in order. Reports are
+     * read in batches and the sink runs outside the log's lock, so a slow consumer does not hold up appends.
+     */
+    void scan(int from, int to, Consumer<GenerationReport> sink) {
+        int next = Math.max(0, from);
+        while (next <= to) {
+            List<GenerationReport> batch = new ArrayList<>();
+            synchronized (this) {
+                int end = (int) Math.min((long) to + 1, slots);
+                try {
+                    long offset = firstOffset(next, end);
+                    while (offset != MISSING && offset < reportsSize && batch.size() < SCAN_BATCH) {
+                        Record record = readRecord(offset);
+                        if (record.report().generation() >= end) {
+                            break;
+                        }
+                        batch.add(record.report());
+                        offset += record.length();
+                    }
+                } catch (IOException ex) {
+                    throw new IllegalStateException("Unable to scan generation history of run " + runId, ex);
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            batch.forEach(sink);
+            next = batch.get(batch.size() - 1).generation() + 1;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        deflater.end();
+        try (reports; index) {
+            reports.force(false);
+            index.force(false);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to close generation history of run " + runId, ex);
+        }
+    }
+
+    /**
+     * Drops index entries that point past the end of the reports file and any partial record after the last
+     * indexed one, as left by a crash mid-append.
+     */
+    private void recover() throws IOException {
+        long dataSize = reports.size();
+        slots = (int) (index.size() / Long.BYTES);
+        long end = 0L;
+        while (slots > 0) {
+            long offset = slot(slots - 1);
+            if (offset != MISSING && offset + RECORD_HEADER_BYTES <= dataSize) {
+                ByteBuffer header = readFully(reports, offset, RECORD_HEADER_BYTES);
+                header.getInt();
+                long recordEnd = offset + RECORD_HEADER_BYTES + header.getInt();
+                if (recordEnd <= dataSize) {
+                    end = recordEnd;
+                    break;
+                }
+            }
+            slots--;
+        }
+        index.truncate((long) slots * Long.BYTES);
+        reports.truncate(end);
+        reportsSize = end;
+    }
+
+    private void truncate(int generation) throws IOException {
+        long offset = firstOffset(generation, slots);
+        if (offset != MISSING) {
+            reports.truncate(offset);
+            reportsSize = offset;
+        }
+        index.truncate((long) generation * Long.BYTES);
+        slots = generation;
+    }
+
+    /**
+     * Offset of the first recorded report with a generation in {@code [from, to)}, or {@link #MISSING}.
+     */
+    private long firstOffset(int from, int to) throws IOException {
+        int generation = from;
+        while (generation < to) {
+            int count = Math.min(to - generation, SCAN_BATCH);
+            ByteBuffer entries = readFully(index, (long) generation * Long.BYTES, count * Long.BYTES);
+            for (int i = 0; i < count; i++) {
+                long offset = entries.getLong();
+                if (offset != MISSING) {
+                    return offset;
+                }
+            }
+            generation += count;
+        }
+        return MISSING;
+    }
+
+    private long slot(int generation) throws IOException {
+        return readFully(index, (long) generation * Long.BYTES, Long.BYTES).getLong();
+    }
+
+    private Record readRecord(long offset) throws IOException {
+        ByteBuffer header = readFully(reports, offset, RECORD_HEADER_BYTES);
+        header.getInt();
+        int compressedLength = header.getInt();
+        int rawLength = header.getInt();
+        ByteBuffer compressed = readFully(reports, offset + RECORD_HEADER_BYTES, compressedLength);
+        byte[] raw = inflate(compressed.array(), rawLength);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            return new Record(EvolutionCheckpointCodec.readReport(in), RECORD_HEADER_BYTES + compressedLength);
+        }
+    }
+
+    private static byte[] encode(GenerationReport report) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            EvolutionCheckpointCodec.writeReport(out, report);
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] deflate(byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+        byte[] chunk = new byte[Math.max(64, raw.length)];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, read, rawLength - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != rawLength) {
+                throw new IOException("Truncated generation report");
+            }
+            return raw;
+        } catch (DataFormatException ex) {
+            throw new IOException("Corrupt generation report", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of generation history");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private record Record(GenerationReport report, int length) {
+    }
+}
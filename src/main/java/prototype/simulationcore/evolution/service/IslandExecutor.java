@@ -0,0 +1,59 @@
+package prototype.simulationcore.evolution.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the per-island phase of an island-model generation, one task per island, on a dedicated pool so island
+ * work never queues behind (or blocks) the evaluation pool.
+ */
+@Component
+public class IslandExecutor {
+
+    private final ForkJoinPool pool;
+
+    public IslandExecutor() {
+        this.pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs all tasks and returns their results in task order. A single task runs on the calling thread.
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        if (tasks.size() == 1) {
+            try {
+                return List.of(tasks.get(0).call());
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Island task failed", e);
+            }
+        }
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evolving islands", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Island task failed", e.getCause());
+        }
+        return results;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
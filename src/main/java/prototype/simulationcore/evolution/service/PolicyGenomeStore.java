@@ -0,0 +1,106 @@
+package prototype.simulationcore.evolution.service;
+
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Service;
+import prototype.simulationcore.evolution.EvolutionProperties;
+import prototype.simulationcore.policy.AbstractAgentPolicy;
+import prototype.simulationcore.repository.AgentPolicyRepository;
+
+/**
+ * Content-addressed store of policy genomes. Policies are keyed by {@link AbstractAgentPolicy#getGenomeHash()},
+ * so an offspring whose genome equals a known one shares that instance instead of becoming a new row. Genuinely
+ * new genomes are held as pending and written in one batch by {@link #flush()}.
+ */
+@Service
+public class PolicyGenomeStore {
+
+    private static final int LOOKUP_CHUNK = 1_000;
+
+    private final AgentPolicyRepository policyRepository;
+    private final int cacheSize;
+
+    private final Object monitor = new Object();
+    private final Map<String, AbstractAgentPolicy> known;
+    private final Map<String, AbstractAgentPolicy> pending = new LinkedHashMap<>();
+
+    public PolicyGenomeStore(AgentPolicyRepository policyRepository, EvolutionProperties properties) {
+        this.policyRepository = policyRepository;
+        this.cacheSize = Math.max(1, properties.getGenomes().getCacheSize());
+        this.known = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AbstractAgentPolicy> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the canonical policy for the candidate's genome: a known or pending policy with the same hash, or
+     * the candidate itself, which then becomes pending (if transient) or known (if already persisted).
+     */
+    public AbstractAgentPolicy intern(AbstractAgentPolicy candidate) {
+        String hash = candidate.getGenomeHash();
+        synchronized (monitor) {
+            AbstractAgentPolicy existing = known.get(hash);
+            if (existing == null) {
+                existing = pending.get(hash);
+            }
+            if (existing != null) {
+                return existing;
+            }
+            if (candidate.getPolicyId() == null) {
+                pending.put(hash, candidate);
+            } else {
+                known.put(hash, candidate);
+            }
+            return candidate;
+        }
+    }
+
+    /**
+     * Canonical instance for a policy after {@link #flush()}; pending policies that turned out to exist in the
+     * database resolve to the persisted row.
+     */
+    public AbstractAgentPolicy canonical(AbstractAgentPolicy policy) {
+        if (policy == null || policy.getPolicyId() != null) {
+            return policy;
+        }
+        synchronized (monitor) {
+            AbstractAgentPolicy resolved = known.get(policy.getGenomeHash());
+            return resolved == null ? policy : resolved;
+        }
+    }
+
+    /**
+     * Persists pending genomes: one lookup per chunk to reuse rows already in the database, then one
+     * {@code saveAll} for the rest. Must run before agents referencing pending policies are saved.
+     */
+    @Transactional
+    public void flush() {
+        synchronized (monitor) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<String> hashes = new ArrayList<>(pending.keySet());
+            for (int from = 0; from < hashes.size(); from += LOOKUP_CHUNK) {
+                List<String> chunk = hashes.subList(from, Math.min(hashes.size(), from + LOOKUP_CHUNK));
+                for (AbstractAgentPolicy persisted : policyRepository.findByGenomeHashIn(chunk)) {
+                    if (pending.remove(persisted.getGenomeHash()) != null) {
+                        persisted.loadCollections();
+                        known.put(persisted.getGenomeHash(), persisted);
+                    }
+                }
+            }
+            if (!pending.isEmpty()) {
+                for (AbstractAgentPolicy saved : policyRepository.saveAll(List.copyOf(pending.values()))) {
+                    known.put(saved.getGenomeHash(), saved);
+                }
+            }
+            pending.clear();
+        }
+    }
+}
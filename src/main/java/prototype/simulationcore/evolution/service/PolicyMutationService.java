@@ -4,42 +4,60 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import org.springframework.stereotype.Service;
 import prototype.simulationcore.domain.Action;
 import prototype.simulationcore.policy.AbstractAgentPolicy;
 import prototype.simulationcore.policy.NeuralPolicy;
 import prototype.simulationcore.policy.RuleBasedPolicy;
 import prototype.simulationcore.policy.WeightedPolicy;
-import prototype.simulationcore.repository.AgentPolicyRepository;
 
+/**
+ * Produces offspring policies. Results are interned in the {@link PolicyGenomeStore}: an unchanged or
+ * re-discovered genome resolves to the existing policy, and new ones stay pending until the store is flushed.
+ */
 @Service
 public class PolicyMutationService {
 
-    private final AgentPolicyRepository policyRepository;
+    private final PolicyGenomeStore genomeStore;
 
-    public PolicyMutationService(AgentPolicyRepository policyRepository) {
-        this.policyRepository = policyRepository;
+    public PolicyMutationService(PolicyGenomeStore genomeStore) {
+        this.genomeStore = genomeStore;
     }
 
+    /**
+     * A replica has the template's genome, so it is the template's canonical policy rather than a new copy.
+     */
     public AbstractAgentPolicy replicate(AbstractAgentPolicy template) {
         if (template == null) {
             throw new IllegalArgumentException("Template policy cannot be null");
         }
-        AbstractAgentPolicy clone = clonePolicy(template);
-        clone.setParameters(new HashMap<>(template.getParameters()));
-        return policyRepository.save(clone);
+        return genomeStore.intern(template);
     }
 
     public AbstractAgentPolicy mutate(AbstractAgentPolicy parent, double mutationRate) {
+        return mutate(parent, mutationRate, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Mutates with noise drawn from {@code random}, so a seeded caller reproduces the same offspring.
+     */
+    public AbstractAgentPolicy mutate(AbstractAgentPolicy parent, double mutationRate, RandomGenerator random) {
         if (parent == null) {
             throw new IllegalArgumentException("Parent policy cannot be null");
         }
+        if (parent.getPolicyId() != null) {
+            genomeStore.intern(parent);
+        }
         AbstractAgentPolicy mutated = clonePolicy(parent);
-        mutateParameters(mutated, mutationRate);
+        mutateParameters(mutated, mutationRate, random);
         if (mutated instanceof WeightedPolicy weighted) {
-            mutateWeights(weighted, mutationRate);
+            mutateWeights(weighted, mutationRate, random);
+        }
+        if (mutated instanceof NeuralPolicy neural) {
+            mutateNetwork(neural, mutationRate, random);
         }
-        return policyRepository.save(mutated);
+        return genomeStore.intern(mutated);
     }
 
     private AbstractAgentPolicy clonePolicy(AbstractAgentPolicy template) {
@@ -59,26 +77,35 @@ public class PolicyMutationService {
             NeuralPolicy copy = new NeuralPolicy();
             copy.setParameters(neural.getParameters());
             copy.setModelReference(neural.getModelReference());
+            copy.setNetwork(neural.getNetwork() == null ? null : neural.getNetwork().copy());
             return copy;
         }
         throw new IllegalArgumentException("Unsupported policy type: " + template.getClass().getSimpleName());
     }
 
-    private void mutateParameters(AbstractAgentPolicy policy, double mutationRate) {
+    private void mutateParameters(AbstractAgentPolicy policy, double mutationRate, RandomGenerator random) {
         Map<String, Double> mutated = new HashMap<>(policy.getParameters());
-        ThreadLocalRandom random = ThreadLocalRandom.current();
         mutated.replaceAll((key, value) -> value + randomDelta(random, mutationRate));
         policy.setParameters(mutated);
     }
 
-    private void mutateWeights(WeightedPolicy policy, double mutationRate) {
+    private void mutateWeights(WeightedPolicy policy, double mutationRate, RandomGenerator random) {
         Map<Action, Double> mutatedWeights = new HashMap<>(policy.getActionWeights());
-        ThreadLocalRandom random = ThreadLocalRandom.current();
         mutatedWeights.replaceAll((action, weight) -> weight + randomDelta(random, mutationRate));
         policy.setActionWeights(mutatedWeights);
     }
 
-    private double randomDelta(ThreadLocalRandom random, double mutationRate) {
+    /**
+     * An uninitialised parent gets a fresh network first; the clone's weights are then perturbed in place.
+     */
+    private void mutateNetwork(NeuralPolicy policy, double mutationRate, RandomGenerator random) {
+        if (policy.getNetwork() == null) {
+            policy.setNetwork(NeuralPolicy.newNetwork(random));
+        }
+        policy.perturbNetwork(mutationRate, random);
+    }
+
+    private double randomDelta(RandomGenerator random, double mutationRate) {
         double boundedRate = Math.max(0.0, Math.min(1.0, mutationRate));
         return (random.nextDouble() * 2 - 1) * boundedRate;
     }
@@ -0,0 +1,272 @@
+package prototype.simulationcore.evolution.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.MutableAgentState;
+import prototype.simulationcore.policy.AbstractAgentPolicy;
+import prototype.simulationcore.policy.AgentPolicy;
+
+/**
+ * Resident struct-of-arrays view of an evolution run's population. Hot per-generation values live in
+ * primitive columns indexed by a dense slot, and each slot's state in a {@link MutableAgentState} that is updated
+ * in place; the {@link Agent} entities are only kept for identity and policy, and are brought up to date when the
+ * store is flushed back to the database.
+ */
+public final class PopulationStore {
+
+    private Agent[] agents;
+    private MutableAgentState[] states;
+    private double[] fitness;
+    private int[] generation;
+    private int[] violations;
+    private int size;
+
+    private final Map<UUID, Integer> slotIndex = new HashMap<>();
+    private final List<Agent> retired = new ArrayList<>();
+
+    private PopulationStore(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    public static PopulationStore of(List<Agent> population) {
+        PopulationStore store = new PopulationStore(population.size());
+        population.forEach(store::append);
+        return store;
+    }
+
+    /**
+     * Appends the agents that are not resident yet, in order.
+     */
+    public void addAll(List<Agent> newcomers) {
+        for (Agent agent : newcomers) {
+            if (agent.getAgentId() == null || !slotIndex.containsKey(agent.getAgentId())) {
+                append(agent);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Agent agent(int slot) {
+        return agents[checkSlot(slot)];
+    }
+
+    public UUID agentId(int slot) {
+        return agents[checkSlot(slot)].getAgentId();
+    }
+
+    public AgentPolicy policy(int slot) {
+        return agents[checkSlot(slot)].getPolicy();
+    }
+
+    public int slotOf(UUID agentId) {
+        Integer slot = slotIndex.get(agentId);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Immutable state of a slot, materialized only when it changed since the last call.
+     */
+    public AgentState state(int slot) {
+        return states[checkSlot(slot)].toState();
+    }
+
+    /**
+     * Live state of a slot, for in-place updates on the hot path.
+     */
+    public MutableAgentState mutableState(int slot) {
+        return states[checkSlot(slot)];
+    }
+
+    public double energy(int slot) {
+        return states[checkSlot(slot)].energy();
+    }
+
+    public double resources(int slot) {
+        return states[checkSlot(slot)].resources();
+    }
+
+    public Map<String, Double> sensorReadings(int slot) {
+        return states[checkSlot(slot)].sensorReadings();
+    }
+
+    public void updateState(int slot, AgentState state) {
+        states[checkSlot(slot)].load(state);
+    }
+
+    public double fitness(int slot) {
+        return fitness[checkSlot(slot)];
+    }
+
+    public void addFitness(int slot, double delta) {
+        fitness[checkSlot(slot)] += delta;
+    }
+
+    public int generation(int slot) {
+        return generation[checkSlot(slot)];
+    }
+
+    public void incrementGeneration(int slot) {
+        generation[checkSlot(slot)]++;
+    }
+
+    public int violations(int slot) {
+        return violations[checkSlot(slot)];
+    }
+
+    public void recordViolation(int slot) {
+        violations[checkSlot(slot)]++;
+    }
+
+    /**
+     * Copies the scalar columns into the resident entities without touching agent state, so that code
+     * working on {@link Agent} (selection strategies, reports) sees current fitness and violation counts.
+     *
+     * @return resident agents in slot order
+     */
+    public List<Agent> residentAgents() {
+        List<Agent> resident = new ArrayList<>(size);
+        for (int slot = 0; slot < size; slot++) {
+            syncScalars(slot);
+            resident.add(agents[slot]);
+        }
+        return resident;
+    }
+
+    /**
+     * Replaces the population with the given survivors (which must be resident) followed by newcomers.
+     * Agents that drop out are synchronised and retained until the next {@link #drainForFlush()}.
+     */
+    public void replace(List<Agent> survivors, List<Agent> newcomers) {
+        PopulationStore previous = copyColumns();
+        boolean[] kept = new boolean[previous.size];
+        allocate(Math.max(1, survivors.size() + newcomers.size()));
+        slotIndex.clear();
+        size = 0;
+        for (Agent survivor : survivors) {
+            int from = previous.slotOf(survivor.getAgentId());
+            if (from < 0 || kept[from]) {
+                continue;
+            }
+            kept[from] = true;
+            copySlot(previous, from);
+        }
+        newcomers.forEach(this::append);
+
+        for (int slot = 0; slot < previous.size; slot++) {
+            if (!kept[slot]) {
+                previous.syncEntity(slot);
+                retired.add(previous.agents[slot]);
+            }
+        }
+    }
+
+    /**
+     * Writes the primitive columns back into the entities and returns every agent that needs to be
+     * persisted: the resident population plus agents retired since the last flush.
+     */
+    public List<Agent> drainForFlush() {
+        List<Agent> dirty = new ArrayList<>(size + retired.size());
+        for (int slot = 0; slot < size; slot++) {
+            syncEntity(slot);
+            dirty.add(agents[slot]);
+        }
+        dirty.addAll(retired);
+        retired.clear();
+        return dirty;
+    }
+
+    private void append(Agent agent) {
+        ensureCapacity(size + 1);
+        int slot = size++;
+        agents[slot] = agent;
+        loadPolicy(agent);
+        states[slot] = MutableAgentState.from(agent.getState());
+        fitness[slot] = agent.getFitness();
+        generation[slot] = agent.getGeneration();
+        violations[slot] = agent.getSafetyViolations();
+        if (agent.getAgentId() != null) {
+            slotIndex.put(agent.getAgentId(), slot);
+        }
+    }
+
+    private void copySlot(PopulationStore source, int from) {
+        ensureCapacity(size + 1);
+        int slot = size++;
+        agents[slot] = source.agents[from];
+        states[slot] = source.states[from];
+        fitness[slot] = source.fitness[from];
+        generation[slot] = source.generation[from];
+        violations[slot] = source.violations[from];
+        slotIndex.put(agents[slot].getAgentId(), slot);
+    }
+
+    private void syncScalars(int slot) {
+        Agent agent = agents[slot];
+        agent.setFitness(fitness[slot]);
+        agent.setGeneration(generation[slot]);
+        agent.setSafetyViolations(violations[slot]);
+    }
+
+    private void syncEntity(int slot) {
+        syncScalars(slot);
+        agents[slot].setState(state(slot));
+    }
+
+    private PopulationStore copyColumns() {
+        PopulationStore copy = new PopulationStore(0);
+        copy.agents = agents;
+        copy.states = states;
+        copy.fitness = fitness;
+        copy.generation = generation;
+        copy.violations = violations;
+        copy.size = size;
+        copy.slotIndex.putAll(slotIndex);
+        return copy;
+    }
+
+    private void allocate(int capacity) {
+        agents = new Agent[capacity];
+        states = new MutableAgentState[capacity];
+        fitness = new double[capacity];
+        generation = new int[capacity];
+        violations = new int[capacity];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= agents.length) {
+            return;
+        }
+        int capacity = Math.max(required, agents.length * 2);
+        agents = Arrays.copyOf(agents, capacity);
+        states = Arrays.copyOf(states, capacity);
+        fitness = Arrays.copyOf(fitness, capacity);
+        generation = Arrays.copyOf(generation, capacity);
+        violations = Arrays.copyOf(violations, capacity);
+    }
+
+    private int checkSlot(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("Population slot " + slot + " outside [0, " + size + ")");
+        }
+        return slot;
+    }
+
+    /**
+     * Loads the agent's lazy policy state. Resident agents outlive the transaction that loaded them, so this has to
+     * happen before they are handed to a store or otherwise kept past that transaction.
+     */
+    public static void loadPolicy(Agent agent) {
+        if (agent.getPolicy() instanceof AbstractAgentPolicy policy) {
+            policy.loadCollections();
+        }
+    }
+}
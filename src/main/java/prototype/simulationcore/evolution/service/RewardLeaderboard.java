@@ -0,0 +1,225 @@
+package prototype.simulationcore.evolution.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import prototype.simulationcore.evolution.domain.RewardStats;
+import prototype.simulationcore.evolution.dto.LeaderboardEntry;
+
+/**
+ * Agents ordered by cumulative reward (highest first, ties by agent id), held in a treap whose nodes carry
+ * subtree sizes. Updates, rank lookups and locating a page are O(log n); reading a page of {@code k} entries adds
+ * O(k). At most {@code capacity} agents are kept; beyond that the lowest-ranked one drops off. Not thread-safe.
+ */
+final class RewardLeaderboard {
+
+    private final int capacity;
+    private final Map<UUID, Node> index = new HashMap<>();
+    private final SplittableRandom priorities = new SplittableRandom(0x1EADE7B0A7DL);
+    private Node root;
+
+    RewardLeaderboard(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    boolean contains(UUID agentId) {
+        return index.containsKey(agentId);
+    }
+
+    /**
+     * Inserts or repositions an agent. When the board is full, an agent ranking below everyone else is dropped
+     * (possibly the one just updated).
+     */
+    void update(UUID agentId, double cumulativeReward, RewardStats stats, Integer generationRank) {
+        Node node = index.get(agentId);
+        if (node == null) {
+            node = new Node(agentId, priorities.nextLong());
+            index.put(agentId, node);
+        } else {
+            root = delete(root, node);
+            node.left = null;
+            node.right = null;
+            node.size = 1;
+        }
+        node.cumulativeReward = cumulativeReward;
+        node.stats = stats;
+        node.generationRank = generationRank;
+        root = insert(root, node);
+        if (index.size() > capacity) {
+            Node last = root;
+            while (last.right != null) {
+                last = last.right;
+            }
+            root = delete(root, last);
+            index.remove(last.agentId);
+        }
+    }
+
+    /**
+     * Generation rank does not affect ordering, so it is updated in place.
+     */
+    void updateGenerationRank(UUID agentId, Integer generationRank) {
+        Node node = index.get(agentId);
+        if (node != null) {
+            node.generationRank = generationRank;
+        }
+    }
+
+    /**
+     * One-based position of the agent, or {@code null} when it is not on the board.
+     */
+    LeaderboardEntry entry(UUID agentId) {
+        Node node = index.get(agentId);
+        if (node == null) {
+            return null;
+        }
+        int rank = size(node.left);
+        Node current = root;
+        while (current != node) {
+            if (precedes(node, current)) {
+                current = current.left;
+            } else {
+                rank += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return node.toEntry(rank + 1);
+    }
+
+    List<LeaderboardEntry> page(int offset, int limit) {
+        int from = Math.max(0, offset);
+        int to = (int) Math.min(index.size(), (long) from + Math.max(0, limit));
+        List<LeaderboardEntry> page = new ArrayList<>(Math.max(0, to - from));
+        if (from < to) {
+            collect(root, from, to, 0, page);
+        }
+        return page;
+    }
+
+    /**
+     * Appends the entries with zero-based positions in {@code [from, to)} from the subtree whose first node sits
+     * at position {@code base}.
+     */
+    private static void collect(Node node, int from, int to, int base, List<LeaderboardEntry> out) {
+        if (node == null) {
+            return;
+        }
+        int position = base + size(node.left);
+        if (from < position) {
+            collect(node.left, from, to, base, out);
+        }
+        if (position >= from && position < to) {
+            out.add(node.toEntry(position + 1));
+        }
+        if (to > position + 1) {
+            collect(node.right, from, to, position + 1, out);
+        }
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            Node[] parts = split(node, inserted);
+            inserted.left = parts[0];
+            inserted.right = parts[1];
+            return resize(inserted);
+        }
+        if (precedes(inserted, node)) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return resize(node);
+    }
+
+    private static Node delete(Node node, Node deleted) {
+        if (node == deleted) {
+            return merge(node.left, node.right);
+        }
+        if (precedes(deleted, node)) {
+            node.left = delete(node.left, deleted);
+        } else {
+            node.right = delete(node.right, deleted);
+        }
+        return resize(node);
+    }
+
+    /**
+     * Splits into nodes ranked before {@code pivot} and the rest.
+     */
+    private static Node[] split(Node node, Node pivot) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (precedes(node, pivot)) {
+            Node[] parts = split(node.right, pivot);
+            node.right = parts[0];
+            parts[0] = resize(node);
+            return parts;
+        }
+        Node[] parts = split(node.left, pivot);
+        node.left = parts[1];
+        parts[1] = resize(node);
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return resize(left);
+        }
+        right.left = merge(left, right.left);
+        return resize(right);
+    }
+
+    private static boolean precedes(Node a, Node b) {
+        int comparison = Double.compare(b.cumulativeReward, a.cumulativeReward);
+        return comparison < 0 || (comparison == 0 && a.agentId.compareTo(b.agentId) < 0);
+    }
+
+    private static Node resize(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+
+        private final UUID agentId;
+        private final long priority;
+        private double cumulativeReward;
+        private RewardStats stats;
+        private Integer generationRank;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(UUID agentId, long priority) {
+            this.agentId = agentId;
+            this.priority = priority;
+        }
+
+        private LeaderboardEntry toEntry(int rank) {
+            return new LeaderboardEntry(rank, agentId, cumulativeReward, stats.mean(), stats.variance(),
+                    stats.trend(), generationRank);
+        }
+    }
+}
@@ -2,124 +2,447 @@ package prototype.simulationcore.evolution.service;
 
 import jakarta.transaction.Transactional;
 import java.time.Instant;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import prototype.simulationcore.evolution.EvolutionProperties;
+import prototype.simulationcore.evolution.domain.RewardBucket;
+import prototype.simulationcore.evolution.domain.RewardMoments;
 import prototype.simulationcore.evolution.domain.RewardPoint;
+import prototype.simulationcore.evolution.domain.RewardRing;
 import prototype.simulationcore.evolution.domain.RewardStats;
 import prototype.simulationcore.evolution.domain.RewardTrajectory;
 import prototype.simulationcore.evolution.dto.LeaderboardEntry;
+import prototype.simulationcore.evolution.repository.RewardTrajectoryBatchRepository.BucketRow;
+import prototype.simulationcore.evolution.repository.RewardTrajectoryBatchRepository.TrajectoryRow;
 import prototype.simulationcore.evolution.repository.RewardTrajectoryRepository;
 
+
+/**
+ * Tracks per-agent reward trajectories. Rewards and ranks are buffered in memory and written behind in
+ * batches by {@link #flush()}; reads merge the buffer with what is already persisted. Each trajectory keeps a
+ * bounded ring of recent points plus running moments, so statistics are constant time however long an agent lives.
+ * A {@link RewardLeaderboard} is kept in step with every applied reward; it is seeded once from the database and
+ * its head is republished after each flush, so leaderboard reads do not query the database.
+ * <p>
+ * Trajectories written before the ring existed only have rows in the legacy {@code reward_points} table. Their ring,
+ * buckets and moments are rebuilt from those rows the first time they are resolved, and a sweep at startup upgrades
+ * the rest. The legacy rows themselves are left in place.
+ */
 @Service
 public class RewardTracker {
 
+    private static final int LEGACY_CHUNK_SIZE = 500;
+
     private final RewardTrajectoryRepository repository;
+    private final EvolutionProperties properties;
+
+    private final Object monitor = new Object();
+    private final Map<UUID, BufferedTrajectory> buffer = new HashMap<>();
+    private final RewardLeaderboard board;
+    private volatile Standings published;
 
-    public RewardTracker(RewardTrajectoryRepository repository) {
+    public RewardTracker(RewardTrajectoryRepository repository, EvolutionProperties properties) {
         this.repository = repository;
+        this.properties = properties;
+        this.board = new RewardLeaderboard(properties.getRewards().getLeaderboardCapacity());
     }
 
-    @Transactional
     public void recordReward(UUID agentId, double reward, long tick) {
         if (agentId == null) {
             return;
         }
-        RewardTrajectory trajectory = resolve(agentId);
-        trajectory.record(reward, tick);
-        repository.save(trajectory);
+        synchronized (monitor) {
+            BufferedTrajectory trajectory = buffered(agentId);
+            trajectory.record(new RewardPoint(tick, reward, Instant.now()));
+            if (trajectory.resolved) {
+                place(trajectory);
+            }
+        }
     }
 
-    @Transactional
     public void recordReward(UUID agentId, double reward) {
         recordReward(agentId, reward, Instant.now().toEpochMilli());
     }
 
-    @Transactional
     public void updateGenerationRank(UUID agentId, int rank) {
         if (agentId == null) {
             return;
         }
-        RewardTrajectory trajectory = resolve(agentId);
-        trajectory.updateGenerationRank(rank);
-        repository.save(trajectory);
+        synchronized (monitor) {
+            buffered(agentId).rank(rank);
+            board.updateGenerationRank(agentId, rank);
+        }
+    }
+
+    /**
+     * Writes buffered state: one multi-row insert for new trajectories, one for rolled-up buckets and one bulk
+     * update of existing trajectories (per chunk). Entries that saw no activity since the previous flush are evicted.
+     */
+    @Transactional
+    public void flush() {
+        synchronized (monitor) {
+            loadStandings();
+            List<BufferedTrajectory> dirty = buffer.values().stream()
+                    .filter(trajectory -> trajectory.dirty)
+                    .toList();
+            if (!dirty.isEmpty()) {
+                resolve(dirty);
+                List<TrajectoryRow> created = new ArrayList<>();
+                List<TrajectoryRow> updated = new ArrayList<>();
+                List<BucketRow> buckets = new ArrayList<>();
+                for (BufferedTrajectory trajectory : dirty) {
+                    (trajectory.persisted ? updated : created).add(trajectory.toRow());
+                    buckets.addAll(trajectory.rolled);
+                }
+                Instant now = Instant.now();
+                repository.insertTrajectories(created, now);
+                repository.insertBuckets(buckets);
+                repository.updateTrajectories(updated, now);
+                dirty.forEach(BufferedTrajectory::markFlushed);
+            }
+            evictIdle();
+            publish();
+        }
+    }
+
+    /**
+     * Upgrades every trajectory still held only in {@code reward_points}, one chunk per flush.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillLegacyTrajectories() {
+        List<RewardTrajectory> legacy = repository.findLegacyTrajectories(LEGACY_CHUNK_SIZE);
+        while (!legacy.isEmpty()) {
+            synchronized (monitor) {
+                List<BufferedTrajectory> chunk = new ArrayList<>(legacy.size());
+                List<RewardTrajectory> unresolved = new ArrayList<>(legacy.size());
+                for (RewardTrajectory persisted : legacy) {
+                    BufferedTrajectory trajectory = buffered(persisted.getAgentId());
+                    // Entries resolved earlier were already rebuilt; they only need writing back.
+                    trajectory.dirty = true;
+                    chunk.add(trajectory);
+                    if (!trajectory.resolved) {
+                        unresolved.add(persisted);
+                    }
+                }
+                resolve(chunk, unresolved);
+            }
+            flush();
+            legacy = repository.findLegacyTrajectories(LEGACY_CHUNK_SIZE);
+        }
     }
 
+    /**
+     * Recent raw reward points for an agent, oldest first. Older points are only available as
+     * {@link #getHistory(UUID) downsampled buckets}.
+     */
     public List<RewardPoint> getTrajectory(UUID agentId) {
+        synchronized (monitor) {
+            BufferedTrajectory buffered = resolved(agentId);
+            if (buffered != null) {
+                return buffered.recent.points();
+            }
+        }
         return repository.findByAgentId(agentId)
-                .map(RewardTrajectory::getRewards)
-                .orElse(Collections.emptyList());
+                .map(RewardTrajectory::getRecentRewards)
+                .orElse(List.of());
+    }
+
+    @Transactional
+    public List<RewardBucket> getHistory(UUID agentId) {
+        List<RewardBucket> persisted = repository.findByAgentId(agentId)
+                .map(RewardTrajectory::getBuckets)
+                .orElse(List.of());
+        synchronized (monitor) {
+            BufferedTrajectory buffered = buffer.get(agentId);
+            if (buffered == null || buffered.rolled.isEmpty()) {
+                return persisted;
+            }
+            List<RewardBucket> merged = new ArrayList<>(persisted);
+            buffered.rolled.forEach(row -> merged.add(row.bucket()));
+            return List.copyOf(merged);
+        }
     }
 
     public RewardStats getAggregatedStats(UUID agentId) {
+        synchronized (monitor) {
+            BufferedTrajectory buffered = resolved(agentId);
+            if (buffered != null) {
+                return buffered.moments.toStats();
+            }
+        }
         return repository.findByAgentId(agentId)
-                .map(this::toStats)
+                .map(RewardTrajectory::stats)
                 .orElse(RewardStats.empty());
     }
 
     public double getCumulativeReward(UUID agentId) {
+        synchronized (monitor) {
+            BufferedTrajectory buffered = resolved(agentId);
+            if (buffered != null) {
+                return buffered.cumulativeReward;
+            }
+        }
         return repository.findByAgentId(agentId)
                 .map(RewardTrajectory::getCumulativeReward)
                 .orElse(0.0);
     }
 
     public List<LeaderboardEntry> leaderboard(int limit) {
-        int effectiveLimit = Math.max(1, limit);
-        return repository.findTop10ByOrderByCumulativeRewardDesc().stream()
-                .limit(effectiveLimit)
-                .map(this::toLeaderboardEntry)
+        return leaderboard(0, limit);
+    }
+
+    /**
+     * A page of the leaderboard. Pages inside the snapshot published by the last {@link #flush()} are served
+     * without locking; deeper pages are read from the live board.
+     */
+    public List<LeaderboardEntry> leaderboard(int offset, int limit) {
+        int from = Math.max(0, offset);
+        int size = Math.max(1, limit);
+        Standings snapshot = published;
+        if (snapshot != null && (from + size <= snapshot.top().size() || snapshot.complete())) {
+            return snapshot.slice(from, size);
+        }
+        synchronized (monitor) {
+            loadStandings();
+            return board.page(from, size);
+        }
+    }
+
+    /**
+     * Live leaderboard position of an agent, empty when it is not among the tracked top agents.
+     */
+    public Optional<LeaderboardEntry> standing(UUID agentId) {
+        if (agentId == null) {
+            return Optional.empty();
+        }
+        synchronized (monitor) {
+            loadStandings();
+            return Optional.ofNullable(board.entry(agentId));
+        }
+    }
+
+    private BufferedTrajectory buffered(UUID agentId) {
+        EvolutionProperties.Rewards settings = properties.getRewards();
+        return buffer.computeIfAbsent(agentId, id -> new BufferedTrajectory(id,
+                settings.getRingCapacity(), settings.getBucketSize()));
+    }
+
+    private BufferedTrajectory resolved(UUID agentId) {
+        if (agentId == null) {
+            return null;
+        }
+        BufferedTrajectory buffered = buffer.get(agentId);
+        if (buffered != null) {
+            resolve(List.of(buffered));
+        }
+        return buffered;
+    }
+
+    /**
+     * Loads persisted state for buffered entries that have not been matched against the database yet, in one
+     * query per chunk of agents, then replays the points recorded before the match.
+     */
+    private void resolve(List<BufferedTrajectory> trajectories) {
+        List<UUID> unresolved = trajectories.stream()
+                .filter(trajectory -> !trajectory.resolved)
+                .map(trajectory -> trajectory.agentId)
                 .toList();
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        resolve(trajectories, repository.findAllByAgentIds(unresolved));
     }
 
-    private RewardTrajectory resolve(UUID agentId) {
-        return repository.findByAgentId(agentId)
-                .orElseGet(() -> new RewardTrajectory(agentId));
+    private void resolve(List<BufferedTrajectory> trajectories, List<RewardTrajectory> persistedTrajectories) {
+        // Rows predating the ring have no moments yet; only those can have legacy points to rebuild from.
+        Map<UUID, List<RewardPoint>> legacy = repository.findLegacyPoints(persistedTrajectories.stream()
+                .filter(persisted -> persisted.getMoments().getCount() == 0)
+                .map(RewardTrajectory::getTrajectoryId)
+                .toList());
+        for (RewardTrajectory persisted : persistedTrajectories) {
+            BufferedTrajectory trajectory = buffer.get(persisted.getAgentId());
+            if (trajectory != null && !trajectory.resolved) {
+                trajectory.attach(persisted, legacy.getOrDefault(persisted.getTrajectoryId(), List.of()));
+            }
+        }
+        for (BufferedTrajectory trajectory : trajectories) {
+            if (!trajectory.resolved) {
+                trajectory.resolve();
+                place(trajectory);
+            }
+        }
     }
 
-    private LeaderboardEntry toLeaderboardEntry(RewardTrajectory trajectory) {
-        RewardStats stats = toStats(trajectory);
-        return new LeaderboardEntry(
-                trajectory.getAgentId(),
-                trajectory.getCumulativeReward(),
-                stats.mean(),
-                stats.variance(),
-                stats.trend(),
-                trajectory.getGenerationRank()
-        );
+    private void place(BufferedTrajectory trajectory) {
+        board.update(trajectory.agentId, trajectory.cumulativeReward, trajectory.moments.toStats(),
+                trajectory.generationRank);
     }
 
-    private RewardStats toStats(RewardTrajectory trajectory) {
-        List<RewardPoint> points = trajectory.getRewards();
-        if (points.isEmpty()) {
-            return RewardStats.empty();
+    /**
+     * Seeds the board with the best persisted trajectories the first time it is needed. Agents already placed
+     * from live rewards keep their newer totals.
+     */
+    private void loadStandings() {
+        if (published != null) {
+            return;
+        }
+        int capacity = Math.max(1, properties.getRewards().getLeaderboardCapacity());
+        for (RewardTrajectory trajectory : repository.findByOrderByCumulativeRewardDesc(PageRequest.of(0, capacity))) {
+            if (!board.contains(trajectory.getAgentId())) {
+                board.update(trajectory.getAgentId(), trajectory.getCumulativeReward(), trajectory.stats(),
+                        trajectory.getGenerationRank());
+            }
+        }
+        publish();
+    }
+
+    private void publish() {
+        int snapshotSize = Math.max(1, properties.getRewards().getLeaderboardSnapshotSize());
+        published = new Standings(List.copyOf(board.page(0, snapshotSize)), board.size());
+    }
+
+    private void evictIdle() {
+        Iterator<BufferedTrajectory> iterator = buffer.values().iterator();
+        while (iterator.hasNext()) {
+            BufferedTrajectory trajectory = iterator.next();
+            if (!trajectory.touched && !trajectory.dirty) {
+                iterator.remove();
+            } else {
+                trajectory.touched = false;
+            }
         }
-        double mean = points.stream()
-                .mapToDouble(RewardPoint::getReward)
-                .average()
-                .orElse(0.0);
-        double variance = points.stream()
-                .mapToDouble(point -> Math.pow(point.getReward() - mean, 2))
-                .average()
-                .orElse(0.0);
-        double trend = computeTrend(points, mean);
-        return new RewardStats(mean, variance, trend);
     }
 
-    private double computeTrend(List<RewardPoint> points, double meanReward) {
-        if (points.size() < 2) {
-            return 0.0;
+    /**
+     * Head of the board as of the last publish, plus how many agents the board held then.
+     */
+    private record Standings(List<LeaderboardEntry> top, int total) {
+
+        private boolean complete() {
+            return top.size() >= total;
         }
-        double meanTick = points.stream().mapToDouble(RewardPoint::getTick).average().orElse(0.0);
-        double numerator = 0.0;
-        double denominator = 0.0;
-        for (RewardPoint point : points) {
-            double tickDelta = point.getTick() - meanTick;
-            numerator += tickDelta * (point.getReward() - meanReward);
-            denominator += tickDelta * tickDelta;
+
+        private List<LeaderboardEntry> slice(int from, int size) {
+            if (from >= top.size()) {
+                return List.of();
+            }
+            return top.subList(from, Math.min(top.size(), from + size));
         }
-        return denominator == 0.0 ? 0.0 : numerator / denominator;
     }
-}
 
+    /**
+     * Write-behind state for one agent. Until it is resolved against the database, recorded points are parked in
+     * {@code unresolved}; afterwards they go straight into the ring and moments.
+     */
+    private static final class BufferedTrajectory {
+
+        private final UUID agentId;
+        private final int ringCapacity;
+        private final int bucketSize;
+        private final List<RewardPoint> unresolved = new ArrayList<>();
+        private final List<BucketRow> rolled = new ArrayList<>();
+        private UUID trajectoryId;
+        private RewardRing recent;
+        private RewardMoments moments = new RewardMoments();
+        private double cumulativeReward;
+        private int bucketCount;
+        private Integer generationRank;
+        private boolean resolved;
+        private boolean persisted;
+        private boolean rankDirty;
+        private boolean dirty;
+        private boolean touched;
 
+        private BufferedTrajectory(UUID agentId, int ringCapacity, int bucketSize) {
+            this.agentId = agentId;
+            this.ringCapacity = ringCapacity;
+            this.bucketSize = bucketSize;
+        }
+
+        private void record(RewardPoint point) {
+            if (resolved) {
+                apply(point);
+            } else {
+                unresolved.add(point);
+            }
+            dirty = true;
+            touched = true;
+        }
+
+        private void rank(int rank) {
+            generationRank = rank;
+            rankDirty = true;
+            dirty = true;
+            touched = true;
+        }
+
+        private void attach(RewardTrajectory trajectory, List<RewardPoint> legacyPoints) {
+            trajectoryId = trajectory.getTrajectoryId();
+            persisted = true;
+            recent = trajectory.getRecent() == null ? null : trajectory.getRecent().copy();
+            moments = trajectory.getMoments().copy();
+            cumulativeReward = trajectory.getCumulativeReward();
+            bucketCount = trajectory.getBucketCount();
+            if (!rankDirty) {
+                generationRank = trajectory.getGenerationRank();
+            }
+            if (!legacyPoints.isEmpty()) {
+                // Legacy rewards are already in the cumulative total; only ring, buckets and moments are rebuilt.
+                recent = new RewardRing(ringCapacity);
+                moments = new RewardMoments();
+                legacyPoints.forEach(this::replay);
+                dirty = true;
+            }
+        }
+
+        private void resolve() {
+            if (resolved) {
+                return;
+            }
+            resolved = true;
+            if (trajectoryId == null) {
+                trajectoryId = UUID.randomUUID();
+            }
+            if (recent == null) {
+                recent = new RewardRing(ringCapacity);
+            }
+            unresolved.forEach(this::apply);
+            unresolved.clear();
+        }
+
+        private void apply(RewardPoint point) {
+            replay(point);
+            cumulativeReward += point.getReward();
+        }
+
+        private void replay(RewardPoint point) {
+            RewardBucket bucket = recent.append(point.getTick(), point.getReward(), point.getRecordedAt(), bucketSize);
+            if (bucket != null) {
+                rolled.add(new BucketRow(trajectoryId, bucketCount++, bucket));
+            }
+            moments.add(point.getTick(), point.getReward());
+        }
+
+        private TrajectoryRow toRow() {
+            return new TrajectoryRow(trajectoryId, agentId, cumulativeReward,
+                    rankDirty || !persisted ? generationRank : null, moments, recent, bucketCount);
+        }
+
+        private void markFlushed() {
+            persisted = true;
+            rolled.clear();
+            rankDirty = false;
+            dirty = false;
+        }
+    }
+}
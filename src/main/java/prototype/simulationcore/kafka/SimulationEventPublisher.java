@@ -1,5 +1,6 @@
 package prototype.simulationcore.kafka;
 
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,5 +26,17 @@ public class SimulationEventPublisher {
         kafkaTemplate.send(topic, event.getSimulationId().toString(), event);
         log.debug("Published simulation event {} [{}] to {}", event.getEventId(), event.getType(), topic);
     }
+
+    /**
+     * Hands a batch to the producer in one go and flushes it once, instead of once per event.
+     */
+    public void publishAll(List<SimulationEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        events.forEach(event -> kafkaTemplate.send(topic, event.getSimulationId().toString(), event));
+        kafkaTemplate.flush();
+        log.debug("Published {} simulation events to {}", events.size(), topic);
+    }
 }
 
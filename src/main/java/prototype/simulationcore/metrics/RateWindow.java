@@ -0,0 +1,50 @@
+package prototype.simulationcore.metrics;
+
+/**
+ * Achieved rate of a paced loop (world ticks, evolution generations) over its last {@value #SIZE} completions,
+ * or since the loop started for fewer. Not thread-safe; owners guard it with their own lock.
+ */
+public final class RateWindow {
+
+    public static final int SIZE = 32;
+
+    private final long[] completions = new long[SIZE];
+    private long startedAtNanos;
+    private long completed;
+
+    public RateWindow(long startedAtNanos) {
+        this.startedAtNanos = startedAtNanos;
+    }
+
+    /**
+     * Forgets every completion and measures from {@code nowNanos} on.
+     */
+    public void restart(long nowNanos) {
+        startedAtNanos = nowNanos;
+        completed = 0;
+    }
+
+    public void record(long completedAtNanos) {
+        completions[(int) (completed % SIZE)] = completedAtNanos;
+        completed++;
+    }
+
+    /**
+     * Completions since the last start.
+     */
+    public long completed() {
+        return completed;
+    }
+
+    public double perSecond(long nowNanos) {
+        if (completed == 0) {
+            return 0.0;
+        }
+        if (completed < SIZE) {
+            return completed / Math.max(1e-9, (nowNanos - startedAtNanos) / 1e9);
+        }
+        long newest = completions[(int) ((completed - 1) % SIZE)];
+        long oldest = completions[(int) (completed % SIZE)];
+        return (SIZE - 1) / Math.max(1e-9, (newest - oldest) / 1e9);
+    }
+}
@@ -0,0 +1,22 @@
+package prototype.simulationcore.orchestrator;
+
+/**
+ * What a {@link TickPacing#FIXED_RATE} world does when a tick finishes after the next deadline has passed.
+ */
+public enum CatchUpPolicy {
+
+    /**
+     * Run the missed ticks back to back until the world is on schedule again.
+     */
+    BURST,
+
+    /**
+     * Drop the missed ticks and resume at the next deadline still in the future.
+     */
+    SKIP,
+
+    /**
+     * Run the next tick immediately and shift all later deadlines by the delay.
+     */
+    SLIP
+}
@@ -1,40 +1,169 @@
 package prototype.simulationcore.orchestrator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.PriorityBlockingQueue;
-import java.util.concurrent.atomic.AtomicLong;
 import prototype.simulationcore.events.SimulationEvent;
 
 /**
- * Priority queue based scheduler that keeps per-world timed events sorted by tick.
+ * Per-world timed events on a hierarchical timing wheel keyed by tick. Level {@code L} has {@value #SLOTS} slots
+ * of {@code 64^L} ticks each, and an event sits at the level of the highest base-64 digit in which its tick differs
+ * from the last drained tick, so scheduling is O(1) however far ahead the tick is. Moving the cursor into a new
+ * slot of an upper level cascades that slot's events one level down, and each tick's level-0 bucket is handed over
+ * whole. A drain jumps the cursor straight to the next occupied slot, found through a per-level occupancy mask,
+ * so empty stretches cost nothing and a drain over any gap touches at most {@code LEVELS * SLOTS} slots. Buckets
+ * only grow by appending in sequence order, so events due on the same tick drain in the order they were
+ * scheduled. Events scheduled for a tick that has already been drained come out of the next drain.
  */
 public class EventScheduler {
 
-    private final PriorityBlockingQueue<ScheduledSimulationEvent> queue = new PriorityBlockingQueue<>();
-    private final AtomicLong sequence = new AtomicLong();
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = (Long.SIZE + BITS - 1) / BITS;
 
-    public void scheduleEvent(long tick, SimulationEvent event) {
-        queue.offer(new ScheduledSimulationEvent(tick, sequence.incrementAndGet(), event));
+    @SuppressWarnings("unchecked")
+    private final ArrayList<ScheduledSimulationEvent>[][] wheel = new ArrayList[LEVELS][SLOTS];
+    /** Bit {@code s} of entry {@code L} is set while {@code wheel[L][s]} holds a bucket. */
+    private final long[] occupied = new long[LEVELS];
+    private final ArrayList<ScheduledSimulationEvent> overdue = new ArrayList<>();
+    private long cursor;
+    private long sequence;
+    private int pending;
+
+    public synchronized void scheduleEvent(long tick, SimulationEvent event) {
+        schedule(new ScheduledSimulationEvent(tick, ++sequence, event));
+    }
+
+    /**
+     * Schedules each event at its own {@link SimulationEvent#getTick() tick}, in iteration order, under one lock
+     * acquisition.
+     */
+    public synchronized void scheduleEvents(Collection<SimulationEvent> events) {
+        for (SimulationEvent event : events) {
+            schedule(new ScheduledSimulationEvent(event.getTick(), ++sequence, event));
+        }
     }
 
-    public List<SimulationEvent> drainDueEvents(long upToTick) {
+    /**
+     * @return the events due at or before {@code upToTick}, ordered by tick and then by scheduling order
+     */
+    public synchronized List<SimulationEvent> drainDueEvents(long upToTick) {
         List<SimulationEvent> due = new ArrayList<>();
-        while (true) {
-            ScheduledSimulationEvent head = queue.peek();
-            if (head == null || head.tick() > upToTick) {
+        if (pending == 0) {
+            cursor = Math.max(cursor, upToTick);
+            return due;
+        }
+        if (!overdue.isEmpty()) {
+            drainOverdue(upToTick, due);
+        }
+        while (cursor < upToTick && pending > 0) {
+            long next = nextOccupiedTick();
+            if (next > upToTick) {
                 break;
             }
-            ScheduledSimulationEvent scheduled = queue.poll();
-            if (scheduled != null) {
-                due.add(scheduled.event());
+            moveTo(next);
+            ArrayList<ScheduledSimulationEvent> bucket = take(0, (int) (cursor & MASK));
+            if (bucket != null) {
+                for (ScheduledSimulationEvent scheduled : bucket) {
+                    due.add(scheduled.event());
+                }
+                pending -= bucket.size();
             }
         }
+        // Nothing on the wheel enters a slot before the target, so the cursor skips straight to it.
+        cursor = Math.max(cursor, upToTick);
         return due;
     }
 
-    public void clear() {
-        queue.clear();
+    public synchronized int size() {
+        return pending;
+    }
+
+    public synchronized void clear() {
+        for (ArrayList<ScheduledSimulationEvent>[] level : wheel) {
+            Arrays.fill(level, null);
+        }
+        Arrays.fill(occupied, 0L);
+        overdue.clear();
+        pending = 0;
+    }
+
+    private void schedule(ScheduledSimulationEvent scheduled) {
+        pending++;
+        if (scheduled.tick() <= cursor) {
+            overdue.add(scheduled);
+        } else {
+            place(scheduled);
+        }
+    }
+
+    private void place(ScheduledSimulationEvent scheduled) {
+        long difference = scheduled.tick() ^ cursor;
+        int level = difference == 0 ? 0 : (63 - Long.numberOfLeadingZeros(difference)) / BITS;
+        int slot = (int) ((scheduled.tick() >>> (level * BITS)) & MASK);
+        ArrayList<ScheduledSimulationEvent> bucket = wheel[level][slot];
+        if (bucket == null) {
+            bucket = new ArrayList<>();
+            wheel[level][slot] = bucket;
+            occupied[level] |= 1L << slot;
+        }
+        bucket.add(scheduled);
+    }
+
+    private ArrayList<ScheduledSimulationEvent> take(int level, int slot) {
+        ArrayList<ScheduledSimulationEvent> bucket = wheel[level][slot];
+        if (bucket != null) {
+            wheel[level][slot] = null;
+            occupied[level] &= ~(1L << slot);
+        }
+        return bucket;
+    }
+
+    /**
+     * First tick after the cursor at which an occupied slot is entered: the next occupied level-0 slot of the
+     * cursor's level-0 block, otherwise the first tick of the next occupied slot on the lowest level that has one
+     * ahead of the cursor. Every occupied slot lies ahead of the cursor's digit on its level, so nothing earlier
+     * can be due. {@link Long#MAX_VALUE} when the wheel is empty.
+     */
+    private long nextOccupiedTick() {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * BITS;
+            int digit = (int) ((cursor >>> shift) & MASK);
+            long ahead = occupied[level] & (-2L << digit);
+            if (ahead != 0) {
+                int blockShift = shift + BITS;
+                long blockStart = blockShift >= Long.SIZE ? 0L : (cursor >>> blockShift) << blockShift;
+                return blockStart | ((long) Long.numberOfTrailingZeros(ahead) << shift);
+            }
+        }
+        return Long.MAX_VALUE;
     }
-}
 
+    /**
+     * Moves the cursor to {@code tick} and cascades every upper-level slot it entered, highest level first, so
+     * the events due on the new tick all end up in its level-0 bucket. {@code tick} must not lie past the next
+     * occupied slot, which keeps every slot the cursor passes over empty.
+     */
+    private void moveTo(long tick) {
+        long changed = cursor ^ tick;
+        cursor = tick;
+        for (int level = (63 - Long.numberOfLeadingZeros(changed)) / BITS; level >= 1; level--) {
+            ArrayList<ScheduledSimulationEvent> bucket = take(level, (int) ((tick >>> (level * BITS)) & MASK));
+            if (bucket != null) {
+                bucket.forEach(this::place);
+            }
+        }
+    }
+
+    private void drainOverdue(long upToTick, List<SimulationEvent> due) {
+        overdue.sort(null);
+        int count = 0;
+        while (count < overdue.size() && overdue.get(count).tick() <= upToTick) {
+            due.add(overdue.get(count++).event());
+        }
+        overdue.subList(0, count).clear();
+        pending -= count;
+    }
+}
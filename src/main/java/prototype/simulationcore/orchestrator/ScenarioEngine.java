@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
@@ -40,15 +42,14 @@ public class ScenarioEngine {
         world.attachScenario(scenario);
         world.applyInitialEnvironment(scenario.initialState());
         world.getScheduler().clear();
-        scenario.events().forEach(eventDefinition -> {
-            SimulationEvent event = SimulationEvent.of(
-                    eventDefinition.type(),
-                    world.getSimulationId(),
-                    eventDefinition.tick(),
-                    eventDefinition.payload()
-            );
-            world.getScheduler().scheduleEvent(eventDefinition.tick(), event);
-        });
+        List<SimulationEvent> events = new ArrayList<>(scenario.events().size());
+        scenario.events().forEach(eventDefinition -> events.add(SimulationEvent.of(
+                eventDefinition.type(),
+                world.getSimulationId(),
+                eventDefinition.tick(),
+                eventDefinition.payload()
+        )));
+        world.getScheduler().scheduleEvents(events);
         log.info("Scenario {} applied to simulation {}", scenario.name(), world.getSimulationId());
     }
 
@@ -10,6 +10,8 @@ public final class SimulationConfig {
     private final String scenarioFile;
     private final long maxTicks;
     private final Duration tickInterval;
+    private final TickPacing pacing;
+    private final CatchUpPolicy catchUpPolicy;
     private final Map<String, Object> parameters;
 
     public SimulationConfig(String name,
@@ -17,10 +19,22 @@ public final class SimulationConfig {
                             long maxTicks,
                             Duration tickInterval,
                             Map<String, Object> parameters) {
+        this(name, scenarioFile, maxTicks, tickInterval, TickPacing.FIXED_DELAY, CatchUpPolicy.BURST, parameters);
+    }
+
+    public SimulationConfig(String name,
+                            String scenarioFile,
+                            long maxTicks,
+                            Duration tickInterval,
+                            TickPacing pacing,
+                            CatchUpPolicy catchUpPolicy,
+                            Map<String, Object> parameters) {
         this.name = Objects.requireNonNull(name, "name");
         this.scenarioFile = scenarioFile;
         this.maxTicks = Math.max(0, maxTicks);
         this.tickInterval = tickInterval == null ? Duration.ofMillis(250) : tickInterval;
+        this.pacing = pacing == null ? TickPacing.FIXED_DELAY : pacing;
+        this.catchUpPolicy = catchUpPolicy == null ? CatchUpPolicy.BURST : catchUpPolicy;
         this.parameters = parameters == null ? Map.of() : Map.copyOf(parameters);
     }
 
@@ -40,6 +54,14 @@ public final class SimulationConfig {
         return tickInterval;
     }
 
+    public TickPacing getPacing() {
+        return pacing;
+    }
+
+    public CatchUpPolicy getCatchUpPolicy() {
+        return catchUpPolicy;
+    }
+
     public Map<String, Object> getParameters() {
         return parameters;
     }
@@ -1,18 +1,15 @@
 package prototype.simulationcore.orchestrator;
 
-import jakarta.annotation.PreDestroy;
-import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.service.SimulationService;
 
 @Service
 public class SimulationOrchestrator {
@@ -21,13 +18,18 @@ public class SimulationOrchestrator {
 
     private final TickManager tickManager;
     private final ScenarioEngine scenarioEngine;
+    private final WorldTickScheduler tickScheduler;
+    private final SimulationService simulationService;
     private final Map<UUID, SimulationWorld> worlds = new ConcurrentHashMap<>();
-    private final Map<UUID, Future<?>> activeLoops = new ConcurrentHashMap<>();
-    private final ExecutorService executorService = Executors.newCachedThreadPool();
 
-    public SimulationOrchestrator(TickManager tickManager, ScenarioEngine scenarioEngine) {
+    public SimulationOrchestrator(TickManager tickManager,
+                                  ScenarioEngine scenarioEngine,
+                                  WorldTickScheduler tickScheduler,
+                                  SimulationService simulationService) {
         this.tickManager = tickManager;
         this.scenarioEngine = scenarioEngine;
+        this.tickScheduler = tickScheduler;
+        this.simulationService = simulationService;
     }
 
     public SimulationWorld createSimulation(SimulationConfig config) {
@@ -51,8 +53,7 @@ public class SimulationOrchestrator {
             return world;
         }
         world.setStatus(SimulationWorldStatus.RUNNING);
-        Future<?> loop = executorService.submit(() -> runLoop(world));
-        activeLoops.put(simulationId, loop);
+        tickScheduler.schedule(world, this::runTick);
         log.info("Simulation {} started", simulationId);
         return world;
     }
@@ -100,6 +101,36 @@ public class SimulationOrchestrator {
         return world;
     }
 
+    /**
+     * {@link #runUntil(UUID, long)} through {@link TickManager#fastForward}: no per-tick persistence, Kafka
+     * publishes or health samples, only per-summary events and bulk flushes at checkpoints.
+     */
+    public SimulationWorld runUntil(UUID simulationId, long targetTick, TurboRunOptions options) {
+        SimulationWorld world = resolve(simulationId);
+        if (world.getStatus() == SimulationWorldStatus.RUNNING) {
+            throw new IllegalStateException("Pause simulation before runUntil");
+        }
+        long maxTicks = world.getConfig().getMaxTicks();
+        long limit = maxTicks > 0 ? Math.min(targetTick, maxTicks) : targetTick;
+        long startedAt = System.nanoTime();
+        long processed = tickManager.fastForward(world, limit, options == null ? TurboRunOptions.defaults() : options);
+        enforceMaxTicks(world);
+        log.info("Simulation {} fast-forwarded {} ticks to tick {} in {} ms", simulationId, processed,
+                world.getCurrentTick(), (System.nanoTime() - startedAt) / 1_000_000);
+        return world;
+    }
+
+    /**
+     * Adds existing agents and {@code spawn} new ones to the world; they take part from its next tick on.
+     */
+    public SimulationWorld registerAgents(UUID simulationId, List<UUID> agentIds, int spawn) {
+        SimulationWorld world = resolve(simulationId);
+        List<Agent> agents = simulationService.loadResidentAgents(agentIds, spawn);
+        world.registerAgents(agents);
+        log.info("Registered {} agents with simulation {}", agents.size(), simulationId);
+        return world;
+    }
+
     public SimulationWorld loadScenario(UUID simulationId, String scenarioFile) {
         SimulationWorld world = resolve(simulationId);
         ScenarioDefinition scenario = scenarioEngine.loadScenario(scenarioFile);
@@ -111,22 +142,27 @@ public class SimulationOrchestrator {
         return Optional.ofNullable(worlds.get(simulationId));
     }
 
-    private void runLoop(SimulationWorld world) {
+    /**
+     * One scheduled tick of a running world.
+     *
+     * @return whether the world should keep ticking
+     */
+    private boolean runTick(SimulationWorld world) {
+        if (world.getStatus() != SimulationWorldStatus.RUNNING) {
+            return false;
+        }
         try {
-            while (world.getStatus() == SimulationWorldStatus.RUNNING) {
-                tickManager.processTick(world);
-                enforceMaxTicks(world);
-                if (world.getStatus() == SimulationWorldStatus.COMPLETED) {
-                    log.info("Simulation {} completed", world.getSimulationId());
-                    break;
-                }
-                sleep(world.getConfig().getTickInterval());
+            tickManager.processTick(world);
+            enforceMaxTicks(world);
+            if (world.getStatus() == SimulationWorldStatus.COMPLETED) {
+                log.info("Simulation {} completed", world.getSimulationId());
+                return false;
             }
+            return world.getStatus() == SimulationWorldStatus.RUNNING;
         } catch (Exception ex) {
             world.setStatus(SimulationWorldStatus.FAILED);
             log.error("Simulation {} failed", world.getSimulationId(), ex);
-        } finally {
-            activeLoops.remove(world.getSimulationId());
+            return false;
         }
     }
 
@@ -137,17 +173,6 @@ public class SimulationOrchestrator {
         }
     }
 
-    private void sleep(Duration interval) {
-        if (interval == null || interval.isZero() || interval.isNegative()) {
-            return;
-        }
-        try {
-            Thread.sleep(interval.toMillis());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-
     private SimulationWorld resolve(UUID simulationId) {
         SimulationWorld world = worlds.get(simulationId);
         if (world == null) {
@@ -157,16 +182,7 @@ public class SimulationOrchestrator {
     }
 
     private void cancelLoop(UUID simulationId) {
-        Future<?> future = activeLoops.remove(simulationId);
-        if (future != null) {
-            future.cancel(true);
-        }
-    }
-
-    @PreDestroy
-    void shutdown() {
-        activeLoops.keySet().forEach(this::cancelLoop);
-        executorService.shutdownNow();
+        tickScheduler.cancel(simulationId);
     }
 }
 
@@ -1,7 +1,9 @@
 package prototype.simulationcore.orchestrator;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -9,9 +11,13 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import prototype.simulationcore.domain.Agent;
 import prototype.simulationcore.events.SimulationEvent;
+import prototype.simulationcore.evolution.service.PopulationStore;
+import prototype.simulationcore.metrics.RateWindow;
 
 public class SimulationWorld {
 
@@ -22,6 +28,10 @@ public class SimulationWorld {
     private final EventScheduler scheduler;
     private final AtomicLong currentTick = new AtomicLong();
     private final AtomicInteger constraintViolations = new AtomicInteger();
+    private final AtomicLong maxTickLagNanos = new AtomicLong();
+    private volatile long tickLagNanos;
+    private final AtomicLong deadlineMisses = new AtomicLong();
+    private final RateWindow tickRate = new RateWindow(0L);
     private volatile SimulationWorldStatus status = SimulationWorldStatus.CREATED;
     private final Instant createdAt = Instant.now();
     private volatile Instant updatedAt = createdAt;
@@ -29,10 +39,17 @@ public class SimulationWorld {
     private final ConcurrentLinkedDeque<SimulationEvent> eventHistory = new ConcurrentLinkedDeque<>();
     private final Map<String, Object> environmentState = new ConcurrentHashMap<>();
     private final Map<String, Object> runtimeContext = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Agent> arrivingAgents = new ConcurrentLinkedQueue<>();
+    private final long seed;
+    private PopulationStore population;
+    private volatile int agentCount;
 
     public SimulationWorld(SimulationConfig config) {
         this.config = Objects.requireNonNull(config, "config");
         this.scheduler = new EventScheduler();
+        this.seed = config.getParameters().get("seed") instanceof Number number
+                ? number.longValue()
+                : simulationId.getMostSignificantBits() ^ simulationId.getLeastSignificantBits();
         runtimeContext.put("name", config.getName());
     }
 
@@ -54,6 +71,48 @@ public class SimulationWorld {
         return tick;
     }
 
+    /**
+     * Seed of the per-agent random streams; the {@code seed} parameter when configured.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Queues agents to join the world's population at the start of its next tick.
+     */
+    public void registerAgents(Collection<Agent> agents) {
+        arrivingAgents.addAll(agents);
+    }
+
+    public boolean hasAgents() {
+        return agentCount > 0 || !arrivingAgents.isEmpty();
+    }
+
+    public int getAgentCount() {
+        return agentCount;
+    }
+
+    /**
+     * The world's population with agents registered since the previous call appended. Only called from the
+     * thread ticking the world.
+     */
+    public PopulationStore population() {
+        if (population == null) {
+            population = PopulationStore.of(List.of());
+        }
+        if (!arrivingAgents.isEmpty()) {
+            List<Agent> arrivals = new ArrayList<>();
+            Agent agent;
+            while ((agent = arrivingAgents.poll()) != null) {
+                arrivals.add(agent);
+            }
+            population.addAll(arrivals);
+        }
+        agentCount = population.size();
+        return population;
+    }
+
     public SimulationWorldStatus getStatus() {
         return status;
     }
@@ -100,12 +159,19 @@ public class SimulationWorld {
     }
 
     public Map<String, Object> mutateEnvironment(long tick) {
+        advanceEnvironment(tick);
+        return snapshotEnvironment();
+    }
+
+    /**
+     * {@link #mutateEnvironment} without the snapshot, for headless ticks that never look at it.
+     */
+    public void advanceEnvironment(long tick) {
         environmentState.put("lastTick", tick);
         environmentState.merge("load", 0.1, (prev, delta) ->
                 prev instanceof Number ? ((Number) prev).doubleValue() + (Double) delta : delta);
         environmentState.merge("temperature", 0.05, (prev, delta) ->
                 prev instanceof Number ? ((Number) prev).doubleValue() + (Double) delta : delta);
-        return snapshotEnvironment();
     }
 
     public void applyInitialEnvironment(Map<String, Object> initialState) {
@@ -128,5 +194,48 @@ public class SimulationWorld {
     public int getConstraintViolationCount() {
         return constraintViolations.get();
     }
+
+    /**
+     * Records how long the most recent scheduled tick waited past its deadline for a worker.
+     */
+    public void recordTickLag(long lagNanos) {
+        tickLagNanos = lagNanos;
+        maxTickLagNanos.accumulateAndGet(lagNanos, Math::max);
+    }
+
+    public Duration getTickLag() {
+        return Duration.ofNanos(tickLagNanos);
+    }
+
+    public Duration getMaxTickLag() {
+        return Duration.ofNanos(maxTickLagNanos.get());
+    }
+
+    /**
+     * Resets the achieved-rate window; called whenever the world starts running.
+     */
+    public synchronized void startPacing(long nowNanos) {
+        tickRate.restart(nowNanos);
+    }
+
+    public synchronized void recordScheduledTick(long completedAtNanos) {
+        tickRate.record(completedAtNanos);
+    }
+
+    public void recordDeadlineMisses(long missed) {
+        deadlineMisses.addAndGet(missed);
+    }
+
+    public long getDeadlineMisses() {
+        return deadlineMisses.get();
+    }
+
+    /**
+     * Scheduled ticks per wall-clock second over the last {@value RateWindow#SIZE} ticks, or since the world
+     * started running for fewer.
+     */
+    public synchronized double getAchievedTicksPerSecond() {
+        return tickRate.perSecond(System.nanoTime());
+    }
 }
 
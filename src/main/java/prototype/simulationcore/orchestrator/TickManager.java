@@ -1,6 +1,9 @@
 package prototype.simulationcore.orchestrator;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
@@ -8,11 +11,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import prototype.lineageruntime.health.HealthMonitorService;
-import prototype.simulationcore.domain.Agent;
 import prototype.simulationcore.events.SimulationEvent;
 import prototype.simulationcore.events.SimulationEventType;
+import prototype.simulationcore.evolution.service.PopulationStore;
 import prototype.simulationcore.kafka.SimulationEventPublisher;
-import prototype.simulationcore.service.SafetyConstraintsService;
+import prototype.simulationcore.service.AgentStep;
+import prototype.simulationcore.service.PopulationWrites;
 import prototype.simulationcore.service.SimulationService;
 
 @Component
@@ -21,18 +25,15 @@ public class TickManager {
     private static final Logger log = LoggerFactory.getLogger(TickManager.class);
 
     private final SimulationService simulationService;
-    private final SafetyConstraintsService safetyConstraintsService;
     private final HealthMonitorService healthMonitorService;
     private final SimulationEventPublisher eventPublisher;
     private final ScenarioEngine scenarioEngine;
 
     public TickManager(SimulationService simulationService,
-                       SafetyConstraintsService safetyConstraintsService,
                        HealthMonitorService healthMonitorService,
                        SimulationEventPublisher eventPublisher,
                        ScenarioEngine scenarioEngine) {
         this.simulationService = simulationService;
-        this.safetyConstraintsService = safetyConstraintsService;
         this.healthMonitorService = healthMonitorService;
         this.eventPublisher = eventPublisher;
         this.scenarioEngine = scenarioEngine;
@@ -53,18 +54,25 @@ public class TickManager {
         Map<String, Object> environmentSnapshot = world.mutateEnvironment(tick);
         emitScheduledEvents(world, tick);
 
-        Agent agent = simulationService.step();
-        SafetyConstraintsService.SafetyEvaluation evaluation = safetyConstraintsService.enforce(agent);
-
-        if (evaluation.violated()) {
+        PopulationStore population = world.hasAgents() ? world.population() : defaultPopulation();
+        PopulationWrites writes = new PopulationWrites();
+        List<AgentStep> steps = simulationService.advancePopulation(population, writes, world.getSeed(), tick);
+        simulationService.flushPopulation(population, writes);
+
+        int violations = 0;
+        for (AgentStep step : steps) {
+            if (!step.auditFailed()) {
+                continue;
+            }
+            violations++;
             world.recordConstraintViolation();
             SimulationEvent violation = SimulationEvent.of(
                     SimulationEventType.CONSTRAINT_VIOLATED,
                     world.getSimulationId(),
                     tick,
                     Map.of(
-                            "agentId", agent.getAgentId().toString(),
-                            "reason", evaluation.reason()
+                            "agentId", String.valueOf(step.agent().getAgentId()),
+                            "reason", step.safety().reason()
                     )
             );
             publish(world, violation);
@@ -77,8 +85,8 @@ public class TickManager {
                 world.getSimulationId(),
                 tick,
                 Map.of(
-                        "agentId", agent.getAgentId().toString(),
-                        "generation", agent.getGeneration(),
+                        "agents", steps.size(),
+                        "constraintViolations", violations,
                         "status", world.getStatus().name()
                 )
         );
@@ -88,11 +96,110 @@ public class TickManager {
                 world.getSimulationId(),
                 tick,
                 Instant.now(),
-                evaluation.violated(),
+                violations > 0,
                 environmentSnapshot
         );
     }
 
+    /**
+     * Headless fast-forward up to {@code targetTick}. Each tick runs scenario, environment and population logic
+     * against in-memory state only. Scheduled events, constraint violations and blocked actions are coalesced
+     * into one {@link SimulationEventType#TICKS_SUMMARIZED} event per summary interval, and health is sampled
+     * once per summary. Constraint violations are also tallied per agent per summary interval, so each agent that
+     * violated in an interval is recorded as one violation row carrying the interval's count. The population is
+     * persisted and the buffered events are published in bulk at every checkpoint, early once
+     * {@link PopulationWrites#MAX_PENDING_VIOLATIONS} tallies are pending, and when the run ends. A world nobody registered agents to ticks the active agent, reloaded after
+     * every checkpoint; agents registered to such a world while it fast-forwards join from the next run on.
+     *
+     * @return the number of ticks processed
+     */
+    public long fastForward(SimulationWorld world, long targetTick, TurboRunOptions options) {
+        PopulationWrites writes = new PopulationWrites();
+        List<SimulationEvent> outbox = new ArrayList<>();
+        TickSummary summary = new TickSummary(world.getCurrentTick() + 1);
+        boolean registered = world.hasAgents();
+        PopulationStore defaults = null;
+        long processed = 0;
+        try {
+            while (world.getCurrentTick() < targetTick
+                    && world.getStatus() != SimulationWorldStatus.COMPLETED
+                    && world.getStatus() != SimulationWorldStatus.STOPPED) {
+                long tick = world.incrementTick();
+                scenarioEngine.executeScenarioStep(world, tick);
+                world.advanceEnvironment(tick);
+                summary.countScheduled(world.getScheduler().drainDueEvents(tick));
+
+                if (!registered && defaults == null) {
+                    defaults = defaultPopulation();
+                }
+                List<AgentStep> steps = simulationService.advancePopulation(registered ? world.population() : defaults,
+                        writes, world.getSeed(), tick);
+                for (AgentStep step : steps) {
+                    if (step.blocked()) {
+                        summary.blockedActions++;
+                    }
+                    if (step.auditFailed()) {
+                        world.recordConstraintViolation();
+                        summary.violations++;
+                    }
+                }
+                summary.toTick = tick;
+                processed++;
+
+                if (processed % options.summaryInterval() == 0) {
+                    summary = closeSummary(world, summary, outbox);
+                    writes.sealViolations();
+                }
+                if (processed % options.checkpointInterval() == 0 || writes.violationsFull()) {
+                    checkpoint(registered ? world.population() : defaults, writes, outbox);
+                    defaults = null;
+                }
+            }
+        } finally {
+            if (summary.toTick >= summary.fromTick) {
+                closeSummary(world, summary, outbox);
+            }
+            if (registered || defaults != null) {
+                checkpoint(registered ? world.population() : defaults, writes, outbox);
+            } else {
+                eventPublisher.publishAll(outbox);
+            }
+        }
+        return processed;
+    }
+
+    private TickSummary closeSummary(SimulationWorld world, TickSummary summary, List<SimulationEvent> outbox) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("fromTick", summary.fromTick);
+        metadata.put("toTick", summary.toTick);
+        metadata.put("agents", world.getAgentCount());
+        metadata.put("constraintViolations", summary.violations);
+        metadata.put("blockedActions", summary.blockedActions);
+        metadata.put("scheduledEvents", summary.scheduledCounts());
+        metadata.put("status", world.getStatus().name());
+        SimulationEvent event = SimulationEvent.of(SimulationEventType.TICKS_SUMMARIZED, world.getSimulationId(),
+                summary.toTick, metadata);
+        world.recordEvent(event);
+        outbox.add(event);
+        updateInfrastructureHealth(world);
+        return new TickSummary(summary.toTick + 1);
+    }
+
+    private void checkpoint(PopulationStore population, PopulationWrites writes, List<SimulationEvent> outbox) {
+        simulationService.flushPopulation(population, writes);
+        eventPublisher.publishAll(outbox);
+        outbox.clear();
+    }
+
+    /**
+     * Population of a world nobody registered agents to: the active agent, loaded afresh for every flush instead
+     * of being registered to the world. Several such worlds, the evolution loop and {@link SimulationService#step()}
+     * may all write that agent, and a copy pinned in one world would overwrite their writes with stale state.
+     */
+    private PopulationStore defaultPopulation() {
+        return PopulationStore.of(simulationService.defaultResidentAgents());
+    }
+
     private void publish(SimulationWorld world, SimulationEvent event) {
         world.recordEvent(event);
         eventPublisher.publish(event);
@@ -114,5 +221,33 @@ public class TickManager {
         healthMonitorService.recordErrorRate(serviceId, errorRate);
         healthMonitorService.recordHeartbeat(serviceId);
     }
-}
 
+    /**
+     * Everything a run of headless ticks would have published individually.
+     */
+    private static final class TickSummary {
+
+        private final long fromTick;
+        private long toTick;
+        private long violations;
+        private long blockedActions;
+        private final Map<SimulationEventType, Long> scheduled = new EnumMap<>(SimulationEventType.class);
+
+        private TickSummary(long fromTick) {
+            this.fromTick = fromTick;
+            this.toTick = fromTick - 1;
+        }
+
+        private void countScheduled(List<SimulationEvent> due) {
+            for (SimulationEvent event : due) {
+                scheduled.merge(event.getType(), 1L, Long::sum);
+            }
+        }
+
+        private Map<String, Long> scheduledCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            scheduled.forEach((type, count) -> counts.put(type.name(), count));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package prototype.simulationcore.orchestrator;
+
+/**
+ * How a running world's ticks are spaced in wall-clock time.
+ */
+public enum TickPacing {
+
+    /**
+     * Wait a full tick interval after each tick finishes; the achieved rate drops as ticks get heavier.
+     */
+    FIXED_DELAY,
+
+    /**
+     * Start ticks against absolute deadlines one interval apart, so processing time does not cause drift.
+     */
+    FIXED_RATE
+}
@@ -0,0 +1,22 @@
+package prototype.simulationcore.orchestrator;
+
+/**
+ * Tuning for a headless fast-forward. Every {@code summaryInterval} ticks are coalesced into one
+ * {@link prototype.simulationcore.events.SimulationEventType#TICKS_SUMMARIZED} event; agent state and buffered
+ * events are flushed every {@code checkpointInterval} ticks and once more at the end of the run. Non-positive
+ * values fall back to the defaults.
+ */
+public record TurboRunOptions(long summaryInterval, long checkpointInterval) {
+
+    public static final long DEFAULT_SUMMARY_INTERVAL = 1_000;
+    public static final long DEFAULT_CHECKPOINT_INTERVAL = 100_000;
+
+    public TurboRunOptions {
+        summaryInterval = summaryInterval > 0 ? summaryInterval : DEFAULT_SUMMARY_INTERVAL;
+        checkpointInterval = checkpointInterval > 0 ? checkpointInterval : DEFAULT_CHECKPOINT_INTERVAL;
+    }
+
+    public static TurboRunOptions defaults() {
+        return new TurboRunOptions(DEFAULT_SUMMARY_INTERVAL, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+}
@@ -0,0 +1,300 @@
+package prototype.simulationcore.orchestrator;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Multiplexes the tick loops of every running {@link SimulationWorld} over a bounded worker pool. A single timer
+ * thread drives a hashed timer wheel of due ticks and hands each due world to a worker; a world is re-armed only
+ * after its tick finishes, so it is never ticked by two workers at once. The gap between a tick's deadline and
+ * the moment a worker picks it up is recorded on the world as its tick lag. Rescheduling a world while one of
+ * its ticks is still running arms the new registration only once that tick has returned.
+ *
+ * <p>{@link TickPacing#FIXED_DELAY} worlds are re-armed one interval after their tick finishes.
+ * {@link TickPacing#FIXED_RATE} worlds are re-armed at the previous deadline plus one interval; when that
+ * deadline has already passed, the world's {@link CatchUpPolicy} decides the next one and every passed
+ * deadline is counted as a miss on the world.
+ */
+@Component
+public class WorldTickScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(WorldTickScheduler.class);
+    private static final int WHEEL_SLOTS = 512;
+    private static final int MAX_INLINE_TICKS = 64;
+
+    private final long resolutionNanos;
+    private final ExecutorService workers;
+    private final Map<UUID, Registration> registrations = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Registration> arming = new ConcurrentLinkedQueue<>();
+    /** Registration whose tick is running, per world; also the lock for {@link #waiting}. */
+    private final Map<UUID, Registration> inFlight = new HashMap<>();
+    /** Registration scheduled while the world's previous tick was still running, per world. */
+    private final Map<UUID, Registration> waiting = new HashMap<>();
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Registration>[] wheel = new ArrayDeque[WHEEL_SLOTS];
+    private final long wheelStartNanos = System.nanoTime();
+    private final Thread timer;
+    private volatile boolean running = true;
+    private long cursor;
+
+    public WorldTickScheduler(@Value("${simulation.orchestrator.tick-threads:0}") int threads,
+                              @Value("${simulation.orchestrator.tick-resolution:PT0.005S}") Duration resolution) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.resolutionNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), resolution.toNanos());
+        this.workers = Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("world-tick-"));
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.timer = new CustomizableThreadFactory("world-tick-timer-").newThread(this::runTimer);
+        timer.setDaemon(true);
+        timer.start();
+    }
+
+    /**
+     * Starts ticking {@code world} immediately and then paced by its {@link SimulationConfig}. {@code tick} runs
+     * one tick and returns whether the world should keep ticking. Replaces any earlier registration for the
+     * same world; if a tick of that registration is still running, the first tick of this one waits for it.
+     */
+    public void schedule(SimulationWorld world, Predicate<SimulationWorld> tick) {
+        UUID simulationId = world.getSimulationId();
+        Registration registration = new Registration(world, tick);
+        synchronized (inFlight) {
+            Registration previous = registrations.put(simulationId, registration);
+            if (previous != null) {
+                previous.cancelled = true;
+            }
+            if (inFlight.containsKey(simulationId)) {
+                waiting.put(simulationId, registration);
+                return;
+            }
+        }
+        registration.start();
+    }
+
+    /**
+     * Stops scheduling the world's ticks. A tick already running is allowed to finish.
+     */
+    public void cancel(UUID simulationId) {
+        Registration registration = registrations.remove(simulationId);
+        if (registration != null) {
+            registration.cancelled = true;
+        }
+    }
+
+    public boolean isScheduled(UUID simulationId) {
+        return registrations.containsKey(simulationId);
+    }
+
+    public int scheduledWorlds() {
+        return registrations.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        registrations.values().forEach(registration -> registration.cancelled = true);
+        registrations.clear();
+        LockSupport.unpark(timer);
+        workers.shutdownNow();
+    }
+
+    private void runTimer() {
+        while (running) {
+            long slotEnd = wheelStartNanos + (cursor + 1) * resolutionNanos;
+            long wait;
+            while (running && (wait = slotEnd - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, wait);
+            }
+            try {
+                placeArmed();
+                expire(wheel[(int) (cursor & (WHEEL_SLOTS - 1))]);
+            } catch (RuntimeException ex) {
+                log.error("World tick timer failed to dispatch slot {}", cursor, ex);
+            }
+            cursor++;
+        }
+    }
+
+    private void placeArmed() {
+        Registration registration;
+        while ((registration = arming.poll()) != null) {
+            if (registration.cancelled) {
+                continue;
+            }
+            long slot = Math.max(cursor, Math.floorDiv(registration.deadlineNanos - wheelStartNanos, resolutionNanos));
+            registration.slot = slot;
+            wheel[(int) (slot & (WHEEL_SLOTS - 1))].add(registration);
+        }
+    }
+
+    private void expire(ArrayDeque<Registration> bucket) {
+        Iterator<Registration> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Registration registration = iterator.next();
+            if (registration.cancelled) {
+                iterator.remove();
+            } else if (registration.slot <= cursor) {
+                iterator.remove();
+                dispatch(registration);
+            }
+        }
+    }
+
+    private void dispatch(Registration registration) {
+        synchronized (inFlight) {
+            if (registration.cancelled) {
+                return;
+            }
+            inFlight.put(registration.world.getSimulationId(), registration);
+        }
+        try {
+            workers.execute(registration::run);
+        } catch (RejectedExecutionException ex) {
+            registration.cancelled = true;
+            registration.land();
+        }
+    }
+
+    /**
+     * One world's place on the wheel. Only ever in one place at a time: waiting for the world's previous
+     * registration to land, armed, on the wheel, or running.
+     */
+    private final class Registration {
+
+        private final SimulationWorld world;
+        private final Predicate<SimulationWorld> tick;
+        private volatile boolean cancelled;
+        private long deadlineNanos;
+        private long slot;
+
+        private Registration(SimulationWorld world, Predicate<SimulationWorld> tick) {
+            this.world = world;
+            this.tick = tick;
+        }
+
+        private void start() {
+            long now = System.nanoTime();
+            world.startPacing(now);
+            armAt(now);
+        }
+
+        private void armAt(long deadline) {
+            deadlineNanos = deadline;
+            arming.add(this);
+        }
+
+        /**
+         * Runs the due tick. While the next deadline has already passed, further ticks run inline on this worker
+         * (up to {@value WorldTickScheduler#MAX_INLINE_TICKS}) instead of waiting a wheel slot each.
+         */
+        private void run() {
+            boolean rearm = false;
+            try {
+                rearm = tickWhileDue();
+            } finally {
+                land();
+            }
+            if (rearm) {
+                armAt(deadlineNanos);
+            }
+        }
+
+        /**
+         * Returns whether the world should be re-armed at {@link #deadlineNanos}.
+         */
+        private boolean tickWhileDue() {
+            for (int inline = 1; !cancelled; inline++) {
+                world.recordTickLag(Math.max(0L, System.nanoTime() - deadlineNanos));
+                boolean again;
+                try {
+                    again = tick.test(world);
+                } catch (RuntimeException ex) {
+                    log.error("Tick of simulation {} failed", world.getSimulationId(), ex);
+                    again = false;
+                }
+                long now = System.nanoTime();
+                world.recordScheduledTick(now);
+                if (!again || cancelled) {
+                    break;
+                }
+                long next = nextDeadline(now);
+                deadlineNanos = next;
+                if (next > now || inline >= MAX_INLINE_TICKS) {
+                    return true;
+                }
+            }
+            registrations.remove(world.getSimulationId(), this);
+            return false;
+        }
+
+        /**
+         * Marks this registration's tick as finished and starts the registration that was scheduled for the same
+         * world while it ran, if that one has not been cancelled in the meantime.
+         */
+        private void land() {
+            Registration next;
+            synchronized (inFlight) {
+                inFlight.remove(world.getSimulationId(), this);
+                next = waiting.remove(world.getSimulationId());
+            }
+            if (next != null && !next.cancelled) {
+                next.start();
+            }
+        }
+
+        /**
+         * Deadline of the tick after the one that just finished. Under {@link CatchUpPolicy#SKIP} every dropped
+         * deadline counts as missed; under {@link CatchUpPolicy#BURST} and {@link CatchUpPolicy#SLIP} the one tick
+         * that runs late does.
+         */
+        private long nextDeadline(long now) {
+            long interval = intervalNanos();
+            SimulationConfig config = world.getConfig();
+            if (config.getPacing() == TickPacing.FIXED_DELAY) {
+                return now + interval;
+            }
+            long next = deadlineNanos + interval;
+            if (next > now) {
+                return next;
+            }
+            return switch (config.getCatchUpPolicy()) {
+                case BURST -> {
+                    world.recordDeadlineMisses(1);
+                    yield next;
+                }
+                case SKIP -> {
+                    long missed = interval == 0 ? 1 : (now - next) / interval + 1;
+                    world.recordDeadlineMisses(missed);
+                    yield next + missed * interval;
+                }
+                case SLIP -> {
+                    world.recordDeadlineMisses(1);
+                    yield now;
+                }
+            };
+        }
+
+        private long intervalNanos() {
+            Duration interval = world.getConfig().getTickInterval();
+            return interval == null || interval.isNegative() ? 0L : interval.toNanos();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package prototype.simulationcore.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.Position;
+import prototype.simulationcore.domain.StateKeys;
+
+/**
+ * Versioned binary form of {@link AgentState}, shared by the JPA column, lineage events on Kafka and simulation
+ * checkpoints. Layout: magic, version, position, energy and resources as fixed-width doubles, then the sensor
+ * and internal maps as a varint count followed by varint-length UTF-8 keys and double values. Keys are written by
+ * name, not by {@link StateKeys} id: ids are assigned in first-use order per process, so a stored id would name a
+ * different key after a restart or on another instance. Decoded keys are interned through {@link StateKeys} so
+ * that millions of loaded states share one copy of each name. Payloads
+ * that do not start with the magic byte are read as the legacy JSON shape.
+ */
+public final class AgentStateCodec {
+
+    public static final byte MAGIC = (byte) 0xA5;
+    private static final byte FORMAT_VERSION = 1;
+    private static final int FIXED_BYTES = 2 + 5 * Double.BYTES;
+
+    private static final ObjectMapper LEGACY_MAPPER = new ObjectMapper();
+    private static final Map<String, byte[]> KEY_BYTES = new ConcurrentHashMap<>();
+
+    private AgentStateCodec() {
+    }
+
+    public static byte[] encode(AgentState state) {
+        AgentState resolved = state == null ? AgentState.initial() : state;
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize(resolved));
+        write(buffer, resolved);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a binary payload, or a legacy JSON one; {@code null} and empty payloads yield the initial state.
+     */
+    public static AgentState decode(byte[] payload) {
+        if (payload == null || payload.length == 0) {
+            return AgentState.initial();
+        }
+        if (!isBinary(payload)) {
+            return decodeLegacy(payload);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        AgentState state = read(buffer);
+        if (buffer.hasRemaining()) {
+            throw new IllegalStateException("Unable to deserialize agent state: " + buffer.remaining() + " trailing bytes");
+        }
+        return state;
+    }
+
+    public static boolean isBinary(byte[] payload) {
+        return payload != null && payload.length > 0 && payload[0] == MAGIC;
+    }
+
+    public static int encodedSize(AgentState state) {
+        return FIXED_BYTES + mapSize(state.sensorReadings()) + mapSize(state.internalState());
+    }
+
+    public static void write(ByteBuffer buffer, AgentState state) {
+        buffer.put(MAGIC);
+        buffer.put(FORMAT_VERSION);
+        Position position = state.position();
+        buffer.putDouble(position.x());
+        buffer.putDouble(position.y());
+        buffer.putDouble(position.z());
+        buffer.putDouble(state.energy());
+        buffer.putDouble(state.resources());
+        writeMap(buffer, state.sensorReadings());
+        writeMap(buffer, state.internalState());
+    }
+
+    public static AgentState read(ByteBuffer buffer) {
+        try {
+            byte magic = buffer.get();
+            byte version = buffer.get();
+            if (magic != MAGIC || version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported agent state format " + magic + "/" + version);
+            }
+            Position position = new Position(buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+            double energy = buffer.getDouble();
+            double resources = buffer.getDouble();
+            Map<String, Double> sensors = readMap(buffer);
+            Map<String, Double> internal = readMap(buffer);
+            return new AgentState(position, energy, resources, sensors, internal);
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalStateException("Unable to deserialize agent state: payload truncated", ex);
+        }
+    }
+
+    public static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    public static void writeVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte next = buffer.get();
+            value |= (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint in agent state payload");
+    }
+
+    private static int mapSize(Map<String, Double> values) {
+        int size = varintSize(values.size());
+        for (String key : values.keySet()) {
+            int length = keyBytes(key).length;
+            size += varintSize(length) + length + Double.BYTES;
+        }
+        return size;
+    }
+
+    private static void writeMap(ByteBuffer buffer, Map<String, Double> values) {
+        writeVarint(buffer, values.size());
+        values.forEach((key, value) -> {
+            byte[] bytes = keyBytes(key);
+            writeVarint(buffer, bytes.length);
+            buffer.put(bytes);
+            buffer.putDouble(value);
+        });
+    }
+
+    private static Map<String, Double> readMap(ByteBuffer buffer) {
+        int count = readVarint(buffer);
+        if (count == 0) {
+            return Map.of();
+        }
+        if (count < 0 || count > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        Map<String, Double> values = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            int length = readVarint(buffer);
+            if (length < 0 || length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            String key = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            int id = StateKeys.internIfRoom(key);
+            values.put(id < 0 ? key : StateKeys.name(id), buffer.getDouble());
+        }
+        return values;
+    }
+
+    private static byte[] keyBytes(String key) {
+        // Only interned names are cached, so the cache is bounded by the key table.
+        if (StateKeys.idOf(key) < 0) {
+            return key.getBytes(StandardCharsets.UTF_8);
+        }
+        return KEY_BYTES.computeIfAbsent(key, name -> name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static AgentState decodeLegacy(byte[] payload) {
+        try {
+            return LEGACY_MAPPER.readValue(payload, AgentState.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to deserialize agent state", e);
+        }
+    }
+}
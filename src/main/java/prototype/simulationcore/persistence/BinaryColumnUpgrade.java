@@ -0,0 +1,80 @@
+package prototype.simulationcore.persistence;
+
+import jakarta.annotation.PostConstruct;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+/**
+ * Widens binary columns that older schemas created with a narrower type to {@code LONGBLOB}. {@code ddl-auto: update}
+ * adds missing columns but never changes the type of an existing one:
+ * <ul>
+ *     <li>{@code agents.state_payload} was a {@code LONGTEXT} of JSON before {@link AgentStateCodec}. MySQL keeps the
+ *     stored UTF-8 bytes when the column becomes binary, and the codec still reads them as legacy JSON.</li>
+ *     <li>{@code reward_trajectories.recent_points} was first created as a {@code TINYBLOB}, too small for a ring.</li>
+ * </ul>
+ * Runs while the context starts, after Hibernate has updated the schema and before scheduled work can write. It is a
+ * no-op on current schemas and on databases other than MySQL.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class BinaryColumnUpgrade {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryColumnUpgrade.class);
+
+    private static final Set<String> NARROWER_TYPES = Set.of(
+            "tinytext", "text", "mediumtext", "longtext", "tinyblob", "blob", "mediumblob");
+
+    private final DataSource dataSource;
+
+    public BinaryColumnUpgrade(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    void upgrade() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (product == null || !product.toLowerCase(Locale.ROOT).contains("mysql")) {
+                return;
+            }
+            widen(connection, "agents", "state_payload");
+            widen(connection, "reward_trajectories", "recent_points");
+        }
+    }
+
+    private static void widen(Connection connection, String table, String column) throws SQLException {
+        String type;
+        boolean nullable;
+        try (PreparedStatement query = connection.prepareStatement("select data_type, is_nullable "
+                + "from information_schema.columns where table_schema = database() and table_name = ? "
+                + "and column_name = ?")) {
+            query.setString(1, table);
+            query.setString(2, column);
+            try (ResultSet result = query.executeQuery()) {
+                if (!result.next()) {
+                    return;
+                }
+                type = result.getString(1).toLowerCase(Locale.ROOT);
+                nullable = "YES".equalsIgnoreCase(result.getString(2));
+            }
+        }
+        if (!NARROWER_TYPES.contains(type)) {
+            return;
+        }
+        log.info("Converting {}.{} from {} to longblob", table, column, type);
+        try (Statement alter = connection.createStatement()) {
+            alter.executeUpdate("alter table " + table + " modify column " + column + " longblob"
+                    + (nullable ? "" : " not null"));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package prototype.simulationcore.persistence;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import prototype.simulationcore.policy.NeuralNetwork;
+
+/**
+ * Persists a {@link NeuralNetwork} as its layer sizes followed by the packed float parameters.
+ */
+@Converter
+public class NeuralNetworkAttributeConverter implements AttributeConverter<NeuralNetwork, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(NeuralNetwork attribute) {
+        return attribute == null ? null : attribute.toBytes();
+    }
+
+    @Override
+    public NeuralNetwork convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null || dbData.length == 0) {
+            return null;
+        }
+        return NeuralNetwork.fromBytes(dbData);
+    }
+}
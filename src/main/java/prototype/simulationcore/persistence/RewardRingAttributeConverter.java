@@ -0,0 +1,25 @@
+package prototype.simulationcore.persistence;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import prototype.simulationcore.evolution.domain.RewardRing;
+
+/**
+ * Persists a {@link RewardRing} as its compact column-major binary encoding.
+ */
+@Converter
+public class RewardRingAttributeConverter implements AttributeConverter<RewardRing, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(RewardRing attribute) {
+        return attribute == null ? null : attribute.toBytes();
+    }
+
+    @Override
+    public RewardRing convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null || dbData.length == 0) {
+            return new RewardRing(RewardRing.DEFAULT_CAPACITY);
+        }
+        return RewardRing.fromBytes(dbData);
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
@@ -23,7 +24,7 @@ import java.util.UUID;
  * Base JPA entity for all policy implementations.
  */
 @Entity
-@Table(name = "agent_policies")
+@Table(name = "agent_policies", indexes = @Index(name = "idx_agent_policies_genome", columnList = "genome_hash"))
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "policy_type")
 public abstract class AbstractAgentPolicy implements AgentPolicy {
@@ -42,6 +43,9 @@ public abstract class AbstractAgentPolicy implements AgentPolicy {
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    @Column(name = "genome_hash", length = 64)
+    private String genomeHash;
+
     public UUID getPolicyId() {
         return policyId;
     }
@@ -57,6 +61,32 @@ public abstract class AbstractAgentPolicy implements AgentPolicy {
         if (parameters != null) {
             this.parameters.putAll(parameters);
         }
+        genomeChanged();
+    }
+
+    /**
+     * Content hash of the policy's genome (type, parameters and subtype-specific state), see {@link PolicyGenome}.
+     */
+    public String getGenomeHash() {
+        if (genomeHash == null) {
+            genomeHash = PolicyGenome.hash(this);
+        }
+        return genomeHash;
+    }
+
+    /**
+     * Must be called by subclasses whenever genome state changes so the cached hash is recomputed. Subclasses
+     * that cache derived state, such as a compiled decision kernel, override this to drop it as well.
+     */
+    protected void genomeChanged() {
+        genomeHash = null;
+    }
+
+    /**
+     * Loads lazily fetched collections so the policy can be evaluated outside the owning persistence thread.
+     */
+    public void loadCollections() {
+        parameters.size();
     }
 
     protected double parameterOrDefault(String key, double defaultValue) {
@@ -66,6 +96,7 @@ public abstract class AbstractAgentPolicy implements AgentPolicy {
     @PrePersist
     void stampCreated() {
         createdAt = Instant.now();
+        genomeHash = PolicyGenome.hash(this);
     }
 
     public Instant getCreatedAt() {
@@ -1,6 +1,7 @@
 package prototype.simulationcore.policy;
 
 import java.util.Map;
+import java.util.random.RandomGenerator;
 import prototype.simulationcore.domain.Action;
 import prototype.simulationcore.domain.AgentState;
 import prototype.simulationcore.environment.Environment;
@@ -12,6 +13,28 @@ public interface AgentPolicy {
 
     Action decide(AgentState state, Environment environment);
 
+    /**
+     * Variant used when the caller owns the random stream, e.g. reproducible parallel evaluation.
+     * Deterministic policies ignore the generator.
+     */
+    default Action decide(AgentState state, Environment environment, RandomGenerator random) {
+        return decide(state, environment);
+    }
+
+    /**
+     * Decides for the rows {@code rows[from..to)} of {@code states}, writing each chosen action's ordinal to
+     * {@code actions[row]}. {@code environment} is shared by all rows and supplies signals an agent's own sensor
+     * readings do not have. The default loops over {@link #decide(AgentState, Environment, RandomGenerator)};
+     * built-in policies evaluate the whole batch against their compiled form.
+     */
+    default void decideBatch(StateColumns states, int[] rows, int from, int to, Environment environment,
+                             int[] actions) {
+        for (int i = from; i < to; i++) {
+            int row = rows[i];
+            actions[row] = decide(states.state(row), environment, states.random(row)).ordinal();
+        }
+    }
+
     Map<String, Double> getParameters();
 
     void setParameters(Map<String, Double> parameters);
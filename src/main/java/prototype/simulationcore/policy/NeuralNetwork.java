@@ -0,0 +1,236 @@
+package prototype.simulationcore.policy;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Small feed-forward network (tanh hidden layers, linear output) held as one contiguous {@code float[]}. Each
+ * layer occupies a block of {@code out * in} row-major weights followed by {@code out} biases. Inference works on
+ * per-thread scratch buffers, so steady-state evaluation does not allocate.
+ */
+public final class NeuralNetwork {
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Rows evaluated together in {@link #argmaxBatch}; bounds the scratch buffers independently of batch size.
+     */
+    private static final int TILE = 256;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final int[] layerSizes;
+    private final float[] parameters;
+    private final int widest;
+
+    public NeuralNetwork(int[] layerSizes, float[] parameters) {
+        if (layerSizes == null || layerSizes.length < 2) {
+            throw new IllegalArgumentException("A network needs at least an input and an output layer");
+        }
+        for (int size : layerSizes) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("Layer sizes must be positive: " + Arrays.toString(layerSizes));
+            }
+        }
+        if (parameters == null || parameters.length != parameterCount(layerSizes)) {
+            throw new IllegalArgumentException("Expected " + parameterCount(layerSizes) + " parameters for layers "
+                    + Arrays.toString(layerSizes));
+        }
+        this.layerSizes = layerSizes.clone();
+        this.parameters = parameters;
+        this.widest = Arrays.stream(layerSizes).max().orElse(1);
+    }
+
+    /**
+     * Network with Xavier-uniform weights and zero biases.
+     */
+    public static NeuralNetwork initialize(int[] layerSizes, RandomGenerator random) {
+        float[] parameters = new float[parameterCount(layerSizes)];
+        int offset = 0;
+        for (int layer = 1; layer < layerSizes.length; layer++) {
+            int in = layerSizes[layer - 1];
+            int out = layerSizes[layer];
+            double limit = Math.sqrt(6.0 / (in + out));
+            for (int i = 0; i < in * out; i++) {
+                parameters[offset + i] = (float) ((random.nextDouble() * 2 - 1) * limit);
+            }
+            offset += in * out + out;
+        }
+        return new NeuralNetwork(layerSizes, parameters);
+    }
+
+    public static int parameterCount(int[] layerSizes) {
+        int count = 0;
+        for (int layer = 1; layer < layerSizes.length; layer++) {
+            count += layerSizes[layer - 1] * layerSizes[layer] + layerSizes[layer];
+        }
+        return count;
+    }
+
+    public int inputSize() {
+        return layerSizes[0];
+    }
+
+    public int outputSize() {
+        return layerSizes[layerSizes.length - 1];
+    }
+
+    public int[] layerSizes() {
+        return layerSizes.clone();
+    }
+
+    public int parameterCount() {
+        return parameters.length;
+    }
+
+    public NeuralNetwork copy() {
+        return new NeuralNetwork(layerSizes, parameters.clone());
+    }
+
+    /**
+     * Adds uniform noise in {@code [-rate, rate]} to every weight and bias, in place.
+     */
+    public void perturb(double rate, RandomGenerator random) {
+        double bounded = Math.max(0.0, Math.min(1.0, rate));
+        if (bounded == 0.0) {
+            return;
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] += (float) ((random.nextDouble() * 2 - 1) * bounded);
+        }
+    }
+
+    /**
+     * Index of the largest output for one input vector; the lowest index wins ties.
+     */
+    public int argmax(float[] input) {
+        Scratch scratch = SCRATCH.get().ensure(widest);
+        System.arraycopy(input, 0, scratch.current, 0, inputSize());
+        float[] output = forward(scratch, 1);
+        return argmax(output, 0, outputSize());
+    }
+
+    /**
+     * Evaluates {@code count} row-major input vectors from {@code inputs} and writes the argmax of each into
+     * {@code outputs[0..count)}. Rows are processed in tiles, one weight row against all rows of the tile, so
+     * each weight is loaded once per tile rather than once per agent.
+     */
+    public void argmaxBatch(float[] inputs, int count, int[] outputs) {
+        int in = inputSize();
+        int out = outputSize();
+        Scratch scratch = SCRATCH.get().ensure(TILE * widest);
+        for (int from = 0; from < count; from += TILE) {
+            int rows = Math.min(TILE, count - from);
+            System.arraycopy(inputs, from * in, scratch.current, 0, rows * in);
+            float[] result = forward(scratch, rows);
+            for (int row = 0; row < rows; row++) {
+                outputs[from + row] = argmax(result, row * out, out);
+            }
+        }
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate((2 + layerSizes.length) * Integer.BYTES + parameters.length * Float.BYTES);
+        buffer.putInt(FORMAT_VERSION).putInt(layerSizes.length);
+        for (int size : layerSizes) {
+            buffer.putInt(size);
+        }
+        buffer.asFloatBuffer().put(parameters);
+        return buffer.array();
+    }
+
+    public static NeuralNetwork fromBytes(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported network format " + version);
+        }
+        int[] layerSizes = new int[buffer.getInt()];
+        for (int i = 0; i < layerSizes.length; i++) {
+            layerSizes[i] = buffer.getInt();
+        }
+        float[] parameters = new float[parameterCount(layerSizes)];
+        buffer.asFloatBuffer().get(parameters);
+        return new NeuralNetwork(layerSizes, parameters);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        return other instanceof NeuralNetwork network
+                && Arrays.equals(layerSizes, network.layerSizes)
+                && Arrays.equals(parameters, network.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(layerSizes) + Arrays.hashCode(parameters);
+    }
+
+    /**
+     * Runs all layers for {@code rows} inputs staged in {@code scratch.current}; returns the buffer holding the
+     * output layer.
+     */
+    private float[] forward(Scratch scratch, int rows) {
+        int offset = 0;
+        for (int layer = 1; layer < layerSizes.length; layer++) {
+            int in = layerSizes[layer - 1];
+            int out = layerSizes[layer];
+            boolean hidden = layer < layerSizes.length - 1;
+            float[] x = scratch.current;
+            float[] y = scratch.next;
+            int biases = offset + in * out;
+            for (int o = 0; o < out; o++) {
+                int weights = offset + o * in;
+                float bias = parameters[biases + o];
+                for (int row = 0; row < rows; row++) {
+                    int input = row * in;
+                    float sum = bias;
+                    for (int i = 0; i < in; i++) {
+                        sum += parameters[weights + i] * x[input + i];
+                    }
+                    y[row * out + o] = hidden ? (float) Math.tanh(sum) : sum;
+                }
+            }
+            scratch.swap();
+            offset = biases + out;
+        }
+        return scratch.current;
+    }
+
+    private static int argmax(float[] values, int from, int length) {
+        int best = 0;
+        for (int i = 1; i < length; i++) {
+            if (values[from + i] > values[from + best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Ping-pong activation buffers, grown on demand and reused by every network evaluated on the thread.
+     */
+    private static final class Scratch {
+
+        private float[] current = new float[0];
+        private float[] next = new float[0];
+
+        private Scratch ensure(int capacity) {
+            if (current.length < capacity) {
+                current = new float[capacity];
+                next = new float[capacity];
+            }
+            return this;
+        }
+
+        private void swap() {
+            float[] swap = current;
+            current = next;
+            next = swap;
+        }
+    }
+}
@@ -1,28 +1,95 @@
 package prototype.simulationcore.policy;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Lob;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import prototype.simulationcore.domain.Action;
 import prototype.simulationcore.domain.AgentState;
 import prototype.simulationcore.environment.Environment;
+import prototype.simulationcore.persistence.NeuralNetworkAttributeConverter;
 
 /**
- * Placeholder policy intended for future RL integration.
+ * Feed-forward network policy. Inputs are the agent's energy and resources followed by the
+ * {@link #SENSOR_INPUTS} readings, each scaled by 1/100; the output layer has one unit per {@link Action} and the
+ * largest wins. A policy without a network has not been initialised yet and explores uniformly at random.
  */
 @Entity
 @DiscriminatorValue("NEURAL")
 public class NeuralPolicy extends AbstractAgentPolicy {
 
+    public static final List<String> SENSOR_INPUTS = List.of("threat", "temperature", "radiation", "toxicity");
+    public static final int INPUT_SIZE = 2 + SENSOR_INPUTS.size();
+
+    private static final Action[] ACTIONS = Action.values();
+    private static final int[] DEFAULT_LAYERS = {INPUT_SIZE, 16, ACTIONS.length};
+    private static final int BATCH_TILE = 256;
+    private static final ThreadLocal<float[]> INPUTS = ThreadLocal.withInitial(() -> new float[BATCH_TILE * INPUT_SIZE]);
+    private static final ThreadLocal<int[]> OUTPUTS = ThreadLocal.withInitial(() -> new int[BATCH_TILE]);
+
     @Column(name = "model_ref")
     private String modelReference;
 
+    @Lob
+    @Convert(converter = NeuralNetworkAttributeConverter.class)
+    @Column(name = "network_weights")
+    private NeuralNetwork network;
+
     @Override
     public Action decide(AgentState state, Environment environment) {
-        // Placeholder: randomly explore while the RL backend is integrated.
-        Action[] options = Action.values();
-        return options[ThreadLocalRandom.current().nextInt(options.length)];
+        return decide(state, environment, ThreadLocalRandom.current());
+    }
+
+    @Override
+    public Action decide(AgentState state, Environment environment, RandomGenerator random) {
+        if (network == null) {
+            return ACTIONS[random.nextInt(ACTIONS.length)];
+        }
+        float[] input = INPUTS.get();
+        if (state == null) {
+            Arrays.fill(input, 0, INPUT_SIZE, 0f);
+        } else {
+            encode(state.energy(), state.resources(), state.sensorReadings(), input, 0);
+        }
+        return ACTIONS[network.argmax(input)];
+    }
+
+    @Override
+    public void decideBatch(StateColumns states, int[] rows, int from, int to, Environment environment,
+                            int[] actions) {
+        if (network == null) {
+            for (int i = from; i < to; i++) {
+                int row = rows[i];
+                actions[row] = states.random(row).nextInt(ACTIONS.length);
+            }
+            return;
+        }
+        float[] inputs = INPUTS.get();
+        int[] outputs = OUTPUTS.get();
+        for (int tile = from; tile < to; tile += BATCH_TILE) {
+            int count = Math.min(BATCH_TILE, to - tile);
+            for (int i = 0; i < count; i++) {
+                int row = rows[tile + i];
+                encode(states.energy(row), states.resources(row), states.sensorReadings(row), inputs, i * INPUT_SIZE);
+            }
+            network.argmaxBatch(inputs, count, outputs);
+            for (int i = 0; i < count; i++) {
+                actions[rows[tile + i]] = outputs[i];
+            }
+        }
+    }
+
+    /**
+     * Freshly initialised network with the default topology (one hidden layer of 16 units).
+     */
+    public static NeuralNetwork newNetwork(RandomGenerator random) {
+        return NeuralNetwork.initialize(DEFAULT_LAYERS, random);
     }
 
     public String getModelReference() {
@@ -31,7 +98,42 @@ public class NeuralPolicy extends AbstractAgentPolicy {
 
     public void setModelReference(String modelReference) {
         this.modelReference = modelReference;
+        genomeChanged();
     }
-}
 
+    public NeuralNetwork getNetwork() {
+        return network;
+    }
+
+    /**
+     * Replaces the network. It must take {@link #INPUT_SIZE} inputs and produce one output per action.
+     */
+    public void setNetwork(NeuralNetwork network) {
+        if (network != null && (network.inputSize() != INPUT_SIZE || network.outputSize() != ACTIONS.length)) {
+            throw new IllegalArgumentException("Network must map " + INPUT_SIZE + " inputs to "
+                    + ACTIONS.length + " actions");
+        }
+        this.network = network;
+        genomeChanged();
+    }
 
+    /**
+     * Perturbs the network weights in place; the caller must own this policy exclusively (e.g. a fresh clone).
+     */
+    public void perturbNetwork(double rate, RandomGenerator random) {
+        if (network != null) {
+            network.perturb(rate, random);
+            genomeChanged();
+        }
+    }
+
+    private static void encode(double energy, double resources, Map<String, Double> sensors, float[] target,
+                               int offset) {
+        target[offset] = (float) (energy / 100.0);
+        target[offset + 1] = (float) (resources / 100.0);
+        for (int i = 0; i < SENSOR_INPUTS.size(); i++) {
+            Double reading = sensors == null ? null : sensors.get(SENSOR_INPUTS.get(i));
+            target[offset + 2 + i] = reading == null ? 0f : (float) (reading / 100.0);
+        }
+    }
+}
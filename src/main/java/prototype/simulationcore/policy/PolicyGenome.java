@@ -0,0 +1,69 @@
+package prototype.simulationcore.policy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Canonical content hash of a policy genome. Two policies with the same type, parameters, weights, rules and
+ * model reference hash identically regardless of map iteration order, so they can share one persisted row.
+ */
+public final class PolicyGenome {
+
+    private PolicyGenome() {
+    }
+
+    public static String hash(AbstractAgentPolicy policy) {
+        StringBuilder canonical = new StringBuilder(256);
+        canonical.append(policy.getClass().getSimpleName()).append('|');
+        appendSorted(canonical, new TreeMap<>(policy.getParameters()));
+        if (policy instanceof WeightedPolicy weighted) {
+            TreeMap<String, Double> weights = new TreeMap<>();
+            weighted.getActionWeights().forEach((action, weight) -> weights.put(action.name(), weight));
+            canonical.append("|weights:");
+            appendSorted(canonical, weights);
+        } else if (policy instanceof RuleBasedPolicy ruleBased) {
+            // Rule order is significant: the first matching rule wins.
+            canonical.append("|rules:");
+            for (RuleBasedPolicy.DecisionRule rule : ruleBased.getRules()) {
+                canonical.append(rule.sensorKey()).append(',')
+                        .append(bits(rule.threshold())).append(',')
+                        .append(rule.action()).append(',')
+                        .append(rule.greaterThan()).append(';');
+            }
+        } else if (policy instanceof NeuralPolicy neural) {
+            canonical.append("|model:").append(neural.getModelReference());
+            if (neural.getNetwork() != null) {
+                // Weights are digested in their binary form rather than spelled out in the canonical text.
+                canonical.append("|network:");
+                return sha256(canonical.toString(), neural.getNetwork().toBytes());
+            }
+        }
+        return sha256(canonical.toString(), null);
+    }
+
+    private static void appendSorted(StringBuilder canonical, Map<String, Double> values) {
+        values.forEach((key, value) -> canonical.append(key).append('=').append(bits(value)).append(';'));
+    }
+
+    private static String bits(Double value) {
+        double normalized = value == null || value == 0.0 ? 0.0 : value;
+        return Long.toHexString(Double.doubleToLongBits(normalized));
+    }
+
+    private static String sha256(String canonical, byte[] payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(canonical.getBytes(StandardCharsets.UTF_8));
+            if (payload != null) {
+                digest.update(payload);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Transient;
 import java.util.ArrayList;
 import java.util.List;
 import prototype.simulationcore.domain.Action;
@@ -26,13 +27,46 @@ public class RuleBasedPolicy extends AbstractAgentPolicy {
     @CollectionTable(name = "rule_based_policy_rules", joinColumns = @JoinColumn(name = "policy_id"))
     private List<DecisionRule> rules = new ArrayList<>();
 
+    @Transient
+    private volatile RuleDecisionKernel kernel;
+
     @Override
     public Action decide(AgentState state, Environment environment) {
-        return rules.stream()
-                .filter(rule -> rule.matches(state, environment))
-                .findFirst()
-                .map(DecisionRule::action)
-                .orElse(Action.WAIT);
+        return kernel().decide(state, environment);
+    }
+
+    @Override
+    public void decideBatch(StateColumns states, int[] rows, int from, int to, Environment environment,
+                            int[] actions) {
+        RuleDecisionKernel compiled = kernel();
+        for (int i = from; i < to; i++) {
+            int row = rows[i];
+            actions[row] = compiled.decide(states.sensorReadings(row), environment).ordinal();
+        }
+    }
+
+    @Override
+    public void loadCollections() {
+        super.loadCollections();
+        rules.size();
+    }
+
+    @Override
+    protected void genomeChanged() {
+        super.genomeChanged();
+        kernel = null;
+    }
+
+    /**
+     * Compiled on first use after a change; concurrent callers may both compile, which is harmless.
+     */
+    RuleDecisionKernel kernel() {
+        RuleDecisionKernel compiled = kernel;
+        if (compiled == null) {
+            compiled = RuleDecisionKernel.compile(rules);
+            kernel = compiled;
+        }
+        return compiled;
     }
 
     public List<DecisionRule> getRules() {
@@ -41,11 +75,13 @@ public class RuleBasedPolicy extends AbstractAgentPolicy {
 
     public void setRules(List<DecisionRule> rules) {
         this.rules = rules == null ? new ArrayList<>() : new ArrayList<>(rules);
+        genomeChanged();
     }
 
     public void addRule(DecisionRule rule) {
         if (rule != null) {
             rules.add(rule);
+            genomeChanged();
         }
     }
 
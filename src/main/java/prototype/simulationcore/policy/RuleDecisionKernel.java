@@ -0,0 +1,94 @@
+package prototype.simulationcore.policy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import prototype.simulationcore.domain.Action;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.StateKeys;
+import prototype.simulationcore.environment.Environment;
+import prototype.simulationcore.policy.RuleBasedPolicy.DecisionRule;
+
+/**
+ * Immutable, allocation-free form of a {@link RuleBasedPolicy}: rules flattened into parallel arrays of metric
+ * id, threshold, comparison and outcome, evaluated in order until one matches. Metric ids index the kernel's
+ * distinct sensor keys, whose {@link StateKeys} ids are resolved up front for environment reads; rules without a
+ * sensor key never match and are dropped at compile time.
+ */
+final class RuleDecisionKernel {
+
+    private static final Action[] ACTIONS = Action.values();
+
+    private final String[] metrics;
+    private final int[] signalKeys;
+    private final int[] metricIds;
+    private final double[] thresholds;
+    private final boolean[] greaterThan;
+    private final int[] outcomes;
+
+    private RuleDecisionKernel(String[] metrics,
+                               int[] metricIds,
+                               double[] thresholds,
+                               boolean[] greaterThan,
+                               int[] outcomes) {
+        this.metrics = metrics;
+        this.signalKeys = new int[metrics.length];
+        for (int i = 0; i < metrics.length; i++) {
+            signalKeys[i] = StateKeys.intern(metrics[i]);
+        }
+        this.metricIds = metricIds;
+        this.thresholds = thresholds;
+        this.greaterThan = greaterThan;
+        this.outcomes = outcomes;
+    }
+
+    static RuleDecisionKernel compile(List<DecisionRule> rules) {
+        List<String> metrics = new ArrayList<>();
+        List<DecisionRule> usable = rules.stream()
+                .filter(rule -> rule.sensorKey() != null && !rule.sensorKey().isBlank())
+                .toList();
+        int[] metricIds = new int[usable.size()];
+        double[] thresholds = new double[usable.size()];
+        boolean[] greaterThan = new boolean[usable.size()];
+        int[] outcomes = new int[usable.size()];
+        for (int i = 0; i < usable.size(); i++) {
+            DecisionRule rule = usable.get(i);
+            int metricId = metrics.indexOf(rule.sensorKey());
+            if (metricId < 0) {
+                metricId = metrics.size();
+                metrics.add(rule.sensorKey());
+            }
+            metricIds[i] = metricId;
+            thresholds[i] = rule.threshold();
+            greaterThan[i] = rule.greaterThan();
+            outcomes[i] = rule.action().ordinal();
+        }
+        return new RuleDecisionKernel(metrics.toArray(String[]::new), metricIds, thresholds, greaterThan, outcomes);
+    }
+
+    Action decide(AgentState state, Environment environment) {
+        return decide(state == null ? null : state.sensorReadings(), environment);
+    }
+
+    Action decide(Map<String, Double> readings, Environment environment) {
+        for (int i = 0; i < metricIds.length; i++) {
+            int metricId = metricIds[i];
+            double value = read(metrics[metricId], signalKeys[metricId], readings, environment);
+            if (greaterThan[i] ? value >= thresholds[i] : value <= thresholds[i]) {
+                return ACTIONS[outcomes[i]];
+            }
+        }
+        return Action.WAIT;
+    }
+
+    /**
+     * Agent sensors take precedence over environment signals, matching {@link DecisionRule#matches}.
+     */
+    private static double read(String metric, int signalKey, Map<String, Double> readings, Environment environment) {
+        Double reading = readings == null ? null : readings.get(metric);
+        if (reading != null) {
+            return reading;
+        }
+        return environment == null ? 0.0 : environment.readSignal(signalKey);
+    }
+}
@@ -0,0 +1,29 @@
+package prototype.simulationcore.policy;
+
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import prototype.simulationcore.domain.AgentState;
+
+/**
+ * Column-oriented view of many agents' states for {@link AgentPolicy#decideBatch}. Rows are dense indices chosen
+ * by the provider, typically slots of a resident population.
+ */
+public interface StateColumns {
+
+    double energy(int row);
+
+    double resources(int row);
+
+    Map<String, Double> sensorReadings(int row);
+
+    /**
+     * Materialized state for policies without a columnar implementation.
+     */
+    AgentState state(int row);
+
+    /**
+     * Random stream owned by the row, for stochastic policies. Deterministic policies never call this, so
+     * providers may create streams lazily.
+     */
+    RandomGenerator random(int row);
+}
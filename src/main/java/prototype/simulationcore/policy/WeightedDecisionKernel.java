@@ -0,0 +1,79 @@
+package prototype.simulationcore.policy;
+
+import java.util.Arrays;
+import java.util.Map;
+import prototype.simulationcore.domain.Action;
+import prototype.simulationcore.domain.AgentState;
+
+/**
+ * Immutable, allocation-free form of a {@link WeightedPolicy}: the weighted actions in ordinal order with their
+ * state-independent biases already folded into the base score. Only MOVE and CONSUME depend on the agent state.
+ */
+final class WeightedDecisionKernel {
+
+    private static final Action[] ACTIONS = Action.values();
+    private static final int MOVE = Action.MOVE.ordinal();
+    private static final int CONSUME = Action.CONSUME.ordinal();
+
+    private final int[] ordinals;
+    private final double[] baseScores;
+
+    private WeightedDecisionKernel(int[] ordinals, double[] baseScores) {
+        this.ordinals = ordinals;
+        this.baseScores = baseScores;
+    }
+
+    static WeightedDecisionKernel compile(Map<Action, Double> weights, Map<String, Double> parameters) {
+        double interactionBias = parameters.getOrDefault("interaction_bias", 0.0);
+        double replicationBias = parameters.getOrDefault("replication_bias", -5.0);
+        double restBias = parameters.getOrDefault("rest_bias", 0.0);
+        int count = 0;
+        int[] ordinals = new int[ACTIONS.length];
+        double[] baseScores = new double[ACTIONS.length];
+        for (Action action : ACTIONS) {
+            Double weight = weights.get(action);
+            if (weight == null) {
+                continue;
+            }
+            double bias = switch (action) {
+                case MOVE, CONSUME -> 0.0;
+                case INTERACT -> interactionBias;
+                case REPLICATE -> replicationBias;
+                case WAIT, REST -> restBias;
+            };
+            ordinals[count] = action.ordinal();
+            baseScores[count] = weight + bias;
+            count++;
+        }
+        return new WeightedDecisionKernel(Arrays.copyOf(ordinals, count), Arrays.copyOf(baseScores, count));
+    }
+
+    /**
+     * Ordinal of the highest scoring action; the lowest ordinal wins ties. WAIT when no action is weighted.
+     */
+    int decide(double energy, double resources, boolean hasState) {
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < ordinals.length; i++) {
+            double score = baseScores[i];
+            if (hasState) {
+                if (ordinals[i] == MOVE) {
+                    score += energy * 0.01;
+                } else if (ordinals[i] == CONSUME) {
+                    score += Math.max(0.0, 100.0 - resources);
+                }
+            }
+            if (best < 0 || score > bestScore) {
+                best = ordinals[i];
+                bestScore = score;
+            }
+        }
+        return best < 0 ? Action.WAIT.ordinal() : best;
+    }
+
+    Action decide(AgentState state) {
+        return state == null
+                ? ACTIONS[decide(0.0, 0.0, false)]
+                : ACTIONS[decide(state.energy(), state.resources(), true)];
+    }
+}
@@ -9,7 +9,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.MapKeyEnumerated;
-import java.util.Comparator;
+import jakarta.persistence.Transient;
 import java.util.HashMap;
 import java.util.Map;
 import prototype.simulationcore.domain.Action;
@@ -29,23 +29,46 @@ public class WeightedPolicy extends AbstractAgentPolicy {
     @Column(name = "action_weight")
     private Map<Action, Double> actionWeights = new HashMap<>();
 
+    @Transient
+    private volatile WeightedDecisionKernel kernel;
+
     @Override
     public Action decide(AgentState state, Environment environment) {
-        return actionWeights.entrySet().stream()
-                .max(Comparator.comparingDouble(entry -> contextualize(entry.getKey(), entry.getValue(), state)))
-                .map(Map.Entry::getKey)
-                .orElse(Action.WAIT);
+        return kernel().decide(state);
+    }
+
+    @Override
+    public void decideBatch(StateColumns states, int[] rows, int from, int to, Environment environment,
+                            int[] actions) {
+        WeightedDecisionKernel compiled = kernel();
+        for (int i = from; i < to; i++) {
+            int row = rows[i];
+            actions[row] = compiled.decide(states.energy(row), states.resources(row), true);
+        }
+    }
+
+    @Override
+    public void loadCollections() {
+        super.loadCollections();
+        actionWeights.size();
+    }
+
+    @Override
+    protected void genomeChanged() {
+        super.genomeChanged();
+        kernel = null;
     }
 
-    private double contextualize(Action action, double baseWeight, AgentState state) {
-        double modifier = switch (action) {
-            case MOVE -> state == null ? 0.0 : state.energy() * 0.01;
-            case CONSUME -> state == null ? 0.0 : Math.max(0.0, 100.0 - state.resources());
-            case INTERACT -> parameterOrDefault("interaction_bias", 0.0);
-            case REPLICATE -> parameterOrDefault("replication_bias", -5.0);
-            case WAIT, REST -> parameterOrDefault("rest_bias", 0.0);
-        };
-        return baseWeight + modifier;
+    /**
+     * Compiled on first use after a change; concurrent callers may both compile, which is harmless.
+     */
+    WeightedDecisionKernel kernel() {
+        WeightedDecisionKernel compiled = kernel;
+        if (compiled == null) {
+            compiled = WeightedDecisionKernel.compile(actionWeights, getParameters());
+            kernel = compiled;
+        }
+        return compiled;
     }
 
     public Map<Action, Double> getActionWeights() {
@@ -57,6 +80,7 @@ public class WeightedPolicy extends AbstractAgentPolicy {
         if (weights != null) {
             actionWeights.putAll(weights);
         }
+        genomeChanged();
     }
 }
 
@@ -0,0 +1,17 @@
+package prototype.simulationcore.repository;
+
+import java.util.List;
+import prototype.simulationcore.domain.Agent;
+
+/**
+ * Set-based writes for agents kept resident outside a persistence context. Each call issues one statement per
+ * chunk of rows instead of merging every detached {@link Agent}, which costs a select per agent.
+ */
+public interface AgentBatchRepository {
+
+    /**
+     * Rewrites generation, state, fitness and safety violation count of agents that already have a row. Agents
+     * whose row is gone are skipped rather than re-inserted.
+     */
+    void updateResidentState(List<Agent> agents);
+}
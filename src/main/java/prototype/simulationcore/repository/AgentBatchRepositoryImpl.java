@@ -0,0 +1,76 @@
+package prototype.simulationcore.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.persistence.AgentStateCodec;
+
+class AgentBatchRepositoryImpl implements AgentBatchRepository {
+
+    /**
+     * Rows per statement. Keeps the widest statement (one CASE pair per column) well below driver placeholder
+     * limits.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * Agent columns that change while an agent is resident.
+     */
+    private static final List<Column> STATE_COLUMNS = List.of(
+            new Column("generation", Agent::getGeneration),
+            new Column("state_payload", agent -> AgentStateCodec.encode(agent.getState())),
+            new Column("fitness", Agent::getFitness),
+            new Column("safety_violations", Agent::getSafetyViolations)
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void updateResidentState(List<Agent> agents) {
+        for (List<Agent> chunk : chunks(agents)) {
+            StringBuilder sql = new StringBuilder("update agents set ");
+            for (int i = 0; i < STATE_COLUMNS.size(); i++) {
+                String column = STATE_COLUMNS.get(i).name();
+                sql.append(i == 0 ? "" : ", ").append(column).append(" = case agent_id");
+                sql.append(" when ? then ?".repeat(chunk.size()));
+                sql.append(" else ").append(column).append(" end");
+            }
+            sql.append(" where agent_id in (");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+
+            Query query = entityManager.createNativeQuery(sql.toString());
+            int position = 1;
+            for (Column column : STATE_COLUMNS) {
+                for (Agent agent : chunk) {
+                    query.setParameter(position++, agent.getAgentId());
+                    query.setParameter(position++, column.value().apply(agent));
+                }
+            }
+            for (Agent agent : chunk) {
+                query.setParameter(position++, agent.getAgentId());
+            }
+            query.executeUpdate();
+        }
+    }
+
+    private static List<List<Agent>> chunks(List<Agent> agents) {
+        List<Agent> persisted = agents == null ? List.of()
+                : agents.stream().filter(agent -> agent.getAgentId() != null).toList();
+        List<List<Agent>> chunks = new ArrayList<>((persisted.size() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        for (int from = 0; from < persisted.size(); from += CHUNK_SIZE) {
+            chunks.add(persisted.subList(from, Math.min(persisted.size(), from + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    private record Column(String name, Function<Agent, Object> value) {
+    }
+}
@@ -1,5 +1,7 @@
 package prototype.simulationcore.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +10,8 @@ import prototype.simulationcore.policy.AbstractAgentPolicy;
 public interface AgentPolicyRepository extends JpaRepository<AbstractAgentPolicy, UUID> {
 
     Optional<AbstractAgentPolicy> findTopByOrderByCreatedAtAsc();
+
+    List<AbstractAgentPolicy> findByGenomeHashIn(Collection<String> genomeHashes);
 }
 
 
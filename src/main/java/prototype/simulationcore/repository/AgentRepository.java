@@ -5,7 +5,7 @@ import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import prototype.simulationcore.domain.Agent;
 
-public interface AgentRepository extends JpaRepository<Agent, UUID> {
+public interface AgentRepository extends JpaRepository<Agent, UUID>, AgentBatchRepository {
 
     Optional<Agent> findTopByOrderByCreatedAtAsc();
 }
@@ -32,7 +32,31 @@ public class ConstraintValidator {
     public boolean preActionCheck(Agent agent, Action action, Environment environment) {
         List<Violation> violations = evaluate(agent, action, environment, ConstraintPhase.PRE_ACTION);
         handleViolations(agent, environment, violations);
-        return violations.stream().noneMatch(violation -> violation.severity() == Severity.CRITICAL);
+        return !blocksAction(violations);
+    }
+
+    /**
+     * Pre-action violations without handing them to the {@link ViolationHandler}; population ticks hand them over
+     * later through {@link #recordViolations}.
+     */
+    public List<Violation> evaluatePreAction(Agent agent, Action action, Environment environment) {
+        return evaluate(agent, action, environment, ConstraintPhase.PRE_ACTION);
+    }
+
+    public void recordViolations(Agent agent, Environment environment, List<Violation> violations) {
+        handleViolations(agent, environment, violations);
+    }
+
+    /**
+     * Hands violations of agents resident in a population store to the {@link ViolationHandler} in one batch,
+     * without saving the agents.
+     */
+    public void recordResidentViolations(List<ResidentViolation> violations) {
+        violationHandler.recordResidentViolations(violations);
+    }
+
+    public static boolean blocksAction(List<Violation> violations) {
+        return violations.stream().anyMatch(violation -> violation.severity() == Severity.CRITICAL);
     }
 
     public void postActionAudit(Agent agent, Action action, AgentState resultState) {
@@ -41,6 +65,13 @@ public class ConstraintValidator {
         handleViolations(agent, environment, violations);
     }
 
+    /**
+     * {@link #postActionAudit} without handing the violations to the {@link ViolationHandler}.
+     */
+    public List<Violation> evaluatePostAction(Agent agent, Action action, AgentState resultState) {
+        return evaluate(agent, action, new DefaultEnvironment(resultState), ConstraintPhase.POST_ACTION);
+    }
+
     public List<Violation> auditState(Agent agent) {
         return evaluate(agent, Action.WAIT, new DefaultEnvironment(agent.getState()), ConstraintPhase.POST_ACTION);
     }
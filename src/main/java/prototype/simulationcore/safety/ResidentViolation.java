@@ -0,0 +1,14 @@
+package prototype.simulationcore.safety;
+
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.environment.Environment;
+
+/**
+ * A violation of an agent resident in a population store, to be recorded in a batch through
+ * {@link ViolationHandler#recordResidentViolations}. It stands for {@code count} violations, of which
+ * {@code violation} is the one written as a row.
+ *
+ * @param environment the environment the violation was observed in; {@code null} for the agent's own state
+ */
+public record ResidentViolation(Agent agent, Violation violation, Environment environment, int count) {
+}
@@ -2,6 +2,8 @@ package prototype.simulationcore.safety;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,6 +52,36 @@ public class ViolationHandler {
 
         agent.recordSafetyViolation();
         agentRepository.save(agent);
+        escalate(agent, violation, entity);
+    }
+
+    /**
+     * Records violations of agents resident in a population store in one batch. Each entry raises its agent's
+     * violation count by its {@code count} and becomes one {@link SafetyViolation} row, and the rows are inserted
+     * with a single {@code saveAll}. The agents themselves are not saved: the store writes their violation count
+     * back with its own bulk update.
+     */
+    public void recordResidentViolations(List<ResidentViolation> violations) {
+        if (violations.isEmpty()) {
+            return;
+        }
+        List<SafetyViolation> entities = new ArrayList<>(violations.size());
+        for (ResidentViolation resident : violations) {
+            Agent agent = resident.agent();
+            Environment resolved = resident.environment() == null
+                    ? new DefaultEnvironment(agent.getState())
+                    : resident.environment();
+            entities.add(SafetyViolation.from(agent, resident.violation(), serializeEnvironment(resolved)));
+            agent.setSafetyViolations(agent.getSafetyViolations() + resident.count());
+        }
+        violationRepository.saveAll(entities);
+        for (int i = 0; i < violations.size(); i++) {
+            ResidentViolation resident = violations.get(i);
+            escalate(resident.agent(), resident.violation(), entities.get(i));
+        }
+    }
+
+    private void escalate(Agent agent, Violation violation, SafetyViolation entity) {
         safetyMonitor.recordViolation(agent, entity);
 
         if (agent.getSafetyViolations() >= properties.getEliminationThreshold()) {
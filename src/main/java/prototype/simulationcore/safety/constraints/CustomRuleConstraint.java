@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import prototype.simulationcore.domain.Action;
 import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.domain.StateKeys;
 import prototype.simulationcore.environment.DefaultEnvironment;
 import prototype.simulationcore.environment.Environment;
 import prototype.simulationcore.safety.SafetyConstraint;
@@ -42,7 +43,7 @@ public class CustomRuleConstraint implements SafetyConstraint {
                 : environment;
 
         for (RuleDefinition rule : rules) {
-            double metricValue = resolveMetric(rule.metric(), agent, resolved);
+            double metricValue = resolveMetric(rule, agent, resolved);
             if (!rule.evaluate(metricValue)) {
                 return ValidationResult.failed(
                         getConstraintType(),
@@ -87,12 +88,18 @@ public class CustomRuleConstraint implements SafetyConstraint {
                     log.warn("Skipping custom rule {} - missing metric", definition.getId());
                     continue;
                 }
+                String normalized = metric.toLowerCase(Locale.ROOT);
+                MetricSource source = MetricSource.of(normalized);
+                String key = source.keyed() ? normalized.substring(source.prefix.length()) : null;
                 parsed.add(new RuleDefinition(
                         definition.getId() == null ? metric : definition.getId(),
                         metric,
                         operator,
                         threshold,
-                        definition.getSeverity() == null ? Severity.WARNING : definition.getSeverity()
+                        definition.getSeverity() == null ? Severity.WARNING : definition.getSeverity(),
+                        source,
+                        key,
+                        key == null ? -1 : StateKeys.intern(key)
                 ));
             } catch (IOException e) {
                 log.warn("Failed to parse custom safety rule {}: {}", definition.getId(), e.getMessage());
@@ -101,36 +108,73 @@ public class CustomRuleConstraint implements SafetyConstraint {
         return parsed;
     }
 
-    private double resolveMetric(String metric, Agent agent, Environment environment) {
-        String normalized = metric.toLowerCase(Locale.ROOT);
-        return switch (normalized) {
-            case "energy" -> agent.getState().energy();
-            case "resources" -> agent.getState().resources();
-            case "generation" -> agent.getGeneration();
-            case "position.x" -> agent.getState().position().x();
-            case "position.y" -> agent.getState().position().y();
-            case "position.z" -> agent.getState().position().z();
-            default -> resolveDynamicMetric(normalized, agent, environment);
+    private double resolveMetric(RuleDefinition rule, Agent agent, Environment environment) {
+        return switch (rule.source()) {
+            case ENERGY -> agent.getState().energy();
+            case RESOURCES -> agent.getState().resources();
+            case GENERATION -> agent.getGeneration();
+            case POSITION_X -> agent.getState().position().x();
+            case POSITION_Y -> agent.getState().position().y();
+            case POSITION_Z -> agent.getState().position().z();
+            case SENSOR, ENV -> environment.readSignal(rule.keyId());
+            case INTERNAL -> agent.getState().internalState().getOrDefault(rule.key(), 0.0);
+            case UNKNOWN -> 0.0;
         };
     }
 
-    private double resolveDynamicMetric(String metric, Agent agent, Environment environment) {
-        if (metric.startsWith("sensor.")) {
-            String key = metric.substring("sensor.".length());
-            return environment.readSignal(key);
+    /**
+     * Where a rule's metric is read from, resolved once when the rule is parsed.
+     */
+    private enum MetricSource {
+        ENERGY(null),
+        RESOURCES(null),
+        GENERATION(null),
+        POSITION_X(null),
+        POSITION_Y(null),
+        POSITION_Z(null),
+        SENSOR("sensor."),
+        INTERNAL("internal."),
+        ENV("env."),
+        UNKNOWN(null);
+
+        private final String prefix;
+
+        MetricSource(String prefix) {
+            this.prefix = prefix;
         }
-        if (metric.startsWith("internal.")) {
-            String key = metric.substring("internal.".length());
-            return agent.getState().internalState().getOrDefault(key, 0.0);
+
+        boolean keyed() {
+            return prefix != null;
         }
-        if (metric.startsWith("env.")) {
-            String key = metric.substring("env.".length());
-            return environment.snapshotSensors().getOrDefault(key, 0.0);
+
+        static MetricSource of(String normalized) {
+            return switch (normalized) {
+                case "energy" -> ENERGY;
+                case "resources" -> RESOURCES;
+                case "generation" -> GENERATION;
+                case "position.x" -> POSITION_X;
+                case "position.y" -> POSITION_Y;
+                case "position.z" -> POSITION_Z;
+                default -> {
+                    for (MetricSource source : values()) {
+                        if (source.keyed() && normalized.startsWith(source.prefix)) {
+                            yield source;
+                        }
+                    }
+                    yield UNKNOWN;
+                }
+            };
         }
-        return 0.0;
     }
 
-    private record RuleDefinition(String id, String metric, String operator, double threshold, Severity severity) {
+    private record RuleDefinition(String id,
+                                  String metric,
+                                  String operator,
+                                  double threshold,
+                                  Severity severity,
+                                  MetricSource source,
+                                  String key,
+                                  int keyId) {
 
         boolean evaluate(double value) {
             return switch (operator) {
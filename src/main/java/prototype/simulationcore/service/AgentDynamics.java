@@ -1,28 +1,74 @@
 package prototype.simulationcore.service;
 
-import java.time.Instant;
+import java.time.Clock;
 import java.util.Optional;
 import org.springframework.stereotype.Component;
 import prototype.simulationcore.domain.Action;
 import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.MutableAgentState;
+import prototype.simulationcore.domain.StateKeys;
 
 /**
- * Encapsulates reusable agent transition logic so other services can keep their orchestration lean.
+ * Encapsulates reusable agent transition logic so other services can keep their orchestration lean. Transitions
+ * are defined once, on {@link MutableAgentState}; the {@link AgentState} overloads wrap them for callers at the
+ * edges. The interaction timestamp is read from an injectable {@link Clock} so replays can pin it.
  */
 @Component
 public class AgentDynamics {
 
+    private static final int LAST_INTERACTION = StateKeys.intern("lastInteraction");
+    private static final int TOXICITY = StateKeys.intern("toxicity");
+    private static final double TOXICITY_LIMIT = 80.0;
+
+    private static final Optional<String> ENERGY_DEPLETED = Optional.of("Energy depleted");
+    private static final Optional<String> RESOURCES_NEGATIVE = Optional.of("Resources below zero");
+    private static final Optional<String> TOXICITY_EXCEEDED = Optional.of("Environmental toxicity exceeded");
+
+    private final Clock clock;
+
+    public AgentDynamics() {
+        this(Clock.systemUTC());
+    }
+
+    public AgentDynamics(Clock clock) {
+        this.clock = clock;
+    }
+
     public AgentState apply(Action action, AgentState state) {
         AgentState reference = state == null ? AgentState.initial() : state;
-        return switch (action) {
-            case MOVE -> reference.withPosition(reference.position().offset(1, 0, 0)).adjustEnergy(-5.0);
-            case CONSUME -> reference.adjustResources(10.0).adjustEnergy(2.5);
-            case INTERACT -> reference.withInternalState("lastInteraction", (double) Instant.now().toEpochMilli())
-                    .adjustEnergy(-1.0);
-            case REPLICATE -> reference.adjustResources(-25.0).adjustEnergy(-15.0);
-            case REST -> reference.adjustEnergy(5.0);
-            case WAIT -> reference;
-        };
+        if (action == Action.WAIT) {
+            return reference;
+        }
+        MutableAgentState updated = MutableAgentState.from(reference);
+        apply(action, updated);
+        return updated.toState();
+    }
+
+    /**
+     * Applies the action to {@code state} in place.
+     */
+    public void apply(Action action, MutableAgentState state) {
+        switch (action) {
+            case MOVE -> {
+                state.moveBy(1, 0, 0);
+                state.adjustEnergy(-5.0);
+            }
+            case CONSUME -> {
+                state.adjustResources(10.0);
+                state.adjustEnergy(2.5);
+            }
+            case INTERACT -> {
+                state.setInternal(LAST_INTERACTION, (double) clock.millis());
+                state.adjustEnergy(-1.0);
+            }
+            case REPLICATE -> {
+                state.adjustResources(-25.0);
+                state.adjustEnergy(-15.0);
+            }
+            case REST -> state.adjustEnergy(5.0);
+            case WAIT -> {
+            }
+        }
     }
 
     public double score(Action action) {
@@ -38,17 +84,24 @@ public class AgentDynamics {
 
     public Optional<String> evaluateSafety(AgentState state) {
         AgentState reference = state == null ? AgentState.initial() : state;
-        if (reference.energy() <= 0) {
-            return Optional.of("Energy depleted");
+        return violation(reference.energy(), reference.resources(),
+                reference.sensorReadings().getOrDefault("toxicity", 0.0));
+    }
+
+    public Optional<String> evaluateSafety(MutableAgentState state) {
+        return violation(state.energy(), state.resources(), state.sensor(TOXICITY, 0.0));
+    }
+
+    private static Optional<String> violation(double energy, double resources, double toxicity) {
+        if (energy <= 0) {
+            return ENERGY_DEPLETED;
         }
-        if (reference.resources() < 0) {
-            return Optional.of("Resources below zero");
+        if (resources < 0) {
+            return RESOURCES_NEGATIVE;
         }
-        if (reference.sensorReadings().getOrDefault("toxicity", 0.0) > 80.0) {
-            return Optional.of("Environmental toxicity exceeded");
+        if (toxicity > TOXICITY_LIMIT) {
+            return TOXICITY_EXCEEDED;
         }
         return Optional.empty();
     }
 }
-
-
@@ -0,0 +1,36 @@
+package prototype.simulationcore.service;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Per-agent random streams derived from a seed and an agent id, so that an agent draws the same numbers whichever
+ * thread steps it. Callers fold their own inputs (world seed and tick, run seed and generation) into the seed.
+ */
+public final class AgentRandomStreams {
+
+    private AgentRandomStreams() {
+    }
+
+    /**
+     * @param agentId the agent drawing from the stream; {@code null} derives the stream from the seed alone
+     */
+    public static SplittableRandom stream(long seed, UUID agentId) {
+        long mixed = seed;
+        if (agentId != null) {
+            mixed = mix(mixed ^ agentId.getMostSignificantBits());
+            mixed = mix(mixed ^ agentId.getLeastSignificantBits());
+        }
+        return new SplittableRandom(mixed);
+    }
+
+    /**
+     * SplitMix64 finalizer; spreads correlated inputs (consecutive ticks or generations, similar ids) apart.
+     */
+    public static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,43 @@
+package prototype.simulationcore.service;
+
+import java.util.List;
+import prototype.simulationcore.domain.Action;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.environment.Environment;
+import prototype.simulationcore.safety.Violation;
+import prototype.simulationcore.service.SafetyConstraintsService.SafetyEvaluation;
+
+/**
+ * Outcome of one agent's part in a population tick. Violations are only evaluated here; handing them to the
+ * violation handler is left to {@link SimulationService#flushPopulation}.
+ *
+ * @param environment the environment the agent decided in, after scenario perturbations
+ * @param safety      the state audit after the step; {@code null} for eliminated agents
+ */
+public record AgentStep(
+        int slot,
+        Agent agent,
+        Action action,
+        boolean blocked,
+        boolean eliminated,
+        AgentState previous,
+        AgentState updated,
+        Environment environment,
+        List<Violation> preActionViolations,
+        List<Violation> postActionViolations,
+        SafetyEvaluation safety
+) {
+
+    static AgentStep eliminated(int slot, Agent agent, AgentState state) {
+        return new AgentStep(slot, agent, null, false, true, state, state, null, List.of(), List.of(), null);
+    }
+
+    public boolean hasViolations() {
+        return !preActionViolations.isEmpty() || !postActionViolations.isEmpty();
+    }
+
+    public boolean auditFailed() {
+        return safety != null && safety.violated();
+    }
+}
@@ -0,0 +1,106 @@
+package prototype.simulationcore.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import prototype.simulationcore.adversarial.ScenarioApplicationResult;
+import prototype.simulationcore.adversarial.service.ScenarioInjector;
+import prototype.simulationcore.domain.Action;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.MutableAgentState;
+import prototype.simulationcore.environment.DefaultEnvironment;
+import prototype.simulationcore.environment.Environment;
+import prototype.simulationcore.evolution.service.PopulationStore;
+import prototype.simulationcore.safety.ConstraintValidator;
+import prototype.simulationcore.safety.Violation;
+import prototype.simulationcore.safety.monitor.SafetyMonitor;
+
+/**
+ * Advances every agent of a world's population by one tick: scenarios, decision, pre-action check, dynamics,
+ * post-action check and state audit, split across a fork-join pool once the population is large enough. Each task
+ * only touches its own slots and the agents in them, and each agent draws from a random stream derived from the
+ * world seed, the tick and its id, so outcomes do not depend on scheduling. Nothing here persists or publishes;
+ * the caller merges the returned steps in slot order.
+ */
+@Component
+public class PopulationStepper {
+
+    private final AgentDynamics agentDynamics;
+    private final ScenarioInjector scenarioInjector;
+    private final ConstraintValidator constraintValidator;
+    private final SafetyConstraintsService safetyConstraintsService;
+    private final SafetyMonitor safetyMonitor;
+    private final ForkJoinPool pool;
+
+    public PopulationStepper(AgentDynamics agentDynamics,
+                             ScenarioInjector scenarioInjector,
+                             ConstraintValidator constraintValidator,
+                             SafetyConstraintsService safetyConstraintsService,
+                             SafetyMonitor safetyMonitor,
+                             @Value("${simulation.orchestrator.agent-threads:0}") int threads) {
+        this.agentDynamics = agentDynamics;
+        this.scenarioInjector = scenarioInjector;
+        this.constraintValidator = constraintValidator;
+        this.safetyConstraintsService = safetyConstraintsService;
+        this.safetyMonitor = safetyMonitor;
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Steps every slot and returns one result per slot in slot order. Agents flagged for elimination are left
+     * untouched and reported as eliminated.
+     */
+    public List<AgentStep> step(PopulationStore population, long worldSeed, long tick) {
+        AgentStep[] steps = new AgentStep[population.size()];
+        long tickSeed = AgentRandomStreams.mix(worldSeed ^ AgentRandomStreams.mix(tick));
+        SlotRanges.run(pool, steps.length, true, (from, to) -> {
+            for (int slot = from; slot < to; slot++) {
+                steps[slot] = stepSlot(population, slot, tickSeed);
+            }
+        });
+        return Arrays.asList(steps);
+    }
+
+    private AgentStep stepSlot(PopulationStore population, int slot, long tickSeed) {
+        Agent agent = population.agent(slot);
+        MutableAgentState state = population.mutableState(slot);
+        AgentState previous = state.toState();
+        if (safetyMonitor.isEliminationCandidate(agent.getAgentId())) {
+            return AgentStep.eliminated(slot, agent, previous);
+        }
+        // The store owns the state; the entity is brought up to date so constraints reading it see this tick.
+        agent.setState(previous);
+        String scenarioId = agent.getAgentId() == null
+                ? ScenarioInjector.DEFAULT_SIMULATION_ID
+                : agent.getAgentId().toString();
+        ScenarioApplicationResult scenarioResult = scenarioInjector.applyActiveScenarios(scenarioId,
+                new DefaultEnvironment(previous));
+        Environment environment = scenarioResult.environment();
+        Action action = agent.decide(environment, AgentRandomStreams.stream(tickSeed, agent.getAgentId()));
+        List<Violation> preAction = constraintValidator.evaluatePreAction(agent, action, environment);
+        if (ConstraintValidator.blocksAction(preAction)) {
+            return new AgentStep(slot, agent, action, true, false, previous, previous, environment, preAction,
+                    List.of(), safetyConstraintsService.enforce(agent));
+        }
+        agentDynamics.apply(action, state);
+        double fitnessDelta = agentDynamics.score(action);
+        population.addFitness(slot, fitnessDelta);
+        population.incrementGeneration(slot);
+        AgentState updated = state.toState();
+        agent.setState(updated);
+        scenarioInjector.recordPerformanceImpact(scenarioId, scenarioResult.perturbationRecordIds(), previous, updated,
+                fitnessDelta);
+        List<Violation> postAction = constraintValidator.evaluatePostAction(agent, action, updated);
+        return new AgentStep(slot, agent, action, false, false, previous, updated, environment, preAction, postAction,
+                safetyConstraintsService.enforce(agent));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,142 @@
+package prototype.simulationcore.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.environment.DefaultEnvironment;
+import prototype.simulationcore.environment.Environment;
+import prototype.simulationcore.safety.ResidentViolation;
+import prototype.simulationcore.safety.Violation;
+
+/**
+ * Side effects of population steps that have not reached the database or Kafka yet: violations that still have to
+ * go through the violation handler, agents to delete, and for every agent that moved the state it had at the
+ * previous flush, so that one lineage event spans any number of steps. A tick flushes its own writes; a headless
+ * fast-forward keeps accumulating until a checkpoint. Confined to the thread ticking the world.
+ * <p>
+ * Violations are not kept step by step. Each agent has one tally per interval, closed by
+ * {@link #sealViolations()}, holding the number of violations and the most severe of them (the latest on a tie),
+ * which is what becomes a row; a tick's own flush closes an interval of one tick. Pending memory is thus bounded by agents times intervals rather than by steps, and
+ * {@link #violationsFull()} tells the caller to flush before it passes {@link #MAX_PENDING_VIOLATIONS}.
+ */
+public final class PopulationWrites {
+
+    /**
+     * Sealed tallies after which a fast-forward flushes ahead of its next checkpoint.
+     */
+    public static final int MAX_PENDING_VIOLATIONS = 50_000;
+
+    private final Map<Agent, ViolationTally> openViolations = new IdentityHashMap<>();
+    private final List<ResidentViolation> sealedViolations = new ArrayList<>();
+    private final Set<Agent> eliminated = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Agent, AgentState> flushedStates = new IdentityHashMap<>();
+    private long steps;
+    private long blockedActions;
+
+    public void record(List<AgentStep> agentSteps) {
+        for (AgentStep step : agentSteps) {
+            if (step.eliminated()) {
+                eliminated.add(step.agent());
+                flushedStates.remove(step.agent());
+                continue;
+            }
+            if (step.blocked()) {
+                blockedActions++;
+            } else {
+                flushedStates.putIfAbsent(step.agent(), step.previous());
+            }
+            if (step.hasViolations()) {
+                openViolations.computeIfAbsent(step.agent(), agent -> new ViolationTally()).add(step);
+            }
+            steps++;
+        }
+    }
+
+    public boolean isEmpty() {
+        return steps == 0 && eliminated.isEmpty();
+    }
+
+    /**
+     * Agent steps recorded since the last flush.
+     */
+    public long steps() {
+        return steps;
+    }
+
+    public long blockedActions() {
+        return blockedActions;
+    }
+
+    /**
+     * Closes the current interval: every agent that violated a constraint in it gets one sealed tally.
+     */
+    public void sealViolations() {
+        openViolations.forEach((agent, tally) -> sealedViolations.add(tally.seal(agent)));
+        openViolations.clear();
+    }
+
+    public boolean violationsFull() {
+        return sealedViolations.size() >= MAX_PENDING_VIOLATIONS;
+    }
+
+    /**
+     * Seals the current interval and returns every tally since the last flush.
+     */
+    List<ResidentViolation> drainViolations() {
+        sealViolations();
+        return sealedViolations;
+    }
+
+    Set<Agent> eliminated() {
+        return eliminated;
+    }
+
+    Map<Agent, AgentState> flushedStates() {
+        return flushedStates;
+    }
+
+    void clear() {
+        openViolations.clear();
+        sealedViolations.clear();
+        eliminated.clear();
+        flushedStates.clear();
+        steps = 0;
+        blockedActions = 0;
+    }
+
+    private static final class ViolationTally {
+
+        private int count;
+        private Violation violation;
+        private AgentStep step;
+        private boolean postAction;
+
+        void add(AgentStep agentStep) {
+            for (Violation candidate : agentStep.preActionViolations()) {
+                add(candidate, agentStep, false);
+            }
+            for (Violation candidate : agentStep.postActionViolations()) {
+                add(candidate, agentStep, true);
+            }
+        }
+
+        private void add(Violation candidate, AgentStep agentStep, boolean post) {
+            count++;
+            if (violation == null || candidate.severity().compareTo(violation.severity()) >= 0) {
+                violation = candidate;
+                step = agentStep;
+                postAction = post;
+            }
+        }
+
+        ResidentViolation seal(Agent agent) {
+            Environment environment = postAction ? new DefaultEnvironment(step.updated()) : step.environment();
+            return new ResidentViolation(agent, violation, environment, count);
+        }
+    }
+}
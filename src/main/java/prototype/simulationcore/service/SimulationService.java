@@ -2,8 +2,15 @@ package prototype.simulationcore.service;
 
 import jakarta.transaction.Transactional;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
@@ -22,8 +29,10 @@ import prototype.simulationcore.domain.AgentState;
 import prototype.simulationcore.domain.LineageEvent;
 import prototype.simulationcore.environment.DefaultEnvironment;
 import prototype.simulationcore.environment.Environment;
+import prototype.simulationcore.evolution.service.PopulationStore;
 import prototype.simulationcore.repository.AgentRepository;
 import prototype.simulationcore.safety.ConstraintValidator;
+import prototype.simulationcore.safety.ResidentViolation;
 import prototype.simulationcore.safety.monitor.SafetyMonitor;
 
 @Service
@@ -40,6 +49,7 @@ public class SimulationService {
     private final LineageTrackerService lineageTrackerService;
     private final ConstraintValidator constraintValidator;
     private final SafetyMonitor safetyMonitor;
+    private final PopulationStepper populationStepper;
 
     public SimulationService(EventProducer eventProducer,
                              ApplicationEventPublisher eventPublisher,
@@ -49,7 +59,8 @@ public class SimulationService {
                              ScenarioInjector scenarioInjector,
                              LineageTrackerService lineageTrackerService,
                              ConstraintValidator constraintValidator,
-                             SafetyMonitor safetyMonitor) {
+                             SafetyMonitor safetyMonitor,
+                             PopulationStepper populationStepper) {
         this.eventProducer = eventProducer;
         this.eventPublisher = eventPublisher;
         this.agentRepository = agentRepository;
@@ -59,6 +70,7 @@ public class SimulationService {
         this.lineageTrackerService = lineageTrackerService;
         this.constraintValidator = constraintValidator;
         this.safetyMonitor = safetyMonitor;
+        this.populationStepper = populationStepper;
     }
 
     @CircuitBreakerGuard(serviceId = "simulation-service")
@@ -73,9 +85,7 @@ public class SimulationService {
         }
         AgentState previous = agent.snapshotState();
         Environment environment = new DefaultEnvironment(previous);
-        String simulationId = agent.getAgentId() == null
-                ? ScenarioInjector.DEFAULT_SIMULATION_ID
-                : agent.getAgentId().toString();
+        String simulationId = scenarioSimulationId(agent);
         ScenarioApplicationResult scenarioResult = scenarioInjector.applyActiveScenarios(simulationId, environment);
         Environment actionEnvironment = scenarioResult.environment();
         Action action = agent.decide(actionEnvironment);
@@ -115,6 +125,116 @@ public class SimulationService {
         return resolveActiveAgent();
     }
 
+    /**
+     * Loads the given agents and spawns {@code spawnCount} new ones, with their policies initialised so they can
+     * stay resident in a world's population outside this transaction.
+     */
+    @Transactional
+    public List<Agent> loadResidentAgents(Collection<UUID> agentIds, int spawnCount) {
+        List<Agent> agents = new ArrayList<>(agentRepository.findAllById(agentIds));
+        if (spawnCount > 0) {
+            List<Agent> spawned = new ArrayList<>(spawnCount);
+            for (int i = 0; i < spawnCount; i++) {
+                spawned.add(Agent.bootstrap(policyBootstrapper.resolveDefaultPolicy()));
+            }
+            agents.addAll(agentRepository.saveAll(spawned));
+        }
+        agents.forEach(PopulationStore::loadPolicy);
+        return agents;
+    }
+
+    /**
+     * Population of a world nobody registered agents to: the active agent that {@link #step()} advances, freshly
+     * loaded. Callers must not keep it resident past their next {@link #flushPopulation}.
+     */
+    @Transactional
+    public List<Agent> defaultResidentAgents() {
+        Agent agent = resolveActiveAgent();
+        PopulationStore.loadPolicy(agent);
+        return List.of(agent);
+    }
+
+    /**
+     * Advances every agent of the population by one tick in memory, records the outcome in {@code writes} and
+     * swaps agents flagged for elimination for freshly saved replacements. Nothing else is persisted until
+     * {@link #flushPopulation}.
+     */
+    public List<AgentStep> advancePopulation(PopulationStore population, PopulationWrites writes, long seed, long tick) {
+        List<AgentStep> steps = populationStepper.step(population, seed, tick);
+        writes.record(steps);
+        List<Agent> eliminated = steps.stream()
+                .filter(AgentStep::eliminated)
+                .map(AgentStep::agent)
+                .toList();
+        if (!eliminated.isEmpty()) {
+            recycle(population, eliminated);
+        }
+        return steps;
+    }
+
+    /**
+     * Hands the deferred violation tallies to the violation handler as one batch, deletes eliminated agents
+     * and writes the rest of the population, violation counts included, back with one bulk update per chunk,
+     * then emits one lineage event per agent that moved since the previous flush.
+     */
+    @Transactional
+    public void flushPopulation(PopulationStore population, PopulationWrites writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        List<ResidentViolation> violations = new ArrayList<>();
+        for (ResidentViolation violation : writes.drainViolations()) {
+            int slot = population.slotOf(violation.agent().getAgentId());
+            if (slot < 0) {
+                continue;
+            }
+            violation.agent().setSafetyViolations(population.violations(slot));
+            violations.add(violation);
+        }
+        constraintValidator.recordResidentViolations(violations);
+        for (ResidentViolation violation : violations) {
+            int slot = population.slotOf(violation.agent().getAgentId());
+            while (population.violations(slot) < violation.agent().getSafetyViolations()) {
+                population.recordViolation(slot);
+            }
+        }
+        Set<Agent> eliminated = writes.eliminated();
+        if (!eliminated.isEmpty()) {
+            agentRepository.deleteAll(eliminated);
+        }
+        List<Agent> dirty = population.drainForFlush();
+        dirty.removeIf(eliminated::contains);
+        agentRepository.updateResidentState(dirty);
+
+        writes.flushedStates().forEach((agent, previous) -> {
+            if (!eliminated.contains(agent)) {
+                eventProducer.send(LineageEvent.capture(agent.getAgentId().toString(), previous, agent.getState()));
+            }
+        });
+        eventPublisher.publishEvent(new ServiceOperationEvent(RuntimeServiceIds.SIMULATION_CORE));
+        writes.clear();
+    }
+
+    private static String scenarioSimulationId(Agent agent) {
+        return agent.getAgentId() == null
+                ? ScenarioInjector.DEFAULT_SIMULATION_ID
+                : agent.getAgentId().toString();
+    }
+
+    private void recycle(PopulationStore population, List<Agent> eliminated) {
+        Set<Agent> leaving = Collections.newSetFromMap(new IdentityHashMap<>());
+        leaving.addAll(eliminated);
+        List<Agent> survivors = population.residentAgents().stream()
+                .filter(agent -> !leaving.contains(agent))
+                .toList();
+        List<Agent> replacements = new ArrayList<>(eliminated.size());
+        for (Agent agent : eliminated) {
+            log.warn("Agent {} flagged for elimination. Recycling into new cohort.", agent.getAgentId());
+            replacements.add(Agent.bootstrap(policyBootstrapper.resolveDefaultPolicy()));
+        }
+        population.replace(survivors, agentRepository.saveAll(replacements));
+    }
+
     private Agent resolveActiveAgent() {
         return agentRepository.findTopByOrderByCreatedAtAsc()
                 .orElseGet(() -> agentRepository.save(Agent.bootstrap(policyBootstrapper.resolveDefaultPolicy())));
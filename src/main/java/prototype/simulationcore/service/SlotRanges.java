@@ -0,0 +1,61 @@
+package prototype.simulationcore.service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs an action over the slots {@code [0, size)} of a population, either inline or split in halves across a
+ * fork-join pool down to ranges of about a quarter of the population per worker. The action must only touch its
+ * own slots.
+ */
+public final class SlotRanges {
+
+    private static final int MIN_SPLIT_SIZE = 64;
+
+    private SlotRanges() {
+    }
+
+    /**
+     * @param parallel whether the pool may be used at all; populations of up to {@value #MIN_SPLIT_SIZE} slots
+     *                 always run inline
+     */
+    public static void run(ForkJoinPool pool, int size, boolean parallel, RangeAction action) {
+        if (parallel && size > MIN_SPLIT_SIZE) {
+            int threshold = Math.max(MIN_SPLIT_SIZE, size / (pool.getParallelism() * 4));
+            pool.invoke(new RangeTask(action, 0, size, threshold));
+        } else {
+            action.run(0, size);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RangeAction {
+
+        void run(int from, int to);
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+
+        private final RangeAction action;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        private RangeTask(RangeAction action, int from, int to, int threshold) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                action.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(action, from, middle, threshold), new RangeTask(action, middle, to, threshold));
+        }
+    }
+}
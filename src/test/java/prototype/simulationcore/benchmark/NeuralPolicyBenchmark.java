@@ -0,0 +1,137 @@
+package prototype.simulationcore.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import prototype.simulationcore.domain.Action;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.Position;
+import prototype.simulationcore.policy.NeuralNetwork;
+import prototype.simulationcore.policy.NeuralPolicy;
+import prototype.simulationcore.policy.StateColumns;
+
+/**
+ * Decisions per second of {@link NeuralPolicy} at typical layer sizes, one agent at a time through
+ * {@code decide} and a whole population through {@code decideBatch}. Scores are per decision.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=prototype.simulationcore.benchmark.NeuralPolicyBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NeuralPolicyBenchmark {
+
+    private static final int AGENTS = 4096;
+
+    /**
+     * Hidden layer widths, comma separated.
+     */
+    @Param({"16", "32,32", "64,64"})
+    private String hiddenLayers;
+
+    private NeuralPolicy policy;
+    private AgentState[] states;
+    private Columns columns;
+    private int[] rows;
+    private int[] actions;
+
+    @Setup
+    public void setUp() {
+        int[] hidden = Arrays.stream(hiddenLayers.split(",")).mapToInt(Integer::parseInt).toArray();
+        int[] layers = new int[hidden.length + 2];
+        layers[0] = NeuralPolicy.INPUT_SIZE;
+        System.arraycopy(hidden, 0, layers, 1, hidden.length);
+        layers[layers.length - 1] = Action.values().length;
+        SplittableRandom random = new SplittableRandom(42);
+        policy = new NeuralPolicy();
+        policy.setNetwork(NeuralNetwork.initialize(layers, random));
+
+        states = new AgentState[AGENTS];
+        for (int i = 0; i < AGENTS; i++) {
+            Map<String, Double> sensors = Map.of(
+                    "threat", random.nextDouble() * 100,
+                    "temperature", random.nextDouble() * 40,
+                    "radiation", random.nextDouble() * 10);
+            states[i] = new AgentState(Position.origin(), random.nextDouble() * 100, random.nextDouble() * 100,
+                    sensors, Map.of());
+        }
+        columns = new Columns(List.of(states));
+        rows = new int[AGENTS];
+        for (int i = 0; i < AGENTS; i++) {
+            rows[i] = i;
+        }
+        actions = new int[AGENTS];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AGENTS)
+    public void decidePerAgent(Blackhole blackhole) {
+        for (AgentState state : states) {
+            blackhole.consume(policy.decide(state, null));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AGENTS)
+    public int[] decideBatch() {
+        policy.decideBatch(columns, rows, 0, AGENTS, null, actions);
+        return actions;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NeuralPolicyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private record Columns(List<AgentState> states) implements StateColumns {
+
+        @Override
+        public double energy(int row) {
+            return states.get(row).energy();
+        }
+
+        @Override
+        public double resources(int row) {
+            return states.get(row).resources();
+        }
+
+        @Override
+        public Map<String, Double> sensorReadings(int row) {
+            return states.get(row).sensorReadings();
+        }
+
+        @Override
+        public AgentState state(int row) {
+            return states.get(row);
+        }
+
+        @Override
+        public RandomGenerator random(int row) {
+            return new SplittableRandom(row);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package prototype.simulationcore.benchmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import prototype.simulationcore.adversarial.service.EnvironmentPerturbationRecorder;
+import prototype.simulationcore.adversarial.service.ScenarioInjector;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.evolution.service.PopulationStore;
+import prototype.simulationcore.policy.WeightedPolicy;
+import prototype.simulationcore.safety.ConstraintValidator;
+import prototype.simulationcore.safety.monitor.SafetyMonitor;
+import prototype.simulationcore.service.AgentDynamics;
+import prototype.simulationcore.service.AgentStep;
+import prototype.simulationcore.service.PopulationStepper;
+import prototype.simulationcore.service.SafetyConstraintsService;
+
+/**
+ * Time of one {@link PopulationStepper#step} over the whole population, on one thread and on every core. With
+ * near-linear scaling the time per agent stays flat as the population grows.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=prototype.simulationcore.benchmark.PopulationStepperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PopulationStepperBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int agents;
+
+    /**
+     * Worker threads; 0 uses one per core.
+     */
+    @Param({"1", "0"})
+    private int threads;
+
+    private PopulationStepper stepper;
+    private PopulationStore population;
+    private long tick;
+
+    @Setup
+    public void setUp() {
+        ConstraintValidator constraintValidator = new ConstraintValidator(List.of(), null);
+        stepper = new PopulationStepper(new AgentDynamics(),
+                new ScenarioInjector(new EnvironmentPerturbationRecorder()), constraintValidator,
+                new SafetyConstraintsService(constraintValidator), new SafetyMonitor(null), threads);
+        List<Agent> resident = new ArrayList<>(agents);
+        for (int i = 0; i < agents; i++) {
+            resident.add(Agent.restore(UUID.randomUUID(), Instant.EPOCH, new WeightedPolicy()));
+        }
+        population = PopulationStore.of(resident);
+    }
+
+    @Benchmark
+    public List<AgentStep> step() {
+        return stepper.step(population, 42L, ++tick);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PopulationStepperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,131 @@
+package prototype.simulationcore.benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.evolution.selection.SelectionSettings;
+import prototype.simulationcore.evolution.selection.SelectionStrategy;
+import prototype.simulationcore.evolution.selection.SelectionStrategyFactory;
+import prototype.simulationcore.evolution.selection.SelectionStrategyType;
+
+/**
+ * Compares the selection operators in {@link SelectionStrategyFactory} against the previous linear-scan roulette
+ * and full-sort elitism. Selects half of the population, as the default settings do.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=prototype.simulationcore.benchmark.SelectionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectionBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int populationSize;
+
+    private List<Agent> population;
+    private int survivorCount;
+    private SelectionStrategy roulette;
+    private SelectionStrategy elitism;
+    private SelectionStrategy safetyAware;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        population = new ArrayList<>(populationSize);
+        for (int i = 0; i < populationSize; i++) {
+            Agent agent = Agent.bootstrap(null);
+            agent.setFitness(random.nextGaussian() * 10.0);
+            agent.setSafetyViolations(random.nextInt(3));
+            population.add(agent);
+        }
+        survivorCount = populationSize / 2;
+        SelectionStrategyFactory factory = new SelectionStrategyFactory();
+        roulette = factory.create(new SelectionSettings(SelectionStrategyType.ROULETTE,
+                survivorCount, 2, survivorCount, 5.0));
+        elitism = factory.create(new SelectionSettings(SelectionStrategyType.ELITISM,
+                survivorCount, 2, survivorCount, 5.0));
+        safetyAware = factory.create(new SelectionSettings(SelectionStrategyType.SAFETY_AWARE,
+                survivorCount, 2, survivorCount, 5.0));
+    }
+
+    @Benchmark
+    public List<Agent> roulettePrefixSum() {
+        return roulette.select(population, survivorCount);
+    }
+
+    @Benchmark
+    public List<Agent> rouletteLinearScan() {
+        double offset = Math.max(0.0, -population.stream().mapToDouble(Agent::getFitness).min().orElse(0.0));
+        double total = population.stream().mapToDouble(agent -> agent.getFitness() + offset + 1e-6).sum();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Agent> survivors = new ArrayList<>(survivorCount);
+        for (int i = 0; i < survivorCount; i++) {
+            double slice = random.nextDouble(total);
+            double cumulative = 0.0;
+            for (Agent agent : population) {
+                cumulative += agent.getFitness() + offset + 1e-6;
+                if (cumulative >= slice) {
+                    survivors.add(agent);
+                    break;
+                }
+            }
+        }
+        return survivors;
+    }
+
+    @Benchmark
+    public List<Agent> elitismBoundedHeap() {
+        return elitism.select(population, survivorCount);
+    }
+
+    @Benchmark
+    public List<Agent> elitismFullSort() {
+        return population.stream()
+                .sorted(Comparator.comparingDouble(Agent::getFitness).reversed())
+                .limit(survivorCount)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Agent> safetyAwareBoundedHeap() {
+        return safetyAware.select(population, survivorCount);
+    }
+
+    @Benchmark
+    public List<Agent> safetyAwareFullSort() {
+        return population.stream()
+                .sorted((a, b) -> Double.compare(
+                        b.getFitness() - 5.0 * b.getSafetyViolations(),
+                        a.getFitness() - 5.0 * a.getSafetyViolations()))
+                .limit(survivorCount)
+                .toList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SelectionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
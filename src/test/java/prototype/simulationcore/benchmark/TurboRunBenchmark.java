@@ -0,0 +1,130 @@
+package prototype.simulationcore.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+import prototype.lineageruntime.health.HealthMonitorService;
+import prototype.lineageruntime.kafka.EventProducer;
+import prototype.lineageruntime.lineage.service.LineageTrackerService;
+import prototype.simulationcore.adversarial.service.EnvironmentPerturbationRecorder;
+import prototype.simulationcore.adversarial.service.ScenarioInjector;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.kafka.SimulationEventPublisher;
+import prototype.simulationcore.orchestrator.ScenarioEngine;
+import prototype.simulationcore.orchestrator.SimulationConfig;
+import prototype.simulationcore.orchestrator.SimulationWorld;
+import prototype.simulationcore.orchestrator.TickManager;
+import prototype.simulationcore.orchestrator.TurboRunOptions;
+import prototype.simulationcore.policy.WeightedPolicy;
+import prototype.simulationcore.repository.AgentRepository;
+import prototype.simulationcore.safety.ConstraintValidator;
+import prototype.simulationcore.safety.monitor.SafetyMonitor;
+import prototype.simulationcore.service.AgentDynamics;
+import prototype.simulationcore.service.AgentPolicyBootstrapper;
+import prototype.simulationcore.service.PopulationStepper;
+import prototype.simulationcore.service.SafetyConstraintsService;
+import prototype.simulationcore.service.SimulationService;
+
+/**
+ * Cost per tick of the interactive tick path ({@link TickManager#processTick}, what {@code runUntil} loops over)
+ * against the headless fast-forward ({@link TickManager#fastForward}) with default {@link TurboRunOptions}.
+ * Repositories, Kafka producers and the health monitor are no-op stubs, so the scores only cover the in-process
+ * work each path does per tick; database and broker round trips come on top of the interactive path.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=prototype.simulationcore.benchmark.TurboRunBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TurboRunBenchmark {
+
+    private static final int TICKS = 10_000;
+
+    @Param({"1", "1000"})
+    private int agents;
+
+    private TickManager tickManager;
+    private SimulationWorld world;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConstraintValidator constraintValidator = new ConstraintValidator(List.of(), null);
+        SafetyMonitor safetyMonitor = new SafetyMonitor(null);
+        ScenarioInjector scenarioInjector = new ScenarioInjector(new EnvironmentPerturbationRecorder());
+        AgentDynamics agentDynamics = new AgentDynamics();
+        SimulationService simulationService = new SimulationService(
+                stub(EventProducer.class),
+                event -> { },
+                stub(AgentRepository.class),
+                stub(AgentPolicyBootstrapper.class),
+                agentDynamics,
+                scenarioInjector,
+                stub(LineageTrackerService.class),
+                constraintValidator,
+                safetyMonitor,
+                new PopulationStepper(agentDynamics, scenarioInjector, constraintValidator,
+                        new SafetyConstraintsService(constraintValidator), safetyMonitor, 0));
+        tickManager = new TickManager(simulationService, stub(HealthMonitorService.class),
+                stub(SimulationEventPublisher.class), new ScenarioEngine(new DefaultResourceLoader(), new ObjectMapper()));
+
+        world = new SimulationWorld(new SimulationConfig("benchmark", null, 0, null, Map.of()));
+        List<Agent> population = new ArrayList<>(agents);
+        for (int i = 0; i < agents; i++) {
+            population.add(Agent.restore(UUID.randomUUID(), Instant.EPOCH, new WeightedPolicy()));
+        }
+        world.registerAgents(population);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public long processTick() {
+        for (int i = 0; i < TICKS; i++) {
+            tickManager.processTick(world);
+        }
+        return world.getCurrentTick();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public long fastForward() {
+        return tickManager.fastForward(world, world.getCurrentTick() + TICKS, TurboRunOptions.defaults());
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TurboRunBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
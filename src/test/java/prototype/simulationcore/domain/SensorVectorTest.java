@@ -0,0 +1,70 @@
+package prototype.simulationcore.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class SensorVectorTest {
+
+    @Test
+    void readsAndWritesByInternedKey() {
+        int toxicity = StateKeys.intern("toxicity");
+        SensorVector vector = SensorVector.of(Map.of("toxicity", 12.0));
+        int threat = StateKeys.intern("threat");
+
+        vector.put(threat, 3.0);
+
+        assertThat(vector.get(toxicity)).isEqualTo(12.0);
+        assertThat(vector.get(threat)).isEqualTo(3.0);
+        assertThat(vector.contains(StateKeys.intern("unset"))).isFalse();
+        assertThat(vector.get(StateKeys.idOf("never-seen"), 7.0)).isEqualTo(7.0);
+        assertThat(vector.toMap()).containsExactlyInAnyOrderEntriesOf(Map.of("toxicity", 12.0, "threat", 3.0));
+    }
+
+    @Test
+    void copiesAreIndependentAndIterateInKeyOrder() {
+        StateKeys.intern("a");
+        StateKeys.intern("b");
+        SensorVector original = SensorVector.of(Map.of("a", 1.0, "b", 2.0));
+        SensorVector copy = original.copy();
+
+        copy.remove(StateKeys.idOf("a"));
+        copy.put(StateKeys.intern("c"), 3.0);
+
+        assertThat(original.toMap()).isEqualTo(Map.of("a", 1.0, "b", 2.0));
+        assertThat(copy.toMap()).isEqualTo(Map.of("b", 2.0, "c", 3.0));
+        int visited = 0;
+        for (int key = copy.nextKey(0), previous = -1; key >= 0; previous = key, key = copy.nextKey(key + 1)) {
+            assertThat(key).isGreaterThan(previous);
+            visited++;
+        }
+        assertThat(visited).isEqualTo(copy.size());
+    }
+
+    @Test
+    void readingsWithUnboundedDistinctKeysDoNotGrowTheKeyTable() {
+        Map<String, Double> readings = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            readings.put("reading-" + UUID.randomUUID(), (double) i);
+        }
+        int before = StateKeys.count();
+
+        SensorVector vector = SensorVector.of(readings);
+        SensorVector copy = vector.copy();
+        String spilledName = vector.spilled().keySet().iterator().next();
+        copy.put(spilledName, -1.0);
+
+        assertThat(StateKeys.count()).isLessThanOrEqualTo(Math.max(before, StateKeys.READING_KEY_LIMIT));
+        assertThat(vector.size()).isEqualTo(readings.size());
+        assertThat(vector.spilled()).hasSizeGreaterThanOrEqualTo(readings.size() - StateKeys.READING_KEY_LIMIT);
+        assertThat(vector.toMap()).isEqualTo(readings);
+        readings.forEach((name, value) -> assertThat(vector.get(name, Double.NaN)).isEqualTo(value));
+        assertThat(copy.get(spilledName, 0.0)).isEqualTo(-1.0);
+        assertThat(vector.get(spilledName, 0.0)).isEqualTo(readings.get(spilledName));
+        assertThat(StateKeys.internIfRoom("reading-" + UUID.randomUUID())).isEqualTo(-1);
+        assertThat(StateKeys.internIfRoom(spilledName)).isEqualTo(-1);
+    }
+}
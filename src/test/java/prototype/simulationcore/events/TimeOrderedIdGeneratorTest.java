@@ -0,0 +1,45 @@
+package prototype.simulationcore.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    void idsIncreaseWithinAMillisecondAndAcrossTime() {
+        long[] now = {1_700_000_000_000L};
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7, () -> now[0]);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            ids.add(generator.nextId().toString());
+        }
+        now[0] += 1;
+        ids.add(generator.nextId().toString());
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void encodesTimestampAndVersion() {
+        long millis = 1_700_000_000_123L;
+        UUID id = new TimeOrderedIdGenerator(1, () -> millis).nextId();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(millis);
+    }
+
+    @Test
+    void clockGoingBackwardsKeepsIdsMonotonic() {
+        long[] now = {1_700_000_000_000L};
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3, () -> now[0]);
+        String first = generator.nextId().toString();
+        now[0] -= 5_000;
+
+        assertThat(generator.nextId().toString()).isGreaterThan(first);
+    }
+}
@@ -0,0 +1,136 @@
+package prototype.simulationcore.evolution.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import prototype.simulationcore.evolution.domain.RewardBucket;
+import prototype.simulationcore.evolution.domain.RewardMoments;
+import prototype.simulationcore.evolution.domain.RewardPoint;
+import prototype.simulationcore.evolution.domain.RewardRing;
+import prototype.simulationcore.evolution.domain.RewardTrajectory;
+import prototype.simulationcore.evolution.repository.RewardTrajectoryBatchRepository.BucketRow;
+import prototype.simulationcore.evolution.repository.RewardTrajectoryBatchRepository.TrajectoryRow;
+
+/**
+ * Runs the native statements of {@link RewardTrajectoryBatchRepositoryImpl} against H2 in MySQL mode, with
+ * lower-case identifiers as MySQL reports them in {@code information_schema}.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reward-trajectories;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RewardTrajectoryRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private RewardTrajectoryRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    /**
+     * DDL commits in H2, so the rows of a test that created the legacy table outlive its rollback.
+     */
+    @AfterEach
+    void dropLegacyTable() {
+        entityManager.createNativeQuery("delete from reward_buckets").executeUpdate();
+        entityManager.createNativeQuery("delete from reward_trajectories").executeUpdate();
+        entityManager.createNativeQuery("drop table if exists reward_points").executeUpdate();
+    }
+
+    @Test
+    void insertsAndUpdatesTrajectoriesWithBuckets() {
+        UUID trajectoryId = UUID.randomUUID();
+        UUID agentId = UUID.randomUUID();
+        RewardRing ring = new RewardRing(4);
+        RewardMoments moments = new RewardMoments();
+        for (long tick = 1; tick <= 3; tick++) {
+            ring.append(tick, tick * 0.5, NOW, RewardRing.DEFAULT_BUCKET_SIZE);
+            moments.add(tick, tick * 0.5);
+        }
+        repository.insertTrajectories(List.of(new TrajectoryRow(trajectoryId, agentId, 3.0, null, moments, ring, 1)),
+                NOW);
+        repository.insertBuckets(List.of(new BucketRow(trajectoryId, 0, new RewardBucket(0, 0, 1, 0.0, 0.0, 0.0))));
+        entityManager.clear();
+
+        RewardTrajectory inserted = repository.findByAgentId(agentId).orElseThrow();
+        assertThat(inserted.getTrajectoryId()).isEqualTo(trajectoryId);
+        assertThat(inserted.getCumulativeReward()).isEqualTo(3.0);
+        assertThat(inserted.getGenerationRank()).isNull();
+        assertThat(inserted.getRecent()).isEqualTo(ring);
+        assertThat(inserted.getMoments().getCount()).isEqualTo(3);
+        assertThat(inserted.getMoments().getMeanReward()).isEqualTo(moments.getMeanReward());
+        assertThat(inserted.getBucketCount()).isEqualTo(1);
+        assertThat(inserted.getBuckets()).singleElement()
+                .extracting(RewardBucket::getPointCount).isEqualTo(1);
+
+        ring.append(4, 2.0, NOW, RewardRing.DEFAULT_BUCKET_SIZE);
+        moments.add(4, 2.0);
+        UUID otherId = UUID.randomUUID();
+        UUID otherAgent = UUID.randomUUID();
+        repository.insertTrajectories(List.of(new TrajectoryRow(otherId, otherAgent, 1.0, 2, new RewardMoments(),
+                new RewardRing(4), 0)), NOW);
+        repository.updateTrajectories(List.of(
+                new TrajectoryRow(trajectoryId, agentId, 5.0, 7, moments, ring, 1),
+                new TrajectoryRow(otherId, otherAgent, -1.0, null, new RewardMoments(), new RewardRing(4), 0)),
+                NOW.plusSeconds(60));
+        entityManager.clear();
+
+        RewardTrajectory updated = repository.findByAgentId(agentId).orElseThrow();
+        assertThat(updated.getCumulativeReward()).isEqualTo(5.0);
+        assertThat(updated.getGenerationRank()).isEqualTo(7);
+        assertThat(updated.getRecent()).isEqualTo(ring);
+        assertThat(updated.getMoments().getCount()).isEqualTo(4);
+        assertThat(updated.getUpdatedAt()).isEqualTo(NOW.plusSeconds(60));
+        RewardTrajectory other = repository.findByAgentId(otherAgent).orElseThrow();
+        assertThat(other.getCumulativeReward()).isEqualTo(-1.0);
+        assertThat(other.getGenerationRank()).as("rank kept when the row carries none").isEqualTo(2);
+        assertThat(repository.findAllByAgentIds(List.of(agentId, otherAgent)))
+                .extracting(RewardTrajectory::getTrajectoryId)
+                .containsExactlyInAnyOrder(trajectoryId, otherId);
+    }
+
+    @Test
+    void findsLegacyTrajectoriesOnlyWhileTheLegacyTableExists() {
+        RewardTrajectory legacy = repository.saveAndFlush(new RewardTrajectory(UUID.randomUUID()));
+        entityManager.createNativeQuery("update reward_trajectories set recent_points = null")
+                .executeUpdate();
+        assertThat(repository.findLegacyTrajectories(10)).isEmpty();
+        assertThat(repository.findLegacyPoints(List.of(legacy.getTrajectoryId()))).isEmpty();
+
+        entityManager.createNativeQuery("create table reward_points (trajectory_id uuid not null, "
+                + "point_index int not null, tick_mark bigint, reward_value double, recorded_at timestamp(6))")
+                .executeUpdate();
+        entityManager.createNativeQuery("insert into reward_points values (?, 1, 20, 2.5, ?), (?, 0, 10, 1.5, ?)")
+                .setParameter(1, legacy.getTrajectoryId())
+                .setParameter(2, NOW.plusSeconds(1))
+                .setParameter(3, legacy.getTrajectoryId())
+                .setParameter(4, NOW)
+                .executeUpdate();
+        entityManager.clear();
+
+        assertThat(repository.findLegacyTrajectories(10))
+                .extracting(RewardTrajectory::getTrajectoryId)
+                .containsExactly(legacy.getTrajectoryId());
+        Map<UUID, List<RewardPoint>> points = repository.findLegacyPoints(List.of(legacy.getTrajectoryId()));
+        assertThat(points.get(legacy.getTrajectoryId()))
+                .extracting(RewardPoint::getTick, RewardPoint::getReward)
+                .containsExactly(Tuple.tuple(10L, 1.5),
+                        Tuple.tuple(20L, 2.5));
+    }
+}
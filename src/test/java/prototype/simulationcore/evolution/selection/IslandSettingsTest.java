@@ -0,0 +1,43 @@
+package prototype.simulationcore.evolution.selection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class IslandSettingsTest {
+
+    @Test
+    void ringSendsToNextIsland() {
+        IslandSettings settings = new IslandSettings(4, 5, 2, MigrationTopology.RING, List.of());
+
+        assertThat(settings.destinations(0)).containsExactly(1);
+        assertThat(settings.destinations(3)).containsExactly(0);
+    }
+
+    @Test
+    void allToAllSendsToEveryOtherIsland() {
+        IslandSettings settings = new IslandSettings(4, 5, 2, MigrationTopology.ALL_TO_ALL, List.of());
+
+        assertThat(settings.destinations(2)).containsExactly(0, 1, 3);
+    }
+
+    @Test
+    void fitToKeepsAtLeastTwoAgentsPerIsland() {
+        IslandSettings settings = new IslandSettings(8, 1, 1, null, null).fitTo(6);
+
+        assertThat(settings.islandCount()).isEqualTo(3);
+        assertThat(settings.topology()).isEqualTo(MigrationTopology.RING);
+        assertThat(IslandSettings.single().migrates()).isFalse();
+    }
+
+    @Test
+    void strategiesCycleAcrossIslands() {
+        IslandSettings settings = new IslandSettings(3, 1, 1, MigrationTopology.RING,
+                List.of(SelectionStrategyType.ROULETTE, SelectionStrategyType.SAFETY_AWARE));
+
+        assertThat(settings.strategyFor(2, SelectionStrategyType.TOURNAMENT)).isEqualTo(SelectionStrategyType.ROULETTE);
+        assertThat(IslandSettings.single().strategyFor(2, SelectionStrategyType.TOURNAMENT))
+                .isEqualTo(SelectionStrategyType.TOURNAMENT);
+    }
+}
@@ -0,0 +1,90 @@
+package prototype.simulationcore.evolution.selection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import prototype.simulationcore.domain.Agent;
+
+class SelectionStrategyFactoryTest {
+
+    private final SelectionStrategyFactory factory = new SelectionStrategyFactory();
+
+    @Test
+    void elitismMatchesStableFullSort() {
+        List<Agent> population = population(2_000, new Random(11));
+        SelectionStrategy strategy = factory.create(
+                new SelectionSettings(SelectionStrategyType.ELITISM, 50, 2, 50, 0.0));
+
+        List<Agent> expected = population.stream()
+                .sorted(Comparator.comparingDouble(Agent::getFitness).reversed())
+                .limit(50)
+                .toList();
+
+        assertThat(strategy.select(population, 50)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void safetyAwareMatchesStableFullSort() {
+        List<Agent> population = population(2_000, new Random(17));
+        double penalty = 2.5;
+        SelectionStrategy strategy = factory.create(
+                new SelectionSettings(SelectionStrategyType.SAFETY_AWARE, 75, 2, 1, penalty));
+
+        List<Agent> expected = population.stream()
+                .sorted(Comparator.comparingDouble(
+                        (Agent agent) -> agent.getFitness() - penalty * agent.getSafetyViolations()).reversed())
+                .limit(75)
+                .toList();
+
+        assertThat(strategy.select(population, 75)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void topKHandlesLimitsBeyondPopulation() {
+        assertThat(SelectionStrategyFactory.topK(new double[] {1.0, 3.0, 2.0}, 10)).containsExactly(1, 2, 0);
+        assertThat(SelectionStrategyFactory.topK(new double[] {1.0, 3.0}, 0)).isEmpty();
+    }
+
+    @Test
+    void rouletteSearchFindsOwningSlice() {
+        double[] cumulative = {1.0, 1.0, 4.0, 10.0};
+
+        assertThat(SelectionStrategyFactory.firstAtLeast(cumulative, 0.0)).isZero();
+        assertThat(SelectionStrategyFactory.firstAtLeast(cumulative, 1.0)).isZero();
+        assertThat(SelectionStrategyFactory.firstAtLeast(cumulative, 1.5)).isEqualTo(2);
+        assertThat(SelectionStrategyFactory.firstAtLeast(cumulative, 9.99)).isEqualTo(3);
+    }
+
+    @Test
+    void rouletteFavoursFitterAgents() {
+        List<Agent> population = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Agent agent = Agent.bootstrap(null);
+            agent.setFitness(i == 7 ? 1_000.0 : 1.0);
+            population.add(agent);
+        }
+        SelectionStrategy strategy = factory.create(
+                new SelectionSettings(SelectionStrategyType.ROULETTE, 200, 2, 1, 0.0));
+
+        List<Agent> selected = strategy.select(population, 200);
+
+        assertThat(selected).hasSize(200);
+        assertThat(selected.stream().filter(agent -> agent == population.get(7)).count()).isGreaterThan(150);
+    }
+
+    private List<Agent> population(int size, Random random) {
+        List<Agent> population = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Agent agent = Agent.bootstrap(null);
+            // Coarse fitness values so that ties are common and ordering between them is exercised.
+            agent.setFitness(random.nextInt(200) / 4.0);
+            agent.setSafetyViolations(random.nextInt(4));
+            population.add(agent);
+        }
+        return population;
+    }
+}
@@ -0,0 +1,79 @@
+package prototype.simulationcore.evolution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.Position;
+import prototype.simulationcore.evolution.dto.AgentSummary;
+import prototype.simulationcore.evolution.dto.GenerationReport;
+import prototype.simulationcore.evolution.dto.GenerationStats;
+import prototype.simulationcore.evolution.dto.IslandReport;
+import prototype.simulationcore.evolution.selection.IslandSettings;
+import prototype.simulationcore.evolution.selection.MigrationTopology;
+import prototype.simulationcore.evolution.selection.SelectionSettings;
+import prototype.simulationcore.evolution.selection.SelectionStrategyType;
+import prototype.simulationcore.evolution.service.EvolutionCheckpointCodec.AgentImage;
+import prototype.simulationcore.evolution.service.EvolutionCheckpointCodec.Checkpoint;
+import prototype.simulationcore.evolution.service.EvolutionCheckpointCodec.IslandImage;
+import prototype.simulationcore.evolution.service.EvolutionCheckpointCodec.RunImage;
+
+class EvolutionCheckpointCodecTest {
+
+    @Test
+    void roundTripsRunsAgentsAndHistory() {
+        UUID runId = UUID.randomUUID();
+        UUID policyId = UUID.randomUUID();
+        AgentImage first = new AgentImage(UUID.randomUUID(), null, policyId, Instant.ofEpochMilli(1_000L), 3, 12.5, 1,
+                new AgentState(new Position(1.0, -2.0, 0.5), 80.0, 4.0, Map.of("threat", 0.25), Map.of()));
+        AgentImage second = new AgentImage(UUID.randomUUID(), first.agentId(), policyId, null, 4, -1.0, 0,
+                new AgentState(Position.origin(), 55.0, 0.0, Map.of("threat", 0.5, "toxicity", 0.1),
+                        Map.of("memory", 2.0)));
+        GenerationReport islandReport = new GenerationReport(runId, 7, new GenerationStats(1, 2, 3, 4, 5),
+                List.of(), List.of());
+        GenerationReport report = new GenerationReport(runId, 7, new GenerationStats(6, 7, 8, 9, 10),
+                List.of(new AgentSummary(first.agentId(), 12.5, 1, 30.0)), List.of(second.agentId()),
+                List.of(new IslandReport(0, SelectionStrategyType.ELITISM, 2, 1, islandReport)));
+        RunImage run = new RunImage(runId, 42L, 7, 3, 96L, 0.15, true,
+                Instant.parse("2024-01-01T00:00:00.123456789Z"), Instant.parse("2024-01-01T00:05:00Z"), 2,
+                SelectionSettings.defaults(2),
+                new IslandSettings(1, 2, 1, MigrationTopology.ALL_TO_ALL, List.of(SelectionStrategyType.ELITISM)),
+                List.of(new IslandImage(2, 1, List.of(first, second))), List.of(report));
+
+        Checkpoint decoded = EvolutionCheckpointCodec.decode(
+                EvolutionCheckpointCodec.encode(new Checkpoint(runId, List.of(run))));
+
+        assertThat(decoded.defaultRunId()).isEqualTo(runId);
+        assertThat(decoded.runs()).containsExactly(run);
+    }
+
+    @Test
+    void storesRepeatedPolicyIdsOnce() {
+        UUID policyId = UUID.randomUUID();
+        List<AgentImage> agents = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            agents.add(new AgentImage(UUID.randomUUID(), null, policyId, null, 0, 0.0, 0, AgentState.initial()));
+        }
+        RunImage run = new RunImage(UUID.randomUUID(), 1L, 0, 0, 0L, 0.1, true, Instant.EPOCH, Instant.EPOCH,
+                agents.size(), SelectionSettings.defaults(agents.size()), IslandSettings.single(),
+                List.of(new IslandImage(agents.size(), 0, agents)), List.of());
+
+        byte[] encoded = EvolutionCheckpointCodec.encode(new Checkpoint(run.runId(), List.of(run)));
+
+        assertThat(encoded.length).isLessThan(agents.size() * 100);
+        assertThat(EvolutionCheckpointCodec.decode(encoded).runs().get(0).islands().get(0).agents())
+                .containsExactlyElementsOf(agents);
+    }
+
+    @Test
+    void rejectsForeignPayloads() {
+        assertThatThrownBy(() -> EvolutionCheckpointCodec.decode(new byte[] {1, 2, 3}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -2,11 +2,18 @@ package prototype.simulationcore.evolution.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import prototype.ContainerizedSpringBootTest;
+import prototype.simulationcore.evolution.dto.AgentSummary;
 import prototype.simulationcore.evolution.dto.EvolutionStatus;
 import prototype.simulationcore.evolution.dto.GenerationReport;
+import prototype.simulationcore.evolution.dto.IslandReport;
+import prototype.simulationcore.evolution.selection.IslandSettings;
+import prototype.simulationcore.evolution.selection.MigrationTopology;
+import prototype.simulationcore.evolution.selection.SelectionStrategyType;
 
 class EvolutionLoopIntegrationTest extends ContainerizedSpringBootTest {
 
@@ -25,5 +32,78 @@ class EvolutionLoopIntegrationTest extends ContainerizedSpringBootTest {
         assertThat(report.bestAgents()).isNotEmpty();
         assertThat(report.safetyViolations()).isNotNull();
     }
-}
 
+    @Test
+    void islandRunReportsPerIslandAndMigrates() {
+        IslandSettings islands = new IslandSettings(3, 1, 1, MigrationTopology.RING,
+                List.of(SelectionStrategyType.TOURNAMENT, SelectionStrategyType.ELITISM));
+        EvolutionStatus status = evolutionLoopService.initializePopulation(12, null, null, 0.2, 99L, islands);
+        assertThat(status.islandCount()).isEqualTo(3);
+
+        GenerationReport report = evolutionLoopService.runGeneration();
+
+        assertThat(report.islands()).hasSize(3);
+        assertThat(report.islands()).extracting(IslandReport::selectionStrategy)
+                .containsExactly(SelectionStrategyType.TOURNAMENT, SelectionStrategyType.ELITISM,
+                        SelectionStrategyType.TOURNAMENT);
+        assertThat(report.islands()).allSatisfy(island -> assertThat(island.immigrants()).isEqualTo(1));
+        assertThat(report.islands().stream().mapToInt(IslandReport::populationSize).sum()).isEqualTo(12);
+        assertThat(evolutionLoopService.status().populationSize()).isEqualTo(12);
+    }
+
+    @Test
+    void independentRunsEvolveSeparately() {
+        EvolutionStatus first = evolutionLoopService.initializePopulation(4, null, null, 0.1, 1L);
+        EvolutionStatus second = evolutionLoopService.initializePopulation(6, null, null, 0.1, 2L);
+
+        evolutionLoopService.runGeneration(first.runId());
+        evolutionLoopService.runGeneration(first.runId());
+        GenerationReport report = evolutionLoopService.runGeneration(second.runId());
+
+        assertThat(report.runId()).isEqualTo(second.runId());
+        assertThat(evolutionLoopService.status(first.runId()).generation()).isEqualTo(2);
+        assertThat(evolutionLoopService.status(second.runId()).generation()).isEqualTo(1);
+        assertThat(evolutionLoopService.status().runId()).isEqualTo(second.runId());
+        assertThat(evolutionLoopService.getGenerationReport(first.runId(), 2).runId()).isEqualTo(first.runId());
+    }
+
+    @Test
+    void streamsGenerationRangeFromReportLog() {
+        EvolutionStatus started = evolutionLoopService.initializePopulation(4, null, null, 0.1, 3L);
+        for (int i = 0; i < 30; i++) {
+            evolutionLoopService.runGeneration(started.runId());
+        }
+
+        List<Integer> streamed = new ArrayList<>();
+        evolutionLoopService.streamGenerationReports(started.runId(), 2, 6,
+                report -> streamed.add(report.generation()));
+
+        assertThat(streamed).containsExactly(2, 3, 4, 5, 6);
+        assertThat(evolutionLoopService.getGenerationReport(started.runId(), 1).generation()).isEqualTo(1);
+        assertThat(evolutionLoopService.getGenerationReport(started.runId(), 2).runId()).isNull();
+        assertThat(evolutionLoopService.getGenerationReport(started.runId(), 31).runId()).isNull();
+    }
+
+    @Test
+    void checkpointResumesRunWhereItStopped() {
+        EvolutionStatus started = evolutionLoopService.initializePopulation(8, null, null, 0.2, 7L);
+        evolutionLoopService.runGeneration(started.runId());
+        byte[] checkpoint = evolutionLoopService.captureCheckpoint();
+        GenerationReport expected = evolutionLoopService.runGeneration(started.runId());
+
+        List<EvolutionStatus> restored = evolutionLoopService.restoreCheckpoint(checkpoint);
+
+        assertThat(restored).extracting(EvolutionStatus::runId).contains(started.runId());
+        assertThat(evolutionLoopService.status(started.runId()).generation()).isEqualTo(1);
+        assertThat(evolutionLoopService.getGenerationReport(started.runId(), 1).generation()).isEqualTo(1);
+        assertThat(evolutionLoopService.getGenerationReport(started.runId(), 2).runId()).isNull();
+
+        GenerationReport resumed = evolutionLoopService.runGeneration(started.runId());
+
+        assertThat(resumed.generation()).isEqualTo(expected.generation());
+        assertThat(resumed.stats()).isEqualTo(expected.stats());
+        assertThat(resumed.bestAgents()).extracting(AgentSummary::agentId)
+                .containsExactlyElementsOf(expected.bestAgents().stream().map(AgentSummary::agentId).toList());
+        assertThat(resumed.safetyViolations()).containsExactlyElementsOf(expected.safetyViolations());
+    }
+}
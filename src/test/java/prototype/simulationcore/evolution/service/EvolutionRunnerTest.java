@@ -0,0 +1,92 @@
+package prototype.simulationcore.evolution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import prototype.simulationcore.evolution.EvolutionProperties;
+import prototype.simulationcore.evolution.dto.EvolutionStatus;
+import prototype.simulationcore.evolution.dto.EvolutionThroughput;
+import prototype.simulationcore.evolution.selection.SelectionStrategyType;
+
+@ExtendWith(MockitoExtension.class)
+class EvolutionRunnerTest {
+
+    private final UUID runId = UUID.randomUUID();
+    private final UUID otherRunId = UUID.randomUUID();
+
+    @Mock
+    private EvolutionLoopService evolutionLoopService;
+
+    private EvolutionRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = new EvolutionRunner(evolutionLoopService, new EvolutionProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.shutdown();
+    }
+
+    @Test
+    void runsGenerationsForEachStartedRun() {
+        when(evolutionLoopService.status(runId)).thenReturn(status(runId, true));
+        when(evolutionLoopService.status(otherRunId)).thenReturn(status(otherRunId, true));
+
+        runner.start(runId, 50.0);
+        runner.start(otherRunId, 50.0);
+
+        verify(evolutionLoopService, timeout(2_000).atLeastOnce()).runGeneration(runId);
+        verify(evolutionLoopService, timeout(2_000).atLeastOnce()).runGeneration(otherRunId);
+        runner.stop(runId);
+        assertThat(runner.isRunning(runId)).isFalse();
+        assertThat(runner.isRunning(otherRunId)).isTrue();
+    }
+
+    @Test
+    void flushesInsteadOfEvolvingWhileBackpressured() {
+        when(evolutionLoopService.status(runId)).thenReturn(status(runId, true));
+        when(evolutionLoopService.isBackpressured(runId)).thenReturn(true);
+        when(evolutionLoopService.unflushedGenerations(runId)).thenReturn(32);
+        when(evolutionLoopService.maxUnflushedGenerations()).thenReturn(32);
+
+        EvolutionThroughput started = runner.start(runId, 2.5).throughput();
+
+        verify(evolutionLoopService, timeout(2_000).atLeastOnce()).flush(runId);
+        verify(evolutionLoopService, never()).runGeneration(runId);
+        assertThat(started.autoRunning()).isTrue();
+        assertThat(started.targetGenerationsPerSecond()).isEqualTo(2.5);
+        assertThat(started.backpressured()).isTrue();
+        assertThat(runner.stop(runId).throughput().autoRunning()).isFalse();
+    }
+
+    @Test
+    void startRequiresRunningEvolution() {
+        when(evolutionLoopService.status(runId)).thenReturn(EvolutionStatus.idle());
+        assertThatThrownBy(() -> runner.start(runId, 1.0)).isInstanceOf(IllegalStateException.class);
+
+        when(evolutionLoopService.status(runId)).thenReturn(status(runId, false));
+        assertThatThrownBy(() -> runner.start(runId, 1.0))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("paused");
+    }
+
+    private static EvolutionStatus status(UUID runId, boolean running) {
+        Instant now = Instant.now();
+        return new EvolutionStatus(runId, running, 3, 8, SelectionStrategyType.TOURNAMENT, 0.1, now, now, 1);
+    }
+}
@@ -0,0 +1,175 @@
+package prototype.simulationcore.evolution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import prototype.simulationcore.domain.Action;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.Position;
+import prototype.simulationcore.environment.DefaultEnvironment;
+import prototype.simulationcore.evolution.EvolutionProperties;
+import prototype.simulationcore.evolution.selection.EvaluationMode;
+import prototype.simulationcore.evolution.service.GenerationEvaluator.AgentEvaluation;
+import prototype.simulationcore.policy.NeuralPolicy;
+import prototype.simulationcore.policy.RuleBasedPolicy;
+import prototype.simulationcore.policy.RuleBasedPolicy.DecisionRule;
+import prototype.simulationcore.policy.WeightedPolicy;
+import prototype.simulationcore.service.AgentDynamics;
+
+class GenerationEvaluatorTest {
+
+    private final GenerationEvaluator evaluator = new GenerationEvaluator(
+            new AgentDynamics(Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC)),
+            new EvolutionProperties());
+
+    @AfterEach
+    void tearDown() {
+        evaluator.shutdown();
+    }
+
+    @Test
+    void parallelEvaluationMatchesSequentialForSameSeed() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ids.add(UUID.randomUUID());
+        }
+
+        PopulationStore sequentialStore = population(ids);
+        PopulationStore parallelStore = population(ids);
+        List<AgentEvaluation> sequential = evaluator.evaluate(sequentialStore, EvaluationMode.SEQUENTIAL, 42L, 3);
+        List<AgentEvaluation> parallel = evaluator.evaluate(parallelStore, EvaluationMode.PARALLEL, 42L, 3);
+
+        assertThat(parallel).hasSameSizeAs(sequential);
+        for (int i = 0; i < sequential.size(); i++) {
+            AgentEvaluation expected = sequential.get(i);
+            AgentEvaluation actual = parallel.get(i);
+            assertThat(actual.agentId()).isEqualTo(expected.agentId());
+            assertThat(actual.action()).isEqualTo(expected.action());
+            assertThat(actual.reward()).isEqualTo(expected.reward());
+            assertThat(parallelStore.fitness(i)).isEqualTo(sequentialStore.fitness(i));
+            assertThat(parallelStore.state(i)).isEqualTo(sequentialStore.state(i));
+        }
+    }
+
+    @Test
+    void evaluationUpdatesStoreAndCapturesLineage() {
+        PopulationStore population = population(List.of(UUID.randomUUID(), UUID.randomUUID()));
+
+        List<AgentEvaluation> results = evaluator.evaluate(population, EvaluationMode.PARALLEL, 7L, 0);
+
+        assertThat(results).hasSize(2);
+        results.forEach(result -> {
+            assertThat(population.generation(result.slot())).isEqualTo(1);
+            assertThat(population.fitness(result.slot())).isEqualTo(result.reward());
+            assertThat(result.lineageEvent().getAgentId()).isEqualTo(result.agentId().toString());
+            assertThat(result.action()).isIn((Object[]) Action.values());
+        });
+    }
+
+    @Test
+    void sharedPolicyBatchMatchesPerAgentDecisions() {
+        WeightedPolicy weighted = new WeightedPolicy();
+        weighted.setActionWeights(Map.of(Action.MOVE, 1.0, Action.CONSUME, 0.0, Action.REST, 20.0));
+        RuleBasedPolicy ruleBased = new RuleBasedPolicy();
+        ruleBased.addRule(new DecisionRule("energy", 20.0, Action.REST, false));
+        ruleBased.addRule(new DecisionRule("threat", 50.0, Action.MOVE, true));
+        List<Agent> agents = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Agent agent = Agent.bootstrap(i % 2 == 0 ? weighted : ruleBased);
+            ReflectionTestUtils.setField(agent, "agentId", UUID.randomUUID());
+            agents.add(agent);
+        }
+        PopulationStore population = PopulationStore.of(agents);
+        List<AgentState> before = new ArrayList<>();
+        for (int slot = 0; slot < population.size(); slot++) {
+            AgentState state = new AgentState(Position.origin(), slot % 40, slot % 130,
+                    Map.of("energy", (double) (slot % 40), "threat", (double) (slot % 90)), Map.of());
+            population.updateState(slot, state);
+            before.add(state);
+        }
+
+        List<AgentEvaluation> results = evaluator.evaluate(population, EvaluationMode.PARALLEL, 11L, 0);
+
+        for (AgentEvaluation result : results) {
+            AgentState state = before.get(result.slot());
+            Action expected = agents.get(result.slot()).getPolicy().decide(state, new DefaultEnvironment(state));
+            assertThat(result.action()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void replicasInSeenStatesReuseCachedDecisions() {
+        WeightedPolicy weighted = new WeightedPolicy();
+        weighted.setActionWeights(Map.of(Action.MOVE, 2.0, Action.REST, 1.0));
+        PopulationStore first = replicas(weighted, 50);
+        PopulationStore second = replicas(weighted, 50);
+
+        List<AgentEvaluation> fresh = evaluator.evaluate(first, EvaluationMode.SEQUENTIAL, 5L, 0);
+        List<AgentEvaluation> repeated = evaluator.evaluate(second, EvaluationMode.PARALLEL, 5L, 0);
+
+        assertThat(fresh).noneMatch(AgentEvaluation::cached);
+        assertThat(repeated).allMatch(AgentEvaluation::cached);
+        for (int slot = 0; slot < repeated.size(); slot++) {
+            assertThat(repeated.get(slot).action()).isEqualTo(fresh.get(slot).action());
+            assertThat(repeated.get(slot).reward()).isEqualTo(fresh.get(slot).reward());
+            assertThat(second.state(slot)).isEqualTo(first.state(slot));
+        }
+    }
+
+    @Test
+    void differingSensorOrInternalValuesMissTheCache() {
+        WeightedPolicy weighted = new WeightedPolicy();
+        weighted.setActionWeights(Map.of(Action.MOVE, 2.0, Action.REST, 1.0));
+        PopulationStore seen = replicas(weighted, 2);
+        seen.updateState(0, AgentState.initial().withSensorReading("toxicity", 1.0));
+        seen.updateState(1, AgentState.initial().withInternalState("memory", 1.0));
+        PopulationStore changed = replicas(weighted, 2);
+        changed.updateState(0, AgentState.initial().withSensorReading("toxicity", 2.0));
+        changed.updateState(1, AgentState.initial().withInternalState("mood", 1.0));
+
+        evaluator.evaluate(seen, EvaluationMode.SEQUENTIAL, 5L, 0);
+        List<AgentEvaluation> repeated = evaluator.evaluate(changed, EvaluationMode.SEQUENTIAL, 5L, 0);
+
+        assertThat(repeated).noneMatch(AgentEvaluation::cached);
+    }
+
+    @Test
+    void stochasticDecisionsAreNotCached() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        evaluator.evaluate(population(ids), EvaluationMode.SEQUENTIAL, 3L, 0);
+        List<AgentEvaluation> repeated = evaluator.evaluate(population(ids), EvaluationMode.SEQUENTIAL, 3L, 0);
+
+        assertThat(repeated).noneMatch(AgentEvaluation::cached);
+    }
+
+    private PopulationStore replicas(WeightedPolicy policy, int count) {
+        List<Agent> agents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Agent agent = Agent.bootstrap(policy);
+            ReflectionTestUtils.setField(agent, "agentId", UUID.randomUUID());
+            agents.add(agent);
+        }
+        return PopulationStore.of(agents);
+    }
+
+    private PopulationStore population(List<UUID> ids) {
+        List<Agent> agents = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Agent agent = Agent.bootstrap(new NeuralPolicy());
+            ReflectionTestUtils.setField(agent, "agentId", id);
+            agents.add(agent);
+        }
+        return PopulationStore.of(agents);
+    }
+}
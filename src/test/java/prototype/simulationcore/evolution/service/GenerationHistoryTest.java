@@ -0,0 +1,68 @@
+package prototype.simulationcore.evolution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import prototype.simulationcore.evolution.dto.AgentSummary;
+import prototype.simulationcore.evolution.dto.GenerationReport;
+import prototype.simulationcore.evolution.dto.GenerationStats;
+
+class GenerationHistoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void looksUpAndScansEveryGenerationAfterReopening() {
+        UUID runId = UUID.randomUUID();
+        try (GenerationHistory history = GenerationHistory.open(directory, runId)) {
+            for (int generation = 1; generation <= 1_000; generation++) {
+                history.append(report(runId, generation));
+            }
+        }
+
+        try (GenerationHistory history = GenerationHistory.open(directory, runId)) {
+            assertThat(history.size()).isEqualTo(1_001);
+            assertThat(history.read(0)).isNull();
+            assertThat(history.read(734)).isEqualTo(report(runId, 734));
+            assertThat(history.read(1_001)).isNull();
+
+            List<Integer> scanned = new ArrayList<>();
+            history.scan(250, 649, report -> scanned.add(report.generation()));
+            assertThat(scanned).hasSize(400).startsWith(250).endsWith(649).isSorted();
+        }
+    }
+
+    @Test
+    void rewindingDiscardsLaterGenerations() {
+        UUID runId = UUID.randomUUID();
+        try (GenerationHistory history = GenerationHistory.open(directory, runId)) {
+            for (int generation = 1; generation <= 5; generation++) {
+                history.append(report(runId, generation));
+            }
+            GenerationReport replacement = new GenerationReport(runId, 3, new GenerationStats(9, 9, 9, 9, 9),
+                    List.of(), List.of());
+
+            history.append(replacement);
+
+            assertThat(history.size()).isEqualTo(4);
+            assertThat(history.read(3)).isEqualTo(replacement);
+            assertThat(history.read(4)).isNull();
+            List<Integer> scanned = new ArrayList<>();
+            history.scan(0, Integer.MAX_VALUE, report -> scanned.add(report.generation()));
+            assertThat(scanned).containsExactly(1, 2, 3);
+        }
+    }
+
+    private static GenerationReport report(UUID runId, int generation) {
+        return new GenerationReport(runId, generation,
+                new GenerationStats(generation, generation * 2.0, 0.5, 0.1, -0.2),
+                List.of(new AgentSummary(new UUID(generation, generation), generation, 0, generation * 3.0)),
+                List.of());
+    }
+}
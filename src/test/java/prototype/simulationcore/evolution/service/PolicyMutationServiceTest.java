@@ -3,17 +3,21 @@ package prototype.simulationcore.evolution.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import prototype.simulationcore.domain.Action;
+import prototype.simulationcore.evolution.EvolutionProperties;
 import prototype.simulationcore.policy.AbstractAgentPolicy;
 import prototype.simulationcore.policy.WeightedPolicy;
 import prototype.simulationcore.repository.AgentPolicyRepository;
@@ -24,29 +28,52 @@ class PolicyMutationServiceTest {
     @Mock
     private AgentPolicyRepository policyRepository;
 
+    private PolicyGenomeStore genomeStore;
     private PolicyMutationService mutationService;
 
     @BeforeEach
     void setUp() {
-        mutationService = new PolicyMutationService(policyRepository);
+        genomeStore = new PolicyGenomeStore(policyRepository, new EvolutionProperties());
+        mutationService = new PolicyMutationService(genomeStore);
     }
 
     @Test
-    void replicateCopiesParametersAndWeights() {
+    void replicateSharesIdenticalGenomes() {
         WeightedPolicy template = new WeightedPolicy();
         template.setParameters(Map.of("alpha", 0.5, "beta", -1.0));
         template.setActionWeights(Map.of(Action.MOVE, 2.0, Action.REST, 0.25));
-        when(policyRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        WeightedPolicy twin = new WeightedPolicy();
+        twin.setParameters(Map.of("beta", -1.0, "alpha", 0.5));
+        twin.setActionWeights(Map.of(Action.REST, 0.25, Action.MOVE, 2.0));
 
-        AbstractAgentPolicy copy = mutationService.replicate(template);
+        AbstractAgentPolicy first = mutationService.replicate(template);
+        AbstractAgentPolicy second = mutationService.replicate(twin);
 
-        assertThat(copy)
-                .isInstanceOf(WeightedPolicy.class)
-                .isNotSameAs(template);
-        WeightedPolicy weightedCopy = (WeightedPolicy) copy;
-        assertThat(weightedCopy.getParameters()).isEqualTo(template.getParameters());
-        assertThat(weightedCopy.getActionWeights()).isEqualTo(template.getActionWeights());
-        verify(policyRepository).save(weightedCopy);
+        assertThat(first).isSameAs(template);
+        assertThat(second).isSameAs(first);
+        verify(policyRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushPersistsOnlyNewGenomesInOneBatch() {
+        WeightedPolicy parent = new WeightedPolicy();
+        parent.setParameters(Map.of("alpha", 1.0));
+        parent.setActionWeights(Map.of(Action.MOVE, 2.0));
+        when(policyRepository.findByGenomeHashIn(anyCollection())).thenReturn(List.of());
+        when(policyRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AbstractAgentPolicy clone = mutationService.mutate(parent, 0.0);
+        AbstractAgentPolicy mutated = mutationService.mutate(parent, 0.5);
+        mutationService.replicate(parent);
+        genomeStore.flush();
+
+        assertThat(clone.getGenomeHash()).isEqualTo(parent.getGenomeHash());
+        assertThat(mutated.getGenomeHash()).isNotEqualTo(parent.getGenomeHash());
+        ArgumentCaptor<Iterable<AbstractAgentPolicy>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(policyRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).containsExactly(clone, mutated);
+        verify(policyRepository, never()).save(any());
     }
 
     @Test
@@ -58,7 +85,6 @@ class PolicyMutationServiceTest {
                 Action.REST, 0.5,
                 Action.REPLICATE, -2.0
         ));
-        when(policyRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         AbstractAgentPolicy mutatedPolicy = mutationService.mutate(parent, 0.2);
 
@@ -72,7 +98,6 @@ class PolicyMutationServiceTest {
             double delta = Math.abs(value - parent.getActionWeights().get(action));
             assertThat(delta).isLessThanOrEqualTo(0.2 + 1e-9);
         });
-        verify(policyRepository).save(mutated);
     }
 
     @Test
@@ -80,10 +105,10 @@ class PolicyMutationServiceTest {
         WeightedPolicy parent = new WeightedPolicy();
         parent.setParameters(Map.of("alpha", 1.0));
         parent.setActionWeights(Map.of(Action.MOVE, 2.0));
-        when(policyRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         AbstractAgentPolicy mutated = mutationService.mutate(parent, 0.0);
 
+        assertThat(mutated).isNotSameAs(parent);
         assertThat(mutated.getParameters()).isEqualTo(parent.getParameters());
         assertThat(((WeightedPolicy) mutated).getActionWeights()).isEqualTo(parent.getActionWeights());
     }
@@ -0,0 +1,83 @@
+package prototype.simulationcore.evolution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import prototype.simulationcore.domain.Action;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.MutableAgentState;
+import prototype.simulationcore.domain.Position;
+import prototype.simulationcore.policy.WeightedPolicy;
+import prototype.simulationcore.service.AgentDynamics;
+
+class PopulationStoreTest {
+
+    @Test
+    void keepsStateInColumnsUntilFlushed() {
+        Agent agent = agent();
+        PopulationStore store = PopulationStore.of(List.of(agent));
+        AgentState moved = new AgentState(new Position(3.0, 1.0, 0.0), 42.0, 7.0, Map.of("toxicity", 1.0), Map.of());
+
+        store.updateState(0, moved);
+        store.addFitness(0, 2.5);
+        store.recordViolation(0);
+
+        assertThat(store.state(0)).isEqualTo(moved);
+        assertThat(agent.getState()).isEqualTo(AgentState.initial());
+
+        List<Agent> flushed = store.drainForFlush();
+
+        assertThat(flushed).containsExactly(agent);
+        assertThat(agent.getState()).isEqualTo(moved);
+        assertThat(agent.getFitness()).isEqualTo(2.5);
+        assertThat(agent.getSafetyViolations()).isEqualTo(1);
+    }
+
+    @Test
+    void mutableStateUpdatesInPlaceAndMatchesRecordTransitions() {
+        PopulationStore store = PopulationStore.of(List.of(agent()));
+        AgentDynamics dynamics = new AgentDynamics();
+        AgentState before = store.state(0);
+
+        MutableAgentState state = store.mutableState(0);
+        dynamics.apply(Action.MOVE, state);
+        dynamics.apply(Action.CONSUME, state);
+
+        assertThat(store.mutableState(0)).isSameAs(state);
+        assertThat(store.state(0))
+                .isEqualTo(dynamics.apply(Action.CONSUME, dynamics.apply(Action.MOVE, before)))
+                .isSameAs(store.state(0));
+        assertThat(before).isEqualTo(AgentState.initial());
+    }
+
+    @Test
+    void replaceCompactsSurvivorsAndRetiresTheRest() {
+        Agent first = agent();
+        Agent second = agent();
+        Agent third = agent();
+        PopulationStore store = PopulationStore.of(List.of(first, second, third));
+        store.addFitness(2, 9.0);
+        Agent child = agent();
+
+        store.replace(List.of(third), List.of(child));
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.agent(0)).isSameAs(third);
+        assertThat(store.fitness(0)).isEqualTo(9.0);
+        assertThat(store.agent(1)).isSameAs(child);
+        assertThat(store.slotOf(first.getAgentId())).isEqualTo(-1);
+        assertThat(store.drainForFlush()).containsExactlyInAnyOrder(third, child, first, second);
+        assertThat(store.drainForFlush()).containsExactly(third, child);
+    }
+
+    private Agent agent() {
+        Agent agent = Agent.bootstrap(new WeightedPolicy());
+        ReflectionTestUtils.setField(agent, "agentId", UUID.randomUUID());
+        return agent;
+    }
+}
@@ -0,0 +1,64 @@
+package prototype.simulationcore.evolution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import prototype.simulationcore.evolution.domain.RewardStats;
+import prototype.simulationcore.evolution.dto.LeaderboardEntry;
+
+class RewardLeaderboardTest {
+
+    @Test
+    void matchesSortedOrderAcrossRepeatedUpdates() {
+        RewardLeaderboard board = new RewardLeaderboard(1_000);
+        Map<UUID, Double> scores = new HashMap<>();
+        List<UUID> agents = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            agents.add(UUID.randomUUID());
+        }
+        Random random = new Random(7L);
+        for (int i = 0; i < 5_000; i++) {
+            UUID agentId = agents.get(random.nextInt(agents.size()));
+            double score = scores.getOrDefault(agentId, 0.0) + random.nextGaussian();
+            scores.put(agentId, score);
+            board.update(agentId, score, RewardStats.empty(), null);
+        }
+
+        List<UUID> expected = scores.entrySet().stream()
+                .sorted(Map.Entry.<UUID, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        assertThat(board.page(0, expected.size())).extracting(LeaderboardEntry::agentId)
+                .containsExactlyElementsOf(expected);
+        assertThat(board.page(50, 10)).extracting(LeaderboardEntry::rank)
+                .containsExactly(51, 52, 53, 54, 55, 56, 57, 58, 59, 60);
+        for (int rank = 1; rank <= expected.size(); rank += 17) {
+            assertThat(board.entry(expected.get(rank - 1)).rank()).isEqualTo(rank);
+        }
+    }
+
+    @Test
+    void dropsLowestRankedAgentsBeyondCapacity() {
+        RewardLeaderboard board = new RewardLeaderboard(2);
+        UUID low = UUID.randomUUID();
+        UUID mid = UUID.randomUUID();
+        UUID high = UUID.randomUUID();
+
+        board.update(mid, 2.0, RewardStats.empty(), null);
+        board.update(high, 3.0, RewardStats.empty(), null);
+        board.update(low, 1.0, RewardStats.empty(), null);
+
+        assertThat(board.size()).isEqualTo(2);
+        assertThat(board.contains(low)).isFalse();
+        assertThat(board.page(0, 5)).extracting(LeaderboardEntry::agentId).containsExactly(high, mid);
+    }
+}
@@ -1,18 +1,33 @@
 package prototype.simulationcore.evolution.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import prototype.simulationcore.evolution.EvolutionProperties;
+import prototype.simulationcore.evolution.domain.RewardPoint;
 import prototype.simulationcore.evolution.domain.RewardTrajectory;
 import prototype.simulationcore.evolution.dto.LeaderboardEntry;
+import prototype.simulationcore.evolution.repository.RewardTrajectoryBatchRepository.BucketRow;
+import prototype.simulationcore.evolution.repository.RewardTrajectoryBatchRepository.TrajectoryRow;
 import prototype.simulationcore.evolution.repository.RewardTrajectoryRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,9 +36,21 @@ class RewardTrackerTest {
     @Mock
     private RewardTrajectoryRepository repository;
 
-    @InjectMocks
+    @Captor
+    private ArgumentCaptor<List<TrajectoryRow>> rowsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<BucketRow>> bucketsCaptor;
+
+    private EvolutionProperties properties;
     private RewardTracker rewardTracker;
 
+    @BeforeEach
+    void setUp() {
+        properties = new EvolutionProperties();
+        rewardTracker = new RewardTracker(repository, properties);
+    }
+
     @Test
     void computesAggregatedStats() {
         UUID agentId = UUID.randomUUID();
@@ -43,14 +70,149 @@ class RewardTrackerTest {
     void buildsLeaderboardEntries() {
         RewardTrajectory trajectory = new RewardTrajectory(UUID.randomUUID());
         trajectory.record(2.5, 0L);
-        when(repository.findTop10ByOrderByCumulativeRewardDesc()).thenReturn(List.of(trajectory));
+        when(repository.findByOrderByCumulativeRewardDesc(any())).thenReturn(List.of(trajectory));
 
         List<LeaderboardEntry> leaderboard = rewardTracker.leaderboard(5);
 
         assertThat(leaderboard).hasSize(1);
+        assertThat(leaderboard.get(0).rank()).isEqualTo(1);
         assertThat(leaderboard.get(0).cumulativeReward()).isEqualTo(2.5);
         assertThat(leaderboard.get(0).meanReward()).isEqualTo(2.5);
     }
-}
 
+    @Test
+    void keepsLeaderboardCurrentWithoutRequerying() {
+        UUID persistedLeader = UUID.randomUUID();
+        RewardTrajectory trajectory = new RewardTrajectory(persistedLeader);
+        trajectory.record(5.0, 0L);
+        when(repository.findByOrderByCumulativeRewardDesc(any())).thenReturn(List.of(trajectory));
+        UUID climber = UUID.randomUUID();
+        UUID trailer = UUID.randomUUID();
+
+        rewardTracker.recordReward(climber, 3.0, 1L);
+        rewardTracker.recordReward(trailer, 1.0, 1L);
+        rewardTracker.flush();
+        rewardTracker.recordReward(climber, 4.0, 2L);
+        rewardTracker.flush();
+
+        assertThat(rewardTracker.leaderboard(0, 10)).extracting(LeaderboardEntry::agentId)
+                .containsExactly(climber, persistedLeader, trailer);
+        assertThat(rewardTracker.leaderboard(1, 1)).singleElement()
+                .satisfies(entry -> assertThat(entry.agentId()).isEqualTo(persistedLeader));
+        assertThat(rewardTracker.standing(trailer)).get()
+                .satisfies(entry -> assertThat(entry.rank()).isEqualTo(3));
+        assertThat(rewardTracker.standing(UUID.randomUUID())).isEmpty();
+        verify(repository).findByOrderByCumulativeRewardDesc(any());
+    }
+
+    @Test
+    void buffersRewardsUntilFlush() {
+        UUID fresh = UUID.randomUUID();
+        UUID existing = UUID.randomUUID();
+        UUID existingTrajectory = UUID.randomUUID();
+        RewardTrajectory persisted = new RewardTrajectory(existing);
+        persisted.record(10.0, 0L);
+        ReflectionTestUtils.setField(persisted, "trajectoryId", existingTrajectory);
+        when(repository.findAllByAgentIds(anyCollection())).thenReturn(List.of(persisted));
+
+        rewardTracker.recordReward(fresh, 1.5, 1L);
+        rewardTracker.recordReward(fresh, 0.5, 2L);
+        rewardTracker.recordReward(existing, 2.0, 3L);
+        rewardTracker.updateGenerationRank(existing, 1);
+
+        verify(repository, never()).save(any());
+        assertThat(rewardTracker.getCumulativeReward(existing)).isEqualTo(12.0);
+
+        rewardTracker.flush();
 
+        verify(repository).insertTrajectories(rowsCaptor.capture(), any());
+        assertThat(rowsCaptor.getValue()).singleElement()
+                .satisfies(row -> {
+                    assertThat(row.agentId()).isEqualTo(fresh);
+                    assertThat(row.cumulativeReward()).isEqualTo(2.0);
+                    assertThat(row.moments().getCount()).isEqualTo(2);
+                });
+        verify(repository).updateTrajectories(rowsCaptor.capture(), any());
+        assertThat(rowsCaptor.getValue()).singleElement()
+                .satisfies(row -> {
+                    assertThat(row.trajectoryId()).isEqualTo(existingTrajectory);
+                    assertThat(row.cumulativeReward()).isEqualTo(12.0);
+                    assertThat(row.generationRank()).isEqualTo(1);
+                    assertThat(row.recent().size()).isEqualTo(2);
+                });
+    }
+
+    @Test
+    void rollsOldPointsIntoBucketsAndKeepsExactStats() {
+        properties.getRewards().setRingCapacity(4);
+        properties.getRewards().setBucketSize(2);
+        UUID agentId = UUID.randomUUID();
+        double[] rewards = {1.0, 2.0, 4.0, 3.0, 5.0, 6.0};
+        for (int tick = 0; tick < rewards.length; tick++) {
+            rewardTracker.recordReward(agentId, rewards[tick], tick);
+        }
+
+        List<RewardPoint> recent = rewardTracker.getTrajectory(agentId);
+        var stats = rewardTracker.getAggregatedStats(agentId);
+        rewardTracker.flush();
+
+        assertThat(recent).extracting(RewardPoint::getTick).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(stats.mean()).isEqualTo(3.5);
+        assertThat(stats.variance()).isCloseTo(35.0 / 12.0, within(1e-9));
+        assertThat(stats.trend()).isCloseTo(33.0 / 35.0, within(1e-9));
+        verify(repository).insertBuckets(bucketsCaptor.capture());
+        assertThat(bucketsCaptor.getValue()).singleElement()
+                .satisfies(row -> {
+                    assertThat(row.bucketIndex()).isZero();
+                    assertThat(row.bucket().getFirstTick()).isZero();
+                    assertThat(row.bucket().getLastTick()).isEqualTo(1L);
+                    assertThat(row.bucket().getMeanReward()).isEqualTo(1.5);
+                });
+    }
+
+    @Test
+    void rebuildsLegacyTrajectoriesFromRewardPoints() {
+        UUID agentId = UUID.randomUUID();
+        UUID trajectoryId = UUID.randomUUID();
+        RewardTrajectory legacy = new RewardTrajectory(agentId);
+        ReflectionTestUtils.setField(legacy, "trajectoryId", trajectoryId);
+        ReflectionTestUtils.setField(legacy, "cumulativeReward", 6.0);
+        when(repository.findLegacyTrajectories(anyInt())).thenReturn(List.of(legacy), List.of());
+        when(repository.findLegacyPoints(List.of(trajectoryId))).thenReturn(Map.of(trajectoryId, List.of(
+                new RewardPoint(0L, 1.0, Instant.EPOCH),
+                new RewardPoint(1L, 2.0, Instant.EPOCH),
+                new RewardPoint(2L, 3.0, Instant.EPOCH))));
+
+        rewardTracker.backfillLegacyTrajectories();
+
+        verify(repository).updateTrajectories(rowsCaptor.capture(), any());
+        assertThat(rowsCaptor.getValue()).singleElement()
+                .satisfies(row -> {
+                    assertThat(row.trajectoryId()).isEqualTo(trajectoryId);
+                    assertThat(row.cumulativeReward()).isEqualTo(6.0);
+                    assertThat(row.moments().getCount()).isEqualTo(3);
+                    assertThat(row.moments().toStats().mean()).isEqualTo(2.0);
+                    assertThat(row.recent().points()).extracting(RewardPoint::getTick).containsExactly(0L, 1L, 2L);
+                });
+    }
+
+    @Test
+    void backfillsLegacyPointsWhenAnAgentIsFirstResolved() {
+        UUID agentId = UUID.randomUUID();
+        UUID trajectoryId = UUID.randomUUID();
+        RewardTrajectory legacy = new RewardTrajectory(agentId);
+        ReflectionTestUtils.setField(legacy, "trajectoryId", trajectoryId);
+        ReflectionTestUtils.setField(legacy, "cumulativeReward", 3.0);
+        when(repository.findAllByAgentIds(anyCollection())).thenReturn(List.of(legacy));
+        when(repository.findLegacyPoints(List.of(trajectoryId))).thenReturn(Map.of(trajectoryId, List.of(
+                new RewardPoint(0L, 1.0, Instant.EPOCH),
+                new RewardPoint(1L, 2.0, Instant.EPOCH))));
+
+        rewardTracker.recordReward(agentId, 3.0, 2L);
+
+        assertThat(rewardTracker.getCumulativeReward(agentId)).isEqualTo(6.0);
+        assertThat(rewardTracker.getAggregatedStats(agentId).mean()).isEqualTo(2.0);
+        assertThat(rewardTracker.getTrajectory(agentId)).extracting(RewardPoint::getTick)
+                .containsExactly(0L, 1L, 2L);
+    }
+}
@@ -0,0 +1,41 @@
+package prototype.simulationcore.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class RateWindowTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void measuresSinceStartUntilTheWindowFills() {
+        RateWindow window = new RateWindow(0L);
+        assertThat(window.perSecond(SECOND)).isZero();
+
+        for (int i = 1; i <= 10; i++) {
+            window.record(i * SECOND / 10);
+        }
+
+        assertThat(window.completed()).isEqualTo(10);
+        assertThat(window.perSecond(2 * SECOND)).isCloseTo(5.0, within(1e-9));
+    }
+
+    @Test
+    void measuresOverTheLastCompletionsOnceFull() {
+        RateWindow window = new RateWindow(0L);
+        for (int i = 1; i <= RateWindow.SIZE; i++) {
+            window.record(i * SECOND);
+        }
+        for (int i = 1; i <= RateWindow.SIZE; i++) {
+            window.record(RateWindow.SIZE * SECOND + i * SECOND / 4);
+        }
+
+        assertThat(window.perSecond(Long.MAX_VALUE)).isCloseTo(4.0, within(1e-9));
+
+        window.restart(100 * SECOND);
+        assertThat(window.completed()).isZero();
+        assertThat(window.perSecond(101 * SECOND)).isZero();
+    }
+}
@@ -0,0 +1,100 @@
+package prototype.simulationcore.orchestrator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import prototype.simulationcore.events.SimulationEvent;
+import prototype.simulationcore.events.SimulationEventType;
+
+class EventSchedulerTest {
+
+    private final UUID simulationId = UUID.randomUUID();
+
+    @Test
+    void drainsEventsOfATickInSchedulingOrder() {
+        EventScheduler scheduler = new EventScheduler();
+        SimulationEvent first = event(3);
+        SimulationEvent second = event(3);
+        SimulationEvent earlier = event(2);
+        SimulationEvent third = event(3);
+
+        scheduler.scheduleEvents(List.of(first, second, earlier));
+        scheduler.scheduleEvent(3, third);
+
+        assertThat(scheduler.drainDueEvents(1)).isEmpty();
+        assertThat(scheduler.drainDueEvents(3)).containsExactly(earlier, first, second, third);
+        assertThat(scheduler.size()).isZero();
+    }
+
+    @Test
+    void cascadesFarFutureEventsDownToTheirTick() {
+        EventScheduler scheduler = new EventScheduler();
+        SimulationEvent far = event(1_000_000);
+        SimulationEvent farther = event(5_000_000_000L);
+        scheduler.scheduleEvents(List.of(farther, far));
+
+        assertThat(scheduler.drainDueEvents(999_999)).isEmpty();
+        assertThat(scheduler.drainDueEvents(1_000_000)).containsExactly(far);
+        assertThat(scheduler.drainDueEvents(4_999_999_999L)).isEmpty();
+        assertThat(scheduler.drainDueEvents(5_000_000_000L)).containsExactly(farther);
+    }
+
+    @Test
+    void drainsAcrossHugeGapsByJumpingBetweenOccupiedSlots() {
+        EventScheduler scheduler = new EventScheduler();
+        SimulationEvent last = event(Long.MAX_VALUE / 2);
+        SimulationEvent middle = event((1L << 40) + 1);
+        SimulationEvent first = event(1L << 40);
+        scheduler.scheduleEvents(List.of(last, middle, first));
+
+        assertThat(scheduler.drainDueEvents(Long.MAX_VALUE / 2)).containsExactly(first, middle, last);
+        assertThat(scheduler.size()).isZero();
+    }
+
+    @Test
+    void eventsForDrainedTicksComeOutOfTheNextDrain() {
+        EventScheduler scheduler = new EventScheduler();
+        scheduler.drainDueEvents(10);
+        SimulationEvent late = event(7);
+        SimulationEvent now = event(10);
+        scheduler.scheduleEvent(10, now);
+        scheduler.scheduleEvent(7, late);
+
+        assertThat(scheduler.drainDueEvents(11)).containsExactly(late, now);
+    }
+
+    @Test
+    void matchesAPriorityQueueOnRandomSchedules() {
+        SplittableRandom random = new SplittableRandom(17);
+        EventScheduler scheduler = new EventScheduler();
+        PriorityQueue<ScheduledSimulationEvent> reference = new PriorityQueue<>();
+        long sequence = 0;
+        long tick = 0;
+        while (tick < 20_000) {
+            int arrivals = random.nextInt(4);
+            for (int i = 0; i < arrivals; i++) {
+                long at = tick + (random.nextInt(10) == 0 ? random.nextLong(1, 200_000) : random.nextInt(-3, 300));
+                SimulationEvent event = event(at);
+                scheduler.scheduleEvent(at, event);
+                reference.add(new ScheduledSimulationEvent(at, ++sequence, event));
+            }
+            tick += random.nextInt(1, 5);
+            List<SimulationEvent> expected = new ArrayList<>();
+            while (!reference.isEmpty() && reference.peek().tick() <= tick) {
+                expected.add(reference.poll().event());
+            }
+            assertThat(scheduler.drainDueEvents(tick)).containsExactlyElementsOf(expected);
+        }
+        assertThat(scheduler.size()).isEqualTo(reference.size());
+    }
+
+    private SimulationEvent event(long tick) {
+        return SimulationEvent.of(SimulationEventType.SCENARIO_EVENT, simulationId, tick, Map.of());
+    }
+}
@@ -0,0 +1,137 @@
+package prototype.simulationcore.orchestrator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import prototype.lineageruntime.health.HealthMonitorService;
+import prototype.simulationcore.domain.Action;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.events.SimulationEvent;
+import prototype.simulationcore.events.SimulationEventType;
+import prototype.simulationcore.kafka.SimulationEventPublisher;
+import prototype.simulationcore.service.AgentStep;
+import prototype.simulationcore.service.SafetyConstraintsService.SafetyEvaluation;
+import prototype.simulationcore.service.SimulationService;
+
+@ExtendWith(MockitoExtension.class)
+class TickManagerTest {
+
+    @Mock
+    private SimulationService simulationService;
+
+    @Mock
+    private HealthMonitorService healthMonitorService;
+
+    @Mock
+    private SimulationEventPublisher eventPublisher;
+
+    @Mock
+    private ScenarioEngine scenarioEngine;
+
+    private TickManager tickManager;
+
+    @BeforeEach
+    void setup() {
+        tickManager = new TickManager(simulationService, healthMonitorService, eventPublisher, scenarioEngine);
+    }
+
+    @Test
+    void processTickAdvancesEveryRegisteredAgentAndFlushesOnce() {
+        Agent first = agent();
+        Agent second = agent();
+        SimulationWorld world = world("multi");
+        world.registerAgents(List.of(first, second));
+        when(simulationService.advancePopulation(any(), any(), eq(world.getSeed()), eq(1L)))
+                .thenReturn(List.of(step(0, first, false), step(1, second, true)));
+
+        SimulationTickResult result = tickManager.processTick(world);
+
+        assertThat(result.constraintViolated()).isTrue();
+        assertThat(world.getAgentCount()).isEqualTo(2);
+        assertThat(world.getConstraintViolationCount()).isEqualTo(1);
+        assertThat(world.getRecentEvents()).extracting(SimulationEvent::getType)
+                .containsExactly(SimulationEventType.CONSTRAINT_VIOLATED, SimulationEventType.TICK_COMPLETED);
+        assertThat(world.getRecentEvents().get(0).getMetadata())
+                .containsEntry("agentId", second.getAgentId().toString());
+        assertThat(world.getRecentEvents().get(1).getMetadata()).containsEntry("agents", 2);
+        verify(simulationService).flushPopulation(any(), any());
+        verify(simulationService, never()).defaultResidentAgents();
+    }
+
+    @Test
+    void unregisteredWorldReloadsTheActiveAgentEveryTickInsteadOfPinningIt() {
+        Agent agent = agent();
+        when(simulationService.defaultResidentAgents()).thenReturn(List.of(agent));
+        when(simulationService.advancePopulation(any(), any(), anyLong(), anyLong()))
+                .thenReturn(List.of(step(0, agent, false)));
+        SimulationWorld world = world("default");
+
+        tickManager.processTick(world);
+        tickManager.processTick(world);
+
+        assertThat(world.hasAgents()).isFalse();
+        verify(simulationService, times(2)).defaultResidentAgents();
+        verify(simulationService, times(2)).flushPopulation(any(), any());
+    }
+
+    @Test
+    void fastForwardCoalescesTicksAndFlushesOnlyAtCheckpoints() {
+        Agent agent = agent();
+        when(simulationService.defaultResidentAgents()).thenReturn(List.of(agent));
+        when(simulationService.advancePopulation(any(), any(), anyLong(), anyLong()))
+                .thenReturn(List.of(step(0, agent, false)));
+        SimulationWorld world = world("turbo");
+        world.getScheduler().scheduleEvent(5, SimulationEvent.of(SimulationEventType.SCENARIO_EVENT,
+                world.getSimulationId(), 5, Map.of()));
+
+        long processed = tickManager.fastForward(world, 2_500, new TurboRunOptions(1_000, 2_000));
+
+        assertThat(processed).isEqualTo(2_500);
+        assertThat(world.getCurrentTick()).isEqualTo(2_500);
+        List<SimulationEvent> summaries = world.getRecentEvents();
+        assertThat(summaries).extracting(SimulationEvent::getType).containsOnly(SimulationEventType.TICKS_SUMMARIZED);
+        assertThat(summaries).extracting(SimulationEvent::getTick).containsExactly(1_000L, 2_000L, 2_500L);
+        assertThat(summaries.get(0).getMetadata()).containsEntry("scheduledEvents", Map.of("SCENARIO_EVENT", 1L));
+        verify(simulationService, times(2)).defaultResidentAgents();
+        verify(simulationService, times(2_500)).advancePopulation(any(), any(), anyLong(), anyLong());
+        verify(simulationService, times(2)).flushPopulation(any(), any());
+        verify(simulationService, never()).step();
+        verify(eventPublisher, never()).publish(any());
+        verify(eventPublisher, times(2)).publishAll(any());
+        verify(healthMonitorService, times(3)).recordHeartbeat("turbo");
+    }
+
+    private static SimulationWorld world(String name) {
+        return new SimulationWorld(new SimulationConfig(name, null, 0, null, Map.of()));
+    }
+
+    private static Agent agent() {
+        Agent agent = new Agent();
+        ReflectionTestUtils.setField(agent, "agentId", UUID.randomUUID());
+        return agent;
+    }
+
+    private static AgentStep step(int slot, Agent agent, boolean auditFailed) {
+        SafetyEvaluation safety = auditFailed
+                ? new SafetyEvaluation(true, "too close", null)
+                : new SafetyEvaluation(false, null, null);
+        return new AgentStep(slot, agent, Action.WAIT, false, false, AgentState.initial(), AgentState.initial(),
+                null, List.of(), List.of(), safety);
+    }
+}
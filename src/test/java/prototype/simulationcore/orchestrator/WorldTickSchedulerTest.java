@@ -0,0 +1,141 @@
+package prototype.simulationcore.orchestrator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WorldTickSchedulerTest {
+
+    private final WorldTickScheduler scheduler = new WorldTickScheduler(2, Duration.ofMillis(1));
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void multiplexesManyWorldsOverABoundedPoolWithoutOverlappingTicks() throws InterruptedException {
+        Map<SimulationWorld, AtomicInteger> ticks = new ConcurrentHashMap<>();
+        Map<SimulationWorld, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        AtomicInteger overlaps = new AtomicInteger();
+        List<SimulationWorld> worlds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            SimulationWorld world = world(Duration.ofMillis(5));
+            worlds.add(world);
+            ticks.put(world, new AtomicInteger());
+            inFlight.put(world, new AtomicInteger());
+            scheduler.schedule(world, w -> {
+                if (inFlight.get(w).incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                ticks.get(w).incrementAndGet();
+                inFlight.get(w).decrementAndGet();
+                return true;
+            });
+        }
+
+        Thread.sleep(300);
+
+        assertThat(overlaps).hasValue(0);
+        assertThat(worlds).allSatisfy(world -> assertThat(ticks.get(world).get()).isGreaterThan(1));
+        assertThat(scheduler.scheduledWorlds()).isEqualTo(200);
+    }
+
+    @Test
+    void stopsTickingWhenCancelledOrWhenTheTickDeclines() throws InterruptedException {
+        SimulationWorld cancelled = world(Duration.ofMillis(2));
+        SimulationWorld finishing = world(Duration.ofMillis(2));
+        AtomicInteger cancelledTicks = new AtomicInteger();
+        AtomicInteger finishingTicks = new AtomicInteger();
+        scheduler.schedule(cancelled, w -> cancelledTicks.incrementAndGet() > 0);
+        scheduler.schedule(finishing, w -> finishingTicks.incrementAndGet() < 3);
+
+        Thread.sleep(100);
+        scheduler.cancel(cancelled.getSimulationId());
+        int afterCancel = cancelledTicks.get();
+        Thread.sleep(100);
+
+        assertThat(cancelledTicks.get()).isLessThanOrEqualTo(afterCancel + 1);
+        assertThat(finishingTicks).hasValue(3);
+        assertThat(scheduler.isScheduled(finishing.getSimulationId())).isFalse();
+        assertThat(finishing.getMaxTickLag()).isGreaterThanOrEqualTo(finishing.getTickLag());
+    }
+
+    @Test
+    void restartingWhileATickRunsWaitsForThatTickToReturn() throws InterruptedException {
+        SimulationWorld world = world(Duration.ofMillis(1));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger restartedTicks = new AtomicInteger();
+        CountDownLatch slowTickEntered = new CountDownLatch(1);
+        scheduler.schedule(world, w -> {
+            if (inFlight.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+            }
+            slowTickEntered.countDown();
+            sleep(Duration.ofMillis(60));
+            inFlight.decrementAndGet();
+            return true;
+        });
+        assertThat(slowTickEntered.await(1, TimeUnit.SECONDS)).isTrue();
+
+        scheduler.cancel(world.getSimulationId());
+        scheduler.schedule(world, w -> false);
+        scheduler.schedule(world, w -> {
+            if (inFlight.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+            }
+            restartedTicks.incrementAndGet();
+            inFlight.decrementAndGet();
+            return true;
+        });
+        Thread.sleep(20);
+        int ticksWhileSlowTickRan = restartedTicks.get();
+        Thread.sleep(150);
+
+        assertThat(ticksWhileSlowTickRan).isZero();
+        assertThat(restartedTicks.get()).isGreaterThan(1);
+        assertThat(overlaps).hasValue(0);
+        assertThat(scheduler.isScheduled(world.getSimulationId())).isTrue();
+    }
+
+    @Test
+    void fixedRateSkipsDeadlinesMissedByASlowTick() throws InterruptedException {
+        SimulationWorld world = new SimulationWorld(new SimulationConfig("world", null, 0, Duration.ofMillis(10),
+                TickPacing.FIXED_RATE, CatchUpPolicy.SKIP, Map.of()));
+        AtomicInteger ticks = new AtomicInteger();
+        scheduler.schedule(world, w -> {
+            if (ticks.incrementAndGet() == 3) {
+                sleep(Duration.ofMillis(45));
+            }
+            return ticks.get() < 10;
+        });
+
+        Thread.sleep(400);
+
+        assertThat(ticks).hasValue(10);
+        assertThat(world.getDeadlineMisses()).isGreaterThanOrEqualTo(3);
+        assertThat(world.getAchievedTicksPerSecond()).isPositive();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private SimulationWorld world(Duration interval) {
+        return new SimulationWorld(new SimulationConfig("world", null, 0, interval, Map.of()));
+    }
+}
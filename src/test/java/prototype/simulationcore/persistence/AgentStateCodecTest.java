@@ -0,0 +1,45 @@
+package prototype.simulationcore.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.Position;
+
+class AgentStateCodecTest {
+
+    private final AgentStateAttributeConverter converter = new AgentStateAttributeConverter();
+
+    @Test
+    void roundTripsThroughTheBinaryColumn() {
+        AgentState state = new AgentState(new Position(1.5, -2.0, 3.0), 42.0, 7.5,
+                Map.of("toxicity", 12.0, "threat", 0.25), Map.of("lastInteraction", 1_700_000_000_000.0));
+
+        byte[] column = converter.convertToDatabaseColumn(state);
+
+        assertThat(AgentStateCodec.isBinary(column)).isTrue();
+        assertThat(converter.convertToEntityAttribute(column)).isEqualTo(state);
+    }
+
+    @Test
+    void readsLegacyJsonRows() throws Exception {
+        AgentState state = AgentState.initial().withSensorReading("toxicity", 3.0);
+        byte[] legacy = new ObjectMapper().writeValueAsString(state).getBytes(StandardCharsets.UTF_8);
+
+        assertThat(converter.convertToEntityAttribute(legacy)).isEqualTo(state);
+        assertThat(converter.convertToEntityAttribute(null)).isEqualTo(AgentState.initial());
+    }
+
+    @Test
+    void rejectsTruncatedPayloads() {
+        byte[] encoded = AgentStateCodec.encode(AgentState.initial().withSensorReading("toxicity", 3.0));
+
+        assertThatThrownBy(() -> AgentStateCodec.decode(Arrays.copyOf(encoded, encoded.length - 4)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
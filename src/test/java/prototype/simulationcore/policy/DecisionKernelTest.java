@@ -0,0 +1,73 @@
+package prototype.simulationcore.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import prototype.simulationcore.domain.Action;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.Position;
+import prototype.simulationcore.environment.DefaultEnvironment;
+import prototype.simulationcore.policy.RuleBasedPolicy.DecisionRule;
+
+class DecisionKernelTest {
+
+    @Test
+    void weightedPolicyAppliesStateModifiersAndBiases() {
+        WeightedPolicy policy = new WeightedPolicy();
+        policy.setActionWeights(Map.of(Action.MOVE, 1.0, Action.CONSUME, 0.0, Action.REST, 2.0));
+        policy.setParameters(Map.of("rest_bias", 0.5));
+
+        AgentState hungry = new AgentState(Position.origin(), 100.0, 10.0, Map.of(), Map.of());
+        AgentState fed = new AgentState(Position.origin(), 100.0, 100.0, Map.of(), Map.of());
+
+        assertThat(policy.decide(hungry, null)).isEqualTo(Action.CONSUME);
+        assertThat(policy.decide(fed, null)).isEqualTo(Action.REST);
+        assertThat(policy.decide(null, null)).isEqualTo(Action.REST);
+    }
+
+    @Test
+    void weightedKernelIsRecompiledWhenGenomeChanges() {
+        WeightedPolicy policy = new WeightedPolicy();
+        policy.setActionWeights(Map.of(Action.INTERACT, 1.0, Action.WAIT, 0.0));
+        assertThat(policy.decide(null, null)).isEqualTo(Action.INTERACT);
+        WeightedDecisionKernel compiled = policy.kernel();
+
+        policy.setParameters(Map.of("rest_bias", 2.0));
+
+        assertThat(policy.kernel()).isNotSameAs(compiled);
+        assertThat(policy.decide(null, null)).isEqualTo(Action.WAIT);
+    }
+
+    @Test
+    void emptyWeightsFallBackToWait() {
+        assertThat(new WeightedPolicy().decide(AgentState.initial(), null)).isEqualTo(Action.WAIT);
+    }
+
+    @Test
+    void ruleKernelKeepsRuleOrderAndSensorPrecedence() {
+        RuleBasedPolicy policy = new RuleBasedPolicy();
+        policy.setRules(List.of(
+                new DecisionRule(" ", 0.0, Action.REPLICATE, true),
+                new DecisionRule("energy", 20.0, Action.REST, false),
+                new DecisionRule("threat", 50.0, Action.MOVE, true),
+                new DecisionRule("energy", 20.0, Action.CONSUME, true)
+        ));
+        DefaultEnvironment environment = new DefaultEnvironment(Position.origin(), Map.of("threat", 80.0));
+
+        AgentState tired = new AgentState(Position.origin(), 10.0, 0.0, Map.of("energy", 10.0), Map.of());
+        AgentState rested = new AgentState(Position.origin(), 90.0, 0.0, Map.of("energy", 90.0), Map.of());
+        AgentState threatened = new AgentState(Position.origin(), 90.0, 0.0,
+                Map.of("energy", 90.0, "threat", 10.0), Map.of());
+
+        assertThat(policy.decide(tired, environment)).isEqualTo(Action.REST);
+        assertThat(policy.decide(rested, environment)).isEqualTo(Action.MOVE);
+        assertThat(policy.decide(threatened, environment)).isEqualTo(Action.CONSUME);
+        assertThat(policy.decide(null, null)).isEqualTo(Action.REST);
+
+        policy.addRule(new DecisionRule("energy", 0.0, Action.WAIT, true));
+        policy.setRules(List.of(new DecisionRule("energy", 95.0, Action.INTERACT, true)));
+        assertThat(policy.decide(rested, environment)).isEqualTo(Action.WAIT);
+    }
+}
@@ -0,0 +1,78 @@
+package prototype.simulationcore.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class NeuralNetworkTest {
+
+    @Test
+    void forwardPassAppliesTanhHiddenLayerAndLinearOutput() {
+        // 2 inputs -> 2 hidden -> 2 outputs; hidden = tanh(identity), output 0 = -h0, output 1 = h1.
+        float[] parameters = {
+                1f, 0f, 0f, 1f, 0f, 0f,
+                -1f, 0f, 0f, 1f, 0f, 0f
+        };
+        NeuralNetwork network = new NeuralNetwork(new int[]{2, 2, 2}, parameters);
+
+        assertThat(network.argmax(new float[]{1f, 0.5f})).isEqualTo(1);
+        assertThat(network.argmax(new float[]{-1f, 0.5f})).isEqualTo(0);
+        assertThat(network.argmax(new float[]{0f, 0f})).isZero();
+    }
+
+    @Test
+    void batchEvaluationMatchesSingleEvaluationAcrossTiles() {
+        SplittableRandom random = new SplittableRandom(5);
+        NeuralNetwork network = NeuralNetwork.initialize(new int[]{6, 32, 32, 6}, random);
+        int count = 600;
+        float[] inputs = new float[count * 6];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = (float) random.nextDouble(-1, 1);
+        }
+        int[] outputs = new int[count];
+
+        network.argmaxBatch(inputs, count, outputs);
+
+        for (int row = 0; row < count; row++) {
+            float[] single = new float[6];
+            System.arraycopy(inputs, row * 6, single, 0, 6);
+            assertThat(outputs[row]).isEqualTo(network.argmax(single));
+        }
+    }
+
+    @Test
+    void binaryRoundTripAndInPlacePerturbation() {
+        NeuralNetwork network = NeuralNetwork.initialize(new int[]{6, 16, 6}, new SplittableRandom(1));
+        NeuralNetwork restored = NeuralNetwork.fromBytes(network.toBytes());
+        assertThat(restored).isEqualTo(network);
+        assertThat(network.toBytes()).hasSize(5 * Integer.BYTES + network.parameterCount() * Float.BYTES);
+
+        restored.perturb(0.1, new SplittableRandom(2));
+        assertThat(restored).isNotEqualTo(network);
+        restored.perturb(0.0, new SplittableRandom(3));
+        assertThat(NeuralNetwork.fromBytes(restored.toBytes())).isEqualTo(restored);
+    }
+
+    @Test
+    void rejectsMismatchedParameters() {
+        assertThatThrownBy(() -> new NeuralNetwork(new int[]{2, 2}, new float[5]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void neuralPolicyMutationChangesGenomeAndCloneSharesIt() {
+        NeuralPolicy policy = new NeuralPolicy();
+        policy.setNetwork(NeuralPolicy.newNetwork(new SplittableRandom(9)));
+        String original = policy.getGenomeHash();
+
+        NeuralPolicy clone = new NeuralPolicy();
+        clone.setNetwork(policy.getNetwork().copy());
+        assertThat(clone.getGenomeHash()).isEqualTo(original);
+
+        clone.perturbNetwork(0.05, new SplittableRandom(10));
+        assertThat(clone.getGenomeHash()).isNotEqualTo(original);
+        assertThat(policy.getGenomeHash()).isEqualTo(original);
+    }
+}
@@ -0,0 +1,74 @@
+package prototype.simulationcore.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.domain.Position;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class AgentRepositoryTest {
+
+    @Autowired
+    private AgentRepository agentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void updateResidentStateWritesChangedColumns() {
+        Agent first = agentRepository.save(Agent.bootstrap(null));
+        Agent second = agentRepository.save(Agent.bootstrap(null));
+        entityManager.flush();
+        entityManager.clear();
+
+        first.setGeneration(4);
+        first.setState(AgentState.initial()
+                .withPosition(new Position(1.5, -2.0, 3.0))
+                .adjustEnergy(-12.5)
+                .withSensorReading("proximity", 0.25)
+                .withInternalState("curiosity", 0.75));
+        first.setFitness(17.25);
+        first.setSafetyViolations(2);
+        second.setGeneration(1);
+        second.setFitness(-3.0);
+        agentRepository.updateResidentState(List.of(first, second));
+        entityManager.clear();
+
+        Agent reloaded = agentRepository.findById(first.getAgentId()).orElseThrow();
+        assertThat(reloaded.getGeneration()).isEqualTo(4);
+        assertThat(reloaded.getState()).isEqualTo(first.getState());
+        assertThat(reloaded.getFitness()).isEqualTo(17.25);
+        assertThat(reloaded.getSafetyViolations()).isEqualTo(2);
+        Agent other = agentRepository.findById(second.getAgentId()).orElseThrow();
+        assertThat(other.getGeneration()).isEqualTo(1);
+        assertThat(other.getState()).isEqualTo(AgentState.initial());
+        assertThat(other.getFitness()).isEqualTo(-3.0);
+        assertThat(other.getSafetyViolations()).isZero();
+    }
+
+    @Test
+    void updateResidentStateSkipsDeletedRows() {
+        Agent kept = agentRepository.save(Agent.bootstrap(null));
+        Agent deleted = agentRepository.save(Agent.bootstrap(null));
+        entityManager.flush();
+        agentRepository.delete(deleted);
+        entityManager.flush();
+        entityManager.clear();
+
+        kept.setFitness(5.0);
+        deleted.setFitness(9.0);
+        agentRepository.updateResidentState(List.of(kept, deleted));
+        entityManager.clear();
+
+        assertThat(agentRepository.findById(kept.getAgentId())).get()
+                .extracting(Agent::getFitness).isEqualTo(5.0);
+        assertThat(agentRepository.findById(deleted.getAgentId())).isEmpty();
+        assertThat(agentRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,95 @@
+package prototype.simulationcore.safety;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import prototype.simulationcore.domain.Action;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.repository.AgentRepository;
+import prototype.simulationcore.repository.SafetyViolationRepository;
+import prototype.simulationcore.safety.domain.SafetyViolation;
+import prototype.simulationcore.safety.events.CriticalSafetyViolationEvent;
+import prototype.simulationcore.safety.monitor.SafetyMonitor;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationHandlerTest {
+
+    @Mock
+    private SafetyViolationRepository violationRepository;
+
+    @Mock
+    private AgentRepository agentRepository;
+
+    @Mock
+    private SafetyMonitor safetyMonitor;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ViolationHandler violationHandler;
+
+    @BeforeEach
+    void setup() {
+        violationHandler = new ViolationHandler(violationRepository, agentRepository, safetyMonitor,
+                new SafetyProperties(), new ObjectMapper(), eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordResidentViolations_insertsRowsOnceWithoutSavingAgents() {
+        Agent first = agent();
+        Agent second = agent();
+
+        violationHandler.recordResidentViolations(List.of(
+                new ResidentViolation(first, violation(Severity.VIOLATION), null, 1),
+                new ResidentViolation(second, violation(Severity.CRITICAL), null, 3)));
+
+        ArgumentCaptor<List<SafetyViolation>> rows = ArgumentCaptor.forClass(List.class);
+        verify(violationRepository).saveAll(rows.capture());
+        assertThat(rows.getValue()).extracting(SafetyViolation::getAgentId)
+                .containsExactly(first.getAgentId(), second.getAgentId());
+        verify(violationRepository, never()).save(any());
+        verifyNoInteractions(agentRepository);
+
+        assertThat(first.getSafetyViolations()).isEqualTo(1);
+        assertThat(second.getSafetyViolations()).isEqualTo(3);
+        verify(safetyMonitor, never()).markForElimination(first.getAgentId());
+        verify(safetyMonitor).markForElimination(second.getAgentId());
+        verify(eventPublisher).publishEvent(any(CriticalSafetyViolationEvent.class));
+    }
+
+    @Test
+    void recordResidentViolations_ignoresEmptyBatch() {
+        violationHandler.recordResidentViolations(List.of());
+
+        verify(violationRepository, never()).saveAll(anyList());
+        verifyNoInteractions(safetyMonitor);
+    }
+
+    private static Agent agent() {
+        Agent agent = Agent.restore(UUID.randomUUID(), Instant.EPOCH, null);
+        agent.setState(AgentState.initial());
+        return agent;
+    }
+
+    private static Violation violation(Severity severity) {
+        return new Violation("BOUNDARY", severity, "out of bounds", Action.MOVE, Map.of(), Instant.EPOCH);
+    }
+}
@@ -0,0 +1,108 @@
+package prototype.simulationcore.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import prototype.simulationcore.adversarial.service.EnvironmentPerturbationRecorder;
+import prototype.simulationcore.adversarial.service.ScenarioInjector;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.evolution.service.PopulationStore;
+import prototype.simulationcore.policy.WeightedPolicy;
+import prototype.simulationcore.safety.ConstraintValidator;
+import prototype.simulationcore.safety.monitor.SafetyMonitor;
+
+class PopulationStepperTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private final List<PopulationStepper> steppers = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        steppers.forEach(PopulationStepper::shutdown);
+    }
+
+    @Test
+    void advancesEveryAgentIdenticallyRegardlessOfParallelism() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        PopulationStore sequential = population(ids);
+        PopulationStore parallel = population(ids);
+        PopulationStepper single = stepper(1);
+        PopulationStepper pooled = stepper(4);
+
+        for (long tick = 1; tick <= 3; tick++) {
+            List<AgentStep> steps = single.step(sequential, 42L, tick);
+            pooled.step(parallel, 42L, tick);
+            assertThat(steps).hasSize(ids.size())
+                    .extracting(AgentStep::slot)
+                    .containsExactlyElementsOf(range(ids.size()));
+        }
+
+        for (int slot = 0; slot < ids.size(); slot++) {
+            assertThat(parallel.agentId(slot)).isEqualTo(sequential.agentId(slot));
+            assertThat(parallel.state(slot)).isEqualTo(sequential.state(slot));
+            assertThat(parallel.fitness(slot)).isEqualTo(sequential.fitness(slot));
+            assertThat(parallel.generation(slot)).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void leavesEliminationCandidatesUntouched() {
+        SafetyMonitor safetyMonitor = new SafetyMonitor(null);
+        PopulationStore population = population(List.of(UUID.randomUUID(), UUID.randomUUID()));
+        safetyMonitor.markForElimination(population.agentId(1));
+        PopulationStepper stepper = stepper(1, safetyMonitor);
+
+        List<AgentStep> steps = stepper.step(population, 7L, 1);
+
+        assertThat(steps).extracting(AgentStep::eliminated).containsExactly(false, true);
+        assertThat(population.generation(0)).isEqualTo(1);
+        assertThat(population.generation(1)).isZero();
+    }
+
+    private PopulationStepper stepper(int threads) {
+        return stepper(threads, new SafetyMonitor(null));
+    }
+
+    private PopulationStepper stepper(int threads, SafetyMonitor safetyMonitor) {
+        ConstraintValidator constraintValidator = new ConstraintValidator(List.of(), null);
+        PopulationStepper stepper = new PopulationStepper(
+                new AgentDynamics(CLOCK),
+                new ScenarioInjector(new EnvironmentPerturbationRecorder()),
+                constraintValidator,
+                new SafetyConstraintsService(constraintValidator),
+                safetyMonitor,
+                threads);
+        steppers.add(stepper);
+        return stepper;
+    }
+
+    private static PopulationStore population(List<UUID> ids) {
+        List<Agent> agents = new ArrayList<>();
+        for (UUID id : ids) {
+            Agent agent = Agent.bootstrap(new WeightedPolicy());
+            ReflectionTestUtils.setField(agent, "agentId", id);
+            agents.add(agent);
+        }
+        return PopulationStore.of(agents);
+    }
+
+    private static List<Integer> range(int size) {
+        List<Integer> slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(i);
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,51 @@
+package prototype.simulationcore.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import prototype.simulationcore.domain.Action;
+import prototype.simulationcore.domain.Agent;
+import prototype.simulationcore.domain.AgentState;
+import prototype.simulationcore.environment.DefaultEnvironment;
+import prototype.simulationcore.safety.ResidentViolation;
+import prototype.simulationcore.safety.Severity;
+import prototype.simulationcore.safety.Violation;
+
+class PopulationWritesTest {
+
+    @Test
+    void talliesViolationsPerAgentPerInterval() {
+        Agent agent = Agent.restore(UUID.randomUUID(), Instant.EPOCH, null);
+        PopulationWrites writes = new PopulationWrites();
+
+        writes.record(List.of(step(agent, List.of(violation(Severity.CRITICAL)), List.of(violation(Severity.WARNING)))));
+        writes.record(List.of(step(agent, List.of(), List.of(violation(Severity.VIOLATION)))));
+        writes.sealViolations();
+        writes.record(List.of(step(agent, List.of(violation(Severity.WARNING)), List.of())));
+
+        List<ResidentViolation> tallies = writes.drainViolations();
+
+        assertThat(tallies).extracting(ResidentViolation::count).containsExactly(3, 1);
+        assertThat(tallies).extracting(tally -> tally.violation().severity())
+                .containsExactly(Severity.CRITICAL, Severity.WARNING);
+        assertThat(tallies).allSatisfy(tally -> assertThat(tally.agent()).isSameAs(agent));
+        assertThat(writes.steps()).isEqualTo(3);
+
+        writes.clear();
+        assertThat(writes.drainViolations()).isEmpty();
+    }
+
+    private static AgentStep step(Agent agent, List<Violation> pre, List<Violation> post) {
+        AgentState state = AgentState.initial();
+        return new AgentStep(0, agent, Action.MOVE, false, false, state, state, new DefaultEnvironment(state),
+                pre, post, null);
+    }
+
+    private static Violation violation(Severity severity) {
+        return new Violation("BOUNDARY", severity, "out of bounds", Action.MOVE, Map.of(), Instant.EPOCH);
+    }
+}